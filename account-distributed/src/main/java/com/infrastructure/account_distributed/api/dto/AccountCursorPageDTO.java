@@ -0,0 +1,7 @@
+package com.infrastructure.account_distributed.api.dto;
+
+import java.util.List;
+
+public record AccountCursorPageDTO(List<AccountDTO> content,
+                                   String nextCursor,
+                                   Long estimatedTotal) { }
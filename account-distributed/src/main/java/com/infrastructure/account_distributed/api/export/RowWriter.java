@@ -0,0 +1,68 @@
+package com.infrastructure.account_distributed.api.export;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Writes one row per line, NDJSON through Jackson or CSV with the given columns
+public class RowWriter<R> {
+
+    private final Writer writer;
+
+    private final ExportFormat format;
+
+    private final ObjectMapper objectMapper;
+
+    private final Function<R, List<Object>> columns;
+
+    public RowWriter(Writer writer, ExportFormat format, ObjectMapper objectMapper, List<String> header, Function<R, List<Object>> columns) throws IOException {
+        this.writer = writer;
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.columns = columns;
+        if (format == ExportFormat.CSV) {
+            writeLine(String.join(",", header));
+        }
+    }
+
+    public void write(R row) {
+        try {
+            writeLine(format == ExportFormat.CSV ? toCsv(columns.apply(row)) : objectMapper.writeValueAsString(row));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Row " + row + " cannot be serialized", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(String line) throws IOException {
+        writer.write(line);
+        writer.write('\n');
+    }
+
+    private static String toCsv(List<Object> values) {
+        return values.stream()
+                .map(RowWriter::toCsv)
+                .collect(Collectors.joining(","));
+    }
+
+    private static String toCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (text.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+            return text;
+        }
+
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
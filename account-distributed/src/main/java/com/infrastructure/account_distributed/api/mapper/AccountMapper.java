@@ -1,14 +1,45 @@
 package com.infrastructure.account_distributed.api.mapper;
 
+import com.domain.account.exception.AccountDomainErrorCode;
+import com.domain.account.exception.AccountDomainException;
 import com.domain.account.model.Account;
 import com.infrastructure.account_distributed.api.dto.AccountDTO;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
 
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
 @Mapper
 public interface AccountMapper {
 
     AccountMapper INSTANCE = Mappers.getMapper(AccountMapper.class);
 
     AccountDTO mapFromModelToDto(Account account);
+
+    // The cursor is the last owner id of the page, kept opaque so clients cannot build or tamper with one
+    default String mapFromOwnerIdToCursor(Long ownerId) {
+        if (ownerId == null) {
+            return null;
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(ownerId).array());
+    }
+
+    default Long mapFromCursorToOwnerId(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length == Long.BYTES) {
+                return ByteBuffer.wrap(bytes).getLong();
+            }
+        } catch (IllegalArgumentException e) {
+            // Reported below
+        }
+
+        throw new AccountDomainException(AccountDomainErrorCode.INVALID_REQUEST, String.format("Invalid cursor %s", cursor));
+    }
 }
@@ -1,13 +1,19 @@
 package com.infrastructure.account_distributed.configuration;
 
+import com.infrastructure.account_distributed.queue.converter.AccountUpdateMessageCodec;
+import com.infrastructure.messaging.converter.BinaryMessageConverter;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Configuration
@@ -57,8 +63,26 @@ public class RabbitMQConfig {
         return BindingBuilder.bind(instanceUpdateQueue).to(dataUpdateExchange);
     }
 
+    // Updates are consumed in batches by several consumers at once, each batch is one transaction
     @Bean
-    public MessageConverter jsonMessageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public SimpleRabbitListenerContainerFactory accountUpdateContainerFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer,
+                                                                              ConnectionFactory connectionFactory,
+                                                                              @Value("${rabbitmq-config.consumer.concurrency:4}") int concurrency,
+                                                                              @Value("${rabbitmq-config.consumer.batch-size:100}") int batchSize,
+                                                                              @Value("${rabbitmq-config.consumer.receive-timeout-ms:100}") long receiveTimeout) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeout);
+        return factory;
+    }
+
+    // Binary and JSON messages are both read, rabbitmq-config.encoding only decides how messages are sent
+    @Bean
+    public MessageConverter messageConverter(@Value("${rabbitmq-config.encoding:JSON}") String encoding) {
+        return new BinaryMessageConverter(new Jackson2JsonMessageConverter(), "BINARY".equalsIgnoreCase(encoding), List.of(new AccountUpdateMessageCodec()));
     }
 }
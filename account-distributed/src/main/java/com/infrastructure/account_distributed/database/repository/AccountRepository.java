@@ -2,11 +2,22 @@ package com.infrastructure.account_distributed.database.repository;
 
 import com.infrastructure.account_distributed.database.entity.AccountEntity;
 import jakarta.annotation.Nonnull;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 interface AccountRepository extends JpaRepository<AccountEntity, Long> {
 
@@ -14,4 +25,31 @@ interface AccountRepository extends JpaRepository<AccountEntity, Long> {
 
     @Nonnull
     Page<AccountEntity> findAll(@Nonnull Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.infrastructure.account_distributed.database.repository.AccountRow(a.ownerId, a.currency, a.balance) FROM AccountEntity a ORDER BY a.ownerId")
+    Stream<AccountRow> streamAllRows();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.infrastructure.account_distributed.database.repository.AccountVersionRow(a.ownerId, a.currency, a.balance, a.version) FROM AccountEntity a")
+    Stream<AccountVersionRow> streamAllVersionedRows();
+
+    // The version is the registry's one, an update older than the row is a no-op
+    @Modifying
+    @Query("UPDATE AccountEntity a SET a.balance = :balance, a.version = :version WHERE a.ownerId = :ownerId AND a.version < :version")
+    int updateIfNewer(Long ownerId, BigDecimal balance, Long version);
+
+    @Query("SELECT a.ownerId FROM AccountEntity a WHERE a.ownerId IN :ownerIds")
+    Set<Long> findOwnerIdsIn(Collection<Long> ownerIds);
+
+    // Seeks through the owner_id index, so a page costs the same however deep it is
+    List<AccountEntity> findByOwnerIdGreaterThanOrderByOwnerIdAsc(Long ownerId, Limit limit);
+
+    // Planner statistics, refreshed by autovacuum. A table never analyzed reports -1 and is counted instead
+    @Query(value = """
+            SELECT CASE WHEN c.reltuples < 0 THEN (SELECT count(*) FROM account_entity) ELSE c.reltuples::bigint END
+            FROM pg_class c
+            WHERE c.oid = 'account_entity'::regclass
+            """, nativeQuery = true)
+    long estimateCount();
 }
@@ -0,0 +1,6 @@
+package com.infrastructure.account_distributed.database.repository;
+
+import java.math.BigDecimal;
+
+// Read-only copy of an account row, never attached to the persistence context
+public record AccountRow(Long ownerId, String currency, BigDecimal balance) { }
@@ -2,12 +2,19 @@ package com.infrastructure.account_distributed.database.repository;
 
 import com.infrastructure.account_distributed.database.entity.AccountEntity;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -25,6 +32,41 @@ public class AccountService {
         return accountRepository.findAll(pageable);
     }
 
+    // Streams through a server-side cursor and hands out detached rows, so memory stays flat whatever the table size
+    @Transactional(readOnly = true)
+    public void forEachRow(Consumer<AccountRow> consumer) {
+        try (Stream<AccountRow> rows = accountRepository.streamAllRows()) {
+            rows.forEach(consumer);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void forEachVersionedRow(Consumer<AccountVersionRow> consumer) {
+        try (Stream<AccountVersionRow> rows = accountRepository.streamAllVersionedRows()) {
+            rows.forEach(consumer);
+        }
+    }
+
+    @Transactional
+    public boolean updateIfNewer(Long ownerId, BigDecimal balance, Long version) {
+        return accountRepository.updateIfNewer(ownerId, balance, version) > 0;
+    }
+
+    @Transactional(readOnly = true)
+    public Set<Long> findExistingOwnerIds(Collection<Long> ownerIds) {
+        return accountRepository.findOwnerIdsIn(ownerIds);
+    }
+
+    @Transactional(readOnly = true)
+    public List<AccountEntity> findAfterOwnerId(Long ownerId, int limit) {
+        return accountRepository.findByOwnerIdGreaterThanOrderByOwnerIdAsc(ownerId, Limit.of(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public long estimateCount() {
+        return accountRepository.estimateCount();
+    }
+
     public AccountEntity save(AccountEntity account) {
         return accountRepository.save(account);
     }
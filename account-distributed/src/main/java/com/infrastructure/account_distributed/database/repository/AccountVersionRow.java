@@ -0,0 +1,5 @@
+package com.infrastructure.account_distributed.database.repository;
+
+import java.math.BigDecimal;
+
+public record AccountVersionRow(Long ownerId, String currency, BigDecimal balance, Long version) { }
@@ -1,13 +1,22 @@
 package com.infrastructure.account_distributed.queue;
 
+import com.domain.account.usecase.request.AccountUpdateRequest;
 import com.infrastructure.account_distributed.queue.mapper.UpdateAccountMessageMapper;
 import com.infrastructure.account_distributed.queue.message.AccountUpdateMessage;
 import com.infrastructure.account_distributed.usecase.account.UpdateAccountUsecase;
+import com.infrastructure.account_distributed.usecase.account.UpdateAccountUsecase.AccountUpdates;
+import com.infrastructure.account_distributed.usecase.account.adapter.AccountProjection;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
+// Updates carry the registry version of the account, so batches can be consumed in parallel and out of order: the
+// newest version always wins, in the table and in the projection
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -15,8 +24,34 @@ public class UpdateAccountConsumer {
 
     private final UpdateAccountUsecase updateAccountUsecase;
 
-    @RabbitListener(queues = "#{instanceUpdateQueue.name}")
-    public void handleDataUpdate(AccountUpdateMessage message) {
-        updateAccountUsecase.execute(UpdateAccountMessageMapper.INSTANCE.mapFromMessageToModel(message));
+    private final AccountProjection accountProjection;
+
+    private final RabbitTemplate rabbitTemplate;
+
+    @Value("${rabbitmq-config.exchange}")
+    private String fanoutExchangeName;
+
+    @Value("${rabbitmq-config.dlx}")
+    private String deadLetterExchangeName;
+
+    @RabbitListener(queues = "#{instanceUpdateQueue.name}", containerFactory = "accountUpdateContainerFactory")
+    public void handleDataUpdates(List<AccountUpdateMessage> messages) {
+        List<AccountUpdateRequest> requests = messages.stream()
+                .map(UpdateAccountMessageMapper.INSTANCE::mapFromMessageToModel)
+                .toList();
+
+        AccountUpdates updates = updateAccountUsecase.executeAll(requests);
+
+        // Applied once the rows are committed, a failed batch leaves the projection untouched
+        updates.applied().forEach(request -> accountProjection.apply(request.ownerId(), request.balance(), request.version()));
+        messages.forEach(message -> accountProjection.recordLag(message.updatedAt()));
+
+        // Rejecting the batch would dead-letter the valid updates with it, only the unknown accounts are sent there
+        messages.stream()
+                .filter(message -> updates.unknownOwnerIds().contains(message.ownerId()))
+                .forEach(message -> {
+                    log.error("Account with owner id: {} not found, update sent to the dead letter queue", message.ownerId());
+                    rabbitTemplate.convertAndSend(deadLetterExchangeName, fanoutExchangeName, message);
+                });
     }
 }
@@ -1,6 +1,9 @@
 package com.infrastructure.account_distributed.queue.message;
 
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
 
 public record AccountUpdateMessage(Long ownerId,
-                                   BigDecimal balance) { }
+                                   BigDecimal balance,
+                                   Long version,
+                                   OffsetDateTime updatedAt) { }
@@ -5,7 +5,6 @@ import com.domain.account.port.AccountPort;
 import com.domain.account.usecase.GetAccount;
 import com.domain.account.usecase.request.AccountRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class GetAccountUsecase extends GetAccount {
@@ -14,8 +13,8 @@ public class GetAccountUsecase extends GetAccount {
         super(accountPort);
     }
 
+    // No transaction: accounts are served from the projection and a miss opens its own
     @Override
-    @Transactional(readOnly = true)
     public Account execute(AccountRequest request) {
         return super.execute(request);
     }
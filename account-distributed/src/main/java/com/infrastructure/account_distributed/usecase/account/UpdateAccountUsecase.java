@@ -1,15 +1,23 @@
 package com.infrastructure.account_distributed.usecase.account;
 
-import com.domain.account.exception.AccountDomainErrorCode;
-import com.domain.account.exception.AccountDomainException;
 import com.domain.account.usecase.request.AccountUpdateRequest;
-import com.infrastructure.account_distributed.database.entity.AccountEntity;
 import com.infrastructure.account_distributed.database.repository.AccountService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -17,13 +25,35 @@ public class UpdateAccountUsecase {
 
     private final AccountService accountService;
 
+    // Only the newest update of each account in the batch is written, with one conditional UPDATE that leaves the row
+    // alone when it already holds that version or a later one. Rows are updated in owner id order, so concurrent
+    // batches touching the same accounts never wait on each other in a cycle
     @Transactional
-    public void execute(AccountUpdateRequest request) {
-        AccountEntity account = accountService.findByOwnerId(request.ownerId())
-                .orElseThrow(() -> new AccountDomainException(AccountDomainErrorCode.ACCOUNT_NOT_FOUND, String.format("Account with owner id: %s not found", request.ownerId())));
+    public AccountUpdates executeAll(Collection<AccountUpdateRequest> requests) {
+        Map<Long, AccountUpdateRequest> newest = requests.stream()
+                .collect(Collectors.toMap(AccountUpdateRequest::ownerId, Function.identity(),
+                        BinaryOperator.maxBy((a, b) -> Long.compare(a.version(), b.version())), TreeMap::new));
+
+        List<AccountUpdateRequest> applied = new ArrayList<>(newest.size());
+        List<Long> notApplied = new ArrayList<>();
+        for (AccountUpdateRequest request : newest.values()) {
+            if (accountService.updateIfNewer(request.ownerId(), request.balance(), request.version())) {
+                applied.add(request);
+            } else {
+                notApplied.add(request.ownerId());
+            }
+        }
+
+        // A row left alone is either newer than the update or missing
+        Set<Long> unknownOwnerIds = new HashSet<>(notApplied);
+        if (!notApplied.isEmpty()) {
+            unknownOwnerIds.removeAll(accountService.findExistingOwnerIds(notApplied));
+        }
+
+        log.info("Applied {} of {} account updates, {} for unknown accounts", applied.size(), requests.size(), unknownOwnerIds.size());
+        return new AccountUpdates(applied, unknownOwnerIds);
+    }
 
-        account.setBalance(request.balance());
-        AccountEntity updatedAccount = accountService.save(account);
-        log.info("Updated Account {} SUCCESSFULLY", updatedAccount);
+    public record AccountUpdates(List<AccountUpdateRequest> applied, Set<Long> unknownOwnerIds) {
     }
 }
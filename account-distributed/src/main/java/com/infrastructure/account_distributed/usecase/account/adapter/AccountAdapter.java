@@ -2,9 +2,12 @@ package com.infrastructure.account_distributed.usecase.account.adapter;
 
 import com.domain.account.model.Account;
 import com.domain.account.port.AccountPort;
+import com.domain.account.port.query.AccountCursorQuery;
 import com.domain.account.port.query.AccountPageQuery;
 import com.domain.account.port.query.AccountQuery;
+import com.domain.account.usecase.request.CursorPageResult;
 import com.domain.account.usecase.request.PageResult;
+import com.infrastructure.account_distributed.database.entity.AccountEntity;
 import com.infrastructure.account_distributed.database.repository.AccountService;
 import com.infrastructure.account_distributed.usecase.account.mapper.AccountDomainMapper;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +16,8 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Component
@@ -21,10 +26,15 @@ public class AccountAdapter implements AccountPort {
 
     private final AccountService accountService;
 
+    private final AccountCountEstimate accountCountEstimate;
+
+    private final AccountProjection accountProjection;
+
+    // Only accounts created after the projection was primed, or read while it is being primed, come from the database
     @Override
     public Optional<Account> getAccount(AccountQuery query) {
-        return accountService.findByOwnerId(query.ownerId())
-                .map(AccountDomainMapper.INSTANCE::mapFromEntityToModel);
+        return accountProjection.get(query.ownerId())
+                .or(() -> accountService.findByOwnerId(query.ownerId()).map(accountProjection::load));
     }
 
     @Override
@@ -36,4 +46,16 @@ public class AccountAdapter implements AccountPort {
 
         return new PageResult<>(accountPage.getContent(), accountPage.getTotalElements(), accountPage.getTotalPages());
     }
+
+    @Override
+    public CursorPageResult<Account> getAccountsAfter(AccountCursorQuery request) {
+        // One row past the page tells whether there is a next one without counting
+        List<AccountEntity> entities = accountService.findAfterOwnerId(Objects.requireNonNullElse(request.afterOwnerId(), Long.MIN_VALUE), request.pageSize() + 1);
+        boolean hasNext = entities.size() > request.pageSize();
+        List<AccountEntity> page = hasNext ? entities.subList(0, request.pageSize()) : entities;
+
+        return new CursorPageResult<>(page.stream().map(AccountDomainMapper.INSTANCE::mapFromEntityToModel).toList(),
+                hasNext ? page.getLast().getOwnerId() : null,
+                request.includeTotal() ? accountCountEstimate.get() : null);
+    }
 }
@@ -0,0 +1,41 @@
+package com.infrastructure.account_distributed.usecase.account.adapter;
+
+import com.infrastructure.account_distributed.database.repository.AccountService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Listings only need an order of magnitude, so the count comes from the planner statistics and is read again at
+// most once per refresh interval instead of running count(*) on every page
+@Component
+class AccountCountEstimate {
+
+    private final AccountService accountService;
+
+    private final long refreshNanos;
+
+    private final AtomicReference<Estimate> estimate = new AtomicReference<>();
+
+    AccountCountEstimate(AccountService accountService,
+                         @Value("${account-config.count-estimate.refresh-seconds:60}") long refreshSeconds) {
+        this.accountService = accountService;
+        this.refreshNanos = TimeUnit.SECONDS.toNanos(refreshSeconds);
+    }
+
+    long get() {
+        Estimate current = estimate.get();
+        long now = System.nanoTime();
+        if (current != null && now - current.readAt() < refreshNanos) {
+            return current.count();
+        }
+
+        // Concurrent callers of an expired estimate may all refresh it, the last one wins
+        Estimate refreshed = new Estimate(accountService.estimateCount(), now);
+        estimate.set(refreshed);
+        return refreshed.count();
+    }
+
+    private record Estimate(long count, long readAt) { }
+}
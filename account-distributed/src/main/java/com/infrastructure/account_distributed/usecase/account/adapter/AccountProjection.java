@@ -0,0 +1,120 @@
+package com.infrastructure.account_distributed.usecase.account.adapter;
+
+import com.domain.account.model.Account;
+import com.infrastructure.account_distributed.database.entity.AccountEntity;
+import com.infrastructure.account_distributed.database.repository.AccountService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Every account in memory, fed by the update events of the registry. It is primed from Postgres once the listeners run,
+// so the instance queue is bound before the table is read and no event committed after that read is missed, and each
+// event is applied here once its row is committed, so the projection is never behind the local table and lags the
+// registry by the event delivery time, published as account.projection.lag. Entries keep the registry version, an event
+// older than the entry is dropped
+@Slf4j
+@Component
+public class AccountProjection {
+
+    private final AccountService accountService;
+
+    private final Map<Long, VersionedAccount> accounts = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Timer lag;
+
+    // Events applied while the table is read, their account may not be in the projection yet when they arrive. Read
+    // without the lock once priming is over
+    private final Object primingLock = new Object();
+
+    private volatile Map<Long, VersionedBalance> primingEvents = new HashMap<>();
+
+    public AccountProjection(AccountService accountService, MeterRegistry meterRegistry) {
+        this.accountService = accountService;
+        this.hits = meterRegistry.counter("account.projection.lookups", "result", "hit");
+        this.misses = meterRegistry.counter("account.projection.lookups", "result", "miss");
+        this.lag = meterRegistry.timer("account.projection.lag");
+        meterRegistry.gaugeMapSize("account.projection.size", List.of(), accounts);
+    }
+
+    // The listener containers are started by then, so the instance queue is declared and bound: an update committed
+    // after the read below is delivered, and one committed before is in the rows, the version merge keeps the newest
+    @EventListener(ApplicationReadyEvent.class)
+    void prime() {
+        accountService.forEachVersionedRow(row -> accounts.merge(row.ownerId(),
+                new VersionedAccount(new Account(row.ownerId(), row.currency(), row.balance()), row.version()),
+                VersionedAccount::newest));
+
+        synchronized (primingLock) {
+            primingEvents.forEach(this::applyIfPresent);
+            primingEvents = null;
+        }
+        log.info("Account projection primed with {} accounts", accounts.size());
+    }
+
+    public Optional<Account> get(Long ownerId) {
+        VersionedAccount entry = accounts.get(ownerId);
+        (entry != null ? hits : misses).increment();
+        return Optional.ofNullable(entry).map(VersionedAccount::account);
+    }
+
+    // Called with a row read after a miss, an event applied in the meantime is kept if it is newer
+    public Account load(AccountEntity entity) {
+        VersionedAccount loaded = new VersionedAccount(new Account(entity.getOwnerId(), entity.getCurrency(), entity.getBalance()), entity.getVersion());
+        return accounts.merge(entity.getOwnerId(), loaded, VersionedAccount::newest).account();
+    }
+
+    // An account never read yet is skipped, its first lookup loads the committed row
+    public void apply(Long ownerId, BigDecimal balance, long version) {
+        if (primingEvents != null) {
+            synchronized (primingLock) {
+                if (primingEvents != null) {
+                    primingEvents.merge(ownerId, new VersionedBalance(balance, version), VersionedBalance::newest);
+                }
+            }
+        }
+        applyIfPresent(ownerId, new VersionedBalance(balance, version));
+    }
+
+    private void applyIfPresent(Long ownerId, VersionedBalance update) {
+        accounts.computeIfPresent(ownerId, (id, current) -> current.version() < update.version()
+                ? new VersionedAccount(new Account(id, current.account().currency(), update.balance()), update.version())
+                : current);
+    }
+
+    public void recordLag(OffsetDateTime updatedAt) {
+        if (updatedAt != null) {
+            lag.record(Duration.between(updatedAt, OffsetDateTime.now()));
+        }
+    }
+
+    private record VersionedAccount(Account account, long version) {
+
+        VersionedAccount newest(VersionedAccount other) {
+            return other.version > version ? other : this;
+        }
+    }
+
+    private record VersionedBalance(BigDecimal balance, long version) {
+
+        VersionedBalance newest(VersionedBalance other) {
+            return other.version > version ? other : this;
+        }
+    }
+}
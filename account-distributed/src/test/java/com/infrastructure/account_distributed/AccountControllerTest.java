@@ -1,6 +1,7 @@
 package com.infrastructure.account_distributed;
 
 import com.domain.account.exception.AccountDomainErrorCode;
+import com.infrastructure.account_distributed.api.dto.AccountCursorPageDTO;
 import com.infrastructure.account_distributed.api.dto.AccountDTO;
 import com.infrastructure.account_distributed.api.dto.ErrorDTO;
 import com.infrastructure.account_distributed.database.entity.AccountEntity;
@@ -13,9 +14,14 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
@@ -32,6 +38,9 @@ class AccountControllerTest extends AccountDistributedApplicationTest {
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void getAccountSuccessfully() {
         String url = "/account/{ownerId}";
@@ -57,6 +66,57 @@ class AccountControllerTest extends AccountDistributedApplicationTest {
         assertThat(responseBody.get("page")).isNotNull();
     }
 
+    @Test
+    void getAccountsWithCursor() {
+        List<Long> ownerIds = new ArrayList<>();
+        String cursor = "";
+        do {
+            ResponseEntity<AccountCursorPageDTO> response = restTemplate.getForEntity("/accounts?cursor={cursor}&size=2", AccountCursorPageDTO.class, cursor);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).isNotNull();
+            assertThat(response.getBody().estimatedTotal()).isNull();
+            response.getBody().content().forEach(account -> ownerIds.add(account.ownerId()));
+            cursor = response.getBody().nextCursor();
+        } while (cursor != null);
+
+        assertThat(ownerIds).isEqualTo(List.of(101L, 102L, 103L, 104L));
+    }
+
+    @Test
+    void getAccountsWithCursorAndEstimatedTotal() {
+        ResponseEntity<AccountCursorPageDTO> response = restTemplate.getForEntity("/accounts?cursor=&size=2&includeTotal=true", AccountCursorPageDTO.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().content().size()).isEqualTo(2);
+        assertThat(response.getBody().estimatedTotal()).isNotNull();
+    }
+
+    @Test
+    void getAccountsWithInvalidCursor() {
+        ResponseEntity<ErrorDTO> response = restTemplate.getForEntity("/accounts?cursor={cursor}", ErrorDTO.class, "not-a-cursor");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getErrorCode()).isEqualTo(AccountDomainErrorCode.INVALID_REQUEST.getValue());
+    }
+
+    @Test
+    void exportAccountsAsCsv() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/accounts/export?format=csv", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().split("\n")).isEqualTo(new String[]{
+                "ownerId,currency,balance",
+                "101,EUR,1000.00",
+                "102,USD,100.00",
+                "103,EUR,1000.00",
+                "104,SGD,1000.00"
+        });
+    }
+
     @Test
     void getAccountNotFound() {
         String url = "/account/{ownerId}";
@@ -74,7 +134,7 @@ class AccountControllerTest extends AccountDistributedApplicationTest {
 
     @Test
     void whenMessageIsPublished_thenListenerShouldReceiveIt() {
-        AccountUpdateMessage message = new AccountUpdateMessage(101L, new BigDecimal("666.00"));
+        AccountUpdateMessage message = new AccountUpdateMessage(103L, new BigDecimal("666.00"), 1L, OffsetDateTime.now(ZoneOffset.UTC));
         rabbitTemplate.convertAndSend(fanoutExchangeName, "", message);
 
         await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
@@ -82,12 +142,44 @@ class AccountControllerTest extends AccountDistributedApplicationTest {
 
             assertThat(account).isPresent();
             assertThat(account.get().getBalance()).isEqualByComparingTo(new BigDecimal("666.00"));
+
+            ResponseEntity<AccountDTO> response = restTemplate.getForEntity("/account/{ownerId}", AccountDTO.class, message.ownerId());
+            assertThat(response.getBody()).isNotNull();
+            assertThat(response.getBody().balance()).isEqualByComparingTo(new BigDecimal("666.00"));
         });
     }
 
+    @Test
+    void whenUpdatesArriveOutOfOrder_thenNewestVersionWins() {
+        rabbitTemplate.convertAndSend(fanoutExchangeName, "", new AccountUpdateMessage(102L, new BigDecimal("200.00"), 2L, OffsetDateTime.now(ZoneOffset.UTC)));
+        rabbitTemplate.convertAndSend(fanoutExchangeName, "", new AccountUpdateMessage(102L, new BigDecimal("300.00"), 1L, OffsetDateTime.now(ZoneOffset.UTC)));
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
+            AccountEntity account = accountService.findByOwnerId(102L).orElseThrow();
+            assertThat(account.getVersion()).isEqualTo(2L);
+            assertThat(account.getBalance()).isEqualByComparingTo(new BigDecimal("200.00"));
+
+            ResponseEntity<AccountDTO> response = restTemplate.getForEntity("/account/{ownerId}", AccountDTO.class, 102L);
+            assertThat(response.getBody()).isNotNull();
+            assertThat(response.getBody().balance()).isEqualByComparingTo(new BigDecimal("200.00"));
+        });
+    }
+
+    @Test
+    void serveAccountFromProjection() {
+        restTemplate.getForEntity("/account/{ownerId}", AccountDTO.class, 104L);
+        jdbcTemplate.update("DELETE FROM account_entity WHERE owner_id = ?", 104L);
+
+        ResponseEntity<AccountDTO> response = restTemplate.getForEntity("/account/{ownerId}", AccountDTO.class, 104L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().currency()).isEqualTo("SGD");
+    }
+
     @Test
     void whenListenerFails_thenMessageGoesToDLQ() {
-        AccountUpdateMessage failingMessage = new AccountUpdateMessage(666L, new BigDecimal("1000.00"));
+        AccountUpdateMessage failingMessage = new AccountUpdateMessage(666L, new BigDecimal("1000.00"), 1L, OffsetDateTime.now(ZoneOffset.UTC));
         rabbitTemplate.convertAndSend(fanoutExchangeName, "", failingMessage);
 
         await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
@@ -0,0 +1,58 @@
+package com.infrastructure.account_distributed.usecase.account.adapter;
+
+import com.domain.account.model.Account;
+import com.infrastructure.account_distributed.database.repository.AccountService;
+import com.infrastructure.account_distributed.database.repository.AccountVersionRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+class AccountProjectionTest {
+
+    private final AccountService accountService = Mockito.mock(AccountService.class);
+
+    private final AccountProjection projection = new AccountProjection(accountService, new SimpleMeterRegistry());
+
+    @Test
+    void keepEventsDeliveredWhileTheTableIsRead() {
+        doAnswer(invocation -> {
+            Consumer<AccountVersionRow> consumer = invocation.getArgument(0);
+            consumer.accept(new AccountVersionRow(1L, "EUR", new BigDecimal("100"), 1L));
+            // Committed after the read started: the row below is older than the event, which arrives before it
+            projection.apply(2L, new BigDecimal("250"), 3L);
+            consumer.accept(new AccountVersionRow(2L, "EUR", new BigDecimal("200"), 2L));
+            return null;
+        }).when(accountService).forEachVersionedRow(any());
+
+        projection.prime();
+
+        assertThat(projection.get(1L)).get().extracting(Account::balance).isEqualTo(new BigDecimal("100"));
+        assertThat(projection.get(2L)).get().extracting(Account::balance).isEqualTo(new BigDecimal("250"));
+    }
+
+    @Test
+    void dropEventsOlderThanTheRows() {
+        doAnswer(invocation -> {
+            Consumer<AccountVersionRow> consumer = invocation.getArgument(0);
+            projection.apply(1L, new BigDecimal("50"), 1L);
+            consumer.accept(new AccountVersionRow(1L, "EUR", new BigDecimal("100"), 2L));
+            return null;
+        }).when(accountService).forEachVersionedRow(any());
+
+        projection.prime();
+        projection.apply(1L, new BigDecimal("75"), 2L);
+
+        assertThat(projection.get(1L)).get().extracting(Account::balance).isEqualTo(new BigDecimal("100"));
+
+        projection.apply(1L, new BigDecimal("120"), 3L);
+
+        assertThat(projection.get(1L)).get().extracting(Account::balance).isEqualTo(new BigDecimal("120"));
+    }
+}
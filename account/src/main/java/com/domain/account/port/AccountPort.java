@@ -1,8 +1,10 @@
 package com.domain.account.port;
 
 import com.domain.account.model.Account;
+import com.domain.account.port.query.AccountCursorQuery;
 import com.domain.account.port.query.AccountPageQuery;
 import com.domain.account.port.query.AccountQuery;
+import com.domain.account.usecase.request.CursorPageResult;
 import com.domain.account.usecase.request.PageResult;
 
 import java.util.Optional;
@@ -12,4 +14,6 @@ public interface AccountPort {
     Optional<Account> getAccount(AccountQuery query);
 
     PageResult<Account> getAllAccounts(AccountPageQuery request);
+
+    CursorPageResult<Account> getAccountsAfter(AccountCursorQuery request);
 }
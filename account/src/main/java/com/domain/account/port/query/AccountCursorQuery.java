@@ -0,0 +1,17 @@
+package com.domain.account.port.query;
+
+import com.domain.account.exception.AccountDomainErrorCode;
+import com.domain.account.exception.AccountDomainException;
+import lombok.Builder;
+
+// Accounts are listed in owner id order, starting after afterOwnerId, or from the first one when it is null
+@Builder
+public record AccountCursorQuery(Long afterOwnerId, int pageSize, boolean includeTotal) {
+
+    public AccountCursorQuery {
+        if (pageSize <= 0) {
+            throw new AccountDomainException(AccountDomainErrorCode.INVALID_REQUEST,
+                    "Page size must be positive.");
+        }
+    }
+}
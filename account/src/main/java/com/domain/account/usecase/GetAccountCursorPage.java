@@ -0,0 +1,18 @@
+package com.domain.account.usecase;
+
+import com.domain.account.model.Account;
+import com.domain.account.port.AccountPort;
+import com.domain.account.port.query.AccountCursorQuery;
+import com.domain.account.usecase.request.CursorPageResult;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public abstract class GetAccountCursorPage implements Usecase<CursorPageResult<Account>, AccountCursorQuery> {
+
+    private final AccountPort accountPort;
+
+    @Override
+    public CursorPageResult<Account> execute(AccountCursorQuery request) {
+        return accountPort.getAccountsAfter(request);
+    }
+}
@@ -6,4 +6,5 @@ import java.math.BigDecimal;
 
 @Builder
 public record AccountUpdateRequest(Long ownerId,
-                                   BigDecimal balance) { }
+                                   BigDecimal balance,
+                                   Long version) { }
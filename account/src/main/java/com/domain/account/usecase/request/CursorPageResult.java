@@ -0,0 +1,11 @@
+package com.domain.account.usecase.request;
+
+import lombok.Builder;
+
+import java.util.List;
+
+// nextOwnerId is null on the last page, estimatedTotal unless the total was asked for
+@Builder
+public record CursorPageResult<T>(List<T> content,
+                                  Long nextOwnerId,
+                                  Long estimatedTotal) { }
@@ -0,0 +1,45 @@
+package com.domain.account.usecase;
+
+import com.domain.account.model.Account;
+import com.domain.account.port.AccountPort;
+import com.domain.account.port.query.AccountCursorQuery;
+import com.domain.account.usecase.request.CursorPageResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class GetAccountCursorPageTest {
+
+    private AccountPort accountPort;
+
+    private GetAccountCursorPage usecase;
+
+    @BeforeEach
+    void setUp() {
+        accountPort = mock(AccountPort.class);
+        usecase = new GetAccountCursorPage(accountPort) {};
+    }
+
+    @Test
+    void should_return_cursor_page_result() {
+        AccountCursorQuery query = new AccountCursorQuery(1L, 2, false);
+        List<Account> accounts = List.of(
+                new Account(2L, "USD", new BigDecimal("100.0")),
+                new Account(3L, "EUR", new BigDecimal("200.0"))
+        );
+
+        when(accountPort.getAccountsAfter(query)).thenReturn(new CursorPageResult<>(accounts, 3L, null));
+
+        CursorPageResult<Account> result = usecase.execute(query);
+
+        assertThat(result.content()).hasSize(2);
+        assertThat(result.nextOwnerId()).isEqualTo(3L);
+        assertThat(result.estimatedTotal()).isNull();
+        verify(accountPort).getAccountsAfter(query);
+    }
+}
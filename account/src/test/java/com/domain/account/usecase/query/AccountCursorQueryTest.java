@@ -0,0 +1,37 @@
+package com.domain.account.usecase.query;
+
+import com.domain.account.exception.AccountDomainErrorCode;
+import com.domain.account.exception.AccountDomainException;
+import com.domain.account.port.query.AccountCursorQuery;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccountCursorQueryTest {
+
+    @Test
+    void should_create_query_with_valid_arguments() {
+        AccountCursorQuery first = new AccountCursorQuery(null, 10, false);
+        assertThat(first.afterOwnerId()).isNull();
+        assertThat(first.pageSize()).isEqualTo(10);
+
+        AccountCursorQuery next = new AccountCursorQuery(105L, 1, true);
+        assertThat(next.afterOwnerId()).isEqualTo(105L);
+        assertThat(next.includeTotal()).isTrue();
+    }
+
+    @Test
+    void should_throw_when_page_size_is_zero() {
+        assertThatThrownBy(() -> new AccountCursorQuery(null, 0, false))
+                .isInstanceOf(AccountDomainException.class)
+                .hasFieldOrPropertyWithValue("errorCode", AccountDomainErrorCode.INVALID_REQUEST);
+    }
+
+    @Test
+    void should_throw_when_page_size_is_negative() {
+        assertThatThrownBy(() -> new AccountCursorQuery(101L, -5, false))
+                .isInstanceOf(AccountDomainException.class)
+                .hasFieldOrPropertyWithValue("errorCode", AccountDomainErrorCode.INVALID_REQUEST);
+    }
+}
@@ -9,16 +9,27 @@ import org.springframework.context.annotation.Configuration;
 public class GatewayConfig {
 
     @Bean
-    public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
+    public RouteLocator customRouteLocator(RouteLocatorBuilder builder, RateLimitFilter rateLimitFilter) {
         return builder.routes()
                 .route("account-service-route", r -> r
                         .path("/account/**", "/accounts/**")
                         .uri("lb://ACCOUNT-DISTRIBUTED"))
 
-                .route("transfer-service-route", r -> r
+                // Only new transfers are throttled, each client within its own budget
+                .route("transfer-request-route", r -> r
                         .path("/send-request-transfer/**")
+                        .filters(f -> f.filter(rateLimitFilter))
                         .uri("lb://TRANSFER-DISTRIBUTED"))
 
+                // Transfer status is polled from the request table of the transfer service, fed by completion events
+                .route("transfer-service-route", r -> r
+                        .path("/transfer/**")
+                        .uri("lb://TRANSFER-DISTRIBUTED"))
+
+                .route("registry-service-route", r -> r
+                        .path("/transfers/status")
+                        .uri("lb://REGISTRY-DISTRIBUTED"))
+
                 .build();
     }
 }
\ No newline at end of file
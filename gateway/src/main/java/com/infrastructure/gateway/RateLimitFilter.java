@@ -0,0 +1,154 @@
+package com.infrastructure.gateway;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Token bucket per client, kept as a single timestamp (GCRA): the theoretical arrival time of the next request. A
+// request is admitted when that time is at most burst emission intervals ahead of now, and moves it one interval
+// forward with a compare-and-set, so admission takes no lock and allocates nothing once the client is known
+@Component
+public class RateLimitFilter implements GatewayFilter {
+
+    // Keyed on the address itself, which hashes its raw bytes, rather than on its text form built for every request
+    private final ConcurrentHashMap<InetAddress, AtomicLong> theoreticalArrivals = new ConcurrentHashMap<>();
+
+    // Shared by every request whose address cannot be resolved
+    private final AtomicLong unknownArrival = new AtomicLong(Long.MIN_VALUE);
+
+    // Shared by every new client while the table is full and no sweep is due, so memory stays bounded
+    private final AtomicLong overflowArrival = new AtomicLong(Long.MIN_VALUE);
+
+    private final AtomicLong nextSweep;
+
+    private final boolean enabled;
+
+    private final long emissionIntervalNanos;
+
+    private final long burstToleranceNanos;
+
+    private final long sweepIntervalNanos;
+
+    private final int maxKeys;
+
+    private final RemoteAddressResolver remoteAddressResolver;
+
+    private final LongSupplier nanoTime;
+
+    private final Counter allowed;
+
+    private final Counter rejected;
+
+    @Autowired
+    public RateLimitFilter(MeterRegistry meterRegistry,
+                           @Value("${gateway-config.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${gateway-config.rate-limit.burst:20}") int burst,
+                           @Value("${gateway-config.rate-limit.refill-per-second:10}") double refillPerSecond,
+                           @Value("${gateway-config.rate-limit.max-keys:100000}") int maxKeys,
+                           @Value("${gateway-config.rate-limit.trusted-proxies:0}") int trustedProxies) {
+        this(meterRegistry, enabled, burst, refillPerSecond, maxKeys, trustedProxies, System::nanoTime);
+    }
+
+    RateLimitFilter(MeterRegistry meterRegistry, boolean enabled, int burst, double refillPerSecond, int maxKeys,
+                    int trustedProxies, LongSupplier nanoTime) {
+        this.enabled = enabled;
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        // An emptied bucket is full again after this long, a sweep more often than that would find nothing new
+        this.sweepIntervalNanos = burstToleranceNanos + emissionIntervalNanos;
+        this.maxKeys = maxKeys;
+        // Behind a proxy the connection address is the proxy's, the client is then read from X-Forwarded-For, but
+        // only from the hops the trusted proxies appended so a client cannot pick its own key
+        this.remoteAddressResolver = trustedProxies > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(trustedProxies)
+                : new RemoteAddressResolver() { };
+        this.nanoTime = nanoTime;
+        this.nextSweep = new AtomicLong(nanoTime.getAsLong());
+        this.allowed = meterRegistry.counter("gateway.rate.limit", "result", "allowed");
+        this.rejected = meterRegistry.counter("gateway.rate.limit", "result", "rejected");
+        meterRegistry.gaugeMapSize("gateway.rate.limit.keys", Tags.empty(), theoreticalArrivals);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!enabled) {
+            return chain.filter(exchange);
+        }
+
+        long waitNanos = tryAcquire(keyOf(exchange), nanoTime.getAsLong());
+        if (waitNanos == 0) {
+            allowed.increment();
+            return chain.filter(exchange);
+        }
+
+        rejected.increment();
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        // Whole seconds, rounded up so the retry is admitted
+        long retryAfterSeconds = (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return exchange.getResponse().setComplete();
+    }
+
+    // 0 when the request is admitted, otherwise how long until it would be
+    long tryAcquire(InetAddress key, long now) {
+        AtomicLong theoreticalArrival = key == null ? unknownArrival : theoreticalArrivals.get(key);
+        if (theoreticalArrival == null) {
+            theoreticalArrival = register(key, now);
+        }
+
+        while (true) {
+            long current = theoreticalArrival.get();
+            long arrival = Math.max(current, now);
+            if (arrival - burstToleranceNanos > now) {
+                return arrival - burstToleranceNanos - now;
+            }
+            if (theoreticalArrival.compareAndSet(current, arrival + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    private AtomicLong register(InetAddress key, long now) {
+        if (theoreticalArrivals.size() >= maxKeys) {
+            evictIdle(now);
+            if (theoreticalArrivals.size() >= maxKeys) {
+                return overflowArrival;
+            }
+        }
+        return theoreticalArrivals.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+    }
+
+    // A bucket whose arrival time has passed is full again, dropping it changes nothing for its client. The table is
+    // scanned at most once per sweep interval whatever the rate of new clients, one thread winning each sweep
+    private void evictIdle(long now) {
+        long due = nextSweep.get();
+        if (now - due < 0 || !nextSweep.compareAndSet(due, now + sweepIntervalNanos)) {
+            return;
+        }
+        theoreticalArrivals.values().removeIf(theoreticalArrival -> theoreticalArrival.get() <= now);
+    }
+
+    // Headers are set by the client and can be rotated on every request, so only the network address is a key
+    private InetAddress keyOf(ServerWebExchange exchange) {
+        InetSocketAddress remoteAddress = remoteAddressResolver.resolve(exchange);
+        return remoteAddress == null ? null : remoteAddress.getAddress();
+    }
+}
@@ -0,0 +1,168 @@
+package com.infrastructure.gateway;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    // Burst of 3, then one request every 100 ms
+    private final RateLimitFilter filter = new RateLimitFilter(new SimpleMeterRegistry(), true, 3, 10, 100, 0, clock::get);
+
+    @Test
+    void admitBurstThenRefillRate() {
+        long now = 0;
+        assertThat(filter.tryAcquire(address("10.0.0.1"), now)).isZero();
+        assertThat(filter.tryAcquire(address("10.0.0.1"), now)).isZero();
+        assertThat(filter.tryAcquire(address("10.0.0.1"), now)).isZero();
+        assertThat(filter.tryAcquire(address("10.0.0.1"), now)).isEqualTo(SECOND / 10);
+
+        assertThat(filter.tryAcquire(address("10.0.0.1"), now + SECOND / 10)).isZero();
+        assertThat(filter.tryAcquire(address("10.0.0.1"), now + SECOND / 10)).isEqualTo(SECOND / 10);
+    }
+
+    @Test
+    void keepOneBudgetPerClient() {
+        for (int i = 0; i < 3; i++) {
+            filter.tryAcquire(address("10.0.0.2"), 0);
+        }
+
+        assertThat(filter.tryAcquire(address("10.0.0.2"), 0)).isPositive();
+        assertThat(filter.tryAcquire(address("10.0.0.3"), 0)).isZero();
+    }
+
+    @Test
+    void rejectWithRetryAfter() {
+        for (int i = 0; i < 3; i++) {
+            MockServerWebExchange exchange = exchangeFrom("10.0.0.1");
+            filter.filter(exchange, e -> Mono.empty()).block();
+            assertThat(exchange.getResponse().getStatusCode()).isNull();
+        }
+
+        MockServerWebExchange exchange = exchangeFrom("10.0.0.1");
+        filter.filter(exchange, e -> Mono.error(new AssertionError("Request should not be forwarded"))).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+
+        clock.addAndGet(SECOND / 10);
+        MockServerWebExchange retry = exchangeFrom("10.0.0.1");
+        filter.filter(retry, e -> Mono.empty()).block();
+        assertThat(retry.getResponse().getStatusCode()).isNull();
+    }
+
+    @Test
+    void ignoreClientHeadersWhenKeying() {
+        for (int i = 0; i < 3; i++) {
+            filter.filter(exchangeWithHeaders("key-" + i, "originator-" + i), e -> Mono.empty()).block();
+        }
+
+        MockServerWebExchange exchange = exchangeWithHeaders("fresh-key", "fresh-originator");
+        filter.filter(exchange, e -> Mono.error(new AssertionError("Request should not be forwarded"))).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    void keyOnTrustedForwardedAddressOnly() {
+        RateLimitFilter behindProxy = new RateLimitFilter(new SimpleMeterRegistry(), true, 1, 10, 100, 1, clock::get);
+
+        behindProxy.filter(forwardedExchange("spoofed-1, 192.168.1.7"), e -> Mono.empty()).block();
+
+        // The client rewrote its own part of the header, the hop added by the proxy is the same
+        MockServerWebExchange exchange = forwardedExchange("spoofed-2, 192.168.1.7");
+        behindProxy.filter(exchange, e -> Mono.error(new AssertionError("Request should not be forwarded"))).block();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        MockServerWebExchange other = forwardedExchange("192.168.1.8");
+        behindProxy.filter(other, e -> Mono.empty()).block();
+        assertThat(other.getResponse().getStatusCode()).isNull();
+    }
+
+    @Test
+    void shareOneBucketWhenFullUntilNextSweep() {
+        RateLimitFilter small = new RateLimitFilter(new SimpleMeterRegistry(), true, 3, 10, 2, 0, clock::get);
+        small.tryAcquire(address("10.0.1.1"), 0);
+        small.tryAcquire(address("10.0.1.2"), 0);
+
+        // Both buckets are still refilling, so the sweep frees nothing and new clients share the overflow bucket
+        for (int i = 0; i < 3; i++) {
+            assertThat(small.tryAcquire(address("10.0.2." + i), 0)).isZero();
+        }
+        assertThat(small.tryAcquire(address("10.0.2.3"), 0)).isPositive();
+
+        // No second scan before the sweep interval, even though "a" and "b" are full again
+        assertThat(small.tryAcquire(address("10.0.2.4"), SECOND / 10 + 1)).isZero();
+        assertThat(small.tryAcquire(address("10.0.2.5"), SECOND / 10 + 1)).isPositive();
+
+        // After a full refill period the idle buckets are dropped and a new client gets its own budget
+        long later = 3 * SECOND / 10;
+        for (int i = 0; i < 3; i++) {
+            assertThat(small.tryAcquire(address("10.0.3.1"), later)).isZero();
+        }
+        assertThat(small.tryAcquire(address("10.0.3.1"), later)).isPositive();
+    }
+
+    @Test
+    void shareOneBucketBetweenUnresolvedClients() {
+        for (int i = 0; i < 3; i++) {
+            filter.filter(exchangeFrom(InetSocketAddress.createUnresolved("client-" + i, 4000)), e -> Mono.empty()).block();
+        }
+
+        MockServerWebExchange exchange = exchangeFrom(InetSocketAddress.createUnresolved("client-3", 4000));
+        filter.filter(exchange, e -> Mono.error(new AssertionError("Request should not be forwarded"))).block();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        MockServerWebExchange resolved = exchangeFrom("10.0.0.1");
+        filter.filter(resolved, e -> Mono.empty()).block();
+        assertThat(resolved.getResponse().getStatusCode()).isNull();
+    }
+
+    // Literals only, so nothing is looked up
+    private static InetAddress address(String literal) {
+        try {
+            return InetAddress.getByName(literal);
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static MockServerWebExchange exchangeFrom(InetSocketAddress address) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/send-request-transfer")
+                .remoteAddress(address));
+    }
+
+    private static MockServerWebExchange exchangeFrom(String address) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/send-request-transfer")
+                .remoteAddress(new InetSocketAddress(address, 4000)));
+    }
+
+    private static MockServerWebExchange exchangeWithHeaders(String apiKey, String originator) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/send-request-transfer")
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 4000))
+                .header("X-API-Key", apiKey)
+                .header("X-Originator-Id", originator));
+    }
+
+    private static MockServerWebExchange forwardedExchange(String forwardedFor) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/send-request-transfer")
+                .remoteAddress(new InetSocketAddress("10.0.0.254", 4000))
+                .header("X-Forwarded-For", forwardedFor));
+    }
+}
@@ -0,0 +1,184 @@
+package com.infrastructure.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Collects messages for a short window and publishes them together on one channel with correlated confirms, without
+// waiting for a confirm before sending the next message. The returned future completes once the broker has confirmed
+// the message; a nacked message is published again, up to max-attempts, and only then fails the future. Messages are
+// mandatory, one the exchange could not route is returned before its confirm and fails the future at once, as a
+// broker ack alone does not mean it reached a queue
+@Slf4j
+public class BatchingConfirmPublisher implements AutoCloseable {
+
+    private final RabbitTemplate rabbitTemplate;
+
+    private final BlockingQueue<PendingMessage> queue = new LinkedBlockingQueue<>();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Timer confirmLatency;
+
+    private final Counter acks;
+
+    private final Counter nacks;
+
+    private final Counter returns;
+
+    private final long windowNanos;
+
+    private final int maxBatchSize;
+
+    private final int maxAttempts;
+
+    private final Thread flusher;
+
+    private volatile boolean running = true;
+
+    // The template is taken over: it is made mandatory and its returns callback is set, its connection factory must
+    // have publisher confirms correlated and publisher returns enabled
+    public BatchingConfirmPublisher(String name, RabbitTemplate rabbitTemplate, MeterRegistry meterRegistry, long windowMillis, int maxBatchSize, int maxAttempts) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.rabbitTemplate.setMandatory(true);
+        this.rabbitTemplate.setReturnsCallback(returned -> log.warn("Message to exchange {} with routing key {} was returned: {}",
+                returned.getExchange(), returned.getRoutingKey(), returned.getReplyText()));
+        this.confirmLatency = meterRegistry.timer("rabbitmq.publisher.confirm.latency", "publisher", name);
+        this.acks = meterRegistry.counter("rabbitmq.publisher.confirms", "publisher", name, "result", "ack");
+        this.nacks = meterRegistry.counter("rabbitmq.publisher.confirms", "publisher", name, "result", "nack");
+        this.returns = meterRegistry.counter("rabbitmq.publisher.confirms", "publisher", name, "result", "returned");
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.maxAttempts = maxAttempts;
+        meterRegistry.gauge("rabbitmq.publisher.in.flight", Tags.of("publisher", name), inFlight);
+        this.flusher = Thread.ofVirtual().name("confirm-publisher-" + name).start(this::run);
+    }
+
+    public CompletableFuture<Void> publish(String exchange, String routingKey, Object message) {
+        return publish(exchange, routingKey, message, amqpMessage -> amqpMessage);
+    }
+
+    // The post processor sets message properties, it runs again for every attempt
+    public CompletableFuture<Void> publish(String exchange, String routingKey, Object message, MessagePostProcessor postProcessor) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new AmqpException("Publisher is closed"));
+        }
+
+        PendingMessage pending = new PendingMessage(exchange, routingKey, message, postProcessor, new CompletableFuture<>(), 1);
+        inFlight.incrementAndGet();
+        queue.add(pending);
+        return pending.future();
+    }
+
+    // Messages already queued are still published, the confirms of the last batch may arrive after this returns
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        flusher.join();
+    }
+
+    private void run() {
+        List<PendingMessage> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMessage first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+
+                    PendingMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.addAll(queue);
+                batch.forEach(pending -> fail(pending, "publisher interrupted"));
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    private void send(List<PendingMessage> batch) {
+        long sentAt = System.nanoTime();
+        int[] sent = {0};
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (PendingMessage pending : batch) {
+                    CorrelationData correlationData = new CorrelationData();
+                    correlationData.getFuture().whenComplete((confirm, error) -> {
+                        if (correlationData.getReturned() != null) {
+                            // Publishing it again would be returned again, no queue is bound for it
+                            returns.increment();
+                            fail(pending, "returned, " + correlationData.getReturned().getReplyText());
+                        } else if (error == null && confirm.isAck()) {
+                            confirmLatency.record(System.nanoTime() - sentAt, TimeUnit.NANOSECONDS);
+                            acks.increment();
+                            inFlight.decrementAndGet();
+                            pending.future().complete(null);
+                        } else {
+                            nacks.increment();
+                            retryOrFail(pending, error != null ? error.getMessage() : confirm.getReason());
+                        }
+                    });
+                    operations.convertAndSend(pending.exchange(), pending.routingKey(), pending.message(), pending.postProcessor(), correlationData);
+                    sent[0]++;
+                }
+                return null;
+            });
+        } catch (AmqpException e) {
+            // The messages sent before the failure get their confirm, or a nack when the channel is closed
+            log.warn("Publishing a batch of {} messages failed after {}", batch.size(), sent[0], e);
+            batch.subList(sent[0], batch.size()).forEach(pending -> retryOrFail(pending, e.getMessage()));
+        }
+    }
+
+    private void retryOrFail(PendingMessage pending, String reason) {
+        if (running && pending.attempt() < maxAttempts) {
+            queue.add(pending.retry());
+            return;
+        }
+
+        fail(pending, reason);
+    }
+
+    private void fail(PendingMessage pending, String reason) {
+        inFlight.decrementAndGet();
+        pending.future().completeExceptionally(new AmqpException("Message not confirmed after " + pending.attempt() + " attempts: " + reason));
+    }
+
+    private record PendingMessage(String exchange, String routingKey, Object message, MessagePostProcessor postProcessor, CompletableFuture<Void> future, int attempt) {
+
+        PendingMessage retry() {
+            return new PendingMessage(exchange, routingKey, message, postProcessor, future, attempt + 1);
+        }
+    }
+}
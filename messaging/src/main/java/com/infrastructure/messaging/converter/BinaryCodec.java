@@ -0,0 +1,18 @@
+package com.infrastructure.messaging.converter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// Fixed layout of one message type. The type id is shared by every service exchanging that message, a layout change
+// needs a new schema version
+public interface BinaryCodec<T> {
+
+    byte typeId();
+
+    Class<T> type();
+
+    void encode(T message, DataOutput out) throws IOException;
+
+    T decode(DataInput in) throws IOException;
+}
@@ -0,0 +1,45 @@
+package com.infrastructure.messaging.converter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+// UUIDs as two longs, timestamps as epoch microseconds in UTC and amounts as a scale and an unscaled long
+public final class BinaryFields {
+
+    private BinaryFields() {
+    }
+
+    public static void writeUuid(DataOutput out, UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    public static UUID readUuid(DataInput in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    public static void writeTimestamp(DataOutput out, OffsetDateTime timestamp) throws IOException {
+        out.writeLong(ChronoUnit.MICROS.between(Instant.EPOCH, timestamp.toInstant()));
+    }
+
+    public static OffsetDateTime readTimestamp(DataInput in) throws IOException {
+        return OffsetDateTime.ofInstant(Instant.EPOCH.plus(in.readLong(), ChronoUnit.MICROS), ZoneOffset.UTC);
+    }
+
+    public static void writeAmount(DataOutput out, BigDecimal amount) throws IOException {
+        out.writeByte(amount.scale());
+        out.writeLong(amount.unscaledValue().longValueExact());
+    }
+
+    public static BigDecimal readAmount(DataInput in) throws IOException {
+        int scale = in.readByte();
+        return BigDecimal.valueOf(in.readLong(), scale);
+    }
+}
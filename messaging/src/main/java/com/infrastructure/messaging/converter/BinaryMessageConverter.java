@@ -0,0 +1,88 @@
+package com.infrastructure.messaging.converter;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+// Chooses the codec by content type: binary messages are decoded with their codec, anything else goes to the JSON
+// converter, so both encodings are read during a rollout. Outgoing messages are encoded in binary only once encode is
+// switched on, and only for the types with a codec
+public class BinaryMessageConverter implements MessageConverter {
+
+    public static final String CONTENT_TYPE = "application/vnd.transfer-system.binary";
+
+    private static final byte SCHEMA_VERSION = 1;
+
+    private final MessageConverter jsonConverter;
+
+    private final boolean encode;
+
+    private final Map<Class<?>, BinaryCodec<?>> codecsByType = new HashMap<>();
+
+    private final Map<Byte, BinaryCodec<?>> codecsById = new HashMap<>();
+
+    public BinaryMessageConverter(MessageConverter jsonConverter, boolean encode, Collection<BinaryCodec<?>> codecs) {
+        this.jsonConverter = jsonConverter;
+        this.encode = encode;
+        for (BinaryCodec<?> codec : codecs) {
+            codecsByType.put(codec.type(), codec);
+            codecsById.put(codec.typeId(), codec);
+        }
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) {
+        BinaryCodec<?> codec = codecsByType.get(object.getClass());
+        if (!encode || codec == null) {
+            return jsonConverter.toMessage(object, messageProperties);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(codec.typeId());
+            out.writeByte(SCHEMA_VERSION);
+            encode(codec, object, out);
+        } catch (IOException | RuntimeException e) {
+            throw new MessageConversionException("Could not encode " + object.getClass().getSimpleName(), e);
+        }
+
+        byte[] body = bytes.toByteArray();
+        messageProperties.setContentType(CONTENT_TYPE);
+        messageProperties.setContentLength(body.length);
+        return new Message(body, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        if (!CONTENT_TYPE.equals(message.getMessageProperties().getContentType())) {
+            return jsonConverter.fromMessage(message);
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(message.getBody()))) {
+            byte typeId = in.readByte();
+            byte schemaVersion = in.readByte();
+            BinaryCodec<?> codec = codecsById.get(typeId);
+            if (codec == null || schemaVersion != SCHEMA_VERSION) {
+                throw new MessageConversionException("No codec for message type " + typeId + " version " + schemaVersion);
+            }
+            return codec.decode(in);
+        } catch (IOException e) {
+            throw new MessageConversionException("Could not decode binary message", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void encode(BinaryCodec<T> codec, Object object, DataOutputStream out) throws IOException {
+        codec.encode((T) object, out);
+    }
+}
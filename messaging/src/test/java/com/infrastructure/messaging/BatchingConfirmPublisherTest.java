@@ -0,0 +1,163 @@
+package com.infrastructure.messaging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchingConfirmPublisherTest {
+
+    private final RabbitTemplate rabbitTemplate = Mockito.mock(RabbitTemplate.class);
+
+    private final RabbitOperations operations = Mockito.mock(RabbitOperations.class);
+
+    // Messages in the order they were sent, and the size of every batch
+    private final List<Object> sent = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<AtomicInteger> batches = Collections.synchronizedList(new ArrayList<>());
+
+    private BatchingConfirmPublisher publisher;
+
+    private void start(int maxBatchSize, int maxAttempts, BiConsumer<Object, CorrelationData> broker) {
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation -> {
+            batches.add(new AtomicInteger());
+            return invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(operations);
+        });
+        doAnswer(invocation -> {
+            Object message = invocation.getArgument(2);
+            sent.add(message);
+            batches.getLast().incrementAndGet();
+            broker.accept(message, invocation.getArgument(4));
+            return null;
+        }).when(operations).convertAndSend(anyString(), anyString(), any(), any(MessagePostProcessor.class), any(CorrelationData.class));
+
+        publisher = new BatchingConfirmPublisher("test", rabbitTemplate, new SimpleMeterRegistry(), 200, maxBatchSize, maxAttempts);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        publisher.close();
+    }
+
+    @Test
+    void publishMessagesOfOneWindowTogether() throws Exception {
+        start(10, 3, (message, correlationData) -> ack(correlationData));
+
+        List<CompletableFuture<Void>> confirms = List.of(
+                publisher.publish("exchange", "key", "first"),
+                publisher.publish("exchange", "key", "second"),
+                publisher.publish("exchange", "key", "third"));
+        CompletableFuture.allOf(confirms.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        assertThat(sent).containsExactly("first", "second", "third");
+        assertThat(batches).map(AtomicInteger::get).containsExactly(3);
+        verify(rabbitTemplate).setMandatory(true);
+    }
+
+    @Test
+    void splitBatchesAtTheMaxSize() throws Exception {
+        start(2, 3, (message, correlationData) -> ack(correlationData));
+
+        List<CompletableFuture<Void>> confirms = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            confirms.add(publisher.publish("exchange", "key", "message-" + i));
+        }
+        CompletableFuture.allOf(confirms.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        assertThat(sent).hasSize(5);
+        assertThat(batches).map(AtomicInteger::get).allMatch(size -> size <= 2);
+    }
+
+    @Test
+    void publishAgainOnNack() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        start(10, 3, (message, correlationData) -> {
+            if (attempts.incrementAndGet() < 3) {
+                correlationData.getFuture().complete(new CorrelationData.Confirm(false, "nacked"));
+            } else {
+                ack(correlationData);
+            }
+        });
+
+        publisher.publish("exchange", "key", "message").get(5, TimeUnit.SECONDS);
+
+        assertThat(sent).containsExactly("message", "message", "message");
+    }
+
+    @Test
+    void failAfterMaxAttempts() {
+        start(10, 2, (message, correlationData) -> correlationData.getFuture().complete(new CorrelationData.Confirm(false, "nacked")));
+
+        assertThatThrownBy(() -> publisher.publish("exchange", "key", "message").get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(AmqpException.class)
+                .hasMessageContaining("2 attempts");
+        assertThat(sent).hasSize(2);
+    }
+
+    @Test
+    void failReturnedMessageWithoutPublishingItAgain() {
+        // The broker acks an unroutable mandatory message, after returning it
+        start(10, 3, (message, correlationData) -> {
+            if ("unroutable".equals(message)) {
+                correlationData.setReturned(new ReturnedMessage(new Message(new byte[0], new MessageProperties()), 312, "NO_ROUTE", "exchange", "key"));
+            }
+            ack(correlationData);
+        });
+
+        CompletableFuture<Void> routed = publisher.publish("exchange", "key", "routed");
+        CompletableFuture<Void> unroutable = publisher.publish("exchange", "key", "unroutable");
+
+        assertThatThrownBy(() -> unroutable.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .hasMessageContaining("NO_ROUTE");
+        assertThat(routed).succeedsWithin(5, TimeUnit.SECONDS);
+        assertThat(sent).containsExactly("routed", "unroutable");
+    }
+
+    @Test
+    void publishQueuedMessagesOnClose() throws Exception {
+        start(10, 3, (message, correlationData) -> ack(correlationData));
+
+        CompletableFuture<Void> queued = publisher.publish("exchange", "key", "queued");
+        publisher.close();
+
+        assertThat(queued).succeedsWithin(5, TimeUnit.SECONDS);
+        assertThat(sent).containsExactly("queued");
+        assertThat(publisher.publish("exchange", "key", "late"))
+                .failsWithin(5, TimeUnit.SECONDS)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(AmqpException.class);
+    }
+
+    private static void ack(CorrelationData correlationData) {
+        correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+    }
+}
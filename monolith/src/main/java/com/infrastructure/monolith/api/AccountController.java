@@ -1,11 +1,15 @@
 package com.infrastructure.monolith.api;
 
 import com.domain.account.model.Account;
+import com.domain.account.port.query.AccountCursorQuery;
 import com.domain.account.port.query.AccountPageQuery;
 import com.domain.account.usecase.GetAccount;
+import com.domain.account.usecase.GetAccountCursorPage;
 import com.domain.account.usecase.GetAccountPage;
 import com.domain.account.usecase.request.AccountRequest;
+import com.domain.account.usecase.request.CursorPageResult;
 import com.domain.account.usecase.request.PageResult;
+import com.infrastructure.monolith.api.dto.AccountCursorPageDTO;
 import com.infrastructure.monolith.api.dto.AccountDTO;
 import com.infrastructure.monolith.api.mapper.AccountMapper;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +32,8 @@ public class AccountController {
 
     private final GetAccountPage getAccountPage;
 
+    private final GetAccountCursorPage getAccountCursorPage;
+
     @GetMapping("/account/{ownerId}")
     public ResponseEntity<AccountDTO> getAccount(@PathVariable Long ownerId) {
         return ResponseEntity.ok(AccountMapper.INSTANCE.mapFromModelToDto(getAccount.execute(new AccountRequest(ownerId))));
@@ -45,4 +51,19 @@ public class AccountController {
         Page<AccountDTO> dtoPage = new PageImpl<>(content, PageRequest.of(page, size), result.totalElements());
         return ResponseEntity.ok(dtoPage);
     }
+
+    // Picked over the page mode as soon as a cursor is given, an empty one starts from the first account
+    @GetMapping(value = "/accounts", params = "cursor")
+    public ResponseEntity<AccountCursorPageDTO> getAccountsAfter(@RequestParam(required = false) String cursor,
+                                                                 @RequestParam(defaultValue = "10") int size,
+                                                                 @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        CursorPageResult<Account> result = getAccountCursorPage.execute(new AccountCursorQuery(AccountMapper.INSTANCE.mapFromCursorToOwnerId(cursor), size, includeTotal));
+
+        List<AccountDTO> content = result.content().stream()
+                .map(AccountMapper.INSTANCE::mapFromModelToDto)
+                .toList();
+
+        return ResponseEntity.ok(new AccountCursorPageDTO(content, AccountMapper.INSTANCE.mapFromOwnerIdToCursor(result.nextOwnerId()), result.estimatedTotal()));
+    }
 }
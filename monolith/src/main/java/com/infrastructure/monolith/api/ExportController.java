@@ -0,0 +1,69 @@
+package com.infrastructure.monolith.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infrastructure.monolith.api.export.ExportFormat;
+import com.infrastructure.monolith.api.export.RowWriter;
+import com.infrastructure.monolith.database.repository.AccountRow;
+import com.infrastructure.monolith.database.repository.AccountService;
+import com.infrastructure.monolith.database.repository.TransferRow;
+import com.infrastructure.monolith.database.repository.TransferService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+// Full table exports for reconciliation. Rows go from the database cursor straight to the response, so an export
+// holds one fetch of rows in memory at a time, however large the table is
+@RestController
+@RequiredArgsConstructor
+public class ExportController {
+
+    private static final List<String> ACCOUNT_HEADER = List.of("ownerId", "currency", "balance");
+
+    private static final List<String> TRANSFER_HEADER = List.of("transferId", "createdAt", "transferAmount", "originatorId", "beneficiaryId",
+            "status", "processedAt", "exchangeRate", "debit", "credit", "errorCode");
+
+    private final AccountService accountService;
+
+    private final TransferService transferService;
+
+    private final ObjectMapper objectMapper;
+
+    @GetMapping("/accounts/export")
+    public ResponseEntity<StreamingResponseBody> exportAccounts(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .body(outputStream -> {
+                    Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+                    RowWriter<AccountRow> rows = new RowWriter<>(writer, exportFormat, objectMapper, ACCOUNT_HEADER,
+                            row -> Arrays.asList(row.ownerId(), row.currency(), row.balance()));
+                    accountService.forEachRow(rows::write);
+                    writer.flush();
+                });
+    }
+
+    @GetMapping("/transfers/export")
+    public ResponseEntity<StreamingResponseBody> exportTransfers(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .body(outputStream -> {
+                    Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+                    RowWriter<TransferRow> rows = new RowWriter<>(writer, exportFormat, objectMapper, TRANSFER_HEADER,
+                            row -> Arrays.asList(row.transferId(), row.createdAt(), row.transferAmount(), row.originatorId(), row.beneficiaryId(),
+                                    row.status(), row.processedAt(), row.exchangeRate(), row.debit(), row.credit(), row.errorCode()));
+                    transferService.forEachRow(rows::write);
+                    writer.flush();
+                });
+    }
+}
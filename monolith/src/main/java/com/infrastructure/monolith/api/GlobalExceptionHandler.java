@@ -8,6 +8,9 @@ import com.infrastructure.monolith.api.mapper.RegistryMapper;
 import com.infrastructure.monolith.usecase.accept.AcceptTransferException;
 import com.infrastructure.monolith.usecase.registry.TransferProcessingException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -42,6 +45,15 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDTO, errorDTO.getHttpStatus());
     }
 
+    // An account stayed locked longer than registry-config.lock.timeout-ms, or the transaction lost a deadlock: it was
+    // rolled back and can be sent again
+    @ExceptionHandler(PessimisticLockingFailureException.class)
+    public ResponseEntity<ErrorDTO> handleLockFailure(PessimisticLockingFailureException ex) {
+        log.warn("Transfer rolled back on a lock failure: {}", ex.getMessage());
+        ErrorDTO error = new ErrorDTO("Account locked", "The accounts are busy, retry the request", HttpStatus.SERVICE_UNAVAILABLE, OffsetDateTime.now());
+        return ResponseEntity.status(error.getHttpStatus()).header(HttpHeaders.RETRY_AFTER, "1").body(error);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorDTO> handleGenericException(Exception ex) {
         log.error(ex.getMessage(), ex);
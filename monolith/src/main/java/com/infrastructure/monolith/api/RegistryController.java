@@ -2,19 +2,49 @@ package com.infrastructure.monolith.api;
 
 import com.domain.accept.model.AcceptedTransfer;
 import com.domain.accept.usecase.AcceptTransfer;
+import com.domain.accept.usecase.request.AcceptTransferRequest;
+import com.domain.registry.exception.RegistryDomainErrorCode;
+import com.domain.registry.exception.RegistryDomainException;
+import com.domain.registry.model.FailedTransfer;
 import com.domain.registry.model.SuccessfulTransfer;
+import com.domain.registry.model.Transfer;
 import com.domain.registry.usecase.ProcessTransfer;
+import com.domain.registry.usecase.request.ProcessTransferRequest;
+import com.infrastructure.monolith.api.dto.BatchTransferItemDTO;
+import com.infrastructure.monolith.api.dto.BatchTransferResultDTO;
+import com.infrastructure.monolith.api.dto.ErrorDTO;
 import com.infrastructure.monolith.api.dto.TransferDTO;
 import com.infrastructure.monolith.api.dto.TransferRequestDTO;
+import com.infrastructure.monolith.api.dto.TransferStatusDTO;
 import com.infrastructure.monolith.api.mapper.AcceptTransferMapper;
 import com.infrastructure.monolith.api.mapper.RegistryMapper;
+import com.infrastructure.monolith.database.entity.TransferEntity;
+import com.infrastructure.monolith.usecase.accept.AcceptResult;
+import com.infrastructure.monolith.usecase.accept.AcceptTransferException;
+import com.infrastructure.monolith.usecase.accept.AcceptTransferUsecase;
+import com.infrastructure.monolith.usecase.registry.AsyncTransferProcessor;
+import com.infrastructure.monolith.usecase.registry.BatchTransferUsecase;
+import com.infrastructure.monolith.usecase.registry.BatchTransferUsecase.BatchTransfer;
+import com.infrastructure.monolith.usecase.registry.GetTransferUsecase;
+import com.infrastructure.monolith.usecase.registry.GetTransferUsecase.TransferLookup;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -25,10 +55,119 @@ public class RegistryController {
 
     private final ProcessTransfer processTransfer;
 
+    private final AcceptTransferUsecase acceptTransferUsecase;
+
+    private final BatchTransferUsecase batchTransferUsecase;
+
+    private final GetTransferUsecase getTransferUsecase;
+
+    private final Optional<AsyncTransferProcessor> asyncTransferProcessor;
+
+    @Value("${registry-config.batch.max-size:1000}")
+    private int maxBatchSize;
+
     @PostMapping("/transfer")
     public ResponseEntity<TransferDTO> performTransfer(@RequestHeader("Idempotency-Key") UUID idempotencyKey, @RequestBody TransferRequestDTO dto) {
         AcceptedTransfer acceptedTransfer = acceptTransfer.execute(AcceptTransferMapper.INSTANCE.mapFromDtoToModel(dto, idempotencyKey));
-        SuccessfulTransfer successfulTransfer = processTransfer.execute(RegistryMapper.INSTANCE.mapFromDtoToModel(acceptedTransfer));
+        ProcessTransferRequest request = RegistryMapper.INSTANCE.mapFromDtoToModel(acceptedTransfer);
+        if (asyncTransferProcessor.map(processor -> processor.submit(request)).orElse(false)) {
+            return ResponseEntity.accepted().body(RegistryMapper.INSTANCE.mapFromModelToPendingDto(acceptedTransfer));
+        }
+
+        // Synchronous mode, or the asynchronous lanes are full and the request absorbs the backpressure
+        SuccessfulTransfer successfulTransfer;
+        try {
+            successfulTransfer = processTransfer.execute(request);
+        } catch (PessimisticLockingFailureException e) {
+            // Nothing was written, the client is told to retry and may do so with the same idempotency key
+            acceptTransferUsecase.withdrawAll(List.of(acceptedTransfer));
+            throw e;
+        }
         return ResponseEntity.ok(RegistryMapper.INSTANCE.mapFromModelToDto(successfulTransfer));
     }
+
+    @GetMapping("/transfer/{transferId}")
+    public ResponseEntity<TransferDTO> getTransfer(@PathVariable UUID transferId) {
+        return getTransferUsecase.execute(transferId)
+                .map(transfer -> ResponseEntity.ok(RegistryMapper.INSTANCE.mapFromEntityToDto(transfer)))
+                .orElseGet(() -> ResponseEntity.accepted().body(pendingTransfer(transferId)));
+    }
+
+    // Ids that were never accepted are left out of the response
+    @PostMapping("/transfers/status")
+    public ResponseEntity<List<TransferDTO>> getTransfers(@RequestBody List<UUID> transferIds) {
+        if (transferIds.size() > maxBatchSize) {
+            throw new RegistryDomainException(RegistryDomainErrorCode.INVALID_TRANSFER, String.format("Cannot look up more than %d transfers at once", maxBatchSize));
+        }
+
+        TransferLookup lookup = getTransferUsecase.executeAll(transferIds);
+        List<TransferDTO> transfers = new ArrayList<>(transferIds.size());
+        for (UUID transferId : new LinkedHashSet<>(transferIds)) {
+            TransferEntity transfer = lookup.processed().get(transferId);
+            if (transfer != null) {
+                transfers.add(RegistryMapper.INSTANCE.mapFromEntityToDto(transfer));
+            } else if (lookup.pending().contains(transferId)) {
+                transfers.add(pendingTransfer(transferId));
+            }
+        }
+
+        return ResponseEntity.ok(transfers);
+    }
+
+    @PostMapping("/transfers/batch")
+    public ResponseEntity<List<BatchTransferResultDTO>> performTransfers(@RequestBody List<BatchTransferItemDTO> items) {
+        if (items.size() > maxBatchSize) {
+            throw new RegistryDomainException(RegistryDomainErrorCode.INVALID_TRANSFER, String.format("A batch cannot contain more than %d transfers", maxBatchSize));
+        }
+
+        if (items.stream().anyMatch(item -> item.idempotencyKey() == null || item.transfer() == null)) {
+            throw new RegistryDomainException(RegistryDomainErrorCode.INVALID_TRANSFER, "Every transfer of a batch needs an idempotency key");
+        }
+
+        List<AcceptTransferRequest> requests = items.stream()
+                .map(item -> AcceptTransferMapper.INSTANCE.mapFromDtoToModel(item.transfer(), item.idempotencyKey()))
+                .toList();
+
+        BatchTransfer batch = batchTransferUsecase.executeAll(requests);
+        Iterator<Transfer> processed = batch.processed().iterator();
+
+        List<BatchTransferResultDTO> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            AcceptResult result = batch.accepted().get(i);
+            results.add(result.isAccepted()
+                    ? mapFromModelToDto(items.get(i).idempotencyKey(), processed.next())
+                    : mapFromModelToDto(items.get(i).idempotencyKey(), result.rejection()));
+        }
+
+        return ResponseEntity.ok(results);
+    }
+
+    private TransferDTO pendingTransfer(UUID transferId) {
+        return new TransferDTO(transferId, null, null, null, null, TransferStatusDTO.PENDING, null, null, null, null, null);
+    }
+
+    private BatchTransferResultDTO mapFromModelToDto(UUID idempotencyKey, Transfer transfer) {
+        if (transfer instanceof FailedTransfer failedTransfer) {
+            return BatchTransferResultDTO.builder()
+                    .idempotencyKey(idempotencyKey)
+                    .httpStatus(ErrorDTO.convertRegistryCode(failedTransfer.getErrorCode()).value())
+                    .transfer(RegistryMapper.INSTANCE.mapFromModelToDto(failedTransfer))
+                    .build();
+        }
+
+        return BatchTransferResultDTO.builder()
+                .idempotencyKey(idempotencyKey)
+                .httpStatus(HttpStatus.OK.value())
+                .transfer(RegistryMapper.INSTANCE.mapFromModelToDto((SuccessfulTransfer) transfer))
+                .build();
+    }
+
+    private BatchTransferResultDTO mapFromModelToDto(UUID idempotencyKey, AcceptTransferException rejection) {
+        ErrorDTO error = new ErrorDTO(rejection.getErrorCode(), rejection.getMessage(), rejection.getRejectedTransfer().transferId(), rejection.getRejectedTransfer().requestId(), OffsetDateTime.now());
+        return BatchTransferResultDTO.builder()
+                .idempotencyKey(idempotencyKey)
+                .httpStatus(error.getHttpStatus().value())
+                .error(error)
+                .build();
+    }
 }
@@ -0,0 +1,7 @@
+package com.infrastructure.monolith.api.dto;
+
+import java.util.List;
+
+public record AccountCursorPageDTO(List<AccountDTO> content,
+                                   String nextCursor,
+                                   Long estimatedTotal) { }
@@ -0,0 +1,7 @@
+package com.infrastructure.monolith.api.dto;
+
+import java.util.UUID;
+
+public record BatchTransferItemDTO(UUID idempotencyKey,
+                                   TransferRequestDTO transfer) {
+}
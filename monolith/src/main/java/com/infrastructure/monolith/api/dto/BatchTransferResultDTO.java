@@ -0,0 +1,13 @@
+package com.infrastructure.monolith.api.dto;
+
+import lombok.Builder;
+
+import java.util.UUID;
+
+// Carries either the processed transfer or the error that stopped the item before processing
+@Builder
+public record BatchTransferResultDTO(UUID idempotencyKey,
+                                     int httpStatus,
+                                     TransferDTO transfer,
+                                     ErrorDTO error) {
+}
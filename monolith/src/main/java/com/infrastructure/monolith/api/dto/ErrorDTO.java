@@ -60,6 +60,15 @@ public class ErrorDTO {
         this.httpStatus = convertAcceptTransferCode(errorCode);
     }
 
+    public ErrorDTO(String errorCode, String message, HttpStatus httpStatus, OffsetDateTime timestamp) {
+        this.errorCode = errorCode;
+        this.message = message;
+        this.transactionId = null;
+        this.requestId = null;
+        this.timestamp = timestamp;
+        this.httpStatus = httpStatus;
+    }
+
     public ErrorDTO(String message, OffsetDateTime timestamp) {
         this.errorCode = "Unexpected error";
         this.message = message;
@@ -83,7 +92,7 @@ public class ErrorDTO {
                   INSUFFICIENT_BALANCE-> HttpStatus.BAD_REQUEST;
             case ACCOUNT_NOT_FOUND, TRANSFER_NOT_FOUND,
                  EXCHANGE_RATE_NOT_FOUND -> HttpStatus.NOT_FOUND;
-            case EXCHANGE_RATE_NEGATIVE, UNEXPECTED_ERROR ->  HttpStatus.INTERNAL_SERVER_ERROR;
+            case EXCHANGE_RATE_NEGATIVE, INVALID_BALANCE, UNEXPECTED_ERROR ->  HttpStatus.INTERNAL_SERVER_ERROR;
         };
     }
 
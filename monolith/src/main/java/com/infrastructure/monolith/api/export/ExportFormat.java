@@ -0,0 +1,28 @@
+package com.infrastructure.monolith.api.export;
+
+import com.domain.account.exception.AccountDomainErrorCode;
+import com.domain.account.exception.AccountDomainException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+    NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson")),
+    CSV("csv", new MediaType("text", "csv"));
+
+    private final String value;
+
+    private final MediaType mediaType;
+
+    public static ExportFormat of(String value) {
+        return Arrays.stream(values())
+                .filter(format -> format.value.equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new AccountDomainException(AccountDomainErrorCode.INVALID_REQUEST, String.format("Export format %s is not supported, use ndjson or csv", value)));
+    }
+}
@@ -1,14 +1,47 @@
 package com.infrastructure.monolith.api.mapper;
 
+import com.domain.account.exception.AccountDomainErrorCode;
+import com.domain.account.exception.AccountDomainException;
 import com.domain.account.model.Account;
 import com.infrastructure.monolith.api.dto.AccountDTO;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
 
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
 @Mapper
 public interface AccountMapper {
 
     AccountMapper INSTANCE = Mappers.getMapper(AccountMapper.class);
 
     AccountDTO mapFromModelToDto(Account account);
+
+    // The cursor is the last owner id of the page in URL-safe base64, so clients pass it back as is and the format can
+    // change later. It is encoded, not signed: a crafted cursor only starts the listing after another owner id, which
+    // reveals nothing the listing does not already show
+    default String mapFromOwnerIdToCursor(Long ownerId) {
+        if (ownerId == null) {
+            return null;
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(ownerId).array());
+    }
+
+    default Long mapFromCursorToOwnerId(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length == Long.BYTES) {
+                return ByteBuffer.wrap(bytes).getLong();
+            }
+        } catch (IllegalArgumentException e) {
+            // Reported below
+        }
+
+        throw new AccountDomainException(AccountDomainErrorCode.INVALID_REQUEST, String.format("Invalid cursor %s", cursor));
+    }
 }
@@ -3,13 +3,20 @@ package com.infrastructure.monolith.api.mapper;
 import com.domain.accept.model.AcceptedTransfer;
 import com.domain.registry.exception.RegistryDomainErrorCode;
 import com.domain.registry.model.FailedTransfer;
+import com.domain.registry.model.Money;
 import com.domain.registry.model.SuccessfulTransfer;
 import com.domain.registry.usecase.request.ProcessTransferRequest;
+import com.infrastructure.monolith.api.dto.AccountDTO;
 import com.infrastructure.monolith.api.dto.TransferDTO;
+import com.infrastructure.monolith.api.dto.TransferStatusDTO;
+import com.infrastructure.monolith.database.entity.AccountEntity;
+import com.infrastructure.monolith.database.entity.TransferEntity;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
+import java.math.BigDecimal;
+
 @Mapper
 public interface RegistryMapper {
 
@@ -28,9 +35,33 @@ public interface RegistryMapper {
     @Mapping(target = "status", expression = "java(com.infrastructure.monolith.api.dto.TransferStatusDTO.FAILED)")
     TransferDTO mapFromModelToDto(FailedTransfer model);
 
+    TransferDTO mapFromEntityToDto(TransferEntity entity);
+
+    // The balances at the time of the transfer are not kept, only the accounts it moved money between
+    @Mapping(target = "balance", ignore = true)
+    AccountDTO mapFromEntityToDto(AccountEntity entity);
+
+    default TransferDTO mapFromModelToPendingDto(AcceptedTransfer acceptedTransfer) {
+        return new TransferDTO(acceptedTransfer.transferId(),
+                acceptedTransfer.createdAt(),
+                acceptedTransfer.amount(),
+                AccountDTO.builder().ownerId(acceptedTransfer.originatorId()).build(),
+                AccountDTO.builder().ownerId(acceptedTransfer.beneficiaryId()).build(),
+                TransferStatusDTO.PENDING,
+                null,
+                null,
+                null,
+                null,
+                null);
+    }
+
     default String mapFromModelToDTO(RegistryDomainErrorCode registryDomainErrorCode) {
         return registryDomainErrorCode.getValue();
     }
 
+    default BigDecimal mapFromModelToDTO(Money money) {
+        return money.toBigDecimal();
+    }
+
     ProcessTransferRequest mapFromDtoToModel(AcceptedTransfer acceptedTransfer);
 }
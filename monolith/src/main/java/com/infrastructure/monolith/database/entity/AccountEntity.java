@@ -3,6 +3,7 @@ package com.infrastructure.monolith.database.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.Check;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 
@@ -17,7 +18,8 @@ import java.math.BigDecimal;
 public class AccountEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_entity_seq")
+    @SequenceGenerator(name = "account_entity_seq", sequenceName = "account_entity_seq", allocationSize = 50)
     private Long id;
 
     @Version
@@ -31,4 +33,10 @@ public class AccountEntity {
 
     @Column(nullable = false)
     private BigDecimal balance;
+
+    // Credits land on account stripes and the balance above only holds what debits can use without consolidating
+    @Builder.Default
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private boolean striped = false;
 }
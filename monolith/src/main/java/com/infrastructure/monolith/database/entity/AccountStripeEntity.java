@@ -0,0 +1,38 @@
+package com.infrastructure.monolith.database.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Check;
+
+import java.math.BigDecimal;
+
+// Credits of a striped account accumulate on one of these rows instead of the account row,
+// so concurrent transfers to the same account only contend when they pick the same stripe
+@Entity
+@Table(
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_account_stripe_owner_id_stripe", columnNames = {"ownerId", "stripe"})
+        }
+)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Check(constraints = "balance >= 0")
+public class AccountStripeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_stripe_entity_seq")
+    @SequenceGenerator(name = "account_stripe_entity_seq", sequenceName = "account_stripe_entity_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private Long ownerId;
+
+    @Column(nullable = false, updatable = false)
+    private Integer stripe;
+
+    @Column(nullable = false)
+    private BigDecimal balance;
+}
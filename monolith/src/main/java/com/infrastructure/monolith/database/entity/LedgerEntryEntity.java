@@ -0,0 +1,40 @@
+package com.infrastructure.monolith.database.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+// One immutable movement of an account balance: negative for the debit of a transfer, positive for its credit.
+// Entries stay in the table as an audit trail once they have been folded into the account balance
+@Entity
+@Table(indexes = @Index(name = "idx_ledger_entry_owner_id_applied", columnList = "ownerId, applied"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerEntryEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_entry_entity_seq")
+    @SequenceGenerator(name = "ledger_entry_entity_seq", sequenceName = "ledger_entry_entity_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private Long ownerId;
+
+    @Column(nullable = false, updatable = false)
+    private UUID transferId;
+
+    @Column(nullable = false, precision = 19, scale = 4, updatable = false)
+    private BigDecimal amount;
+
+    @Column(nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(nullable = false)
+    private boolean applied;
+}
@@ -3,13 +3,16 @@ package com.infrastructure.monolith.database.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Entity
 @Table(
-        indexes = {
-                @Index(name = "idx_request", columnList = "requestId")
-        }
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_request_request_id", columnNames = "requestId")
+        },
+        indexes = @Index(name = "idx_request_created_at", columnList = "createdAt")
 )
 @Getter
 @Setter
@@ -19,7 +22,8 @@ import java.util.UUID;
 public class RequestEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "request_entity_seq")
+    @SequenceGenerator(name = "request_entity_seq", sequenceName = "request_entity_seq", allocationSize = 50)
     private Long id;
 
     @Version
@@ -30,4 +34,18 @@ public class RequestEntity {
 
     @Column(nullable = false, updatable = false)
     private UUID requestId;
+
+    // The accepted transfer itself, so a transfer still PENDING after a restart can be processed again. Requests
+    // accepted before these columns existed have none
+    @Column(updatable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(updatable = false)
+    private Long originatorId;
+
+    @Column(updatable = false)
+    private Long beneficiaryId;
+
+    @Column(precision = 19, scale = 4, updatable = false)
+    private BigDecimal amount;
 }
@@ -19,7 +19,8 @@ import java.util.UUID;
 public class TransferEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transfer_entity_seq")
+    @SequenceGenerator(name = "transfer_entity_seq", sequenceName = "transfer_entity_seq", allocationSize = 50)
     private Long id;
 
     @Version
@@ -3,13 +3,20 @@ package com.infrastructure.monolith.database.repository;
 import com.infrastructure.monolith.database.entity.AccountEntity;
 import jakarta.annotation.Nonnull;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 interface AccountRepository extends JpaRepository<AccountEntity, Long> {
 
@@ -17,8 +24,39 @@ interface AccountRepository extends JpaRepository<AccountEntity, Long> {
     @Query("SELECT a FROM AccountEntity a WHERE a.ownerId = :ownerId")
     Optional<AccountEntity> findByOwnerIdForUpdate(Long ownerId);
 
+    // Rows are locked in owner_id order, so concurrent transfers between the same accounts never wait on each other in a cycle
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM AccountEntity a WHERE a.ownerId IN :ownerIds ORDER BY a.ownerId")
+    List<AccountEntity> findAllByOwnerIdInForUpdate(Collection<Long> ownerIds);
+
+    // Same ordered lock, except that a striped beneficiary is left out: its credit goes to a stripe row instead
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM AccountEntity a WHERE a.ownerId IN :ownerIds AND (a.ownerId = :originatorId OR a.striped = false) ORDER BY a.ownerId")
+    List<AccountEntity> findAllForTransferForUpdate(Long originatorId, Collection<Long> ownerIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM AccountEntity a WHERE a.ownerId = :ownerId AND a.striped = false")
+    Optional<AccountEntity> findUnstripedByOwnerIdForUpdate(Long ownerId);
+
     Optional<AccountEntity> findByOwnerId(Long ownerId);
 
+    List<AccountEntity> findAllByOwnerIdIn(Collection<Long> ownerIds);
+
     @Nonnull
     Page<AccountEntity> findAll(@Nonnull Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.infrastructure.monolith.database.repository.AccountRow(a.ownerId, a.currency, a.balance) FROM AccountEntity a ORDER BY a.ownerId")
+    Stream<AccountRow> streamAllRows();
+
+    // Seeks through the owner_id index, so a page costs the same however deep it is
+    List<AccountEntity> findByOwnerIdGreaterThanOrderByOwnerIdAsc(Long ownerId, Limit limit);
+
+    // Planner statistics, refreshed by autovacuum. A table never analyzed reports -1 and is counted instead
+    @Query(value = """
+            SELECT CASE WHEN c.reltuples < 0 THEN (SELECT count(*) FROM account_entity) ELSE c.reltuples::bigint END
+            FROM pg_class c
+            WHERE c.oid = 'account_entity'::regclass
+            """, nativeQuery = true)
+    long estimateCount();
 }
@@ -2,13 +2,19 @@ package com.infrastructure.monolith.database.repository;
 
 import com.infrastructure.monolith.database.entity.AccountEntity;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -21,16 +27,59 @@ public class AccountService {
         return accountRepository.findByOwnerIdForUpdate(ownerId);
     }
 
+    @Transactional
+    public List<AccountEntity> findAllByOwnerIdForUpdate(Collection<Long> ownerIds) {
+        return accountRepository.findAllByOwnerIdInForUpdate(ownerIds);
+    }
+
+    @Transactional
+    public List<AccountEntity> findAllForTransferForUpdate(Long originatorId, Collection<Long> ownerIds) {
+        return accountRepository.findAllForTransferForUpdate(originatorId, ownerIds);
+    }
+
+    @Transactional
+    public Optional<AccountEntity> findUnstripedByOwnerIdForUpdate(Long ownerId) {
+        return accountRepository.findUnstripedByOwnerIdForUpdate(ownerId);
+    }
+
     @Transactional(readOnly = true)
     public Optional<AccountEntity> findByOwnerId(Long ownerId) {
         return accountRepository.findByOwnerId(ownerId);
     }
 
+    @Transactional(readOnly = true)
+    public List<AccountEntity> findAllByOwnerId(Collection<Long> ownerIds) {
+        return accountRepository.findAllByOwnerIdIn(ownerIds);
+    }
+
+    @Transactional(readOnly = true)
+    public List<AccountEntity> findAll() {
+        return accountRepository.findAll();
+    }
+
     @Transactional(readOnly = true)
     public Page<AccountEntity> findAll(Pageable pageable) {
         return accountRepository.findAll(pageable);
     }
 
+    // Streams through a server-side cursor and hands out detached rows, so memory stays flat whatever the table size
+    @Transactional(readOnly = true)
+    public void forEachRow(Consumer<AccountRow> consumer) {
+        try (Stream<AccountRow> rows = accountRepository.streamAllRows()) {
+            rows.forEach(consumer);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<AccountEntity> findAfterOwnerId(Long ownerId, int limit) {
+        return accountRepository.findByOwnerIdGreaterThanOrderByOwnerIdAsc(ownerId, Limit.of(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public long estimateCount() {
+        return accountRepository.estimateCount();
+    }
+
     @Transactional(readOnly = true)
     public Long count() {
         return accountRepository.count();
@@ -45,4 +94,10 @@ public class AccountService {
     public void saveAll(List<AccountEntity> accountEntities) {
         accountRepository.saveAll(accountEntities);
     }
+
+    @Transactional
+    public void updateBalances(Map<Long, BigDecimal> balances) {
+        accountRepository.findAllByOwnerIdIn(balances.keySet())
+                .forEach(account -> account.setBalance(balances.get(account.getOwnerId())));
+    }
 }
@@ -0,0 +1,45 @@
+package com.infrastructure.monolith.database.repository;
+
+import com.infrastructure.monolith.database.entity.AccountStripeEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+interface AccountStripeRepository extends JpaRepository<AccountStripeEntity, Long> {
+
+    // Only the stripe row is locked, and only until the end of the transfer transaction
+    @Modifying
+    @Query(value = """
+            INSERT INTO account_stripe_entity (id, owner_id, stripe, balance)
+            VALUES (nextval('account_stripe_entity_seq'), :ownerId, :stripe, :amount)
+            ON CONFLICT (owner_id, stripe) DO UPDATE SET balance = account_stripe_entity.balance + EXCLUDED.balance
+            """, nativeQuery = true)
+    int credit(@Param("ownerId") Long ownerId, @Param("stripe") int stripe, @Param("amount") BigDecimal amount);
+
+    // Empties every stripe of the account and returns what they held
+    @Query(value = """
+            WITH drained AS (
+                UPDATE account_stripe_entity s SET balance = 0
+                FROM (SELECT id, balance FROM account_stripe_entity WHERE owner_id = :ownerId AND balance > 0 FOR UPDATE) d
+                WHERE s.id = d.id
+                RETURNING d.balance
+            )
+            SELECT COALESCE(SUM(balance), 0) FROM drained
+            """, nativeQuery = true)
+    BigDecimal drain(@Param("ownerId") Long ownerId);
+
+    @Query("SELECT s.ownerId AS ownerId, SUM(s.balance) AS balance FROM AccountStripeEntity s WHERE s.ownerId IN :ownerIds GROUP BY s.ownerId")
+    List<StripedBalance> sumByOwnerIdIn(@Param("ownerIds") Collection<Long> ownerIds);
+
+    interface StripedBalance {
+
+        Long getOwnerId();
+
+        BigDecimal getBalance();
+    }
+}
@@ -0,0 +1,37 @@
+package com.infrastructure.monolith.database.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class AccountStripeService {
+
+    private final AccountStripeRepository accountStripeRepository;
+
+    @Transactional
+    public void credit(Long ownerId, int stripe, BigDecimal amount) {
+        accountStripeRepository.credit(ownerId, stripe, amount);
+    }
+
+    @Transactional
+    public BigDecimal drain(Long ownerId) {
+        return accountStripeRepository.drain(ownerId);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> sumByOwnerIds(Collection<Long> ownerIds) {
+        if (ownerIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return accountStripeRepository.sumByOwnerIdIn(ownerIds).stream()
+                .collect(Collectors.toMap(AccountStripeRepository.StripedBalance::getOwnerId, AccountStripeRepository.StripedBalance::getBalance));
+    }
+}
@@ -0,0 +1,54 @@
+package com.infrastructure.monolith.database.repository;
+
+import com.infrastructure.monolith.database.entity.LedgerEntryEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+interface LedgerEntryRepository extends JpaRepository<LedgerEntryEntity, Long> {
+
+    // Held until the end of the transaction, it only makes debits of the same account wait for each other
+    @Query(value = "SELECT count(*) FROM (SELECT pg_advisory_xact_lock(:ownerId)) AS reserved", nativeQuery = true)
+    Long reserve(@Param("ownerId") Long ownerId);
+
+    // Checkpoint and pending entries in one statement, so in one snapshot: a fold committing between two separate
+    // reads would move entries into the balance after it was read and out of the sum before it is taken
+    @Query(value = """
+            SELECT a.owner_id AS "ownerId",
+                   a.balance + COALESCE((SELECT SUM(e.amount) FROM ledger_entry_entity e
+                                         WHERE e.applied = false AND e.owner_id = a.owner_id), 0) AS "amount"
+            FROM account_entity a
+            WHERE a.owner_id IN (:ownerIds)
+            """, nativeQuery = true)
+    List<PendingAmount> findAvailableByOwnerIdIn(@Param("ownerIds") Collection<Long> ownerIds);
+
+    // Marks the pending entries and adds them to the account balances in one statement, so a reader of both in one
+    // statement sees either both or neither. Entries committed while it runs are not part of its snapshot and wait
+    // for the next checkpoint
+    @Modifying
+    @Query(value = """
+            WITH folded AS (
+                UPDATE ledger_entry_entity SET applied = true
+                WHERE applied = false
+                RETURNING owner_id, amount
+            ), totals AS (
+                SELECT owner_id, SUM(amount) AS amount FROM folded GROUP BY owner_id
+            )
+            UPDATE account_entity a SET balance = a.balance + t.amount, version = a.version + 1
+            FROM totals t
+            WHERE a.owner_id = t.owner_id
+            """, nativeQuery = true)
+    int fold();
+
+    interface PendingAmount {
+
+        Long getOwnerId();
+
+        BigDecimal getAmount();
+    }
+}
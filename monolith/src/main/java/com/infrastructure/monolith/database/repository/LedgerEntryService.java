@@ -0,0 +1,45 @@
+package com.infrastructure.monolith.database.repository;
+
+import com.infrastructure.monolith.database.entity.LedgerEntryEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class LedgerEntryService {
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+
+    @Transactional
+    public void reserve(Long ownerId) {
+        ledgerEntryRepository.reserve(ownerId);
+    }
+
+    // Row balance plus the entries not folded yet, read together so a concurrent fold cannot be half seen
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> findAvailableByOwnerIds(Collection<Long> ownerIds) {
+        if (ownerIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return ledgerEntryRepository.findAvailableByOwnerIdIn(ownerIds).stream()
+                .collect(Collectors.toMap(LedgerEntryRepository.PendingAmount::getOwnerId, LedgerEntryRepository.PendingAmount::getAmount));
+    }
+
+    @Transactional
+    public void saveAll(List<LedgerEntryEntity> entries) {
+        ledgerEntryRepository.saveAll(entries);
+    }
+
+    @Transactional
+    public int fold() {
+        return ledgerEntryRepository.fold();
+    }
+}
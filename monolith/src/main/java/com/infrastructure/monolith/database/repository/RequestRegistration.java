@@ -0,0 +1,7 @@
+package com.infrastructure.monolith.database.repository;
+
+import java.util.UUID;
+
+// inserted is false when the request id was already registered, transferId is then the one of the existing request
+public record RequestRegistration(UUID transferId, boolean inserted) {
+}
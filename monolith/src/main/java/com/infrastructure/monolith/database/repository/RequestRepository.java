@@ -1,14 +1,85 @@
 package com.infrastructure.monolith.database.repository;
 
 import com.infrastructure.monolith.database.entity.RequestEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 interface RequestRepository extends JpaRepository<RequestEntity, Long> {
 
     boolean existsByRequestId(UUID requestId);
 
+    boolean existsByTransferId(UUID transferId);
+
+    @Query("SELECT r.transferId FROM RequestEntity r WHERE r.transferId IN :transferIds")
+    Set<UUID> findTransferIdsIn(Collection<UUID> transferIds);
+
     Optional<RequestEntity> findByRequestId(UUID requestId);
+
+    List<RequestEntity> findAllByRequestIdIn(Collection<UUID> requestIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT r.requestId FROM RequestEntity r")
+    Stream<UUID> streamAllRequestIds();
+
+    // Insert and duplicate detection in a single statement. When the key already exists the insert does nothing and the
+    // second branch returns the existing row, which the insert branch can never see since both share one snapshot.
+    // The sequence is read directly, which skips the rest of Hibernate's pooled block: ids stay unique, just not dense
+    @Query(value = """
+            WITH inserted AS (
+                INSERT INTO request_entity (id, version, transfer_id, request_id, created_at, originator_id, beneficiary_id, amount)
+                VALUES (nextval('request_entity_seq'), 0, :transferId, :requestId, :createdAt, :originatorId, :beneficiaryId, :amount)
+                ON CONFLICT (request_id) DO NOTHING
+                RETURNING transfer_id
+            )
+            SELECT transfer_id AS "transferId", true AS "inserted" FROM inserted
+            UNION ALL
+            SELECT transfer_id AS "transferId", false AS "inserted" FROM request_entity WHERE request_id = :requestId
+            """, nativeQuery = true)
+    Optional<Registration> insertIfAbsent(@Param("transferId") UUID transferId,
+                                          @Param("requestId") UUID requestId,
+                                          @Param("createdAt") OffsetDateTime createdAt,
+                                          @Param("originatorId") Long originatorId,
+                                          @Param("beneficiaryId") Long beneficiaryId,
+                                          @Param("amount") BigDecimal amount);
+
+    // Accepted requests without an outcome yet, oldest first. The window keeps the scan on the created_at index instead
+    // of walking every request ever processed
+    @Query("""
+            SELECT r FROM RequestEntity r
+            WHERE r.createdAt >= :from AND r.createdAt < :to AND r.originatorId IS NOT NULL
+            AND NOT EXISTS (SELECT 1 FROM TransferEntity t WHERE t.transferId = r.transferId)
+            ORDER BY r.createdAt
+            """)
+    List<RequestEntity> findUnprocessedCreatedBetween(@Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to, Pageable pageable);
+
+    // A request whose transfer has an outcome is never removed, whatever the caller asks
+    @Modifying
+    @Query("""
+            DELETE FROM RequestEntity r
+            WHERE r.transferId IN :transferIds
+            AND NOT EXISTS (SELECT 1 FROM TransferEntity t WHERE t.transferId = r.transferId)
+            """)
+    int deleteUnprocessedByTransferIdIn(@Param("transferIds") Collection<UUID> transferIds);
+
+    interface Registration {
+
+        UUID getTransferId();
+
+        Boolean getInserted();
+    }
 }
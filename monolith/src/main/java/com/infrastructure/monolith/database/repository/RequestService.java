@@ -2,11 +2,20 @@ package com.infrastructure.monolith.database.repository;
 
 import com.infrastructure.monolith.database.entity.RequestEntity;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -19,6 +28,20 @@ public class RequestService {
         return requestRepository.existsByRequestId(uuid);
     }
 
+    @Transactional(readOnly = true)
+    public boolean existsByTransferId(UUID transferId) {
+        return requestRepository.existsByTransferId(transferId);
+    }
+
+    @Transactional(readOnly = true)
+    public Set<UUID> findExistingTransferIds(Collection<UUID> transferIds) {
+        if (transferIds.isEmpty()) {
+            return Set.of();
+        }
+
+        return requestRepository.findTransferIdsIn(transferIds);
+    }
+
     @Transactional(readOnly = true)
     public Optional<RequestEntity> findByRequestId(UUID requestId) {
         return requestRepository.findByRequestId(requestId);
@@ -28,4 +51,53 @@ public class RequestService {
     public RequestEntity save(RequestEntity request) {
         return requestRepository.save(request);
     }
+
+    @Transactional
+    public RequestRegistration register(RequestEntity request) {
+        return requestRepository.insertIfAbsent(request.getTransferId(), request.getRequestId(), request.getCreatedAt(),
+                        request.getOriginatorId(), request.getBeneficiaryId(), request.getAmount())
+                .map(registration -> new RequestRegistration(registration.getTransferId(), registration.getInserted()))
+                // Nothing comes back when a concurrent insert of the same key commits after the statement took its
+                // snapshot: the insert waited for it and did nothing, and the row is visible to a new statement
+                .orElseGet(() -> requestRepository.findByRequestId(request.getRequestId())
+                        .map(existing -> new RequestRegistration(existing.getTransferId(), false))
+                        .orElseThrow(() -> new IllegalStateException("Request " + request.getRequestId() + " was neither inserted nor found")));
+    }
+
+    @Transactional(readOnly = true)
+    public List<RequestEntity> findUnprocessed(OffsetDateTime from, OffsetDateTime to, int limit) {
+        return requestRepository.findUnprocessedCreatedBetween(from, to, PageRequest.of(0, limit));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<UUID, UUID> findTransferIdsByRequestIds(Collection<UUID> requestIds) {
+        if (requestIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return requestRepository.findAllByRequestIdIn(requestIds).stream()
+                .collect(Collectors.toMap(RequestEntity::getRequestId, RequestEntity::getTransferId, (first, second) -> first));
+    }
+
+    @Transactional
+    public int deleteUnprocessed(Collection<UUID> transferIds) {
+        if (transferIds.isEmpty()) {
+            return 0;
+        }
+
+        return requestRepository.deleteUnprocessedByTransferIdIn(transferIds);
+    }
+
+    @Transactional
+    public void saveAll(List<RequestEntity> requests) {
+        requestRepository.saveAll(requests);
+    }
+
+    // Streams through a server-side cursor, so every id never has to fit in memory at once
+    @Transactional(readOnly = true)
+    public void forEachRequestId(Consumer<UUID> consumer) {
+        try (Stream<UUID> requestIds = requestRepository.streamAllRequestIds()) {
+            requestIds.forEach(consumer);
+        }
+    }
 }
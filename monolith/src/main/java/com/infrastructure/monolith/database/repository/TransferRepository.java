@@ -1,12 +1,38 @@
 package com.infrastructure.monolith.database.repository;
 
 import com.infrastructure.monolith.database.entity.TransferEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 interface TransferRepository extends JpaRepository<TransferEntity, Long> {
 
     Optional<TransferEntity> getByTransferId(UUID uuid);
+
+    @Query("SELECT t FROM TransferEntity t LEFT JOIN FETCH t.originator LEFT JOIN FETCH t.beneficiary WHERE t.transferId = :transferId")
+    Optional<TransferEntity> findWithAccountsByTransferId(UUID transferId);
+
+    @Query("SELECT t FROM TransferEntity t LEFT JOIN FETCH t.originator LEFT JOIN FETCH t.beneficiary WHERE t.transferId IN :transferIds")
+    List<TransferEntity> findAllWithAccountsByTransferIdIn(Collection<UUID> transferIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT new com.infrastructure.monolith.database.repository.TransferRow(t.transferId, t.createdAt, t.transferAmount,
+                o.ownerId, b.ownerId, t.status, t.processedAt, t.exchangeRate, t.debit, t.credit, t.errorCode)
+            FROM TransferEntity t LEFT JOIN t.originator o LEFT JOIN t.beneficiary b
+            ORDER BY t.id
+            """)
+    Stream<TransferRow> streamAllRows();
+
+    @Query("SELECT t.transferId FROM TransferEntity t WHERE t.transferId IN :transferIds")
+    Set<UUID> findTransferIdsIn(Collection<UUID> transferIds);
 }
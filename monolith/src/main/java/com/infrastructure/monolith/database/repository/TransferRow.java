@@ -0,0 +1,20 @@
+package com.infrastructure.monolith.database.repository;
+
+import com.infrastructure.monolith.database.entity.TransferStatus;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+// Read-only copy of a transfer row, never attached to the persistence context
+public record TransferRow(UUID transferId,
+                          OffsetDateTime createdAt,
+                          BigDecimal transferAmount,
+                          Long originatorId,
+                          Long beneficiaryId,
+                          TransferStatus status,
+                          OffsetDateTime processedAt,
+                          BigDecimal exchangeRate,
+                          BigDecimal debit,
+                          BigDecimal credit,
+                          String errorCode) { }
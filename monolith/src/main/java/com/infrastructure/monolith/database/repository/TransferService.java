@@ -5,8 +5,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -19,8 +24,44 @@ public class TransferService {
         return transferRepository.getByTransferId(uuid);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<TransferEntity> findWithAccountsByTransferId(UUID transferId) {
+        return transferRepository.findWithAccountsByTransferId(transferId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TransferEntity> findAllWithAccountsByTransferIds(Collection<UUID> transferIds) {
+        if (transferIds.isEmpty()) {
+            return List.of();
+        }
+
+        return transferRepository.findAllWithAccountsByTransferIdIn(transferIds);
+    }
+
+    @Transactional(readOnly = true)
+    public Set<UUID> findExistingTransferIds(Collection<UUID> transferIds) {
+        if (transferIds.isEmpty()) {
+            return Set.of();
+        }
+
+        return transferRepository.findTransferIdsIn(transferIds);
+    }
+
+    // Streams through a server-side cursor and hands out detached rows, so memory stays flat whatever the table size
+    @Transactional(readOnly = true)
+    public void forEachRow(Consumer<TransferRow> consumer) {
+        try (Stream<TransferRow> rows = transferRepository.streamAllRows()) {
+            rows.forEach(consumer);
+        }
+    }
+
     @Transactional
     public void save(TransferEntity transferEntity) {
         transferRepository.save(transferEntity);
     }
+
+    @Transactional
+    public void saveAll(List<TransferEntity> transferEntities) {
+        transferRepository.saveAll(transferEntities);
+    }
 }
@@ -0,0 +1,46 @@
+package com.infrastructure.monolith.engine;
+
+import com.domain.registry.model.Account;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Owns a partition of the accounts. Every read and write of those accounts runs on the shard's single thread,
+// so transfers are applied one after the other without any lock.
+final class BalanceShard {
+
+    private final Map<Long, Account> accounts = new HashMap<>();
+
+    private final ExecutorService executor;
+
+    BalanceShard(int index) {
+        this.executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "balance-shard-" + index));
+    }
+
+    <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    // Only called before the shard starts accepting tasks
+    void load(Account account) {
+        accounts.put(account.ownerId(), account);
+    }
+
+    Account get(Long ownerId) {
+        return accounts.get(ownerId);
+    }
+
+    void put(Account account) {
+        accounts.put(account.ownerId(), account);
+    }
+
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,77 @@
+package com.infrastructure.monolith.engine;
+
+import com.domain.registry.model.SuccessfulTransfer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+record JournalRecord(UUID transferId,
+                     OffsetDateTime createdAt,
+                     OffsetDateTime processedAt,
+                     long originatorId,
+                     long beneficiaryId,
+                     BigDecimal transferAmount,
+                     BigDecimal exchangeRate,
+                     BigDecimal debit,
+                     BigDecimal credit) {
+
+    static JournalRecord from(SuccessfulTransfer transfer) {
+        return new JournalRecord(transfer.getTransferId(), transfer.getCreatedAt(), transfer.getProcessedAt(),
+                transfer.getOriginator().ownerId(), transfer.getBeneficiary().ownerId(),
+                transfer.getTransferAmount().toBigDecimal(), transfer.getExchangeRate(), transfer.getDebit().toBigDecimal(), transfer.getCredit().toBigDecimal());
+    }
+
+    byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(160);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(transferId.getMostSignificantBits());
+            out.writeLong(transferId.getLeastSignificantBits());
+            writeTime(out, createdAt);
+            writeTime(out, processedAt);
+            out.writeLong(originatorId);
+            out.writeLong(beneficiaryId);
+            out.writeUTF(transferAmount.toString());
+            out.writeUTF(exchangeRate.toString());
+            out.writeUTF(debit.toString());
+            out.writeUTF(credit.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static JournalRecord fromBytes(byte[] bytes) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            return new JournalRecord(
+                    new UUID(in.readLong(), in.readLong()),
+                    readTime(in),
+                    readTime(in),
+                    in.readLong(),
+                    in.readLong(),
+                    new BigDecimal(in.readUTF()),
+                    new BigDecimal(in.readUTF()),
+                    new BigDecimal(in.readUTF()),
+                    new BigDecimal(in.readUTF()));
+        }
+    }
+
+    private static void writeTime(DataOutputStream out, OffsetDateTime time) throws IOException {
+        out.writeLong(time.toEpochSecond());
+        out.writeInt(time.getNano());
+        out.writeInt(time.getOffset().getTotalSeconds());
+    }
+
+    private static OffsetDateTime readTime(DataInputStream in) throws IOException {
+        Instant instant = Instant.ofEpochSecond(in.readLong(), in.readInt());
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.ofTotalSeconds(in.readInt()));
+    }
+}
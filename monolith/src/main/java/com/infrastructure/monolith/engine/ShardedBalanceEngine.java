@@ -0,0 +1,396 @@
+package com.infrastructure.monolith.engine;
+
+import com.domain.registry.exception.RegistryDomainErrorCode;
+import com.domain.registry.exception.RegistryDomainException;
+import com.domain.registry.model.Account;
+import com.domain.registry.model.Currency;
+import com.domain.registry.model.Money;
+import com.domain.registry.model.SuccessfulTransfer;
+import com.domain.registry.port.RegistryPort;
+import com.domain.registry.usecase.ValidateTransfer;
+import com.domain.registry.usecase.request.ProcessTransferRequest;
+import com.domain.registry.usecase.request.ValidateTransferRequest;
+import com.infrastructure.monolith.database.entity.AccountEntity;
+import com.infrastructure.monolith.database.entity.TransferEntity;
+import com.infrastructure.monolith.database.entity.TransferStatus;
+import com.infrastructure.monolith.database.repository.AccountService;
+import com.infrastructure.monolith.database.repository.TransferService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Keeps every balance in memory, partitioned by owner id across single-threaded shards.
+//
+// A transfer always runs on the originator's shard first: the domain rules are validated there, the debit is applied and
+// the transfer is appended to the journal. When the beneficiary lives on another shard the credit is then handed off to
+// that shard. Credits cannot fail and the journal already holds both legs, so a crash between debit and credit is repaired
+// by replaying the journal. Callers are only answered once the journal record is durable.
+//
+// Periodically the journal is rolled, the balances and transfers of the closed segments are written behind to Postgres
+// in one transaction, and the folded segments are deleted. Postgres is the only checkpoint: a transfer is part of the
+// stored balances exactly when its row exists, so startup loads the balances from the database and replays only the
+// journal records whose transfer has no row yet. A record folded twice, or an old journal left in the directory,
+// cannot move a balance again.
+//
+// Until its row is written, a transfer is only known here. The engine keeps its outcome until then, and a transfer
+// submitted again in that window gets the same outcome instead of moving the balances twice. Otherwise a transfer
+// requeued by the recovery of the asynchronous mode would be applied again.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "registry-config.engine.type", havingValue = "sharded")
+public class ShardedBalanceEngine implements SmartInitializingSingleton {
+
+    // Keeps every lookup of written transfers well below the bind parameter limit of Postgres
+    private static final int LOOKUP_CHUNK_SIZE = 10_000;
+
+    private final ValidateTransfer validateTransfer;
+
+    private final RegistryPort registryPort;
+
+    private final AccountService accountService;
+
+    private final TransferService transferService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Path directory;
+
+    private final BalanceShard[] shards;
+
+    private final long snapshotIntervalSeconds;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "balance-snapshot"));
+
+    // Both maps are only written during startup, so shards can read them freely afterward
+    private final Map<Long, Currency> currencies = new HashMap<>();
+
+    private final Map<Long, String> unsupportedCurrencies = new HashMap<>();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile boolean accepting;
+
+    // Outcome of every transfer submitted since the last checkpoint, dropped once its row is written behind
+    private final Map<UUID, CompletableFuture<SuccessfulTransfer>> outcomes = new ConcurrentHashMap<>();
+
+    // Balances as last written to Postgres, only touched at startup and by the checkpoint
+    private final Map<Long, BigDecimal> stored = new HashMap<>();
+
+    private TransferJournal journal;
+
+    public ShardedBalanceEngine(RegistryPort registryPort,
+                                AccountService accountService,
+                                TransferService transferService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${registry-config.engine.directory}") String directory,
+                                @Value("${registry-config.engine.shards}") int shards,
+                                @Value("${registry-config.engine.snapshot-interval-seconds}") long snapshotIntervalSeconds) {
+
+        // A plain domain instance: shard threads must never open a database transaction
+        this.validateTransfer = new ValidateTransfer(registryPort) { };
+        this.registryPort = registryPort;
+        this.accountService = accountService;
+        this.transferService = transferService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.directory = Path.of(directory);
+        this.snapshotIntervalSeconds = snapshotIntervalSeconds;
+        this.shards = new BalanceShard[shards];
+        for (int i = 0; i < shards; i++) {
+            this.shards[i] = new BalanceShard(i);
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to recover the balance engine from " + directory, e);
+        }
+
+        accepting = true;
+        scheduler.scheduleWithFixedDelay(this::checkpoint, snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public CompletableFuture<SuccessfulTransfer> submit(ProcessTransferRequest request) {
+        if (!accepting) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Balance engine is not accepting transfers"));
+        }
+
+        CompletableFuture<SuccessfulTransfer> outcome = new CompletableFuture<>();
+        CompletableFuture<SuccessfulTransfer> submitted = outcomes.putIfAbsent(request.transferId(), outcome);
+        if (submitted != null) {
+            return submitted;
+        }
+
+        inFlight.incrementAndGet();
+        process(request).whenComplete((transfer, e) -> {
+            inFlight.decrementAndGet();
+            if (e != null) {
+                // Nothing was applied, the transfer may be submitted again
+                outcomes.remove(request.transferId(), outcome);
+                outcome.completeExceptionally(e);
+            } else {
+                outcome.complete(transfer);
+            }
+        });
+        return outcome;
+    }
+
+    // A transfer applied and durable in the journal whose row is not written behind yet
+    public Optional<SuccessfulTransfer> findUnwritten(UUID transferId) {
+        CompletableFuture<SuccessfulTransfer> outcome = outcomes.get(transferId);
+        if (outcome == null || !outcome.isDone() || outcome.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(outcome.join());
+    }
+
+    private CompletableFuture<SuccessfulTransfer> process(ProcessTransferRequest request) {
+        try {
+            Currency originatorCurrency = currencyOf(request.originatorId(), "Originator account not found");
+            Currency beneficiaryCurrency = currencyOf(request.beneficiaryId(), "Beneficiary account not found");
+
+            // Resolve the rate on the caller's thread, so the validation on the shard never waits on the exchange API
+            registryPort.getExchangeRate(originatorCurrency, beneficiaryCurrency);
+
+            BalanceShard originatorShard = shardOf(request.originatorId());
+            BalanceShard beneficiaryShard = shardOf(request.beneficiaryId());
+
+            if (originatorShard == beneficiaryShard) {
+                return originatorShard.submit(() -> debitAndCredit(originatorShard, request))
+                        .thenCompose(Function.identity());
+            }
+
+            return originatorShard.submit(() -> debit(originatorShard, request, beneficiaryCurrency))
+                    .thenCompose(debited -> beneficiaryShard.submit(() -> credit(beneficiaryShard, debited.transfer()))
+                            .thenCombine(debited.durable(), (transfer, segment) -> transfer));
+        } catch (RegistryDomainException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException, IOException {
+        // Let the transfers already in flight finish their cross-shard handoff before the shards stop
+        accepting = false;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        scheduler.shutdown();
+        scheduler.awaitTermination(30, TimeUnit.SECONDS);
+
+        for (BalanceShard shard : shards) {
+            shard.shutdown();
+        }
+
+        checkpoint();
+        journal.close();
+    }
+
+    private CompletableFuture<SuccessfulTransfer> debitAndCredit(BalanceShard shard, ProcessTransferRequest request) {
+        SuccessfulTransfer transfer = validate(request, shard.get(request.originatorId()), shard.get(request.beneficiaryId()));
+        shard.put(transfer.getOriginator());
+        shard.put(transfer.getBeneficiary());
+        return journal.append(JournalRecord.from(transfer)).thenApply(segment -> transfer);
+    }
+
+    private Debited debit(BalanceShard shard, ProcessTransferRequest request, Currency beneficiaryCurrency) {
+        // The beneficiary balance is owned by another shard and has no influence on the validation
+        Account beneficiary = new Account(request.beneficiaryId(), beneficiaryCurrency, Money.zero(beneficiaryCurrency));
+
+        SuccessfulTransfer transfer = validate(request, shard.get(request.originatorId()), beneficiary);
+        shard.put(transfer.getOriginator());
+        return new Debited(transfer, journal.append(JournalRecord.from(transfer)));
+    }
+
+    private SuccessfulTransfer credit(BalanceShard shard, SuccessfulTransfer transfer) {
+        Account beneficiary = shard.get(transfer.getBeneficiary().ownerId()).credit(transfer.getCredit());
+        shard.put(beneficiary);
+
+        return new SuccessfulTransfer(transfer.getTransferId(), transfer.getCreatedAt(), transfer.getTransferAmount(),
+                transfer.getOriginator(), beneficiary, transfer.getProcessedAt(), transfer.getExchangeRate(),
+                transfer.getDebit(), transfer.getCredit());
+    }
+
+    private SuccessfulTransfer validate(ProcessTransferRequest request, Account originator, Account beneficiary) {
+        ValidateTransferRequest validate = ValidateTransferRequest.builder()
+                .transferId(request.transferId())
+                .createdAt(request.createdAt())
+                .originator(originator)
+                .beneficiary(beneficiary)
+                .amount(request.amount())
+                .build();
+
+        return validateTransfer.execute(validate);
+    }
+
+    private Currency currencyOf(Long ownerId, String notFoundMessage) {
+        Currency currency = currencies.get(ownerId);
+        if (currency != null) {
+            return currency;
+        }
+
+        if (unsupportedCurrencies.containsKey(ownerId)) {
+            // Fails with the same error the database backed processing reports for such accounts
+            return Currency.fromValue(unsupportedCurrencies.get(ownerId));
+        }
+
+        throw new RegistryDomainException(RegistryDomainErrorCode.ACCOUNT_NOT_FOUND, notFoundMessage);
+    }
+
+    private BalanceShard shardOf(Long ownerId) {
+        return shards[Math.floorMod(Long.hashCode(ownerId), shards.length)];
+    }
+
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+
+        for (AccountEntity account : accountService.findAll()) {
+            stored.put(account.getOwnerId(), account.getBalance());
+            try {
+                currencies.put(account.getOwnerId(), Currency.fromValue(account.getCurrency()));
+            } catch (RegistryDomainException e) {
+                unsupportedCurrencies.put(account.getOwnerId(), account.getCurrency());
+            }
+        }
+
+        // Whatever the journal still holds was acknowledged, the records Postgres does not know yet are replayed
+        List<Long> segments = TransferJournal.segments(directory);
+        long lastSegment = segments.isEmpty() ? 0 : segments.getLast();
+        fold(lastSegment);
+
+        stored.forEach((ownerId, balance) -> {
+            Currency currency = currencies.get(ownerId);
+            if (currency != null) {
+                shardOf(ownerId).load(new Account(ownerId, currency, exactBalance(ownerId, balance, currency)));
+            }
+        });
+
+        journal = new TransferJournal(directory, lastSegment + 1);
+        log.info("Balance engine recovered {} accounts across {} shards", stored.size(), shards.length);
+    }
+
+    // The engine would otherwise round the balance once and write it back, refused until the account is migrated
+    private static Money exactBalance(Long ownerId, BigDecimal balance, Currency currency) {
+        try {
+            return Money.exact(balance, currency);
+        } catch (RegistryDomainException e) {
+            throw new IllegalStateException(String.format("Account %d cannot be loaded: %s", ownerId, e.getMessage()), e);
+        }
+    }
+
+    private synchronized void checkpoint() {
+        try {
+            fold(journal.roll().join());
+        } catch (Exception e) {
+            log.error("Balance engine checkpoint failed, the journal is kept for the next attempt", e);
+        }
+    }
+
+    // Writes every closed segment up to upToSegment behind, then drops them
+    private void fold(long upToSegment) throws IOException {
+        List<Long> segments = TransferJournal.segments(directory).stream()
+                .filter(segment -> segment <= upToSegment)
+                .toList();
+
+        List<JournalRecord> records = new ArrayList<>();
+        for (Long segment : segments) {
+            TransferJournal.read(directory, segment, records::add);
+        }
+
+        Set<UUID> written = new HashSet<>();
+        for (int from = 0; from < records.size(); from += LOOKUP_CHUNK_SIZE) {
+            written.addAll(transferService.findExistingTransferIds(records.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, records.size())).stream()
+                    .map(JournalRecord::transferId)
+                    .toList()));
+        }
+        List<JournalRecord> unwritten = records.stream()
+                .filter(record -> !written.contains(record.transferId()))
+                .toList();
+
+        Map<Long, BigDecimal> changed = new HashMap<>();
+        for (JournalRecord record : unwritten) {
+            changed.put(record.originatorId(), balanceOf(changed, record.originatorId()).subtract(record.debit()));
+            changed.put(record.beneficiaryId(), balanceOf(changed, record.beneficiaryId()).add(record.credit()));
+        }
+
+        writeBehind(changed, unwritten);
+        stored.putAll(changed);
+
+        // Only once the rows have committed, so a transfer is always found either here or in Postgres
+        records.forEach(record -> outcomes.remove(record.transferId()));
+
+        for (Long segment : segments) {
+            TransferJournal.delete(directory, segment);
+        }
+    }
+
+    private BigDecimal balanceOf(Map<Long, BigDecimal> changed, Long ownerId) {
+        BigDecimal balance = changed.get(ownerId);
+        return balance != null ? balance : stored.getOrDefault(ownerId, BigDecimal.ZERO);
+    }
+
+    // Balances and transfer rows commit together, which is what lets the transfer rows tell what has been written
+    private void writeBehind(Map<Long, BigDecimal> balances, List<JournalRecord> records) {
+        if (balances.isEmpty()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            accountService.updateBalances(balances);
+
+            Map<Long, AccountEntity> accounts = accountService.findAllByOwnerId(balances.keySet()).stream()
+                    .collect(Collectors.toMap(AccountEntity::getOwnerId, Function.identity()));
+
+            transferService.saveAll(records.stream()
+                    .map(record -> TransferEntity.builder()
+                            .transferId(record.transferId())
+                            .createdAt(record.createdAt())
+                            .processedAt(record.processedAt())
+                            .transferAmount(record.transferAmount())
+                            .originator(accounts.get(record.originatorId()))
+                            .beneficiary(accounts.get(record.beneficiaryId()))
+                            .status(TransferStatus.SUCCESS)
+                            .exchangeRate(record.exchangeRate())
+                            .debit(record.debit())
+                            .credit(record.credit())
+                            .build())
+                    .toList());
+        });
+        log.info("Balance engine wrote {} balances and {} transfers behind", balances.size(), records.size());
+    }
+
+    private record Debited(SuccessfulTransfer transfer, CompletableFuture<Long> durable) {
+    }
+}
@@ -0,0 +1,216 @@
+package com.infrastructure.monolith.engine;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Append-only log of applied transfers, split in numbered segments.
+// A single writer thread drains the queue, so every fsync makes a whole group of records durable at once.
+@Slf4j
+final class TransferJournal implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final int MAX_BATCH_SIZE = 1024;
+
+    private static final int MAX_RECORD_SIZE = 64 * 1024;
+
+    private final Path directory;
+
+    private final BlockingQueue<Entry> pending = new LinkedBlockingQueue<>();
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+
+    private final Thread writer;
+
+    private FileChannel channel;
+
+    private long segment;
+
+    private volatile boolean running = true;
+
+    private volatile IOException failure;
+
+    TransferJournal(Path directory, long segment) throws IOException {
+        this.directory = directory;
+        this.segment = segment;
+        this.channel = open(segment);
+        this.writer = Thread.ofPlatform().name("transfer-journal").start(this::run);
+    }
+
+    // Completes with the segment holding the record once it has been forced to disk
+    CompletableFuture<Long> append(JournalRecord record) {
+        return enqueue(record);
+    }
+
+    // Completes with the id of the closed segment once every record appended before the call is durable in it
+    CompletableFuture<Long> roll() {
+        return enqueue(null);
+    }
+
+    @Override
+    public void close() throws IOException, InterruptedException {
+        running = false;
+        writer.join();
+        channel.close();
+    }
+
+    static List<Long> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    static void read(Path directory, long segment, Consumer<JournalRecord> consumer) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segmentPath(directory, segment))))) {
+            while (true) {
+                byte[] bytes;
+                long checksum;
+                try {
+                    int length = in.readInt();
+                    if (length <= 0 || length > MAX_RECORD_SIZE) {
+                        log.warn("Ignoring corrupted tail of journal segment {}", segment);
+                        return;
+                    }
+                    bytes = new byte[length];
+                    in.readFully(bytes);
+                    checksum = in.readLong();
+                } catch (EOFException e) {
+                    // A partially written tail was never acknowledged to any caller
+                    return;
+                }
+
+                if (checksum(bytes) != checksum) {
+                    log.warn("Ignoring corrupted tail of journal segment {}", segment);
+                    return;
+                }
+
+                consumer.accept(JournalRecord.fromBytes(bytes));
+            }
+        }
+    }
+
+    static void delete(Path directory, long segment) throws IOException {
+        Files.deleteIfExists(segmentPath(directory, segment));
+    }
+
+    private CompletableFuture<Long> enqueue(JournalRecord record) {
+        if (failure != null) {
+            return CompletableFuture.failedFuture(failure);
+        }
+
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Transfer journal is closed"));
+        }
+
+        Entry entry = new Entry(record, new CompletableFuture<>());
+        pending.add(entry);
+        return entry.future();
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (running || !pending.isEmpty()) {
+            try {
+                Entry first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                pending.drainTo(batch, MAX_BATCH_SIZE - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                log.error("Transfer journal failed, no further transfers will be accepted", e);
+                failure = e;
+                batch.forEach(entry -> entry.future().completeExceptionally(e));
+                pending.forEach(entry -> entry.future().completeExceptionally(e));
+                pending.clear();
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    private void write(List<Entry> batch) throws IOException {
+        int from = 0;
+        DataOutputStream out = new DataOutputStream(buffer);
+        for (int i = 0; i < batch.size(); i++) {
+            Entry entry = batch.get(i);
+            if (entry.record() == null) {
+                flush(batch.subList(from, i));
+                channel.close();
+                entry.future().complete(segment);
+                channel = open(++segment);
+                from = i + 1;
+                continue;
+            }
+
+            byte[] bytes = entry.record().toBytes();
+            out.writeInt(bytes.length);
+            out.write(bytes);
+            out.writeLong(checksum(bytes));
+        }
+        flush(batch.subList(from, batch.size()));
+    }
+
+    private void flush(List<Entry> entries) throws IOException {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        channel.force(false);
+        buffer.reset();
+
+        entries.forEach(entry -> entry.future().complete(segment));
+    }
+
+    private FileChannel open(long segment) throws IOException {
+        return FileChannel.open(segmentPath(directory, segment), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    static Path segmentPath(Path directory, long segment) {
+        return directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    private static long checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    private record Entry(JournalRecord record, CompletableFuture<Long> future) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.infrastructure.monolith.usecase.accept;
+
+import com.domain.accept.model.AcceptedTransfer;
+
+// Outcome of one item of a batch: exactly one of the two is set
+public record AcceptResult(AcceptedTransfer acceptedTransfer, AcceptTransferException rejection) {
+
+    public static AcceptResult accepted(AcceptedTransfer acceptedTransfer) {
+        return new AcceptResult(acceptedTransfer, null);
+    }
+
+    public static AcceptResult rejected(AcceptTransferException rejection) {
+        return new AcceptResult(null, rejection);
+    }
+
+    public boolean isAccepted() {
+        return acceptedTransfer != null;
+    }
+}
@@ -1,27 +1,39 @@
 package com.infrastructure.monolith.usecase.accept;
 
+import com.domain.accept.exception.AcceptDomainErrorCode;
 import com.domain.accept.exception.AcceptDomainException;
 import com.domain.accept.model.AcceptedTransfer;
 import com.domain.accept.model.RejectedTransfer;
-import com.domain.accept.port.AcceptPort;
 import com.domain.accept.usecase.AcceptTransfer;
+import com.domain.accept.usecase.RejectTransfer;
 import com.domain.accept.usecase.request.AcceptTransferRequest;
+import com.infrastructure.monolith.database.repository.RequestRegistration;
 import com.infrastructure.monolith.database.repository.RequestService;
+import com.infrastructure.monolith.usecase.accept.adapter.AcceptAdapter;
+import com.infrastructure.monolith.usecase.accept.adapter.PrefetchedAcceptAdapter;
 import com.infrastructure.monolith.usecase.accept.mapper.AcceptTransferMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+
 @Slf4j
 @Service
 public class AcceptTransferUsecase extends AcceptTransfer {
 
+    private final AcceptAdapter acceptAdapter;
+
     private final RequestService requestService;
 
     private final RejectTransferUsecase rejectTransferUsecase;
 
-    public AcceptTransferUsecase(AcceptPort acceptPort, RequestService requestService, RejectTransferUsecase rejectTransferUsecase) {
-        super(acceptPort);
+    public AcceptTransferUsecase(AcceptAdapter acceptAdapter, RequestService requestService, RejectTransferUsecase rejectTransferUsecase) {
+        super(acceptAdapter);
+        this.acceptAdapter = acceptAdapter;
         this.requestService = requestService;
         this.rejectTransferUsecase = rejectTransferUsecase;
     }
@@ -29,15 +41,75 @@ public class AcceptTransferUsecase extends AcceptTransfer {
     @Override
     @Transactional
     public AcceptedTransfer execute(AcceptTransferRequest request) {
+        AcceptedTransfer acceptedTransfer;
         try {
-            AcceptedTransfer acceptedTransfer = super.execute(request);
-            requestService.save(AcceptTransferMapper.INSTANCE.mapFromModelToEntity(acceptedTransfer));
-            log.info("Request accepted: {}", acceptedTransfer);
-            return acceptedTransfer;
+            acceptedTransfer = super.execute(request);
         } catch (AcceptDomainException e) {
-            RejectedTransfer rejectedTransfer = rejectTransferUsecase.execute(request);
-            log.error("Duplicated request: {}", rejectedTransfer);
-            throw new AcceptTransferException(rejectedTransfer, e.getErrorCode(), e.getMessage(), e);
+            // Caught by the pre-check, the transfer id of the stored request is looked up
+            throw duplicated(rejectTransferUsecase.execute(request), e);
+        }
+
+        // The unique request id is the real idempotency check, it also catches concurrent duplicates the check above let through
+        RequestRegistration registration = requestService.register(AcceptTransferMapper.INSTANCE.mapFromModelToEntity(acceptedTransfer));
+        if (!registration.inserted()) {
+            // The same statement returned the transfer id of the stored request, the rejection needs no other lookup
+            throw duplicated(RejectedTransfer.builder()
+                    .transferId(registration.transferId())
+                    .requestId(request.requestId())
+                    .build(), new AcceptDomainException(AcceptDomainErrorCode.DUPLICATED_REQUEST, String.format("Transfer with requestId %s is duplicated", request.requestId())));
+        }
+
+        acceptAdapter.register(acceptedTransfer.requestId(), acceptedTransfer.transferId());
+        log.info("Request accepted: {}", acceptedTransfer);
+        return acceptedTransfer;
+    }
+
+    // Undoes the accept of transfers whose processing rolled back, so the client can send them again with the same
+    // idempotency keys. A transfer that has an outcome in the meantime keeps its request
+    @Transactional
+    public void withdrawAll(List<AcceptedTransfer> acceptedTransfers) {
+        int withdrawn = requestService.deleteUnprocessed(acceptedTransfers.stream().map(AcceptedTransfer::transferId).toList());
+        acceptedTransfers.forEach(acceptedTransfer -> acceptAdapter.forget(acceptedTransfer.requestId()));
+        log.warn("{} of {} accepted requests withdrawn after their processing rolled back", withdrawn, acceptedTransfers.size());
+    }
+
+    @Transactional
+    public List<AcceptResult> executeAll(List<AcceptTransferRequest> requests) {
+        // One query for every key of the batch, the keys accepted along the way are registered too so duplicates inside the batch are rejected as well
+        PrefetchedAcceptAdapter prefetched = new PrefetchedAcceptAdapter(new HashMap<>(requestService.findTransferIdsByRequestIds(
+                requests.stream().map(AcceptTransferRequest::requestId).filter(Objects::nonNull).filter(acceptAdapter::mightExist).toList())));
+        AcceptTransfer acceptTransfer = new AcceptTransfer(prefetched) { };
+        RejectTransfer rejectTransfer = new RejectTransfer(prefetched) { };
+
+        List<AcceptResult> results = new ArrayList<>(requests.size());
+        int accepted = 0;
+        for (AcceptTransferRequest request : requests) {
+            try {
+                AcceptedTransfer acceptedTransfer = acceptTransfer.execute(request);
+
+                // Registered row by row like a single accept, so a key stored concurrently only rejects its own item
+                RequestRegistration registration = requestService.register(AcceptTransferMapper.INSTANCE.mapFromModelToEntity(acceptedTransfer));
+                prefetched.register(acceptedTransfer.requestId(), registration.transferId());
+                if (!registration.inserted()) {
+                    throw new AcceptDomainException(AcceptDomainErrorCode.DUPLICATED_REQUEST, String.format("Transfer with requestId %s is duplicated", request.requestId()));
+                }
+
+                acceptAdapter.register(acceptedTransfer.requestId(), acceptedTransfer.transferId());
+                results.add(AcceptResult.accepted(acceptedTransfer));
+                accepted++;
+            } catch (AcceptDomainException e) {
+                RejectedTransfer rejectedTransfer = rejectTransfer.execute(request);
+                log.error("Duplicated request: {}", rejectedTransfer);
+                results.add(AcceptResult.rejected(new AcceptTransferException(rejectedTransfer, e.getErrorCode(), e.getMessage(), e)));
+            }
         }
+
+        log.info("Batch of {} requests accepted, {} rejected", accepted, requests.size() - accepted);
+        return results;
+    }
+
+    private static AcceptTransferException duplicated(RejectedTransfer rejectedTransfer, AcceptDomainException e) {
+        log.error("Duplicated request: {}", rejectedTransfer);
+        return new AcceptTransferException(rejectedTransfer, e.getErrorCode(), e.getMessage(), e);
     }
 }
@@ -5,7 +5,6 @@ import com.domain.accept.port.AcceptPort;
 import com.domain.accept.usecase.RejectTransfer;
 import com.domain.accept.usecase.request.AcceptTransferRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -16,7 +15,7 @@ public class RejectTransferUsecase extends RejectTransfer {
     }
 
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional
     public RejectedTransfer execute(AcceptTransferRequest request) {
         return super.execute(request);
     }
@@ -2,28 +2,149 @@ package com.infrastructure.monolith.usecase.accept.adapter;
 
 import com.domain.accept.port.AcceptPort;
 import com.domain.accept.port.query.IdempotencyKey;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.infrastructure.monolith.database.entity.RequestEntity;
 import com.infrastructure.monolith.database.repository.RequestService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
+// Most idempotency keys are new, so a filter answers "definitely new" without a round trip to Postgres.
+// Recently accepted keys are kept in a small LRU, which also answers the duplicate retries that follow a timeout.
+@Slf4j
 @Service
-@RequiredArgsConstructor
-public class AcceptAdapter implements AcceptPort {
+public class AcceptAdapter implements AcceptPort, SmartInitializingSingleton {
 
     private final RequestService requestService;
 
+    private final boolean filterEnabled;
+
+    private final RequestIdFilter filter;
+
+    private final Cache<UUID, UUID> recentRequests;
+
+    private final Counter recentHits;
+
+    private final Counter filteredLookups;
+
+    private final Counter confirmedHits;
+
+    private final Counter falsePositives;
+
+    public AcceptAdapter(RequestService requestService,
+                         MeterRegistry meterRegistry,
+                         @Value("${accept-config.filter.enabled:false}") boolean filterEnabled,
+                         @Value("${accept-config.filter.expected-insertions:1000000}") long expectedInsertions,
+                         @Value("${accept-config.filter.false-positive-rate:0.01}") double falsePositiveRate,
+                         @Value("${accept-config.filter.recent-keys:10000}") long recentKeys) {
+        this.requestService = requestService;
+        this.filterEnabled = filterEnabled;
+        this.filter = new RequestIdFilter(filterEnabled ? expectedInsertions : 1, falsePositiveRate);
+        this.recentRequests = Caffeine.newBuilder().maximumSize(recentKeys).build();
+        this.recentHits = meterRegistry.counter("accept.idempotency.lookups", "result", "recent");
+        this.filteredLookups = meterRegistry.counter("accept.idempotency.lookups", "result", "filtered");
+        this.confirmedHits = meterRegistry.counter("accept.idempotency.lookups", "result", "confirmed");
+        this.falsePositives = meterRegistry.counter("accept.idempotency.lookups", "result", "false_positive");
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!filterEnabled) {
+            return;
+        }
+
+        AtomicLong loaded = new AtomicLong();
+        requestService.forEachRequestId(requestId -> {
+            filter.put(requestId);
+            loaded.incrementAndGet();
+        });
+        log.info("Idempotency filter loaded with {} request ids", loaded.get());
+    }
+
     @Override
     public boolean existsByRequestId(IdempotencyKey key) {
-        return requestService.existsByRequestId(key.request());
+        if (!filterEnabled) {
+            return requestService.existsByRequestId(key.request());
+        }
+
+        if (recentRequests.getIfPresent(key.request()) != null) {
+            recentHits.increment();
+            return true;
+        }
+
+        if (!filter.mightContain(key.request())) {
+            filteredLookups.increment();
+            return false;
+        }
+
+        boolean exists = requestService.existsByRequestId(key.request());
+        (exists ? confirmedHits : falsePositives).increment();
+        return exists;
     }
 
     @Override
     public Optional<UUID> getTransferIdByRequestId(UUID requestId) {
+        UUID transferId = recentRequests.getIfPresent(requestId);
+        if (transferId != null) {
+            return Optional.of(transferId);
+        }
+
         return requestService.findByRequestId(requestId)
                 .map(RequestEntity::getTransferId);
     }
+
+    // Cheap pre-check for bulk lookups: keys for which this is false are certainly not stored
+    public boolean mightExist(UUID requestId) {
+        return !filterEnabled || filter.mightContain(requestId);
+    }
+
+    // The key stays in the filter, which only costs a false positive, but the LRU must not answer "exists" any more
+    public void forget(UUID requestId) {
+        if (!filterEnabled) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recentRequests.invalidate(requestId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentRequests.invalidate(requestId);
+            }
+        });
+    }
+
+    public void register(UUID requestId, UUID transferId) {
+        if (!filterEnabled) {
+            return;
+        }
+
+        // The filter is updated right away: if the transaction rolls back it only costs a false positive.
+        // The LRU answers "exists" on its own, so it must only ever see committed keys.
+        filter.put(requestId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recentRequests.put(requestId, transferId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentRequests.put(requestId, transferId);
+            }
+        });
+    }
 }
@@ -0,0 +1,30 @@
+package com.infrastructure.monolith.usecase.accept.adapter;
+
+import com.domain.accept.port.AcceptPort;
+import com.domain.accept.port.query.IdempotencyKey;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+// Answers the idempotency checks of a batch from keys fetched up front, so the domain rules run without a query per item
+@RequiredArgsConstructor
+public class PrefetchedAcceptAdapter implements AcceptPort {
+
+    private final Map<UUID, UUID> transferIdsByRequestId;
+
+    @Override
+    public boolean existsByRequestId(IdempotencyKey key) {
+        return transferIdsByRequestId.containsKey(key.request());
+    }
+
+    @Override
+    public Optional<UUID> getTransferIdByRequestId(UUID requestId) {
+        return Optional.ofNullable(transferIdsByRequestId.get(requestId));
+    }
+
+    public void register(UUID requestId, UUID transferId) {
+        transferIdsByRequestId.put(requestId, transferId);
+    }
+}
@@ -0,0 +1,23 @@
+package com.infrastructure.monolith.usecase.account;
+
+import com.domain.account.model.Account;
+import com.domain.account.port.AccountPort;
+import com.domain.account.port.query.AccountCursorQuery;
+import com.domain.account.usecase.GetAccountCursorPage;
+import com.domain.account.usecase.request.CursorPageResult;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class GetAccountCursorPageUsecase extends GetAccountCursorPage {
+
+    public GetAccountCursorPageUsecase(AccountPort accountPort) {
+        super(accountPort);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResult<Account> execute(AccountCursorQuery request) {
+        return super.execute(request);
+    }
+}
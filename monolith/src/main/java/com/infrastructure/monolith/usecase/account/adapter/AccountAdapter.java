@@ -2,17 +2,27 @@ package com.infrastructure.monolith.usecase.account.adapter;
 
 import com.domain.account.model.Account;
 import com.domain.account.port.AccountPort;
+import com.domain.account.port.query.AccountCursorQuery;
 import com.domain.account.port.query.AccountPageQuery;
 import com.domain.account.port.query.AccountQuery;
+import com.domain.account.usecase.request.CursorPageResult;
 import com.domain.account.usecase.request.PageResult;
+import com.infrastructure.monolith.database.entity.AccountEntity;
 import com.infrastructure.monolith.database.repository.AccountService;
+import com.infrastructure.monolith.database.repository.AccountStripeService;
+import com.infrastructure.monolith.database.repository.LedgerEntryService;
 import com.infrastructure.monolith.usecase.account.mapper.AccountDomainMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Component
@@ -21,19 +31,60 @@ public class AccountAdapter implements AccountPort {
 
     private final AccountService accountService;
 
+    private final AccountStripeService accountStripeService;
+
+    private final LedgerEntryService ledgerEntryService;
+
+    private final AccountCountEstimate accountCountEstimate;
+
+    @Value("${registry-config.engine.type:database}")
+    private String engineType;
+
     @Override
     public Optional<Account> getAccount(AccountQuery query) {
         return accountService.findByOwnerId(query.ownerId())
-                .map(AccountDomainMapper.INSTANCE::mapFromEntityToModel);
+                .map(entity -> withPendingBalances(List.of(entity)).getFirst());
     }
 
     @Override
     public PageResult<Account> getAllAccounts(AccountPageQuery request) {
         Pageable pageable = PageRequest.of(request.pageNumber(), request.pageSize());
 
-        Page<Account> accountPage = accountService.findAll(pageable)
-                .map(AccountDomainMapper.INSTANCE::mapFromEntityToModel);
+        Page<AccountEntity> accountPage = accountService.findAll(pageable);
+
+        return new PageResult<>(withPendingBalances(accountPage.getContent()), accountPage.getTotalElements(), accountPage.getTotalPages());
+    }
+
+    @Override
+    public CursorPageResult<Account> getAccountsAfter(AccountCursorQuery request) {
+        // One row past the page tells whether there is a next one without counting
+        List<AccountEntity> entities = accountService.findAfterOwnerId(Objects.requireNonNullElse(request.afterOwnerId(), Long.MIN_VALUE), request.pageSize() + 1);
+        boolean hasNext = entities.size() > request.pageSize();
+        List<AccountEntity> page = hasNext ? entities.subList(0, request.pageSize()) : entities;
+
+        return new CursorPageResult<>(withPendingBalances(page),
+                hasNext ? page.getLast().getOwnerId() : null,
+                request.includeTotal() ? accountCountEstimate.get() : null);
+    }
+
+    // Parts of a balance kept outside the account row: stripes of striped accounts and, in ledger mode, the entries
+    // not folded yet. Only striped accounts or the ledger mode cost an extra query
+    private List<Account> withPendingBalances(List<AccountEntity> entities) {
+        Map<Long, BigDecimal> stripes = accountStripeService.sumByOwnerIds(entities.stream()
+                .filter(AccountEntity::isStriped)
+                .map(AccountEntity::getOwnerId)
+                .toList());
+
+        // The row balance read above is only a checkpoint in ledger mode. It is read again with the pending entries in
+        // one statement, or a fold committing in between would count the folded entries twice
+        Map<Long, BigDecimal> available = "ledger".equals(engineType)
+                ? ledgerEntryService.findAvailableByOwnerIds(entities.stream().map(AccountEntity::getOwnerId).toList())
+                : Map.of();
 
-        return new PageResult<>(accountPage.getContent(), accountPage.getTotalElements(), accountPage.getTotalPages());
+        return entities.stream()
+                .map(entity -> AccountDomainMapper.INSTANCE.mapFromEntityToModel(entity,
+                        available.getOrDefault(entity.getOwnerId(), entity.getBalance()),
+                        stripes.getOrDefault(entity.getOwnerId(), BigDecimal.ZERO)))
+                .toList();
     }
 }
@@ -5,10 +5,17 @@ import com.infrastructure.monolith.database.entity.AccountEntity;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
 
+import java.math.BigDecimal;
+
 @Mapper
 public interface AccountDomainMapper {
 
     AccountDomainMapper INSTANCE = Mappers.getMapper(AccountDomainMapper.class);
 
     Account mapFromEntityToModel(AccountEntity entity);
+
+    // The balance is passed apart from the row, which only holds a checkpoint in ledger mode, and the stripes are added to it
+    default Account mapFromEntityToModel(AccountEntity entity, BigDecimal balance, BigDecimal stripes) {
+        return new Account(entity.getOwnerId(), entity.getCurrency(), balance.add(stripes));
+    }
 }
@@ -0,0 +1,219 @@
+package com.infrastructure.monolith.usecase.registry;
+
+import com.domain.registry.model.Transfer;
+import com.domain.registry.usecase.ProcessTransfer;
+import com.domain.registry.usecase.request.ProcessTransferRequest;
+import com.infrastructure.monolith.database.entity.RequestEntity;
+import com.infrastructure.monolith.database.repository.RequestService;
+import com.infrastructure.monolith.database.repository.TransferService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Lets the request return as soon as the transfer is accepted. Transfers are spread over a fixed number of lanes by
+// originator, each drained by its own virtual thread, so every debit of an account goes through the same lane and
+// whatever piled up while the previous batch was running is processed as the next batch.
+// The lanes only live in memory, the request row is what makes a transfer durable: accepted requests still without an
+// outcome are read back at startup and then periodically, and queued again unless they are already on a lane
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "registry-config.async.enabled", havingValue = "true")
+public class AsyncTransferProcessor {
+
+    private final BatchProcessTransfer batchProcessTransfer;
+
+    private final ProcessTransfer processTransfer;
+
+    private final RequestService requestService;
+
+    private final TransferService transferService;
+
+    private final DistributionSummary batchSize;
+
+    private final Duration recoveryGrace;
+
+    private final int recoveryBatchSize;
+
+    // Queued or being processed by a lane, so recovery never queues the same transfer twice
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+
+    // Every request accepted before it has an outcome or is in flight, the next recovery only scans from there
+    private OffsetDateTime recoveredUpTo = Instant.EPOCH.atOffset(ZoneOffset.UTC);
+
+    private final int maxBatchSize;
+
+    private final List<BlockingQueue<ProcessTransferRequest>> lanes;
+
+    private final List<Thread> workers;
+
+    private volatile boolean running = true;
+
+    public AsyncTransferProcessor(BatchProcessTransfer batchProcessTransfer,
+                                  ProcessTransfer processTransfer,
+                                  RequestService requestService,
+                                  TransferService transferService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${registry-config.async.lanes:16}") int lanes,
+                                  @Value("${registry-config.async.lane-capacity:1000}") int laneCapacity,
+                                  @Value("${registry-config.async.max-batch-size:100}") int maxBatchSize,
+                                  @Value("${registry-config.async.recovery.grace-seconds:10}") long recoveryGraceSeconds,
+                                  @Value("${registry-config.async.recovery.batch-size:1000}") int recoveryBatchSize) {
+        this.batchProcessTransfer = batchProcessTransfer;
+        this.processTransfer = processTransfer;
+        this.requestService = requestService;
+        this.transferService = transferService;
+        this.batchSize = meterRegistry.summary("registry.async.batch.size");
+        this.recoveryGrace = Duration.ofSeconds(recoveryGraceSeconds);
+        this.recoveryBatchSize = recoveryBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.lanes = Stream.<BlockingQueue<ProcessTransferRequest>>generate(() -> new ArrayBlockingQueue<>(laneCapacity))
+                .limit(lanes)
+                .toList();
+        this.workers = new ArrayList<>(lanes);
+        for (int i = 0; i < lanes; i++) {
+            BlockingQueue<ProcessTransferRequest> lane = this.lanes.get(i);
+            workers.add(Thread.ofVirtual().name("transfer-lane-" + i).start(() -> run(lane)));
+        }
+
+        meterRegistry.gauge("registry.async.pending", this.lanes, queues -> queues.stream().mapToInt(BlockingQueue::size).sum());
+    }
+
+    // False when the lane is full or closed, the caller then processes the transfer itself
+    public boolean submit(ProcessTransferRequest request) {
+        return inFlight.add(request.transferId()) && enqueue(request);
+    }
+
+    // Runs once right after startup, which picks up what the previous run had accepted but not processed. Requests
+    // younger than the grace period are left alone: their accept may not have committed yet, or they are on their way
+    // to a lane. The next scan starts from the oldest request still without an outcome, so one that fails again is
+    // retried until it gets one
+    @Scheduled(fixedDelayString = "${registry-config.async.recovery.interval-ms:30000}")
+    public synchronized int recover() {
+        OffsetDateTime scannedUpTo = OffsetDateTime.now().minus(recoveryGrace);
+        List<RequestEntity> unprocessed = requestService.findUnprocessed(recoveredUpTo, scannedUpTo, recoveryBatchSize);
+        if (unprocessed.size() == recoveryBatchSize) {
+            scannedUpTo = unprocessed.getLast().getCreatedAt();
+        }
+
+        // Claimed before checking for an outcome: a lane only releases a transfer once its outcome has committed, so
+        // anything it released before the claim shows up in the check and anything after it was not released yet
+        List<RequestEntity> claimed = unprocessed.stream()
+                .filter(request -> inFlight.add(request.getTransferId()))
+                .toList();
+        // The sharded engine writes its rows behind: a transfer it applied may be queued again here, and then gets the
+        // outcome the engine kept for it instead of being applied twice
+        Set<UUID> processed = transferService.findExistingTransferIds(claimed.stream().map(RequestEntity::getTransferId).toList());
+
+        int requeued = 0;
+        for (RequestEntity request : claimed) {
+            if (processed.contains(request.getTransferId())) {
+                inFlight.remove(request.getTransferId());
+            } else if (enqueue(toProcessRequest(request))) {
+                requeued++;
+            }
+        }
+
+        recoveredUpTo = unprocessed.stream()
+                .filter(request -> !processed.contains(request.getTransferId()))
+                .map(RequestEntity::getCreatedAt)
+                .findFirst()
+                .orElse(scannedUpTo);
+        if (requeued > 0) {
+            log.warn("Recovered {} accepted transfers that had no outcome", requeued);
+        }
+        return requeued;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private boolean enqueue(ProcessTransferRequest request) {
+        if (running && lanes.get(Math.floorMod(Long.hashCode(request.originatorId()), lanes.size())).offer(request)) {
+            return true;
+        }
+
+        inFlight.remove(request.transferId());
+        return false;
+    }
+
+    private void run(BlockingQueue<ProcessTransferRequest> lane) {
+        List<ProcessTransferRequest> batch = new ArrayList<>(maxBatchSize);
+        while (running || !lane.isEmpty()) {
+            try {
+                ProcessTransferRequest first = lane.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                lane.drainTo(batch, maxBatchSize - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Transfer lane interrupted, {} transfers stay pending until the next recovery", batch.size() + lane.size());
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    // Results are not handed back: each transfer is recorded as SUCCESS or FAILED and read through GET /transfer
+    private void process(List<ProcessTransferRequest> batch) {
+        batchSize.record(batch.size());
+        try {
+            List<Transfer> results = batchProcessTransfer.executeAll(batch);
+            log.debug("Lane processed {} transfers", results.size());
+        } catch (RuntimeException e) {
+            // Same policy as the group commit: replay one transfer per transaction so one bad transfer cannot hold
+            // back the rest of the batch
+            log.warn("Batch of {} transfers could not be committed, retrying them one by one", batch.size(), e);
+            batch.forEach(this::processAlone);
+        } finally {
+            batch.forEach(request -> inFlight.remove(request.transferId()));
+        }
+    }
+
+    private void processAlone(ProcessTransferRequest request) {
+        try {
+            processTransfer.execute(request);
+        } catch (TransferProcessingException e) {
+            // Already recorded as FAILED
+        } catch (RuntimeException e) {
+            log.error("Transfer {} could not be processed and stays pending until the next recovery", request.transferId(), e);
+        }
+    }
+
+    private static ProcessTransferRequest toProcessRequest(RequestEntity request) {
+        return ProcessTransferRequest.builder()
+                .transferId(request.getTransferId())
+                .createdAt(request.getCreatedAt())
+                .originatorId(request.getOriginatorId())
+                .beneficiaryId(request.getBeneficiaryId())
+                .amount(request.getAmount())
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.infrastructure.monolith.usecase.registry;
+
+import com.domain.accept.usecase.request.AcceptTransferRequest;
+import com.domain.registry.model.Transfer;
+import com.infrastructure.monolith.usecase.accept.AcceptResult;
+import com.infrastructure.monolith.usecase.accept.AcceptTransferUsecase;
+import com.infrastructure.monolith.usecase.registry.mapper.RegistryMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Accepts and processes a batch in one transaction. When processing throws, the accepted requests roll back with it:
+// no request is left accepted without an outcome, and the whole batch can be sent again with the same idempotency keys
+@Service
+@RequiredArgsConstructor
+public class BatchTransferUsecase {
+
+    private final AcceptTransferUsecase acceptTransferUsecase;
+
+    private final BatchProcessTransfer batchProcessTransfer;
+
+    @Transactional
+    public BatchTransfer executeAll(List<AcceptTransferRequest> requests) {
+        List<AcceptResult> accepted = acceptTransferUsecase.executeAll(requests);
+        List<Transfer> processed = batchProcessTransfer.executeAll(accepted.stream()
+                .filter(AcceptResult::isAccepted)
+                .map(result -> RegistryMapper.INSTANCE.mapFromModelToRequest(result.acceptedTransfer()))
+                .toList());
+
+        return new BatchTransfer(accepted, processed);
+    }
+
+    // processed holds, in order, the outcome of every accepted item
+    public record BatchTransfer(List<AcceptResult> accepted, List<Transfer> processed) {
+    }
+}
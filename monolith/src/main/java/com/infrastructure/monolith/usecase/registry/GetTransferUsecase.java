@@ -0,0 +1,103 @@
+package com.infrastructure.monolith.usecase.registry;
+
+import com.domain.registry.exception.RegistryDomainErrorCode;
+import com.domain.registry.exception.RegistryDomainException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.infrastructure.monolith.database.entity.TransferEntity;
+import com.infrastructure.monolith.database.repository.RequestService;
+import com.infrastructure.monolith.database.repository.TransferService;
+import com.infrastructure.monolith.engine.ShardedBalanceEngine;
+import com.infrastructure.monolith.usecase.registry.mapper.RegistryMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+// A transfer row is only written once it is SUCCESS or FAILED and never changes afterwards, so it can be cached
+// without invalidation. Pending transfers have no row yet and are never cached. The sharded engine writes its
+// transfers behind, so it is asked first for the ones it applied but has not written yet
+@Service
+public class GetTransferUsecase {
+
+    private final TransferService transferService;
+
+    private final RequestService requestService;
+
+    private final Optional<ShardedBalanceEngine> shardedBalanceEngine;
+
+    private final Cache<UUID, TransferEntity> processedTransfers;
+
+    public GetTransferUsecase(TransferService transferService,
+                              RequestService requestService,
+                              Optional<ShardedBalanceEngine> shardedBalanceEngine,
+                              MeterRegistry meterRegistry,
+                              @Value("${registry-config.transfer-cache.max-size:100000}") long maxSize) {
+        this.transferService = transferService;
+        this.requestService = requestService;
+        this.shardedBalanceEngine = shardedBalanceEngine;
+        this.processedTransfers = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, processedTransfers, "registry.transfers");
+    }
+
+    // Empty while an accepted transfer has not been processed yet
+    public Optional<TransferEntity> execute(UUID transferId) {
+        TransferEntity cached = processedTransfers.getIfPresent(transferId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<TransferEntity> unwritten = findUnwritten(transferId);
+        if (unwritten.isPresent()) {
+            return unwritten;
+        }
+
+        Optional<TransferEntity> transfer = transferService.findWithAccountsByTransferId(transferId);
+        if (transfer.isPresent()) {
+            processedTransfers.put(transferId, transfer.get());
+        } else if (!requestService.existsByTransferId(transferId)) {
+            throw new RegistryDomainException(RegistryDomainErrorCode.TRANSFER_NOT_FOUND, String.format("Transfer %s not found", transferId));
+        }
+
+        return transfer;
+    }
+
+    // Cache misses are read with one IN query, and only the ids still missing after it are checked against the requests
+    public TransferLookup executeAll(Collection<UUID> transferIds) {
+        Map<UUID, TransferEntity> processed = new HashMap<>(processedTransfers.getAllPresent(transferIds));
+
+        List<UUID> misses = new ArrayList<>(new LinkedHashSet<>(transferIds));
+        misses.removeAll(processed.keySet());
+        for (UUID transferId : misses) {
+            findUnwritten(transferId).ifPresent(transfer -> processed.put(transferId, transfer));
+        }
+
+        misses.removeAll(processed.keySet());
+        for (TransferEntity transfer : transferService.findAllWithAccountsByTransferIds(misses)) {
+            processedTransfers.put(transfer.getTransferId(), transfer);
+            processed.put(transfer.getTransferId(), transfer);
+        }
+
+        misses.removeAll(processed.keySet());
+        return new TransferLookup(processed, requestService.findExistingTransferIds(misses));
+    }
+
+    // Checked before Postgres: the engine only forgets a transfer once its row has committed
+    private Optional<TransferEntity> findUnwritten(UUID transferId) {
+        return shardedBalanceEngine.flatMap(engine -> engine.findUnwritten(transferId))
+                .map(RegistryMapper.INSTANCE::mapFromModelToEntity);
+    }
+
+    // Ids found in neither set were never accepted
+    public record TransferLookup(Map<UUID, TransferEntity> processed, Set<UUID> pending) { }
+}
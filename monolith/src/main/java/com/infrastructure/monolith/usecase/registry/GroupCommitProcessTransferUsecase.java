@@ -0,0 +1,145 @@
+package com.infrastructure.monolith.usecase.registry;
+
+import com.domain.registry.model.FailedTransfer;
+import com.domain.registry.model.SuccessfulTransfer;
+import com.domain.registry.model.Transfer;
+import com.domain.registry.usecase.ProcessTransfer;
+import com.domain.registry.usecase.request.ProcessTransferRequest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Collects concurrent transfers for a few milliseconds and commits them together,
+// so a whole group shares one transaction and one fsync instead of paying one each
+@Slf4j
+@Service
+@Primary
+@ConditionalOnProperty(name = "registry-config.engine.type", havingValue = "group-commit")
+public class GroupCommitProcessTransferUsecase extends ProcessTransfer {
+
+    private final ProcessTransferUsecase processTransferUsecase;
+
+    private final DistributionSummary groupSize;
+
+    private final int maxGroupSize;
+
+    private final long maxWaitNanos;
+
+    private final BlockingQueue<PendingTransfer> pending = new LinkedBlockingQueue<>();
+
+    private final Thread collector;
+
+    private volatile boolean running = true;
+
+    public GroupCommitProcessTransferUsecase(ProcessTransferUsecase processTransferUsecase,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${registry-config.engine.group-commit.max-size:200}") int maxGroupSize,
+                                             @Value("${registry-config.engine.group-commit.max-wait-ms:5}") long maxWaitMillis) {
+        this.processTransferUsecase = processTransferUsecase;
+        this.groupSize = meterRegistry.summary("registry.group-commit.size");
+        this.maxGroupSize = maxGroupSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.collector = Thread.ofPlatform().name("transfer-group-commit").start(this::run);
+    }
+
+    @Override
+    public SuccessfulTransfer execute(ProcessTransferRequest request) {
+        if (!running) {
+            throw new IllegalStateException("Group commit is not accepting transfers");
+        }
+
+        PendingTransfer transfer = new PendingTransfer(request, new CompletableFuture<>());
+        pending.add(transfer);
+
+        Transfer result;
+        try {
+            result = transfer.future().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+
+        if (result instanceof FailedTransfer failedTransfer) {
+            throw new TransferProcessingException(failedTransfer, failedTransfer.getErrorCode(), failedTransfer.getErrorCode().getValue(), null);
+        }
+
+        return (SuccessfulTransfer) result;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        collector.join();
+    }
+
+    private void run() {
+        List<PendingTransfer> group = new ArrayList<>(maxGroupSize);
+        while (running || !pending.isEmpty()) {
+            try {
+                PendingTransfer first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                group.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (group.size() < maxGroupSize) {
+                    PendingTransfer next = pending.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+
+                    group.add(next);
+                    pending.drainTo(group, maxGroupSize - group.size());
+                }
+
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                group.forEach(transfer -> transfer.future().completeExceptionally(e));
+                return;
+            }
+            group.clear();
+        }
+    }
+
+    private void commit(List<PendingTransfer> group) {
+        groupSize.record(group.size());
+        try {
+            List<Transfer> results = processTransferUsecase.executeAll(group.stream().map(PendingTransfer::request).toList());
+            for (int i = 0; i < group.size(); i++) {
+                group.get(i).future().complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            // A group only fails as a whole for infrastructure reasons (lock timeout, lost connection...),
+            // replay it one transfer per transaction so a single bad transfer does not fail its neighbours
+            log.warn("Group of {} transfers could not be committed, retrying them one by one", group.size(), e);
+            group.forEach(this::commitAlone);
+        }
+    }
+
+    private void commitAlone(PendingTransfer transfer) {
+        try {
+            transfer.future().complete(processTransferUsecase.execute(transfer.request()));
+        } catch (TransferProcessingException e) {
+            transfer.future().complete(e.getFailedTransfer());
+        } catch (RuntimeException e) {
+            transfer.future().completeExceptionally(e);
+        }
+    }
+
+    private record PendingTransfer(ProcessTransferRequest request, CompletableFuture<Transfer> future) {
+    }
+}
@@ -0,0 +1,249 @@
+package com.infrastructure.monolith.usecase.registry;
+
+import com.domain.registry.exception.RegistryDomainErrorCode;
+import com.domain.registry.exception.RegistryDomainException;
+import com.domain.registry.model.Account;
+import com.domain.registry.model.FailedTransfer;
+import com.domain.registry.model.SuccessfulTransfer;
+import com.domain.registry.model.Transfer;
+import com.domain.registry.usecase.FailTransfer;
+import com.domain.registry.usecase.ProcessTransfer;
+import com.domain.registry.usecase.ValidateTransfer;
+import com.domain.registry.usecase.request.FailTransferRequest;
+import com.domain.registry.usecase.request.ProcessTransferRequest;
+import com.domain.registry.usecase.request.ValidateTransferRequest;
+import com.infrastructure.monolith.database.entity.AccountEntity;
+import com.infrastructure.monolith.database.entity.LedgerEntryEntity;
+import com.infrastructure.monolith.database.entity.TransferEntity;
+import com.infrastructure.monolith.database.repository.AccountService;
+import com.infrastructure.monolith.database.repository.LedgerEntryService;
+import com.infrastructure.monolith.database.repository.TransferService;
+import com.infrastructure.monolith.usecase.registry.mapper.RegistryMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Transfers append a debit and a credit entry instead of rewriting the account rows. The available balance of an
+// account is its row balance, used as a checkpoint, plus its entries not folded yet. Only debits of the same
+// originator wait for each other, on an advisory lock, and credits never wait at all
+@Slf4j
+@Service
+@Primary
+@ConditionalOnProperty(name = "registry-config.engine.type", havingValue = "ledger")
+public class LedgerProcessTransferUsecase extends ProcessTransfer implements BatchProcessTransfer {
+
+    private final ValidateTransfer validateTransfer;
+
+    private final FailTransfer failTransfer;
+
+    private final AccountService accountService;
+
+    private final LedgerEntryService ledgerEntryService;
+
+    private final TransferService transferService;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Counter foldedAccounts;
+
+    public LedgerProcessTransferUsecase(ValidateTransfer validateTransfer,
+                                        FailTransfer failTransfer,
+                                        AccountService accountService,
+                                        LedgerEntryService ledgerEntryService,
+                                        TransferService transferService,
+                                        MeterRegistry meterRegistry) {
+        this.validateTransfer = validateTransfer;
+        this.failTransfer = failTransfer;
+        this.accountService = accountService;
+        this.ledgerEntryService = ledgerEntryService;
+        this.transferService = transferService;
+        this.meterRegistry = meterRegistry;
+        this.foldedAccounts = meterRegistry.counter("registry.ledger.folded.accounts");
+    }
+
+    @Override
+    @Transactional
+    public SuccessfulTransfer execute(ProcessTransferRequest request) {
+        try {
+            reserve(List.of(request.originatorId()));
+            LedgerAccounts accounts = findAccounts(List.of(request.originatorId(), request.beneficiaryId()));
+
+            SuccessfulTransfer successfulTransfer = validate(request,
+                    accounts.available(request.originatorId(), "Originator account not found"),
+                    accounts.available(request.beneficiaryId(), "Beneficiary account not found"));
+
+            List<LedgerEntryEntity> entries = new ArrayList<>(2);
+            addEntries(entries, successfulTransfer);
+            ledgerEntryService.saveAll(entries);
+            transferService.save(accounts.toEntity(successfulTransfer));
+
+            log.info("Transfer {} has been processed SUCCESSFULLY", successfulTransfer);
+            return successfulTransfer;
+        } catch (RegistryDomainException e) {
+            FailTransferRequest failTransferRequest = FailTransferRequest.builder()
+                    .transferId(request.transferId())
+                    .errorCode(e.getErrorCode())
+                    .build();
+
+            FailedTransfer failedTransfer = failTransfer.execute(failTransferRequest);
+            log.error("Transfer {} has failed", failedTransfer);
+            throw new TransferProcessingException(failedTransfer, e.getErrorCode(), e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<Transfer> executeAll(List<ProcessTransferRequest> requests) {
+        reserve(requests.stream()
+                .map(ProcessTransferRequest::originatorId)
+                .filter(Objects::nonNull)
+                .toList());
+
+        LedgerAccounts accounts = findAccounts(requests.stream()
+                .flatMap(request -> Stream.of(request.originatorId(), request.beneficiaryId()))
+                .filter(Objects::nonNull)
+                .toList());
+
+        List<Transfer> results = new ArrayList<>(requests.size());
+        List<TransferEntity> transfers = new ArrayList<>(requests.size());
+        List<LedgerEntryEntity> entries = new ArrayList<>(requests.size() * 2);
+        for (ProcessTransferRequest request : requests) {
+            try {
+                SuccessfulTransfer successfulTransfer = validate(request,
+                        accounts.available(request.originatorId(), "Originator account not found"),
+                        accounts.available(request.beneficiaryId(), "Beneficiary account not found"));
+
+                // Balances move in memory from one item to the next, the entries carry the changes
+                accounts.update(successfulTransfer.getOriginator());
+                accounts.update(successfulTransfer.getBeneficiary());
+                addEntries(entries, successfulTransfer);
+                transfers.add(accounts.toEntity(successfulTransfer));
+                results.add(successfulTransfer);
+            } catch (RegistryDomainException e) {
+                FailTransferRequest failTransferRequest = FailTransferRequest.builder()
+                        .transferId(request.transferId())
+                        .errorCode(e.getErrorCode())
+                        .build();
+
+                FailedTransfer failedTransfer = failTransfer.failedTransfer(failTransferRequest);
+                log.error("Transfer {} has failed", failedTransfer);
+                transfers.add(RegistryMapper.INSTANCE.mapFromModelToEntity(failedTransfer));
+                results.add(failedTransfer);
+            }
+        }
+
+        ledgerEntryService.saveAll(entries);
+        transferService.saveAll(transfers);
+
+        log.info("Batch of {} transfers processed, {} failed", requests.size(), results.stream().filter(FailedTransfer.class::isInstance).count());
+        return results;
+    }
+
+    // Materializes the pending entries into the account balances, which become the new checkpoint
+    @Scheduled(fixedDelayString = "${registry-config.engine.ledger.checkpoint-interval-ms:1000}")
+    public void checkpoint() {
+        int folded = ledgerEntryService.fold();
+        if (folded > 0) {
+            foldedAccounts.increment(folded);
+            log.debug("Ledger checkpoint folded the pending entries of {} accounts", folded);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        checkpoint();
+    }
+
+    // Advisory locks are taken in owner id order, so two batches debiting the same accounts cannot wait on each other
+    private void reserve(Collection<Long> originatorIds) {
+        Timer.Sample lockWait = Timer.start(meterRegistry);
+        try {
+            new TreeSet<>(originatorIds).forEach(ledgerEntryService::reserve);
+        } finally {
+            lockWait.stop(meterRegistry.timer("registry.lock.wait", "mode", "ledger"));
+        }
+    }
+
+    // Read after the reservation, so every debit committed before it is part of the balance. The rows only link the
+    // transfers to their accounts, the balances come from the single statement that also sums the pending entries
+    private LedgerAccounts findAccounts(Collection<Long> ownerIds) {
+        Map<Long, AccountEntity> entities = accountService.findAllByOwnerId(ownerIds).stream()
+                .collect(Collectors.toMap(AccountEntity::getOwnerId, Function.identity()));
+
+        return new LedgerAccounts(entities, ledgerEntryService.findAvailableByOwnerIds(entities.keySet()), new HashMap<>());
+    }
+
+    private SuccessfulTransfer validate(ProcessTransferRequest request, Account originator, Account beneficiary) {
+        ValidateTransferRequest validate = ValidateTransferRequest.builder()
+                .transferId(request.transferId())
+                .createdAt(request.createdAt())
+                .originator(originator)
+                .beneficiary(beneficiary)
+                .amount(request.amount())
+                .build();
+
+        return validateTransfer.execute(validate);
+    }
+
+    private void addEntries(List<LedgerEntryEntity> entries, SuccessfulTransfer transfer) {
+        entries.add(entry(transfer, transfer.getOriginator().ownerId(), transfer.getDebit().toBigDecimal().negate()));
+        entries.add(entry(transfer, transfer.getBeneficiary().ownerId(), transfer.getCredit().toBigDecimal()));
+    }
+
+    private LedgerEntryEntity entry(SuccessfulTransfer transfer, Long ownerId, BigDecimal amount) {
+        return LedgerEntryEntity.builder()
+                .ownerId(ownerId)
+                .transferId(transfer.getTransferId())
+                .amount(amount)
+                .createdAt(transfer.getProcessedAt())
+                .applied(false)
+                .build();
+    }
+
+    private record LedgerAccounts(Map<Long, AccountEntity> entities, Map<Long, BigDecimal> available, Map<Long, Account> balances) {
+
+        Account available(Long ownerId, String notFound) {
+            Account account = balances.get(ownerId);
+            if (account != null) {
+                return account;
+            }
+
+            AccountEntity entity = entities.get(ownerId);
+            if (entity == null || !available.containsKey(ownerId)) {
+                throw new RegistryDomainException(RegistryDomainErrorCode.ACCOUNT_NOT_FOUND, notFound);
+            }
+
+            return RegistryMapper.INSTANCE.mapFromEntityToModel(entity, available.get(ownerId));
+        }
+
+        void update(Account account) {
+            balances.put(account.ownerId(), account);
+        }
+
+        TransferEntity toEntity(SuccessfulTransfer successfulTransfer) {
+            TransferEntity transfer = RegistryMapper.INSTANCE.mapFromModelToEntity(successfulTransfer);
+            transfer.setOriginator(entities.get(successfulTransfer.getOriginator().ownerId()));
+            transfer.setBeneficiary(entities.get(successfulTransfer.getBeneficiary().ownerId()));
+            return transfer;
+        }
+    }
+}
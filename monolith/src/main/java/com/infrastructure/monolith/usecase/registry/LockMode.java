@@ -0,0 +1,6 @@
+package com.infrastructure.monolith.usecase.registry;
+
+public enum LockMode {
+    SEQUENTIAL,
+    ORDERED
+}
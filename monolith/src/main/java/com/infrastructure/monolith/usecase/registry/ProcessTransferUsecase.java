@@ -2,8 +2,11 @@ package com.infrastructure.monolith.usecase.registry;
 
 import com.domain.registry.exception.RegistryDomainErrorCode;
 import com.domain.registry.exception.RegistryDomainException;
+import com.domain.registry.model.Account;
 import com.domain.registry.model.FailedTransfer;
+import com.domain.registry.model.Money;
 import com.domain.registry.model.SuccessfulTransfer;
+import com.domain.registry.model.Transfer;
 import com.domain.registry.usecase.FailTransfer;
 import com.domain.registry.usecase.ProcessTransfer;
 import com.domain.registry.usecase.ValidateTransfer;
@@ -13,17 +16,33 @@ import com.domain.registry.usecase.request.ValidateTransferRequest;
 import com.infrastructure.monolith.database.entity.AccountEntity;
 import com.infrastructure.monolith.database.entity.TransferEntity;
 import com.infrastructure.monolith.database.repository.AccountService;
+import com.infrastructure.monolith.database.repository.AccountStripeService;
 import com.infrastructure.monolith.database.repository.TransferService;
 import com.infrastructure.monolith.usecase.registry.mapper.RegistryMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class ProcessTransferUsecase extends ProcessTransfer {
+public class ProcessTransferUsecase extends ProcessTransfer implements BatchProcessTransfer {
 
     private final ValidateTransfer validateTransfer;
 
@@ -31,8 +50,18 @@ public class ProcessTransferUsecase extends ProcessTransfer {
 
     private final AccountService accountService;
 
+    private final AccountStripeService accountStripeService;
+
     private final TransferService transferService;
 
+    private final MeterRegistry meterRegistry;
+
+    @Value("${registry-config.lock.mode:ORDERED}")
+    private LockMode lockMode;
+
+    @Value("${registry-config.striping.stripes:8}")
+    private int stripes;
+
     @Override
     @Transactional
     public SuccessfulTransfer execute(ProcessTransferRequest request) {
@@ -41,26 +70,32 @@ public class ProcessTransferUsecase extends ProcessTransfer {
             // Another way of doing this is fetching the account entity from within the domain using adapters
             // I prefer this way in this case because it makes the transaction and the behaviour of the lock easier to follow
 
-            AccountEntity originator = accountService.findByOwnerIdForUpdate(request.originatorId())
-                    .orElseThrow(() -> new RegistryDomainException(RegistryDomainErrorCode.ACCOUNT_NOT_FOUND, "Originator account not found"));
+            LockedAccounts locked = lockAccounts(request);
+            AccountEntity originator = locked.originator();
+            AccountEntity beneficiary = locked.beneficiary();
 
-            AccountEntity beneficiary = accountService.findByOwnerIdForUpdate(request.beneficiaryId())
-                    .orElseThrow(() -> new RegistryDomainException(RegistryDomainErrorCode.ACCOUNT_NOT_FOUND, "Beneficiary account not found"));
+            Account originatorAccount = RegistryMapper.INSTANCE.mapFromEntityToModel(originator);
+            Account beneficiaryAccount = RegistryMapper.INSTANCE.mapFromEntityToModel(beneficiary);
 
-            ValidateTransferRequest validate = ValidateTransferRequest.builder()
-                    .transferId(request.transferId())
-                    .createdAt(request.createdAt())
-                    .originator(RegistryMapper.INSTANCE.mapFromEntityToModel(originator))
-                    .beneficiary(RegistryMapper.INSTANCE.mapFromEntityToModel(beneficiary))
-                    .amount(request.amount())
-                    .build();
+            SuccessfulTransfer successfulTransfer;
+            try {
+                successfulTransfer = validate(request, originatorAccount, beneficiaryAccount);
+            } catch (RegistryDomainException e) {
+                if (!isShortOnStripedAccount(e, originator)) {
+                    throw e;
+                }
+                successfulTransfer = validate(request, consolidate(originatorAccount), beneficiaryAccount);
+            }
 
-            SuccessfulTransfer successfulTransfer = validateTransfer.execute(validate);
-
-            originator.setBalance(successfulTransfer.getOriginator().balance());
-            beneficiary.setBalance(successfulTransfer.getBeneficiary().balance());
+            originator.setBalance(successfulTransfer.getOriginator().balance().toBigDecimal());
             AccountEntity updatedOriginator = accountService.save(originator);
-            AccountEntity updatedBeneficiary = accountService.save(beneficiary);
+            AccountEntity updatedBeneficiary = beneficiary;
+            if (beneficiary.isStriped()) {
+                accountStripeService.credit(beneficiary.getOwnerId(), stripeOf(request), successfulTransfer.getCredit().toBigDecimal());
+            } else {
+                beneficiary.setBalance(successfulTransfer.getBeneficiary().balance().toBigDecimal());
+                updatedBeneficiary = accountService.save(beneficiary);
+            }
 
             TransferEntity transfer = RegistryMapper.INSTANCE.mapFromModelToEntity(successfulTransfer);
             transfer.setOriginator(updatedOriginator);
@@ -80,4 +115,155 @@ public class ProcessTransferUsecase extends ProcessTransfer {
             throw new TransferProcessingException(failedTransfer, e.getErrorCode(), e.getMessage(), e);
         }
     }
+
+    @Override
+    @Transactional
+    public List<Transfer> executeAll(List<ProcessTransferRequest> requests) {
+        Map<Long, AccountEntity> accounts = lockAllAccounts(requests.stream()
+                .flatMap(request -> Stream.of(request.originatorId(), request.beneficiaryId()))
+                .filter(Objects::nonNull)
+                .toList());
+
+        // Balances move in memory from one item to the next and are written once at the end of the batch
+        Map<Long, Account> balances = new HashMap<>();
+        List<Transfer> results = new ArrayList<>(requests.size());
+        List<TransferEntity> transfers = new ArrayList<>(requests.size());
+        for (ProcessTransferRequest request : requests) {
+            try {
+                Account originator = currentAccount(accounts, balances, request.originatorId(), "Originator account not found");
+                Account beneficiary = currentAccount(accounts, balances, request.beneficiaryId(), "Beneficiary account not found");
+
+                // Striped accounts are locked like any other here, so their credits go straight to the account row
+                SuccessfulTransfer successfulTransfer;
+                try {
+                    successfulTransfer = validate(request, originator, beneficiary);
+                } catch (RegistryDomainException e) {
+                    if (!isShortOnStripedAccount(e, accounts.get(request.originatorId()))) {
+                        throw e;
+                    }
+                    // The drain commits with the batch whatever this item's outcome, so the drained amount is kept on
+                    // the account before validating again, or a failure here would lose it
+                    originator = consolidate(originator);
+                    balances.put(request.originatorId(), originator);
+                    successfulTransfer = validate(request, originator, beneficiary);
+                }
+
+                balances.put(request.originatorId(), successfulTransfer.getOriginator());
+                balances.put(request.beneficiaryId(), successfulTransfer.getBeneficiary());
+
+                TransferEntity transfer = RegistryMapper.INSTANCE.mapFromModelToEntity(successfulTransfer);
+                transfer.setOriginator(accounts.get(request.originatorId()));
+                transfer.setBeneficiary(accounts.get(request.beneficiaryId()));
+                transfers.add(transfer);
+                results.add(successfulTransfer);
+            } catch (RegistryDomainException e) {
+                FailTransferRequest failTransferRequest = FailTransferRequest.builder()
+                        .transferId(request.transferId())
+                        .errorCode(e.getErrorCode())
+                        .build();
+
+                FailedTransfer failedTransfer = failTransfer.failedTransfer(failTransferRequest);
+                log.error("Transfer {} has failed", failedTransfer);
+                transfers.add(RegistryMapper.INSTANCE.mapFromModelToEntity(failedTransfer));
+                results.add(failedTransfer);
+            }
+        }
+
+        // Managed entities, flushed as a single batch of updates on commit
+        balances.forEach((ownerId, account) -> accounts.get(ownerId).setBalance(account.balance().toBigDecimal()));
+        transferService.saveAll(transfers);
+
+        log.info("Batch of {} transfers processed, {} failed", requests.size(), results.stream().filter(FailedTransfer.class::isInstance).count());
+        return results;
+    }
+
+    private SuccessfulTransfer validate(ProcessTransferRequest request, Account originator, Account beneficiary) {
+        ValidateTransferRequest validate = ValidateTransferRequest.builder()
+                .transferId(request.transferId())
+                .createdAt(request.createdAt())
+                .originator(originator)
+                .beneficiary(beneficiary)
+                .amount(request.amount())
+                .build();
+
+        return validateTransfer.execute(validate);
+    }
+
+    private boolean isShortOnStripedAccount(RegistryDomainException e, AccountEntity originator) {
+        return e.getErrorCode() == RegistryDomainErrorCode.INSUFFICIENT_BALANCE && originator != null && originator.isStriped();
+    }
+
+    // Moves whatever the stripes hold back to the locked account row, only when a debit cannot be covered without them
+    private Account consolidate(Account originator) {
+        BigDecimal drained = accountStripeService.drain(originator.ownerId());
+        log.info("Consolidated {} from the stripes of account {}", drained, originator.ownerId());
+        return originator.credit(Money.of(drained, originator.currency()));
+    }
+
+    private int stripeOf(ProcessTransferRequest request) {
+        return Math.floorMod(request.transferId().hashCode(), stripes);
+    }
+
+    private Account currentAccount(Map<Long, AccountEntity> accounts, Map<Long, Account> balances, Long ownerId, String notFound) {
+        Account account = balances.get(ownerId);
+        if (account != null) {
+            return account;
+        }
+
+        AccountEntity entity = accounts.get(ownerId);
+        if (entity == null) {
+            throw new RegistryDomainException(RegistryDomainErrorCode.ACCOUNT_NOT_FOUND, notFound);
+        }
+
+        return RegistryMapper.INSTANCE.mapFromEntityToModel(entity);
+    }
+
+    // Every account of the batch is locked by the same ordered statement, whatever the configured lock mode
+    private Map<Long, AccountEntity> lockAllAccounts(Collection<Long> ownerIds) {
+        Timer.Sample lockWait = Timer.start(meterRegistry);
+        try {
+            return accountService.findAllByOwnerIdForUpdate(new TreeSet<>(ownerIds)).stream()
+                    .collect(Collectors.toMap(AccountEntity::getOwnerId, Function.identity()));
+        } finally {
+            lockWait.stop(meterRegistry.timer("registry.lock.wait", "mode", "batch"));
+        }
+    }
+
+    private LockedAccounts lockAccounts(ProcessTransferRequest request) {
+        Timer.Sample lockWait = Timer.start(meterRegistry);
+        try {
+            if (lockMode == LockMode.SEQUENTIAL) {
+                AccountEntity originator = accountService.findByOwnerIdForUpdate(request.originatorId())
+                        .orElseThrow(() -> new RegistryDomainException(RegistryDomainErrorCode.ACCOUNT_NOT_FOUND, "Originator account not found"));
+
+                AccountEntity beneficiary = accountService.findUnstripedByOwnerIdForUpdate(request.beneficiaryId())
+                        .or(() -> accountService.findByOwnerId(request.beneficiaryId()))
+                        .orElseThrow(() -> new RegistryDomainException(RegistryDomainErrorCode.ACCOUNT_NOT_FOUND, "Beneficiary account not found"));
+
+                return new LockedAccounts(originator, beneficiary);
+            }
+
+            Map<Long, AccountEntity> accounts = accountService.findAllForTransferForUpdate(request.originatorId(), List.of(request.originatorId(), request.beneficiaryId())).stream()
+                    .collect(Collectors.toMap(AccountEntity::getOwnerId, Function.identity()));
+
+            AccountEntity originator = accounts.get(request.originatorId());
+            if (originator == null) {
+                throw new RegistryDomainException(RegistryDomainErrorCode.ACCOUNT_NOT_FOUND, "Originator account not found");
+            }
+
+            // Missing either because it does not exist or because it is striped and read without a lock
+            AccountEntity beneficiary = accounts.get(request.beneficiaryId());
+            if (beneficiary == null) {
+                beneficiary = accountService.findByOwnerId(request.beneficiaryId())
+                        .orElseThrow(() -> new RegistryDomainException(RegistryDomainErrorCode.ACCOUNT_NOT_FOUND, "Beneficiary account not found"));
+            }
+
+            return new LockedAccounts(originator, beneficiary);
+        } finally {
+            lockWait.stop(meterRegistry.timer("registry.lock.wait", "mode", lockMode.name().toLowerCase()));
+        }
+    }
+
+    private record LockedAccounts(AccountEntity originator, AccountEntity beneficiary) {
+    }
 }
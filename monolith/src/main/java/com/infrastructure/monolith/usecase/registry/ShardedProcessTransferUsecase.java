@@ -0,0 +1,94 @@
+package com.infrastructure.monolith.usecase.registry;
+
+import com.domain.registry.exception.RegistryDomainException;
+import com.domain.registry.model.FailedTransfer;
+import com.domain.registry.model.SuccessfulTransfer;
+import com.domain.registry.model.Transfer;
+import com.domain.registry.usecase.FailTransfer;
+import com.domain.registry.usecase.ProcessTransfer;
+import com.domain.registry.usecase.request.FailTransferRequest;
+import com.domain.registry.usecase.request.ProcessTransferRequest;
+import com.infrastructure.monolith.database.entity.TransferEntity;
+import com.infrastructure.monolith.database.repository.TransferService;
+import com.infrastructure.monolith.engine.ShardedBalanceEngine;
+import com.infrastructure.monolith.usecase.registry.mapper.RegistryMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@Slf4j
+@Service
+@Primary
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "registry-config.engine.type", havingValue = "sharded")
+public class ShardedProcessTransferUsecase extends ProcessTransfer implements BatchProcessTransfer {
+
+    private final ShardedBalanceEngine shardedBalanceEngine;
+
+    private final FailTransfer failTransfer;
+
+    private final TransferService transferService;
+
+    @Override
+    public SuccessfulTransfer execute(ProcessTransferRequest request) {
+        try {
+            SuccessfulTransfer successfulTransfer = shardedBalanceEngine.submit(request).join();
+            log.info("Transfer {} has been processed SUCCESSFULLY", successfulTransfer);
+            return successfulTransfer;
+        } catch (CompletionException e) {
+            if (!(e.getCause() instanceof RegistryDomainException domainException)) {
+                throw e;
+            }
+
+            FailTransferRequest failTransferRequest = FailTransferRequest.builder()
+                    .transferId(request.transferId())
+                    .errorCode(domainException.getErrorCode())
+                    .build();
+
+            FailedTransfer failedTransfer = failTransfer.execute(failTransferRequest);
+            log.error("Transfer {} has failed", failedTransfer);
+            throw new TransferProcessingException(failedTransfer, domainException.getErrorCode(), domainException.getMessage(), domainException);
+        }
+    }
+
+    @Override
+    public List<Transfer> executeAll(List<ProcessTransferRequest> requests) {
+        // Everything is handed to the shards first so the whole batch shares their journal group commits
+        List<CompletableFuture<SuccessfulTransfer>> futures = requests.stream()
+                .map(shardedBalanceEngine::submit)
+                .toList();
+
+        List<Transfer> results = new ArrayList<>(requests.size());
+        List<TransferEntity> failed = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                results.add(futures.get(i).join());
+            } catch (CompletionException e) {
+                if (!(e.getCause() instanceof RegistryDomainException domainException)) {
+                    throw e;
+                }
+
+                FailTransferRequest failTransferRequest = FailTransferRequest.builder()
+                        .transferId(requests.get(i).transferId())
+                        .errorCode(domainException.getErrorCode())
+                        .build();
+
+                FailedTransfer failedTransfer = failTransfer.failedTransfer(failTransferRequest);
+                log.error("Transfer {} has failed", failedTransfer);
+                failed.add(RegistryMapper.INSTANCE.mapFromModelToEntity(failedTransfer));
+                results.add(failedTransfer);
+            }
+        }
+
+        transferService.saveAll(failed);
+        log.info("Batch of {} transfers processed, {} failed", requests.size(), failed.size());
+        return results;
+    }
+}
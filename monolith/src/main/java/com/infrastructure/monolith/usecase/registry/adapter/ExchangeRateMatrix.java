@@ -0,0 +1,93 @@
+package com.infrastructure.monolith.usecase.registry.adapter;
+
+import com.domain.registry.model.Currency;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+
+// Every cross rate between the supported currencies, derived from the rates of a single pivot currency and indexed by
+// ordinal. Rates are held as longs scaled by 10^SCALE in one flat array. Immutable: a refresh builds a whole new
+// matrix, so readers never see a half updated one.
+final class ExchangeRateMatrix {
+
+    private static final Currency[] CURRENCIES = Currency.values();
+
+    private static final int SIZE = CURRENCIES.length;
+
+    private static final int SCALE = 10;
+
+    // Marks a pair without a rate, no rate the exchange API quotes comes near it once scaled
+    private static final long MISSING = Long.MIN_VALUE;
+
+    static final ExchangeRateMatrix EMPTY = new ExchangeRateMatrix(emptyRates());
+
+    private final long[] rates;
+
+    private ExchangeRateMatrix(long[] rates) {
+        this.rates = rates;
+    }
+
+    // pivotRates holds the amount of each currency for one unit of the pivot
+    static ExchangeRateMatrix from(Currency pivot, Map<String, BigDecimal> pivotRates) {
+        BigDecimal[] perPivot = new BigDecimal[SIZE];
+        for (Currency currency : CURRENCIES) {
+            perPivot[currency.ordinal()] = currency == pivot ? BigDecimal.ONE : pivotRates.get(currency.getValue());
+        }
+
+        long[] rates = emptyRates();
+        for (Currency source : CURRENCIES) {
+            for (Currency destination : CURRENCIES) {
+                rates[index(source, destination)] = crossRate(source, destination, perPivot);
+            }
+        }
+        return new ExchangeRateMatrix(rates);
+    }
+
+    // Amount of source for one unit of destination, the convention of the exchange API when destination is the base
+    Optional<BigDecimal> get(Currency source, Currency destination) {
+        long rate = rates[index(source, destination)];
+        if (rate == MISSING) {
+            return Optional.empty();
+        }
+
+        // Trailing zeros are dropped so a rate quoted against the pivot comes back as the API returned it
+        BigDecimal value = BigDecimal.valueOf(rate, SCALE).stripTrailingZeros();
+        return Optional.of(value.scale() < 0 ? value.setScale(0) : value);
+    }
+
+    private static long crossRate(Currency source, Currency destination, BigDecimal[] perPivot) {
+        if (source == destination) {
+            return scaled(BigDecimal.ONE);
+        }
+
+        BigDecimal sourcePerPivot = perPivot[source.ordinal()];
+        BigDecimal destinationPerPivot = perPivot[destination.ordinal()];
+        if (sourcePerPivot == null || destinationPerPivot == null || destinationPerPivot.signum() == 0) {
+            return MISSING;
+        }
+
+        return scaled(sourcePerPivot.divide(destinationPerPivot, SCALE, RoundingMode.HALF_EVEN));
+    }
+
+    // A rate too large for the scaled long is left out rather than served wrong
+    private static long scaled(BigDecimal rate) {
+        try {
+            return rate.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            return MISSING;
+        }
+    }
+
+    private static int index(Currency source, Currency destination) {
+        return source.ordinal() * SIZE + destination.ordinal();
+    }
+
+    private static long[] emptyRates() {
+        long[] rates = new long[SIZE * SIZE];
+        Arrays.fill(rates, MISSING);
+        return rates;
+    }
+}
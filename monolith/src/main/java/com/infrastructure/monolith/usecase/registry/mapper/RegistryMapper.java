@@ -1,10 +1,13 @@
 package com.infrastructure.monolith.usecase.registry.mapper;
 
+import com.domain.accept.model.AcceptedTransfer;
 import com.domain.registry.exception.RegistryDomainErrorCode;
 import com.domain.registry.model.Account;
 import com.domain.registry.model.Currency;
 import com.domain.registry.model.FailedTransfer;
+import com.domain.registry.model.Money;
 import com.domain.registry.model.SuccessfulTransfer;
+import com.domain.registry.usecase.request.ProcessTransferRequest;
 import com.infrastructure.monolith.database.entity.AccountEntity;
 import com.infrastructure.monolith.database.entity.TransferEntity;
 import org.mapstruct.Mapper;
@@ -12,16 +15,28 @@ import org.mapstruct.Mapping;
 import org.mapstruct.Named;
 import org.mapstruct.factory.Mappers;
 
+import java.math.BigDecimal;
+
 @Mapper
 public interface RegistryMapper {
 
     RegistryMapper INSTANCE = Mappers.getMapper(RegistryMapper.class);
 
-    @Mapping(target = "currency", source = "currency", qualifiedByName = "mapCurrency")
-    Account mapFromEntityToModel(AccountEntity entity);
+    default Account mapFromEntityToModel(AccountEntity entity) {
+        Currency currency = mapFromStringToModel(entity.getCurrency());
+        return new Account(entity.getOwnerId(), currency, Money.exact(entity.getBalance(), currency));
+    }
+
+    // In ledger mode the row balance is only a checkpoint, the available balance is read along with the entries not
+    // folded into it yet
+    default Account mapFromEntityToModel(AccountEntity entity, BigDecimal available) {
+        Currency currency = mapFromStringToModel(entity.getCurrency());
+        return new Account(entity.getOwnerId(), currency, Money.exact(available, currency));
+    }
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "version", ignore = true)
+    @Mapping(target = "striped", ignore = true)
     AccountEntity mapFromModelToEntity(Account model);
 
     @Mapping(target = "id", ignore = true)
@@ -42,11 +57,17 @@ public interface RegistryMapper {
     @Mapping(target="errorCode", source="errorCode", qualifiedByName = "mapErrorCode")
     TransferEntity mapFromModelToEntity(FailedTransfer transfer);
 
+    ProcessTransferRequest mapFromModelToRequest(AcceptedTransfer acceptedTransfer);
+
     @Named("mapCurrency")
     default Currency mapFromStringToModel(String currency) {
         return Currency.fromValue(currency);
     }
 
+    default BigDecimal mapFromModelToBigDecimal(Money money) {
+        return money.toBigDecimal();
+    }
+
     @Named("mapErrorCode")
     default String mapFromModelToString(RegistryDomainErrorCode errorCode) {
         return errorCode.getValue();
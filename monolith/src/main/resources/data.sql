@@ -1,5 +1,5 @@
 -- Clean up existing data to ensure a fresh start for tests
-TRUNCATE TABLE request_entity, transfer_entity, account_entity RESTART IDENTITY;
+TRUNCATE TABLE request_entity, transfer_entity, ledger_entry_entity, account_stripe_entity, account_entity RESTART IDENTITY;
 
 -- =================================================================
 --  ACCOUNTS DATA
@@ -7,17 +7,17 @@ TRUNCATE TABLE request_entity, transfer_entity, account_entity RESTART IDENTITY;
 
 -- Insert three sample accounts with different currencies and balances
 INSERT INTO account_entity (id, version, owner_id, currency, balance)
-VALUES (1, 1, 101, 'EUR', 5000.00),
-       (2, 1, 102, 'USD', 2500.00),
-       (3, 1, 103, 'GBP', 10000.00),
-       (4, 1, 104, 'JPY', 1500000.00),
-       (5, 1, 105, 'CAD', 7500.00),
-       (6, 1, 106, 'AUD', 8250.75),
-       (7, 1, 107, 'CHF', 12000.00),
-       (8, 1, 108, 'CNY', 50000.00),
-       (9, 1, 109, 'SEK', 65000.00),
-       (10, 1, 110, 'NZD', 9800.50),
-       (11, 1, 111, 'XXX', 1000.00),
-       (12, 1, 112, 'ZZZ', 1000.00);
+VALUES (nextval('account_entity_seq'), 1, 101, 'EUR', 5000.00),
+       (nextval('account_entity_seq'), 1, 102, 'USD', 2500.00),
+       (nextval('account_entity_seq'), 1, 103, 'GBP', 10000.00),
+       (nextval('account_entity_seq'), 1, 104, 'JPY', 1500000.00),
+       (nextval('account_entity_seq'), 1, 105, 'CAD', 7500.00),
+       (nextval('account_entity_seq'), 1, 106, 'AUD', 8250.75),
+       (nextval('account_entity_seq'), 1, 107, 'CHF', 12000.00),
+       (nextval('account_entity_seq'), 1, 108, 'CNY', 50000.00),
+       (nextval('account_entity_seq'), 1, 109, 'SEK', 65000.00),
+       (nextval('account_entity_seq'), 1, 110, 'NZD', 9800.50),
+       (nextval('account_entity_seq'), 1, 111, 'XXX', 1000.00),
+       (nextval('account_entity_seq'), 1, 112, 'ZZZ', 1000.00);
 
 COMMIT;
\ No newline at end of file
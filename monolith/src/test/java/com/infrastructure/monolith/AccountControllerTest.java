@@ -1,6 +1,7 @@
 package com.infrastructure.monolith;
 
 import com.domain.account.exception.AccountDomainErrorCode;
+import com.infrastructure.monolith.api.dto.AccountCursorPageDTO;
 import com.infrastructure.monolith.api.dto.AccountDTO;
 import com.infrastructure.monolith.api.dto.ErrorDTO;
 import org.junit.jupiter.api.Test;
@@ -13,6 +14,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -48,6 +51,42 @@ class AccountControllerTest extends MonolithApplicationTest {
         assertThat(responseBody.get("page")).isNotNull();
     }
 
+    @Test
+    void getAccountsWithCursor() {
+        List<Long> ownerIds = new ArrayList<>();
+        String cursor = "";
+        do {
+            ResponseEntity<AccountCursorPageDTO> response = restTemplate.getForEntity("/accounts?cursor={cursor}&size=2", AccountCursorPageDTO.class, cursor);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).isNotNull();
+            assertThat(response.getBody().estimatedTotal()).isNull();
+            response.getBody().content().forEach(account -> ownerIds.add(account.ownerId()));
+            cursor = response.getBody().nextCursor();
+        } while (cursor != null);
+
+        assertThat(ownerIds).isEqualTo(List.of(101L, 102L, 103L, 104L, 105L));
+    }
+
+    @Test
+    void getAccountsWithCursorAndEstimatedTotal() {
+        ResponseEntity<AccountCursorPageDTO> response = restTemplate.getForEntity("/accounts?cursor=&size=2&includeTotal=true", AccountCursorPageDTO.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().content().size()).isEqualTo(2);
+        assertThat(response.getBody().estimatedTotal()).isNotNull();
+    }
+
+    @Test
+    void getAccountsWithInvalidCursor() {
+        ResponseEntity<ErrorDTO> response = restTemplate.getForEntity("/accounts?cursor={cursor}", ErrorDTO.class, "not-a-cursor");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getErrorCode()).isEqualTo(AccountDomainErrorCode.INVALID_REQUEST.getValue());
+    }
+
     @Test
     void getAccountNotFound() {
         String url = "/account/{ownerId}";
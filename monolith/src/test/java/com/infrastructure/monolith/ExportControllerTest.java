@@ -0,0 +1,67 @@
+package com.infrastructure.monolith;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infrastructure.monolith.api.dto.ErrorDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@Sql("/test-db/simple-test-data.sql")
+class ExportControllerTest extends MonolithApplicationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportAccountsAsNdjson() throws Exception {
+        ResponseEntity<String> response = restTemplate.getForEntity("/accounts/export", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType().isCompatibleWith(MediaType.parseMediaType("application/x-ndjson"))).isTrue();
+        assertThat(response.getBody()).isNotNull();
+
+        List<Long> ownerIds = new ArrayList<>();
+        for (String line : response.getBody().split("\n")) {
+            JsonNode account = objectMapper.readTree(line);
+            ownerIds.add(account.get("ownerId").asLong());
+        }
+        assertThat(ownerIds).isEqualTo(List.of(101L, 102L, 103L, 104L, 105L));
+    }
+
+    @Test
+    void exportTransfersAsCsv() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/transfers/export?format=csv", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType().isCompatibleWith(new MediaType("text", "csv"))).isTrue();
+        assertThat(response.getBody()).isNotNull();
+
+        String[] lines = response.getBody().split("\n");
+        assertThat(lines.length).isEqualTo(3);
+        assertThat(lines[0]).isEqualTo("transferId,createdAt,transferAmount,originatorId,beneficiaryId,status,processedAt,exchangeRate,debit,credit,errorCode");
+        assertThat(lines[1]).startsWith("a1b2c3d4-e5f6-7890-1234-567890abcdef,");
+        assertThat(lines[1]).contains(",101,102,SUCCESS,");
+        assertThat(lines[2]).startsWith("c3d4e5f6-a7b8-9012-3456-7890abcdef12,");
+        assertThat(lines[2]).contains(",102,103,FAILED,");
+    }
+
+    @Test
+    void rejectUnknownFormat() {
+        ResponseEntity<ErrorDTO> response = restTemplate.getForEntity("/accounts/export?format=xml", ErrorDTO.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
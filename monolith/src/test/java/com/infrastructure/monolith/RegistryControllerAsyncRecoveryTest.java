@@ -0,0 +1,97 @@
+package com.infrastructure.monolith;
+
+import com.domain.accept.model.AcceptedTransfer;
+import com.domain.accept.usecase.AcceptTransfer;
+import com.domain.accept.usecase.request.AcceptTransferRequest;
+import com.infrastructure.monolith.api.dto.AccountDTO;
+import com.infrastructure.monolith.api.dto.TransferDTO;
+import com.infrastructure.monolith.api.dto.TransferStatusDTO;
+import com.infrastructure.monolith.usecase.registry.AsyncTransferProcessor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@Sql("/test-db/concurrency-test-data.sql")
+@TestPropertySource(properties = {
+        "registry-config.async.enabled=true",
+        "registry-config.async.lanes=4",
+        "registry-config.async.recovery.grace-seconds=0",
+        // Only the run at startup and the explicit ones below
+        "registry-config.async.recovery.interval-ms=3600000"
+})
+class RegistryControllerAsyncRecoveryTest extends MonolithApplicationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private AcceptTransfer acceptTransfer;
+
+    @Autowired
+    private AsyncTransferProcessor asyncTransferProcessor;
+
+    @Test
+    void processTransfersAcceptedBeforeTheProcessorDied() throws InterruptedException {
+        // Accepted and committed, but never handed to a lane: what is left after the processor died between the 202
+        // and the processing, once its in-memory lanes are gone
+        List<UUID> transferIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            AcceptedTransfer acceptedTransfer = acceptTransfer.execute(AcceptTransferRequest.builder()
+                    .requestId(UUID.randomUUID())
+                    .originatorId(101L)
+                    .beneficiaryId(102L)
+                    .amount(new BigDecimal("100"))
+                    .build());
+            transferIds.add(acceptedTransfer.transferId());
+        }
+
+        for (UUID transferId : transferIds) {
+            ResponseEntity<TransferDTO> response = restTemplate.getForEntity("/transfer/{transferId}", TransferDTO.class, transferId);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+            assertThat(response.getBody().status()).isEqualTo(TransferStatusDTO.PENDING);
+        }
+
+        assertThat(asyncTransferProcessor.recover()).isEqualTo(3);
+
+        for (UUID transferId : transferIds) {
+            assertThat(awaitOutcome(transferId).status()).isEqualTo(TransferStatusDTO.SUCCESS);
+        }
+
+        // Everything has an outcome now, a later recovery queues nothing and no transfer is applied twice
+        assertThat(asyncTransferProcessor.recover()).isEqualTo(0);
+        assertThat(balanceOf(101L)).isEqualByComparingTo("700");
+        assertThat(balanceOf(102L)).isEqualByComparingTo("1300");
+    }
+
+    private TransferDTO awaitOutcome(UUID transferId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (true) {
+            ResponseEntity<TransferDTO> response = restTemplate.getForEntity("/transfer/{transferId}", TransferDTO.class, transferId);
+            assertThat(response.getBody()).isNotNull();
+            if (response.getBody().status() != TransferStatusDTO.PENDING) {
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                return response.getBody();
+            }
+
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private BigDecimal balanceOf(Long ownerId) {
+        ResponseEntity<AccountDTO> response = restTemplate.getForEntity("/account/{ownerId}", AccountDTO.class, ownerId);
+        assertThat(response.getBody()).isNotNull();
+        return response.getBody().balance();
+    }
+}
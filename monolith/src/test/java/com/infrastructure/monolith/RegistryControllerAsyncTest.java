@@ -0,0 +1,114 @@
+package com.infrastructure.monolith;
+
+import com.domain.registry.exception.RegistryDomainErrorCode;
+import com.infrastructure.monolith.api.dto.AccountDTO;
+import com.infrastructure.monolith.api.dto.ErrorDTO;
+import com.infrastructure.monolith.api.dto.TransferDTO;
+import com.infrastructure.monolith.api.dto.TransferRequestDTO;
+import com.infrastructure.monolith.api.dto.TransferStatusDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@Sql("/test-db/concurrency-test-data.sql")
+@TestPropertySource(properties = {
+        "registry-config.async.enabled=true",
+        "registry-config.async.lanes=4"
+})
+class RegistryControllerAsyncTest extends MonolithApplicationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    static final Integer MAX_NUMBER_OF_TRANSFER = 300;
+
+    @Test
+    void acceptConcurrentTransfersAndProcessThemInBackground() throws InterruptedException {
+        TransferRequestDTO transferRequest = new TransferRequestDTO(101L, 102L, new BigDecimal("5"));
+
+        List<ResponseEntity<TransferDTO>> responses = Collections.synchronizedList(new ArrayList<>());
+
+        CountDownLatch latch = new CountDownLatch(MAX_NUMBER_OF_TRANSFER);
+        ExecutorService executorService = Executors.newFixedThreadPool(MAX_NUMBER_OF_TRANSFER);
+
+        for (int i = 0; i < MAX_NUMBER_OF_TRANSFER; i++) {
+            executorService.submit(() -> {
+                try {
+                    HttpHeaders headers = new HttpHeaders();
+                    headers.set("Idempotency-Key", UUID.randomUUID().toString());
+                    HttpEntity<TransferRequestDTO> requestEntity = new HttpEntity<>(transferRequest, headers);
+                    responses.add(restTemplate.postForEntity("/transfer", requestEntity, TransferDTO.class));
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        assertThat(responses.size()).isEqualTo(MAX_NUMBER_OF_TRANSFER);
+        assertThat(responses.stream().allMatch(response -> response.getStatusCode() == HttpStatus.ACCEPTED)).isTrue();
+        assertThat(responses.stream().allMatch(response -> response.getBody().status() == TransferStatusDTO.PENDING)).isTrue();
+
+        List<TransferDTO> transfers = new ArrayList<>(MAX_NUMBER_OF_TRANSFER);
+        for (ResponseEntity<TransferDTO> response : responses) {
+            transfers.add(awaitOutcome(response.getBody().transferId()));
+        }
+
+        assertThat(transfers.stream().filter(dto -> dto.status() == TransferStatusDTO.SUCCESS).count()).isEqualTo(200L);
+        assertThat(transfers.stream()
+                .filter(dto -> dto.status() == TransferStatusDTO.FAILED)
+                .allMatch(dto -> RegistryDomainErrorCode.INSUFFICIENT_BALANCE.getValue().equals(dto.errorCode()))).isTrue();
+        assertThat(transfers.stream()
+                .filter(dto -> dto.status() == TransferStatusDTO.SUCCESS)
+                .allMatch(dto -> dto.originator().ownerId() == 101L && dto.beneficiary().ownerId() == 102L)).isTrue();
+
+        assertThat(balanceOf(101L)).isEqualByComparingTo("0");
+        assertThat(balanceOf(102L)).isEqualByComparingTo("2000");
+    }
+
+    @Test
+    void unknownTransfer() {
+        ResponseEntity<ErrorDTO> response = restTemplate.getForEntity("/transfer/{transferId}", ErrorDTO.class, UUID.randomUUID());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getErrorCode()).isEqualTo(RegistryDomainErrorCode.TRANSFER_NOT_FOUND.getValue());
+    }
+
+    private TransferDTO awaitOutcome(UUID transferId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (true) {
+            ResponseEntity<TransferDTO> response = restTemplate.getForEntity("/transfer/{transferId}", TransferDTO.class, transferId);
+            assertThat(response.getBody()).isNotNull();
+            if (response.getBody().status() != TransferStatusDTO.PENDING) {
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                return response.getBody();
+            }
+
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private BigDecimal balanceOf(Long ownerId) {
+        ResponseEntity<AccountDTO> response = restTemplate.getForEntity("/account/{ownerId}", AccountDTO.class, ownerId);
+        assertThat(response.getBody()).isNotNull();
+        return response.getBody().balance();
+    }
+}
@@ -0,0 +1,125 @@
+package com.infrastructure.monolith;
+
+import com.domain.registry.exception.RegistryDomainErrorCode;
+import com.infrastructure.monolith.api.dto.*;
+import com.infrastructure.monolith.database.entity.TransferEntity;
+import com.infrastructure.monolith.database.entity.TransferStatus;
+import com.infrastructure.monolith.database.repository.AccountService;
+import com.infrastructure.monolith.database.repository.RequestService;
+import com.infrastructure.monolith.database.repository.TransferService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@Sql("/test-db/simple-test-data.sql")
+class RegistryControllerBatchTest extends MonolithApplicationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private RequestService requestService;
+
+    @Test
+    void processBatchWithAResultPerItem() {
+        UUID successKey = UUID.randomUUID();
+        UUID duplicatedKey = UUID.fromString("d3c4b5a6-9870-6543-2109-876fedcba321");
+        UUID notFoundKey = UUID.randomUUID();
+        List<BatchTransferItemDTO> batch = List.of(
+                new BatchTransferItemDTO(successKey, new TransferRequestDTO(101L, 102L, new BigDecimal("1000"))),
+                new BatchTransferItemDTO(duplicatedKey, new TransferRequestDTO(101L, 102L, new BigDecimal("1000"))),
+                new BatchTransferItemDTO(notFoundKey, new TransferRequestDTO(666L, 102L, new BigDecimal("1000"))),
+                new BatchTransferItemDTO(successKey, new TransferRequestDTO(101L, 102L, new BigDecimal("1000"))));
+
+        ResponseEntity<BatchTransferResultDTO[]> response = restTemplate.postForEntity("/transfers/batch", batch, BatchTransferResultDTO[].class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().length).isEqualTo(4);
+
+        // Assert the successful item
+        BatchTransferResultDTO success = response.getBody()[0];
+        assertThat(success.idempotencyKey()).isEqualTo(successKey);
+        assertThat(success.httpStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(success.transfer().status()).isEqualTo(TransferStatusDTO.SUCCESS);
+        assertThat(success.transfer().originator()).isEqualTo(new AccountDTO(101L, "EUR", new BigDecimal("4143.32")));
+        assertThat(success.transfer().beneficiary()).isEqualTo(new AccountDTO(102L, "USD", new BigDecimal("3500.00")));
+
+        // Assert the request already known before the batch
+        BatchTransferResultDTO duplicated = response.getBody()[1];
+        assertThat(duplicated.httpStatus()).isEqualTo(HttpStatus.CONFLICT.value());
+        assertThat(duplicated.transfer()).isNull();
+        assertThat(duplicated.error().getErrorCode()).isEqualTo("Duplicated request");
+        assertThat(duplicated.error().getTransactionId()).isEqualTo(UUID.fromString("a1b2c3d4-e5f6-7890-1234-567890abcdef"));
+
+        // Assert the failed item
+        BatchTransferResultDTO notFound = response.getBody()[2];
+        assertThat(notFound.httpStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+        assertThat(notFound.transfer().status()).isEqualTo(TransferStatusDTO.FAILED);
+        assertThat(notFound.transfer().errorCode()).isEqualTo(RegistryDomainErrorCode.ACCOUNT_NOT_FOUND.getValue());
+
+        // Assert the key repeated inside the batch points to the first item
+        BatchTransferResultDTO repeated = response.getBody()[3];
+        assertThat(repeated.httpStatus()).isEqualTo(HttpStatus.CONFLICT.value());
+        assertThat(repeated.error().getTransactionId()).isEqualTo(success.transfer().transferId());
+
+        // Assert database status is as expected
+        assertThat(accountService.findByOwnerId(101L).get().getBalance()).isEqualTo(new BigDecimal("4143.32"));
+        assertThat(accountService.findByOwnerId(102L).get().getBalance()).isEqualTo(new BigDecimal("3500.00"));
+
+        Optional<TransferEntity> successEntity = transferService.getByTransferId(success.transfer().transferId());
+        assertThat(successEntity).isPresent();
+        assertThat(successEntity.get().getStatus()).isEqualTo(TransferStatus.SUCCESS);
+        assertThat(successEntity.get().getDebit()).isEqualTo(new BigDecimal("856.6800"));
+
+        Optional<TransferEntity> failedEntity = transferService.getByTransferId(notFound.transfer().transferId());
+        assertThat(failedEntity).isPresent();
+        assertThat(failedEntity.get().getStatus()).isEqualTo(TransferStatus.FAILED);
+        assertThat(failedEntity.get().getOriginator()).isNull();
+
+        assertThat(requestService.findByRequestId(successKey).get().getTransferId()).isEqualTo(success.transfer().transferId());
+        assertThat(requestService.findByRequestId(notFoundKey).get().getTransferId()).isEqualTo(notFound.transfer().transferId());
+    }
+
+    @Test
+    void shouldApplyBatchItemsOnTopOfEachOther() {
+        List<BatchTransferItemDTO> batch = List.of(
+                new BatchTransferItemDTO(UUID.randomUUID(), new TransferRequestDTO(101L, 102L, new BigDecimal("1000"))),
+                new BatchTransferItemDTO(UUID.randomUUID(), new TransferRequestDTO(101L, 102L, new BigDecimal("1000"))));
+
+        ResponseEntity<BatchTransferResultDTO[]> response = restTemplate.postForEntity("/transfers/batch", batch, BatchTransferResultDTO[].class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody()[1].transfer().originator()).isEqualTo(new AccountDTO(101L, "EUR", new BigDecimal("3286.64")));
+        assertThat(response.getBody()[1].transfer().beneficiary()).isEqualTo(new AccountDTO(102L, "USD", new BigDecimal("4500.00")));
+
+        assertThat(accountService.findByOwnerId(101L).get().getBalance()).isEqualTo(new BigDecimal("3286.64"));
+        assertThat(accountService.findByOwnerId(102L).get().getBalance()).isEqualTo(new BigDecimal("4500.00"));
+    }
+
+    @Test
+    void shouldRejectBatchAboveMaxSize() {
+        List<BatchTransferItemDTO> batch = Collections.nCopies(1001, new BatchTransferItemDTO(UUID.randomUUID(), new TransferRequestDTO(101L, 102L, new BigDecimal("1"))));
+
+        ResponseEntity<ErrorDTO> response = restTemplate.postForEntity("/transfers/batch", batch, ErrorDTO.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getErrorCode()).isEqualTo(RegistryDomainErrorCode.INVALID_TRANSFER.getValue());
+    }
+}
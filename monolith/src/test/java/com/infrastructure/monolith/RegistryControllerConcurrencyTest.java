@@ -6,12 +6,14 @@ import com.infrastructure.monolith.database.entity.AccountEntity;
 import com.infrastructure.monolith.database.entity.TransferEntity;
 import com.infrastructure.monolith.database.entity.TransferStatus;
 import com.infrastructure.monolith.database.repository.AccountService;
+import com.infrastructure.monolith.database.repository.RequestService;
 import com.infrastructure.monolith.database.repository.TransferService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.jdbc.Sql;
 
@@ -35,6 +37,9 @@ class RegistryControllerConcurrencyTest extends MonolithApplicationTest {
     @Autowired
     private TransferService transferService;
 
+    @Autowired
+    private RequestService requestService;
+
 
     static final Integer MAX_NUMBER_OF_TRANSFER = 1000;
 
@@ -94,4 +99,38 @@ class RegistryControllerConcurrencyTest extends MonolithApplicationTest {
         assertThat(originator1.getBalance()).isEqualTo(new BigDecimal("0.00"));
         assertThat(originator2.getBalance()).isEqualTo(new BigDecimal("0.00"));
     }
+
+    @Test
+    void acceptConcurrentDuplicatesOnlyOnce() throws InterruptedException {
+        int attempts = 50;
+        UUID idempotencyKey = UUID.randomUUID();
+        TransferRequestDTO transferRequest = new TransferRequestDTO(101L, 102L, new BigDecimal("1"));
+
+        List<HttpStatus> statuses = Collections.synchronizedList(new ArrayList<>());
+
+        CountDownLatch latch = new CountDownLatch(attempts);
+        ExecutorService executorService = Executors.newFixedThreadPool(attempts);
+
+        for (int i = 0; i < attempts; i++) {
+            executorService.submit(() -> {
+                try {
+                    HttpHeaders headers = new HttpHeaders();
+                    headers.set("Idempotency-Key", idempotencyKey.toString());
+                    HttpEntity<TransferRequestDTO> requestEntity = new HttpEntity<>(transferRequest, headers);
+                    ResponseEntity<String> response = restTemplate.postForEntity("/transfer", requestEntity, String.class);
+                    statuses.add(HttpStatus.valueOf(response.getStatusCode().value()));
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        assertThat(statuses.stream().filter(HttpStatus.OK::equals).count()).isEqualTo(1L);
+        assertThat(statuses.stream().filter(HttpStatus.CONFLICT::equals).count()).isEqualTo((long) attempts - 1);
+        assertThat(requestService.findByRequestId(idempotencyKey)).isPresent();
+        assertThat(accountService.findByOwnerId(101L).get().getBalance()).isEqualTo(new BigDecimal("999.00"));
+    }
 }
@@ -0,0 +1,103 @@
+package com.infrastructure.monolith;
+
+import com.infrastructure.monolith.api.dto.TransferDTO;
+import com.infrastructure.monolith.api.dto.TransferRequestDTO;
+import com.infrastructure.monolith.api.dto.TransferStatusDTO;
+import com.infrastructure.monolith.database.entity.TransferEntity;
+import com.infrastructure.monolith.database.entity.TransferStatus;
+import com.infrastructure.monolith.database.repository.AccountService;
+import com.infrastructure.monolith.database.repository.TransferService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@Sql("/test-db/concurrency-test-data.sql")
+@TestPropertySource(properties = "registry-config.engine.type=group-commit")
+class RegistryControllerGroupCommitTest extends MonolithApplicationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransferService transferService;
+
+    static final Integer MAX_NUMBER_OF_TRANSFER = 500;
+
+    @Test
+    void processConcurrentTransfersInGroups() throws InterruptedException {
+        List<TransferRequestDTO> transferRequests = List.of(
+                new TransferRequestDTO(101L, 102L, new BigDecimal("1")),
+                new TransferRequestDTO(103L, 102L, new BigDecimal("1"))
+        );
+
+        List<TransferDTO> transfers = Collections.synchronizedList(new ArrayList<>());
+
+        CountDownLatch latch = new CountDownLatch(transferRequests.size() * MAX_NUMBER_OF_TRANSFER);
+        ExecutorService executorService = Executors.newFixedThreadPool(transferRequests.size() * MAX_NUMBER_OF_TRANSFER);
+
+        for (int i = 0; i < MAX_NUMBER_OF_TRANSFER; i++) {
+            transferRequests.forEach(transferRequest ->
+                    executorService.submit(() -> {
+                        try {
+                            HttpHeaders headers = new HttpHeaders();
+                            headers.set("Idempotency-Key", UUID.randomUUID().toString());
+                            HttpEntity<TransferRequestDTO> requestEntity = new HttpEntity<>(transferRequest, headers);
+                            ResponseEntity<TransferDTO> response = restTemplate.postForEntity("/transfer", requestEntity, TransferDTO.class);
+                            transfers.add(response.getBody());
+                        } finally {
+                            latch.countDown();
+                        }
+                    })
+            );
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        assertThat(transfers.size()).isEqualTo(MAX_NUMBER_OF_TRANSFER * transferRequests.size());
+        for (TransferDTO dto : transfers) {
+            assertThat(dto.status()).isEqualTo(TransferStatusDTO.SUCCESS);
+            Optional<TransferEntity> transferEntity = transferService.getByTransferId(dto.transferId());
+            assertThat(transferEntity).isPresent();
+            assertThat(transferEntity.get().getStatus()).isEqualTo(TransferStatus.SUCCESS);
+        }
+
+        assertThat(accountService.findByOwnerId(102L).get().getBalance()).isEqualTo(new BigDecimal("2000.00"));
+        assertThat(accountService.findByOwnerId(101L).get().getBalance()).isEqualTo(new BigDecimal("500.00"));
+        assertThat(accountService.findByOwnerId(103L).get().getBalance()).isEqualTo(new BigDecimal("500.00"));
+    }
+
+    @Test
+    void shouldFailTransferWithInsufficientBalance() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Idempotency-Key", UUID.randomUUID().toString());
+        HttpEntity<TransferRequestDTO> requestEntity = new HttpEntity<>(new TransferRequestDTO(101L, 102L, new BigDecimal("100000")), headers);
+
+        ResponseEntity<TransferDTO> response = restTemplate.postForEntity("/transfer", requestEntity, TransferDTO.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().status()).isEqualTo(TransferStatusDTO.FAILED);
+
+        Optional<TransferEntity> transferEntity = transferService.getByTransferId(response.getBody().transferId());
+        assertThat(transferEntity).isPresent();
+        assertThat(transferEntity.get().getStatus()).isEqualTo(TransferStatus.FAILED);
+        assertThat(accountService.findByOwnerId(101L).get().getBalance()).isEqualTo(new BigDecimal("1000.00"));
+    }
+}
@@ -0,0 +1,57 @@
+package com.infrastructure.monolith;
+
+import com.infrastructure.monolith.api.dto.ErrorDTO;
+import com.infrastructure.monolith.api.dto.TransferDTO;
+import com.infrastructure.monolith.api.dto.TransferRequestDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@Sql("/test-db/simple-test-data.sql")
+@TestPropertySource(properties = "accept-config.filter.enabled=true")
+class RegistryControllerIdempotencyFilterTest extends MonolithApplicationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldAcceptNewKeyWithoutLookupAndRejectItsRetry() {
+        double filteredBefore = lookups("filtered");
+        double recentBefore = lookups("recent");
+
+        HttpHeaders headers = new HttpHeaders();
+        UUID idempotentKey = UUID.randomUUID();
+        headers.set("Idempotency-Key", idempotentKey.toString());
+        HttpEntity<TransferRequestDTO> requestEntity = new HttpEntity<>(new TransferRequestDTO(101L, 102L, new BigDecimal("1000")), headers);
+
+        ResponseEntity<TransferDTO> accepted = restTemplate.postForEntity("/transfer", requestEntity, TransferDTO.class);
+        assertThat(accepted.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(accepted.getBody()).isNotNull();
+        assertThat(lookups("filtered")).isEqualTo(filteredBefore + 1);
+
+        ResponseEntity<ErrorDTO> retried = restTemplate.postForEntity("/transfer", requestEntity, ErrorDTO.class);
+        assertThat(retried.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(retried.getBody()).isNotNull();
+        assertThat(retried.getBody().getTransactionId()).isEqualTo(accepted.getBody().transferId());
+        assertThat(lookups("recent")).isEqualTo(recentBefore + 1);
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.counter("accept.idempotency.lookups", "result", result).count();
+    }
+}
@@ -0,0 +1,113 @@
+package com.infrastructure.monolith;
+
+import com.domain.registry.exception.RegistryDomainErrorCode;
+import com.infrastructure.monolith.api.dto.AccountDTO;
+import com.infrastructure.monolith.api.dto.TransferDTO;
+import com.infrastructure.monolith.api.dto.TransferRequestDTO;
+import com.infrastructure.monolith.api.dto.TransferStatusDTO;
+import com.infrastructure.monolith.database.entity.TransferEntity;
+import com.infrastructure.monolith.database.entity.TransferStatus;
+import com.infrastructure.monolith.database.repository.AccountService;
+import com.infrastructure.monolith.database.repository.LedgerEntryService;
+import com.infrastructure.monolith.database.repository.TransferService;
+import com.infrastructure.monolith.usecase.registry.LedgerProcessTransferUsecase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@Sql("/test-db/concurrency-test-data.sql")
+@TestPropertySource(properties = {
+        "registry-config.engine.type=ledger",
+        "registry-config.engine.ledger.checkpoint-interval-ms=3600000"
+})
+class RegistryControllerLedgerTest extends MonolithApplicationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private LedgerEntryService ledgerEntryService;
+
+    @Autowired
+    private LedgerProcessTransferUsecase ledgerProcessTransferUsecase;
+
+    static final Integer MAX_NUMBER_OF_TRANSFER = 300;
+
+    @Test
+    void neverOverdrawConcurrentDebits() throws InterruptedException {
+        TransferRequestDTO transferRequest = new TransferRequestDTO(101L, 102L, new BigDecimal("5"));
+
+        List<TransferDTO> transfers = Collections.synchronizedList(new ArrayList<>());
+
+        CountDownLatch latch = new CountDownLatch(MAX_NUMBER_OF_TRANSFER);
+        ExecutorService executorService = Executors.newFixedThreadPool(MAX_NUMBER_OF_TRANSFER);
+
+        for (int i = 0; i < MAX_NUMBER_OF_TRANSFER; i++) {
+            executorService.submit(() -> {
+                try {
+                    HttpHeaders headers = new HttpHeaders();
+                    headers.set("Idempotency-Key", UUID.randomUUID().toString());
+                    HttpEntity<TransferRequestDTO> requestEntity = new HttpEntity<>(transferRequest, headers);
+                    ResponseEntity<TransferDTO> response = restTemplate.postForEntity("/transfer", requestEntity, TransferDTO.class);
+                    transfers.add(response.getBody());
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        assertThat(transfers.size()).isEqualTo(MAX_NUMBER_OF_TRANSFER);
+        assertThat(transfers.stream().filter(dto -> dto.status() == TransferStatusDTO.SUCCESS).count()).isEqualTo(200L);
+        assertThat(transfers.stream()
+                .filter(dto -> dto.status() == TransferStatusDTO.FAILED)
+                .allMatch(dto -> RegistryDomainErrorCode.INSUFFICIENT_BALANCE.getValue().equals(dto.errorCode()))).isTrue();
+
+        for (TransferDTO dto : transfers) {
+            Optional<TransferEntity> transferEntity = transferService.getByTransferId(dto.transferId());
+            assertThat(transferEntity).isPresent();
+            assertThat(transferEntity.get().getStatus()).isEqualTo(dto.status() == TransferStatusDTO.SUCCESS ? TransferStatus.SUCCESS : TransferStatus.FAILED);
+        }
+
+        // Nothing has been folded yet: the rows still hold the checkpoint and the entries complete it
+        assertThat(accountService.findByOwnerId(101L).get().getBalance()).isEqualTo(new BigDecimal("1000.00"));
+        assertThat(ledgerEntryService.findAvailableByOwnerIds(List.of(101L)).get(101L)).isEqualByComparingTo("0");
+        assertThat(balanceOf(101L)).isEqualByComparingTo("0");
+        assertThat(balanceOf(102L)).isEqualByComparingTo("2000");
+
+        ledgerProcessTransferUsecase.checkpoint();
+
+        assertThat(accountService.findByOwnerId(101L).get().getBalance()).isEqualTo(new BigDecimal("0.00"));
+        assertThat(accountService.findByOwnerId(102L).get().getBalance()).isEqualTo(new BigDecimal("2000.00"));
+        assertThat(ledgerEntryService.findAvailableByOwnerIds(List.of(101L, 102L)).get(102L)).isEqualByComparingTo("2000");
+        assertThat(balanceOf(101L)).isEqualByComparingTo("0");
+        assertThat(balanceOf(102L)).isEqualByComparingTo("2000");
+    }
+
+    private BigDecimal balanceOf(Long ownerId) {
+        ResponseEntity<AccountDTO> response = restTemplate.getForEntity("/account/{ownerId}", AccountDTO.class, ownerId);
+        assertThat(response.getBody()).isNotNull();
+        return response.getBody().balance();
+    }
+}
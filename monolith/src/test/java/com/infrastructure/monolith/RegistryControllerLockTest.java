@@ -0,0 +1,161 @@
+package com.infrastructure.monolith;
+
+import com.infrastructure.monolith.api.dto.BatchTransferItemDTO;
+import com.infrastructure.monolith.api.dto.BatchTransferResultDTO;
+import com.infrastructure.monolith.api.dto.TransferDTO;
+import com.infrastructure.monolith.api.dto.TransferRequestDTO;
+import com.infrastructure.monolith.database.repository.AccountService;
+import com.infrastructure.monolith.database.repository.RequestService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@Sql("/test-db/concurrency-test-data.sql")
+@TestPropertySource(properties = {
+        "registry-config.lock.mode=ORDERED",
+        "registry-config.lock.timeout-ms=1000"
+})
+class RegistryControllerLockTest extends MonolithApplicationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void lockAccountsInOrderForOppositeTransfers() throws InterruptedException {
+        // Locked in the order of the request instead, half of these would wait on each other in a cycle
+        int transfers = 200;
+        List<HttpStatus> statuses = Collections.synchronizedList(new ArrayList<>());
+
+        CountDownLatch latch = new CountDownLatch(transfers);
+        ExecutorService executorService = Executors.newFixedThreadPool(20);
+        for (int i = 0; i < transfers; i++) {
+            TransferRequestDTO transferRequest = i % 2 == 0
+                    ? new TransferRequestDTO(101L, 102L, new BigDecimal("1"))
+                    : new TransferRequestDTO(102L, 101L, new BigDecimal("1"));
+            executorService.submit(() -> {
+                try {
+                    statuses.add(HttpStatus.valueOf(send(UUID.randomUUID(), transferRequest).getStatusCode().value()));
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        assertThat(statuses.stream().filter(HttpStatus.OK::equals).count()).isEqualTo((long) transfers);
+        assertThat(accountService.findByOwnerId(101L).get().getBalance()).isEqualByComparingTo("1000");
+        assertThat(accountService.findByOwnerId(102L).get().getBalance()).isEqualByComparingTo("1000");
+    }
+
+    @Test
+    void answerRetryableWhenAnAccountStaysLocked() throws InterruptedException {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            accountService.findByOwnerIdForUpdate(101L);
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        holder.start();
+        locked.await();
+
+        UUID idempotencyKey = UUID.randomUUID();
+        TransferRequestDTO transferRequest = new TransferRequestDTO(101L, 102L, new BigDecimal("100"));
+        ResponseEntity<String> busy = restTemplate.postForEntity("/transfer", request(idempotencyKey, transferRequest), String.class);
+
+        assertThat(busy.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(busy.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        // The accept was withdrawn, nothing is left pending under the key
+        assertThat(requestService.findByRequestId(idempotencyKey)).isEmpty();
+
+        release.countDown();
+        holder.join();
+
+        // Retried with the same key once the lock is gone
+        ResponseEntity<TransferDTO> retried = send(idempotencyKey, transferRequest);
+        assertThat(retried.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(accountService.findByOwnerId(101L).get().getBalance()).isEqualByComparingTo("900");
+        assertThat(accountService.findByOwnerId(102L).get().getBalance()).isEqualByComparingTo("1100");
+    }
+
+    @Test
+    void rollBackTheWholeBatchWhenAnAccountStaysLocked() throws InterruptedException {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            accountService.findByOwnerIdForUpdate(102L);
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        holder.start();
+        locked.await();
+
+        List<BatchTransferItemDTO> batch = List.of(
+                new BatchTransferItemDTO(UUID.randomUUID(), new TransferRequestDTO(101L, 103L, new BigDecimal("100"))),
+                new BatchTransferItemDTO(UUID.randomUUID(), new TransferRequestDTO(101L, 102L, new BigDecimal("100"))));
+        ResponseEntity<String> busy = restTemplate.postForEntity("/transfers/batch", batch, String.class);
+
+        assertThat(busy.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        // Accepted in the same transaction as the processing, so no item is left accepted without an outcome
+        batch.forEach(item -> assertThat(requestService.findByRequestId(item.idempotencyKey())).isEmpty());
+        assertThat(accountService.findByOwnerId(103L).get().getBalance()).isEqualByComparingTo("1000");
+
+        release.countDown();
+        holder.join();
+
+        // The same batch goes through once the lock is gone
+        ResponseEntity<BatchTransferResultDTO[]> retried = restTemplate.postForEntity("/transfers/batch", batch, BatchTransferResultDTO[].class);
+        assertThat(retried.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(retried.getBody()[0].httpStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(retried.getBody()[1].httpStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(accountService.findByOwnerId(101L).get().getBalance()).isEqualByComparingTo("800");
+    }
+
+    private ResponseEntity<TransferDTO> send(UUID idempotencyKey, TransferRequestDTO transferRequest) {
+        return restTemplate.postForEntity("/transfer", request(idempotencyKey, transferRequest), TransferDTO.class);
+    }
+
+    private static HttpEntity<TransferRequestDTO> request(UUID idempotencyKey, TransferRequestDTO transferRequest) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Idempotency-Key", idempotencyKey.toString());
+        return new HttpEntity<>(transferRequest, headers);
+    }
+}
@@ -0,0 +1,141 @@
+package com.infrastructure.monolith;
+
+import com.domain.registry.exception.RegistryDomainErrorCode;
+import com.infrastructure.monolith.api.dto.AccountDTO;
+import com.infrastructure.monolith.api.dto.BatchTransferItemDTO;
+import com.infrastructure.monolith.api.dto.BatchTransferResultDTO;
+import com.infrastructure.monolith.api.dto.TransferDTO;
+import com.infrastructure.monolith.api.dto.TransferRequestDTO;
+import com.infrastructure.monolith.api.dto.TransferStatusDTO;
+import com.infrastructure.monolith.database.repository.AccountService;
+import com.infrastructure.monolith.database.repository.AccountStripeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@Sql("/test-db/striped-test-data.sql")
+class RegistryControllerStripedAccountTest extends MonolithApplicationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountStripeService accountStripeService;
+
+    static final Integer MAX_NUMBER_OF_TRANSFER = 200;
+
+    @Test
+    void creditStripedAccountConcurrently() throws InterruptedException {
+        List<TransferRequestDTO> transferRequests = List.of(
+                new TransferRequestDTO(101L, 102L, new BigDecimal("1")),
+                new TransferRequestDTO(103L, 102L, new BigDecimal("1"))
+        );
+
+        List<TransferDTO> transfers = Collections.synchronizedList(new ArrayList<>());
+
+        CountDownLatch latch = new CountDownLatch(transferRequests.size() * MAX_NUMBER_OF_TRANSFER);
+        ExecutorService executorService = Executors.newFixedThreadPool(transferRequests.size() * MAX_NUMBER_OF_TRANSFER);
+
+        for (int i = 0; i < MAX_NUMBER_OF_TRANSFER; i++) {
+            transferRequests.forEach(transferRequest ->
+                    executorService.submit(() -> {
+                        try {
+                            transfers.add(transfer(transferRequest).getBody());
+                        } finally {
+                            latch.countDown();
+                        }
+                    })
+            );
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        assertThat(transfers.size()).isEqualTo(MAX_NUMBER_OF_TRANSFER * transferRequests.size());
+        assertThat(transfers.stream().allMatch(dto -> dto.status() == TransferStatusDTO.SUCCESS)).isTrue();
+
+        // The account row is never touched, every credit sits on a stripe
+        assertThat(accountService.findByOwnerId(102L).get().getBalance()).isEqualTo(new BigDecimal("1000.00"));
+        assertThat(accountStripeService.sumByOwnerIds(List.of(102L)).get(102L)).isEqualByComparingTo("400");
+        assertThat(accountService.findByOwnerId(101L).get().getBalance()).isEqualTo(new BigDecimal("800.00"));
+        assertThat(accountService.findByOwnerId(103L).get().getBalance()).isEqualTo(new BigDecimal("800.00"));
+
+        ResponseEntity<AccountDTO> account = restTemplate.getForEntity("/account/{ownerId}", AccountDTO.class, 102L);
+        assertThat(account.getBody()).isNotNull();
+        assertThat(account.getBody().balance()).isEqualByComparingTo("1400");
+    }
+
+    @Test
+    void consolidateStripesWhenAccountRowIsShort() {
+        assertThat(transfer(new TransferRequestDTO(101L, 102L, new BigDecimal("500"))).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<TransferDTO> response = transfer(new TransferRequestDTO(102L, 103L, new BigDecimal("1200")));
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(accountService.findByOwnerId(102L).get().getBalance()).isEqualTo(new BigDecimal("300.00"));
+        assertThat(accountStripeService.sumByOwnerIds(List.of(102L)).get(102L)).isEqualByComparingTo("0");
+        assertThat(accountService.findByOwnerId(103L).get().getBalance()).isEqualTo(new BigDecimal("2200.00"));
+    }
+
+    @Test
+    void keepStripesWhenBalanceIsInsufficientAfterConsolidation() {
+        assertThat(transfer(new TransferRequestDTO(101L, 102L, new BigDecimal("500"))).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<TransferDTO> response = transfer(new TransferRequestDTO(102L, 103L, new BigDecimal("2000")));
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().errorCode()).isEqualTo(RegistryDomainErrorCode.INSUFFICIENT_BALANCE.getValue());
+
+        assertThat(accountService.findByOwnerId(102L).get().getBalance()).isEqualTo(new BigDecimal("1000.00"));
+        assertThat(accountStripeService.sumByOwnerIds(List.of(102L)).get(102L)).isEqualByComparingTo("500");
+    }
+
+    @Test
+    void keepDrainedStripesWhenABatchItemIsStillShort() {
+        assertThat(transfer(new TransferRequestDTO(101L, 102L, new BigDecimal("500"))).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        // The first item drains the stripes and is still short, the second one is covered by what was drained
+        List<BatchTransferItemDTO> batch = List.of(
+                new BatchTransferItemDTO(UUID.randomUUID(), new TransferRequestDTO(102L, 103L, new BigDecimal("2000"))),
+                new BatchTransferItemDTO(UUID.randomUUID(), new TransferRequestDTO(102L, 103L, new BigDecimal("1200"))));
+        ResponseEntity<BatchTransferResultDTO[]> response = restTemplate.postForEntity("/transfers/batch", batch, BatchTransferResultDTO[].class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody()[0].transfer().status()).isEqualTo(TransferStatusDTO.FAILED);
+        assertThat(response.getBody()[0].transfer().errorCode()).isEqualTo(RegistryDomainErrorCode.INSUFFICIENT_BALANCE.getValue());
+        assertThat(response.getBody()[1].transfer().status()).isEqualTo(TransferStatusDTO.SUCCESS);
+
+        BigDecimal stripes = accountStripeService.sumByOwnerIds(List.of(102L)).getOrDefault(102L, BigDecimal.ZERO);
+        assertThat(stripes).isEqualByComparingTo("0");
+        assertThat(accountService.findByOwnerId(102L).get().getBalance()).isEqualTo(new BigDecimal("300.00"));
+        assertThat(accountService.findByOwnerId(103L).get().getBalance()).isEqualTo(new BigDecimal("2200.00"));
+
+        // No money is created or destroyed by the drain
+        BigDecimal total = List.of(101L, 102L, 103L).stream()
+                .map(ownerId -> accountService.findByOwnerId(ownerId).get().getBalance())
+                .reduce(stripes, BigDecimal::add);
+        assertThat(total).isEqualByComparingTo("3000");
+    }
+
+    private ResponseEntity<TransferDTO> transfer(TransferRequestDTO transferRequest) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Idempotency-Key", UUID.randomUUID().toString());
+        return restTemplate.postForEntity("/transfer", new HttpEntity<>(transferRequest, headers), TransferDTO.class);
+    }
+}
@@ -56,13 +56,13 @@ class RegistryControllerTest extends MonolithApplicationTest {
 
         // Assert transfer DTO is as expected
         TransferDTO actualTransfer = response.getBody();
-        assertThat(actualTransfer.transferAmount()).isEqualTo(new BigDecimal("1000"));
-        assertThat(actualTransfer.originator()).isEqualTo(new AccountDTO(101L, "EUR", new BigDecimal("4143.32000")));
+        assertThat(actualTransfer.transferAmount()).isEqualTo(new BigDecimal("1000.00"));
+        assertThat(actualTransfer.originator()).isEqualTo(new AccountDTO(101L, "EUR", new BigDecimal("4143.32")));
         assertThat(actualTransfer.beneficiary()).isEqualTo(new AccountDTO(102L, "USD", new BigDecimal("3500.00")));
         assertThat(actualTransfer.status()).isEqualTo(TransferStatusDTO.SUCCESS);
         assertThat(actualTransfer.exchangeRate()).isEqualTo(new BigDecimal("0.85668"));
-        assertThat(actualTransfer.debit()).isEqualTo(new BigDecimal("856.68000"));
-        assertThat(actualTransfer.credit()).isEqualTo(new BigDecimal("1000"));
+        assertThat(actualTransfer.debit()).isEqualTo(new BigDecimal("856.68"));
+        assertThat(actualTransfer.credit()).isEqualTo(new BigDecimal("1000.00"));
 
         // Assert database status is as expected
         AccountEntity originatorEntity = accountService.findByOwnerId(101L).get();
@@ -0,0 +1,106 @@
+package com.infrastructure.monolith;
+
+import com.domain.registry.exception.RegistryDomainErrorCode;
+import com.infrastructure.monolith.api.dto.AccountDTO;
+import com.infrastructure.monolith.api.dto.ErrorDTO;
+import com.infrastructure.monolith.api.dto.TransferDTO;
+import com.infrastructure.monolith.api.dto.TransferStatusDTO;
+import com.infrastructure.monolith.database.entity.RequestEntity;
+import com.infrastructure.monolith.database.repository.RequestService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@Sql("/test-db/simple-test-data.sql")
+class RegistryControllerTransferStatusTest extends MonolithApplicationTest {
+
+    private static final UUID SUCCESSFUL_TRANSFER_ID = UUID.fromString("a1b2c3d4-e5f6-7890-1234-567890abcdef");
+
+    private static final UUID FAILED_TRANSFER_ID = UUID.fromString("c3d4e5f6-a7b8-9012-3456-7890abcdef12");
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void getProcessedTransfer() {
+        ResponseEntity<TransferDTO> response = restTemplate.getForEntity("/transfer/{transferId}", TransferDTO.class, SUCCESSFUL_TRANSFER_ID);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        TransferDTO transfer = response.getBody();
+        assertThat(transfer.transferId()).isEqualTo(SUCCESSFUL_TRANSFER_ID);
+        assertThat(transfer.status()).isEqualTo(TransferStatusDTO.SUCCESS);
+        assertThat(transfer.originator()).isEqualTo(new AccountDTO(101L, "EUR", null));
+        assertThat(transfer.beneficiary()).isEqualTo(new AccountDTO(102L, "USD", null));
+        assertThat(transfer.debit()).isEqualByComparingTo("100");
+        assertThat(transfer.credit()).isEqualByComparingTo("108.5");
+    }
+
+    @Test
+    void serveProcessedTransferFromCache() {
+        restTemplate.getForEntity("/transfer/{transferId}", TransferDTO.class, FAILED_TRANSFER_ID);
+        jdbcTemplate.update("DELETE FROM transfer_entity WHERE transfer_id = ?", FAILED_TRANSFER_ID);
+
+        ResponseEntity<TransferDTO> response = restTemplate.getForEntity("/transfer/{transferId}", TransferDTO.class, FAILED_TRANSFER_ID);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().status()).isEqualTo(TransferStatusDTO.FAILED);
+    }
+
+    @Test
+    void getPendingTransfer() {
+        UUID transferId = UUID.randomUUID();
+        requestService.save(RequestEntity.builder().transferId(transferId).requestId(UUID.randomUUID()).build());
+
+        ResponseEntity<TransferDTO> response = restTemplate.getForEntity("/transfer/{transferId}", TransferDTO.class, transferId);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().status()).isEqualTo(TransferStatusDTO.PENDING);
+    }
+
+    @Test
+    void getUnknownTransfer() {
+        ResponseEntity<ErrorDTO> response = restTemplate.getForEntity("/transfer/{transferId}", ErrorDTO.class, UUID.randomUUID());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getErrorCode()).isEqualTo(RegistryDomainErrorCode.TRANSFER_NOT_FOUND.getValue());
+    }
+
+    @Test
+    void getTransfersInOneCall() {
+        UUID pendingTransferId = UUID.randomUUID();
+        requestService.save(RequestEntity.builder().transferId(pendingTransferId).requestId(UUID.randomUUID()).build());
+        List<UUID> transferIds = List.of(FAILED_TRANSFER_ID, UUID.randomUUID(), pendingTransferId, SUCCESSFUL_TRANSFER_ID, FAILED_TRANSFER_ID);
+
+        ResponseEntity<TransferDTO[]> response = restTemplate.postForEntity("/transfers/status", transferIds, TransferDTO[].class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        TransferDTO[] transfers = response.getBody();
+        assertThat(transfers.length).isEqualTo(3);
+        assertThat(transfers[0].transferId()).isEqualTo(FAILED_TRANSFER_ID);
+        assertThat(transfers[0].status()).isEqualTo(TransferStatusDTO.FAILED);
+        assertThat(transfers[1].transferId()).isEqualTo(pendingTransferId);
+        assertThat(transfers[1].status()).isEqualTo(TransferStatusDTO.PENDING);
+        assertThat(transfers[2].transferId()).isEqualTo(SUCCESSFUL_TRANSFER_ID);
+        assertThat(transfers[2].status()).isEqualTo(TransferStatusDTO.SUCCESS);
+    }
+}
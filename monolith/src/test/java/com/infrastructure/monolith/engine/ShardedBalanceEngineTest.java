@@ -0,0 +1,261 @@
+package com.infrastructure.monolith.engine;
+
+import com.domain.registry.exception.RegistryDomainErrorCode;
+import com.domain.registry.exception.RegistryDomainException;
+import com.domain.registry.model.SuccessfulTransfer;
+import com.domain.registry.port.RegistryPort;
+import com.domain.registry.usecase.request.ProcessTransferRequest;
+import com.infrastructure.monolith.database.entity.AccountEntity;
+import com.infrastructure.monolith.database.entity.TransferEntity;
+import com.infrastructure.monolith.database.repository.AccountService;
+import com.infrastructure.monolith.database.repository.TransferService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+class ShardedBalanceEngineTest {
+
+    @TempDir
+    Path directory;
+
+    // What Postgres holds: balances by owner id and the ids of the transfer rows
+    private final Map<Long, BigDecimal> storedBalances = new TreeMap<>();
+
+    private final Set<UUID> storedTransfers = new HashSet<>();
+
+    private AccountService accountService;
+
+    private TransferService transferService;
+
+    private RegistryPort registryPort;
+
+    @BeforeEach
+    void setUp() {
+        for (long ownerId = 1; ownerId <= 4; ownerId++) {
+            storedBalances.put(ownerId, new BigDecimal("1000.00"));
+        }
+
+        accountService = Mockito.mock(AccountService.class);
+        when(accountService.findAll()).thenAnswer(invocation -> storedBalances.entrySet().stream()
+                .map(balance -> account(balance.getKey(), balance.getValue()))
+                .toList());
+        when(accountService.findAllByOwnerId(anyCollection())).thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0).stream()
+                .map(ownerId -> account(ownerId, storedBalances.get(ownerId)))
+                .toList());
+        doAnswer(invocation -> {
+            storedBalances.putAll(invocation.getArgument(0));
+            return null;
+        }).when(accountService).updateBalances(anyMap());
+
+        transferService = Mockito.mock(TransferService.class);
+        when(transferService.findExistingTransferIds(anyCollection())).thenAnswer(invocation -> invocation.<Collection<UUID>>getArgument(0).stream()
+                .filter(storedTransfers::contains)
+                .collect(Collectors.toSet()));
+        doAnswer(invocation -> {
+            invocation.<List<TransferEntity>>getArgument(0).forEach(transfer -> storedTransfers.add(transfer.getTransferId()));
+            return null;
+        }).when(transferService).saveAll(anyList());
+
+        registryPort = Mockito.mock(RegistryPort.class);
+        when(registryPort.getExchangeRate(any(), any())).thenReturn(Optional.of(BigDecimal.ONE));
+    }
+
+    @Test
+    void routeTransfersWithinAndAcrossShards() throws Exception {
+        ShardedBalanceEngine engine = start();
+
+        // With two shards odd owner ids share one shard and even owner ids the other
+        SuccessfulTransfer sameShard = engine.submit(request(1L, 3L, "100")).join();
+        SuccessfulTransfer crossShard = engine.submit(request(1L, 2L, "50")).join();
+
+        assertThat(sameShard.getOriginator().balance().toBigDecimal()).isEqualByComparingTo("900");
+        assertThat(sameShard.getBeneficiary().balance().toBigDecimal()).isEqualByComparingTo("1100");
+        assertThat(crossShard.getOriginator().balance().toBigDecimal()).isEqualByComparingTo("850");
+        // The credit is applied on the beneficiary's own shard, the answer carries that balance
+        assertThat(crossShard.getBeneficiary().balance().toBigDecimal()).isEqualByComparingTo("1050");
+
+        // Nothing reaches Postgres before the checkpoint
+        assertThat(storedBalances.get(1L)).isEqualByComparingTo("1000");
+
+        engine.shutdown();
+
+        assertThat(storedBalances.get(1L)).isEqualByComparingTo("850");
+        assertThat(storedBalances.get(2L)).isEqualByComparingTo("1050");
+        assertThat(storedBalances.get(3L)).isEqualByComparingTo("1100");
+        assertThat(storedBalances.get(4L)).isEqualByComparingTo("1000");
+        assertThat(storedTransfers).containsExactlyInAnyOrder(sameShard.getTransferId(), crossShard.getTransferId());
+    }
+
+    @Test
+    void validateOnTheOriginatorShard() throws Exception {
+        ShardedBalanceEngine engine = start();
+
+        assertThatThrownBy(() -> engine.submit(request(2L, 1L, "1000.01")).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOf(RegistryDomainException.class)
+                .extracting(e -> ((RegistryDomainException) e).getErrorCode())
+                .isEqualTo(RegistryDomainErrorCode.INSUFFICIENT_BALANCE);
+
+        assertThatThrownBy(() -> engine.submit(request(9L, 1L, "1")).join())
+                .cause()
+                .extracting(e -> ((RegistryDomainException) e).getErrorCode())
+                .isEqualTo(RegistryDomainErrorCode.ACCOUNT_NOT_FOUND);
+
+        engine.shutdown();
+        assertThat(storedTransfers).isEmpty();
+    }
+
+    @Test
+    void replayJournalAfterCrash() throws Exception {
+        ShardedBalanceEngine crashed = start();
+        SuccessfulTransfer first = crashed.submit(request(1L, 2L, "100")).join();
+        SuccessfulTransfer second = crashed.submit(request(3L, 4L, "200")).join();
+        // No shutdown: both transfers were acknowledged, so they are in the journal, but nothing was written behind
+
+        assertThat(storedTransfers).isEmpty();
+
+        ShardedBalanceEngine recovered = start();
+
+        assertThat(storedTransfers).containsExactlyInAnyOrder(first.getTransferId(), second.getTransferId());
+        assertThat(storedBalances.get(1L)).isEqualByComparingTo("900");
+        assertThat(storedBalances.get(2L)).isEqualByComparingTo("1100");
+        assertThat(storedBalances.get(3L)).isEqualByComparingTo("800");
+        assertThat(storedBalances.get(4L)).isEqualByComparingTo("1200");
+
+        // The shards start from the replayed balances
+        assertThat(recovered.submit(request(1L, 2L, "900")).join().getOriginator().balance().toBigDecimal()).isEqualByComparingTo("0");
+        recovered.shutdown();
+    }
+
+    @Test
+    void neverReplayWhatPostgresAlreadyHas() throws Exception {
+        ShardedBalanceEngine crashed = start();
+        SuccessfulTransfer transfer = crashed.submit(request(1L, 2L, "100")).join();
+
+        // The write behind committed, then the process died before the folded segment was deleted
+        storedBalances.put(1L, new BigDecimal("900.00"));
+        storedBalances.put(2L, new BigDecimal("1100.00"));
+        storedTransfers.add(transfer.getTransferId());
+
+        ShardedBalanceEngine recovered = start();
+        recovered.shutdown();
+
+        assertThat(storedBalances.get(1L)).isEqualByComparingTo("900");
+        assertThat(storedBalances.get(2L)).isEqualByComparingTo("1100");
+    }
+
+    @Test
+    void takeBalancesFromPostgresOverAnOldJournal() throws Exception {
+        ShardedBalanceEngine first = start();
+        first.submit(request(1L, 2L, "100")).join();
+        first.shutdown();
+
+        // Balances moved in Postgres afterwards, by another engine type for instance
+        storedBalances.put(1L, new BigDecimal("10.00"));
+
+        ShardedBalanceEngine second = start();
+        assertThatThrownBy(() -> second.submit(request(1L, 2L, "10.01")).join())
+                .cause()
+                .extracting(e -> ((RegistryDomainException) e).getErrorCode())
+                .isEqualTo(RegistryDomainErrorCode.INSUFFICIENT_BALANCE);
+        second.shutdown();
+
+        assertThat(storedBalances.get(1L)).isEqualByComparingTo("10");
+    }
+
+    @Test
+    void applyATransferSubmittedAgainOnlyOnce() throws Exception {
+        ShardedBalanceEngine engine = start();
+        ProcessTransferRequest request = request(1L, 2L, "100");
+
+        SuccessfulTransfer applied = engine.submit(request).join();
+        // Not written behind yet, so only the engine knows the transfer has an outcome
+        assertThat(engine.findUnwritten(request.transferId())).contains(applied);
+
+        assertThat(engine.submit(request).join()).isSameAs(applied);
+        assertThat(engine.submit(request(1L, 2L, "900")).join().getOriginator().balance().toBigDecimal()).isEqualByComparingTo("0");
+
+        engine.shutdown();
+
+        // Written behind once, and forgotten by the engine now that Postgres has the row
+        assertThat(storedBalances.get(1L)).isEqualByComparingTo("0");
+        assertThat(storedBalances.get(2L)).isEqualByComparingTo("2000");
+        assertThat(engine.findUnwritten(request.transferId())).isEmpty();
+    }
+
+    @Test
+    void acceptAFailedTransferAgain() throws Exception {
+        ShardedBalanceEngine engine = start();
+        ProcessTransferRequest request = request(1L, 2L, "1000.01");
+
+        assertThatThrownBy(() -> engine.submit(request).join()).cause().isInstanceOf(RegistryDomainException.class);
+        assertThat(engine.findUnwritten(request.transferId())).isEmpty();
+
+        // Nothing was applied, so the same transfer is validated again
+        engine.submit(request(2L, 1L, "0.01")).join();
+        assertThat(engine.submit(request).join().getOriginator().balance().toBigDecimal()).isEqualByComparingTo("0");
+        engine.shutdown();
+    }
+
+    @Test
+    void refuseToLoadALegacyBalanceFinerThanItsCurrency() {
+        storedBalances.put(3L, new BigDecimal("1000.1234"));
+
+        // Rounded to 1000.12 it would be written back at the first checkpoint
+        assertThatThrownBy(this::start)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Account 3")
+                .hasCauseInstanceOf(RegistryDomainException.class);
+    }
+
+    private ShardedBalanceEngine start() {
+        ShardedBalanceEngine engine = new ShardedBalanceEngine(registryPort, accountService, transferService,
+                Mockito.mock(PlatformTransactionManager.class), directory.toString(), 2, 3600);
+        engine.afterSingletonsInstantiated();
+        return engine;
+    }
+
+    private static ProcessTransferRequest request(Long originatorId, Long beneficiaryId, String amount) {
+        return ProcessTransferRequest.builder()
+                .transferId(UUID.randomUUID())
+                .createdAt(OffsetDateTime.now())
+                .originatorId(originatorId)
+                .beneficiaryId(beneficiaryId)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+
+    private static AccountEntity account(Long ownerId, BigDecimal balance) {
+        return AccountEntity.builder()
+                .ownerId(ownerId)
+                .currency("EUR")
+                .balance(balance)
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.infrastructure.monolith.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransferJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readBackRecordsOfEverySegment() throws Exception {
+        JournalRecord first = record(1L, 2L);
+        JournalRecord second = record(2L, 3L);
+        JournalRecord third = record(3L, 1L);
+
+        TransferJournal journal = new TransferJournal(directory, 1);
+        assertThat(journal.append(first).join()).isEqualTo(1L);
+        assertThat(journal.append(second).join()).isEqualTo(1L);
+        assertThat(journal.roll().join()).isEqualTo(1L);
+        assertThat(journal.append(third).join()).isEqualTo(2L);
+        journal.close();
+
+        assertThat(TransferJournal.segments(directory)).containsExactly(1L, 2L);
+        assertThat(read(1)).containsExactly(first, second);
+        assertThat(read(2)).containsExactly(third);
+
+        TransferJournal.delete(directory, 1);
+        assertThat(TransferJournal.segments(directory)).containsExactly(2L);
+    }
+
+    @Test
+    void ignoreTornTail() throws Exception {
+        JournalRecord record = record(1L, 2L);
+
+        TransferJournal journal = new TransferJournal(directory, 1);
+        journal.append(record).join();
+        journal.close();
+
+        // A record whose write was cut short by a crash: it was never acknowledged
+        Path segment = TransferJournal.segmentPath(directory, 1);
+        Files.write(segment, new byte[]{0, 0, 0, 100, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        assertThat(read(1)).containsExactly(record);
+    }
+
+    @Test
+    void keepEveryFieldOfARecord() throws IOException {
+        JournalRecord record = new JournalRecord(UUID.randomUUID(),
+                OffsetDateTime.of(2025, 1, 2, 3, 4, 5, 6_000, ZoneOffset.ofHours(2)),
+                OffsetDateTime.of(2025, 1, 2, 3, 4, 6, 0, ZoneOffset.UTC),
+                101L, 102L, new BigDecimal("12.50"), new BigDecimal("0.917431"), new BigDecimal("11.47"), new BigDecimal("12.50"));
+
+        assertThat(JournalRecord.fromBytes(record.toBytes())).isEqualTo(record);
+    }
+
+    private List<JournalRecord> read(long segment) throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        TransferJournal.read(directory, segment, records::add);
+        return records;
+    }
+
+    private static JournalRecord record(long originatorId, long beneficiaryId) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        return new JournalRecord(UUID.randomUUID(), now, now, originatorId, beneficiaryId,
+                BigDecimal.TEN, BigDecimal.ONE, BigDecimal.TEN, BigDecimal.TEN);
+    }
+}
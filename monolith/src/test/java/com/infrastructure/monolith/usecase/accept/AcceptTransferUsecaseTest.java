@@ -0,0 +1,106 @@
+package com.infrastructure.monolith.usecase.accept;
+
+import com.domain.accept.exception.AcceptDomainErrorCode;
+import com.domain.accept.usecase.request.AcceptTransferRequest;
+import com.infrastructure.monolith.database.entity.RequestEntity;
+import com.infrastructure.monolith.database.repository.RequestRegistration;
+import com.infrastructure.monolith.database.repository.RequestService;
+import com.infrastructure.monolith.usecase.accept.adapter.AcceptAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AcceptTransferUsecaseTest {
+
+    private AcceptAdapter acceptAdapter;
+
+    private RequestService requestService;
+
+    private RejectTransferUsecase rejectTransferUsecase;
+
+    private AcceptTransferUsecase usecase;
+
+    @BeforeEach
+    void setUp() {
+        acceptAdapter = Mockito.mock(AcceptAdapter.class);
+        requestService = Mockito.mock(RequestService.class);
+        rejectTransferUsecase = Mockito.mock(RejectTransferUsecase.class);
+        usecase = new AcceptTransferUsecase(acceptAdapter, requestService, rejectTransferUsecase);
+
+        when(acceptAdapter.mightExist(any())).thenReturn(true);
+        when(requestService.findTransferIdsByRequestIds(any())).thenReturn(Map.of());
+    }
+
+    @Test
+    void rejectADuplicateWithTheTransferIdReturnedByItsRegistration() {
+        UUID existingTransferId = UUID.randomUUID();
+        when(requestService.register(any())).thenReturn(new RequestRegistration(existingTransferId, false));
+
+        assertThatThrownBy(() -> usecase.execute(request(UUID.randomUUID())))
+                .isInstanceOfSatisfying(AcceptTransferException.class, rejection -> {
+                    assertThat(rejection.getErrorCode()).isEqualTo(AcceptDomainErrorCode.DUPLICATED_REQUEST);
+                    assertThat(rejection.getRejectedTransfer().transferId()).isEqualTo(existingTransferId);
+                });
+
+        // Detected and answered by the registering statement alone
+        verify(rejectTransferUsecase, never()).execute(any());
+        verify(requestService, never()).findByRequestId(any());
+    }
+
+    @Test
+    void rejectOnlyTheItemStoredConcurrently() {
+        UUID concurrentKey = UUID.randomUUID();
+        UUID concurrentTransferId = UUID.randomUUID();
+        when(requestService.register(any())).thenAnswer(invocation -> {
+            RequestEntity request = invocation.getArgument(0);
+            // Another request stored this key after the batch looked its keys up
+            return concurrentKey.equals(request.getRequestId())
+                    ? new RequestRegistration(concurrentTransferId, false)
+                    : new RequestRegistration(request.getTransferId(), true);
+        });
+
+        List<AcceptResult> results = usecase.executeAll(List.of(request(UUID.randomUUID()), request(concurrentKey), request(UUID.randomUUID())));
+
+        assertThat(results).extracting(AcceptResult::isAccepted).containsExactly(true, false, true);
+        AcceptTransferException rejection = results.get(1).rejection();
+        assertThat(rejection.getErrorCode()).isEqualTo(AcceptDomainErrorCode.DUPLICATED_REQUEST);
+        assertThat(rejection.getRejectedTransfer().transferId()).isEqualTo(concurrentTransferId);
+
+        verify(requestService, times(3)).register(any());
+        verify(acceptAdapter, never()).register(concurrentKey, concurrentTransferId);
+    }
+
+    @Test
+    void rejectAKeyRepeatedInsideTheBatchWithoutStoringIt() {
+        UUID key = UUID.randomUUID();
+        when(requestService.register(any())).thenAnswer(invocation -> new RequestRegistration(invocation.<RequestEntity>getArgument(0).getTransferId(), true));
+
+        List<AcceptResult> results = usecase.executeAll(List.of(request(key), request(key)));
+
+        assertThat(results).extracting(AcceptResult::isAccepted).containsExactly(true, false);
+        assertThat(results.get(1).rejection().getRejectedTransfer().transferId()).isEqualTo(results.get(0).acceptedTransfer().transferId());
+        verify(requestService, times(1)).register(any());
+    }
+
+    private static AcceptTransferRequest request(UUID requestId) {
+        return AcceptTransferRequest.builder()
+                .requestId(requestId)
+                .originatorId(101L)
+                .beneficiaryId(102L)
+                .amount(new BigDecimal("10"))
+                .build();
+    }
+}
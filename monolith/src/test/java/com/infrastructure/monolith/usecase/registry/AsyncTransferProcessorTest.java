@@ -0,0 +1,98 @@
+package com.infrastructure.monolith.usecase.registry;
+
+import com.domain.registry.port.RegistryPort;
+import com.domain.registry.usecase.FailTransfer;
+import com.domain.registry.usecase.request.ProcessTransferRequest;
+import com.infrastructure.monolith.database.entity.AccountEntity;
+import com.infrastructure.monolith.database.entity.RequestEntity;
+import com.infrastructure.monolith.database.repository.AccountService;
+import com.infrastructure.monolith.database.repository.RequestService;
+import com.infrastructure.monolith.database.repository.TransferService;
+import com.infrastructure.monolith.engine.ShardedBalanceEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+class AsyncTransferProcessorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void neverApplyATransferTwiceWhenRecoveryRequeuesItOnTheShardedEngine() throws Exception {
+        AccountService accountService = Mockito.mock(AccountService.class);
+        when(accountService.findAll()).thenReturn(List.of(account(1L), account(2L)));
+        RegistryPort registryPort = Mockito.mock(RegistryPort.class);
+        when(registryPort.getExchangeRate(any(), any())).thenReturn(Optional.of(BigDecimal.ONE));
+        // The checkpoint never runs, so no transfer has a row
+        TransferService transferService = Mockito.mock(TransferService.class);
+        when(transferService.findExistingTransferIds(anyCollection())).thenReturn(Set.of());
+
+        ShardedBalanceEngine engine = new ShardedBalanceEngine(registryPort, accountService, transferService,
+                Mockito.mock(PlatformTransactionManager.class), directory.toString(), 2, 3600);
+        engine.afterSingletonsInstantiated();
+        ShardedProcessTransferUsecase usecase = new ShardedProcessTransferUsecase(engine, new FailTransfer() { }, transferService);
+
+        ProcessTransferRequest request = request(100);
+        RequestService requestService = Mockito.mock(RequestService.class);
+        when(requestService.findUnprocessed(any(), any(), anyInt())).thenReturn(List.of(RequestEntity.builder()
+                .transferId(request.transferId())
+                .requestId(UUID.randomUUID())
+                .createdAt(request.createdAt())
+                .originatorId(request.originatorId())
+                .beneficiaryId(request.beneficiaryId())
+                .amount(request.amount())
+                .build()));
+
+        AsyncTransferProcessor processor = new AsyncTransferProcessor(usecase, usecase, requestService, transferService,
+                new SimpleMeterRegistry(), 2, 10, 10, 0, 100);
+        assertThat(processor.submit(request)).isTrue();
+        // Applied and journaled without a row, so once its lane lets go of it the recovery takes it for a transfer
+        // still without an outcome
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (processor.recover() == 0) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+        assertThat(engine.findUnwritten(request.transferId())).isPresent();
+        processor.shutdown();
+
+        // Applied once, 900 is all the originator has left
+        assertThat(engine.submit(request(900)).join().getOriginator().balance().toBigDecimal()).isEqualByComparingTo("0");
+        engine.shutdown();
+    }
+
+    private static ProcessTransferRequest request(long amount) {
+        return ProcessTransferRequest.builder()
+                .transferId(UUID.randomUUID())
+                .createdAt(OffsetDateTime.now())
+                .originatorId(1L)
+                .beneficiaryId(2L)
+                .amount(BigDecimal.valueOf(amount))
+                .build();
+    }
+
+    private static AccountEntity account(Long ownerId) {
+        return AccountEntity.builder()
+                .ownerId(ownerId)
+                .currency("EUR")
+                .balance(new BigDecimal("1000.00"))
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.infrastructure.monolith.usecase.registry;
+
+import com.domain.registry.model.FailedTransfer;
+import com.domain.registry.model.SuccessfulTransfer;
+import com.domain.registry.model.Transfer;
+import com.domain.registry.port.RegistryPort;
+import com.domain.registry.usecase.FailTransfer;
+import com.domain.registry.usecase.ValidateTransfer;
+import com.domain.registry.usecase.request.ProcessTransferRequest;
+import com.infrastructure.monolith.database.entity.AccountEntity;
+import com.infrastructure.monolith.database.repository.AccountService;
+import com.infrastructure.monolith.database.repository.AccountStripeService;
+import com.infrastructure.monolith.database.repository.TransferService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+class ProcessTransferUsecaseTest {
+
+    private final RegistryPort registryPort = Mockito.mock(RegistryPort.class);
+
+    private final AccountService accountService = Mockito.mock(AccountService.class);
+
+    private final AccountStripeService accountStripeService = Mockito.mock(AccountStripeService.class);
+
+    private final ProcessTransferUsecase usecase = new ProcessTransferUsecase(new ValidateTransfer(registryPort) { },
+            new FailTransfer() { }, accountService, accountStripeService, Mockito.mock(TransferService.class), new SimpleMeterRegistry());
+
+    @Test
+    void keepTheDrainedStripesOnTheAccountWhenABatchItemIsStillShort() {
+        AccountEntity striped = account(102L, "1000.00", true);
+        AccountEntity beneficiary = account(103L, "1000.00", false);
+        when(accountService.findAllByOwnerIdForUpdate(any())).thenReturn(List.of(striped, beneficiary));
+        when(registryPort.getExchangeRate(any(), any())).thenReturn(Optional.of(BigDecimal.ONE));
+        // The stripes only hold something the first time, the drain empties them
+        when(accountStripeService.drain(102L)).thenReturn(new BigDecimal("500.00"), BigDecimal.ZERO);
+
+        List<Transfer> results = usecase.executeAll(List.of(request(102L, 103L, "2000"), request(102L, 103L, "1200")));
+
+        assertThat(results.get(0)).isInstanceOf(FailedTransfer.class);
+        assertThat(results.get(1)).isInstanceOf(SuccessfulTransfer.class);
+        // 1000 on the row and 500 drained from the stripes, less the 1200 of the second item
+        assertThat(striped.getBalance()).isEqualByComparingTo("300");
+        assertThat(beneficiary.getBalance()).isEqualByComparingTo("2200");
+    }
+
+    private static AccountEntity account(Long ownerId, String balance, boolean striped) {
+        return AccountEntity.builder()
+                .ownerId(ownerId)
+                .currency("EUR")
+                .balance(new BigDecimal(balance))
+                .striped(striped)
+                .build();
+    }
+
+    private static ProcessTransferRequest request(Long originatorId, Long beneficiaryId, String amount) {
+        return ProcessTransferRequest.builder()
+                .transferId(UUID.randomUUID())
+                .createdAt(OffsetDateTime.now())
+                .originatorId(originatorId)
+                .beneficiaryId(beneficiaryId)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.infrastructure.monolith.usecase.registry;
+
+import com.domain.registry.exception.RegistryDomainErrorCode;
+import com.domain.registry.exception.RegistryDomainException;
+import com.domain.registry.model.Account;
+import com.domain.registry.model.Currency;
+import com.domain.registry.model.FailedTransfer;
+import com.domain.registry.model.Money;
+import com.domain.registry.model.SuccessfulTransfer;
+import com.domain.registry.model.Transfer;
+import com.domain.registry.usecase.FailTransfer;
+import com.domain.registry.usecase.request.ProcessTransferRequest;
+import com.infrastructure.monolith.database.entity.TransferEntity;
+import com.infrastructure.monolith.database.entity.TransferStatus;
+import com.infrastructure.monolith.database.repository.TransferService;
+import com.infrastructure.monolith.engine.ShardedBalanceEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ShardedProcessTransferUsecaseTest {
+
+    private ShardedBalanceEngine engine;
+
+    private FailTransfer failTransfer;
+
+    private TransferService transferService;
+
+    private ShardedProcessTransferUsecase usecase;
+
+    @BeforeEach
+    void setUp() {
+        engine = Mockito.mock(ShardedBalanceEngine.class);
+        failTransfer = Mockito.spy(new FailTransfer() { });
+        transferService = Mockito.mock(TransferService.class);
+        usecase = new ShardedProcessTransferUsecase(engine, failTransfer, transferService);
+    }
+
+    @Test
+    void recordDomainFailures() {
+        ProcessTransferRequest request = request();
+        when(engine.submit(request)).thenReturn(CompletableFuture.failedFuture(
+                new RegistryDomainException(RegistryDomainErrorCode.INSUFFICIENT_BALANCE, "Insufficient balance")));
+
+        assertThatThrownBy(() -> usecase.execute(request))
+                .isInstanceOf(TransferProcessingException.class)
+                .extracting(e -> ((TransferProcessingException) e).getErrorCode())
+                .isEqualTo(RegistryDomainErrorCode.INSUFFICIENT_BALANCE);
+        verify(failTransfer).execute(Mockito.argThat(failure -> failure.transferId().equals(request.transferId())));
+    }
+
+    @Test
+    void keepOneResultPerRequestOfABatch() {
+        ProcessTransferRequest succeeding = request();
+        ProcessTransferRequest failing = request();
+        SuccessfulTransfer successfulTransfer = successful(succeeding);
+        when(engine.submit(succeeding)).thenReturn(CompletableFuture.completedFuture(successfulTransfer));
+        when(engine.submit(failing)).thenReturn(CompletableFuture.failedFuture(
+                new RegistryDomainException(RegistryDomainErrorCode.ACCOUNT_NOT_FOUND, "Beneficiary account not found")));
+
+        List<Transfer> results = usecase.executeAll(List.of(succeeding, failing));
+
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0)).isSameAs(successfulTransfer);
+        assertThat(results.get(1)).isInstanceOf(FailedTransfer.class);
+        assertThat(((FailedTransfer) results.get(1)).getErrorCode()).isEqualTo(RegistryDomainErrorCode.ACCOUNT_NOT_FOUND);
+
+        // Built by the injected bean without its own write, the failure is saved with the batch below
+        verify(failTransfer).failedTransfer(Mockito.argThat(failure -> failure.transferId().equals(failing.transferId())));
+        verify(failTransfer, never()).execute(any());
+
+        // Successful transfers are written behind by the engine, only the failures are saved here
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TransferEntity>> saved = ArgumentCaptor.forClass(List.class);
+        verify(transferService).saveAll(saved.capture());
+        assertThat(saved.getValue()).singleElement()
+                .satisfies(transfer -> {
+                    assertThat(transfer.getTransferId()).isEqualTo(failing.transferId());
+                    assertThat(transfer.getStatus()).isEqualTo(TransferStatus.FAILED);
+                });
+    }
+
+    private static ProcessTransferRequest request() {
+        return ProcessTransferRequest.builder()
+                .transferId(UUID.randomUUID())
+                .createdAt(OffsetDateTime.now())
+                .originatorId(1L)
+                .beneficiaryId(2L)
+                .amount(BigDecimal.TEN)
+                .build();
+    }
+
+    private static SuccessfulTransfer successful(ProcessTransferRequest request) {
+        Money amount = Money.of(request.amount(), Currency.EUR);
+        return new SuccessfulTransfer(request.transferId(), request.createdAt(), amount,
+                new Account(1L, Currency.EUR, Money.of(new BigDecimal("90"), Currency.EUR)),
+                new Account(2L, Currency.EUR, Money.of(new BigDecimal("110"), Currency.EUR)),
+                OffsetDateTime.now(), BigDecimal.ONE, amount, amount);
+    }
+}
@@ -1,5 +1,5 @@
 -- Clean up existing data to ensure a fresh start for tests
-TRUNCATE TABLE request_entity, transfer_entity, account_entity RESTART IDENTITY;
+TRUNCATE TABLE request_entity, transfer_entity, ledger_entry_entity, account_stripe_entity, account_entity RESTART IDENTITY;
 
 -- =================================================================
 --  ACCOUNTS DATA
@@ -8,8 +8,8 @@ TRUNCATE TABLE request_entity, transfer_entity, account_entity RESTART IDENTITY;
 -- Insert three sample accounts with different currencies and balances
 -- Note: 'owner_id' is the business key used for relationships.
 INSERT INTO account_entity (id, version, owner_id, currency, balance)
-VALUES (1, 0, 101, 'EUR', 1000.0000),
-       (2, 0, 102, 'EUR', 1000.0000),
-       (3, 0, 103, 'EUR', 1000.0000);
+VALUES (nextval('account_entity_seq'), 0, 101, 'EUR', 1000.0000),
+       (nextval('account_entity_seq'), 0, 102, 'EUR', 1000.0000),
+       (nextval('account_entity_seq'), 0, 103, 'EUR', 1000.0000);
 
 COMMIT;
\ No newline at end of file
@@ -1,5 +1,5 @@
 -- Clean up existing data to ensure a fresh start for tests
-TRUNCATE TABLE request_entity, transfer_entity, account_entity RESTART IDENTITY;
+TRUNCATE TABLE request_entity, transfer_entity, ledger_entry_entity, account_stripe_entity, account_entity RESTART IDENTITY;
 
 -- =================================================================
 --  ACCOUNTS DATA
@@ -8,11 +8,11 @@ TRUNCATE TABLE request_entity, transfer_entity, account_entity RESTART IDENTITY;
 -- Insert three sample accounts with different currencies and balances
 -- Note: 'owner_id' is the business key used for relationships.
 INSERT INTO account_entity (id, version, owner_id, currency, balance)
-VALUES (1, 0, 101, 'EUR', 5000.0000),
-       (2, 0, 102, 'USD', 2500.0000),
-       (3, 0, 103, 'EUR', 10000.0000),
-       (4, 0, 104, 'SGD', 10000.0000),
-       (5, 0, 105, 'XXX', 1000.00);
+VALUES (nextval('account_entity_seq'), 0, 101, 'EUR', 5000.0000),
+       (nextval('account_entity_seq'), 0, 102, 'USD', 2500.0000),
+       (nextval('account_entity_seq'), 0, 103, 'EUR', 10000.0000),
+       (nextval('account_entity_seq'), 0, 104, 'SGD', 10000.0000),
+       (nextval('account_entity_seq'), 0, 105, 'XXX', 1000.00);
 
 
 -- =================================================================
@@ -32,7 +32,7 @@ INSERT INTO transfer_entity (id,
                              exchange_rate,
                              debit,
                              credit)
-VALUES (1001,
+VALUES (nextval('transfer_entity_seq'),
         0,
         'a1b2c3d4-e5f6-7890-1234-567890abcdef', -- transferId
         '2025-08-15T10:00:00Z', -- createdAt
@@ -56,7 +56,7 @@ INSERT INTO transfer_entity (id,
                              beneficiary_id,
                              status,
                              processed_at)
-VALUES (1002,
+VALUES (nextval('transfer_entity_seq'),
         0,
         'c3d4e5f6-a7b8-9012-3456-7890abcdef12', -- transferId
         '2025-08-16T09:00:00Z', -- createdAt
@@ -77,7 +77,7 @@ INSERT INTO request_entity (id,
                              version,
                              transfer_id,
                              request_id)
-VALUES (1001,
+VALUES (nextval('request_entity_seq'),
         0,
         'a1b2c3d4-e5f6-7890-1234-567890abcdef', -- transferId)
         'd3c4b5a6-9870-6543-2109-876fedcba321'  -- requestId
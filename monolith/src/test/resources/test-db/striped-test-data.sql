@@ -0,0 +1,14 @@
+-- Clean up existing data to ensure a fresh start for tests
+TRUNCATE TABLE request_entity, transfer_entity, ledger_entry_entity, account_stripe_entity, account_entity RESTART IDENTITY;
+
+-- =================================================================
+--  ACCOUNTS DATA
+-- =================================================================
+
+-- Account 102 is striped: its credits land on account_stripe_entity rows instead of its own row
+INSERT INTO account_entity (id, version, owner_id, currency, balance, striped)
+VALUES (nextval('account_entity_seq'), 0, 101, 'EUR', 1000.00, false),
+       (nextval('account_entity_seq'), 0, 102, 'EUR', 1000.00, true),
+       (nextval('account_entity_seq'), 0, 103, 'EUR', 1000.00, false);
+
+COMMIT;
@@ -6,12 +6,14 @@ import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @EnableCaching
 @EnableFeignClients
 @EnableDiscoveryClient
 @EnableJpaRepositories
+@EnableScheduling
 @SpringBootApplication
 @EnableTransactionManagement
 public class RegistryDistributedApplication {
@@ -0,0 +1,25 @@
+package com.infrastructure.registry_distributed.api;
+
+import com.domain.registry.exception.RegistryDomainException;
+import com.infrastructure.registry_distributed.api.dto.ErrorDTO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.OffsetDateTime;
+
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(RegistryDomainException.class)
+    public ResponseEntity<ErrorDTO> handleTransferProcessingException(RegistryDomainException ex) {
+        ErrorDTO errorDTO = new ErrorDTO(ex.getErrorCode(), ex.getMessage(), null, OffsetDateTime.now());
+        return new ResponseEntity<>(errorDTO, errorDTO.getHttpStatus());
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorDTO> handleGenericException(Exception ex) {
+        ErrorDTO errorDTO = new ErrorDTO(ex.getMessage(), OffsetDateTime.now());
+        return new ResponseEntity<>(errorDTO, errorDTO.getHttpStatus());
+    }
+}
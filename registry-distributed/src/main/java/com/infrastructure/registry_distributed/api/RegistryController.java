@@ -0,0 +1,56 @@
+package com.infrastructure.registry_distributed.api;
+
+import com.domain.registry.exception.RegistryDomainErrorCode;
+import com.domain.registry.exception.RegistryDomainException;
+import com.infrastructure.registry_distributed.api.dto.TransferDTO;
+import com.infrastructure.registry_distributed.api.mapper.RegistryMapper;
+import com.infrastructure.registry_distributed.database.entity.TransferEntity;
+import com.infrastructure.registry_distributed.usecase.registry.GetTransferUsecase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+public class RegistryController {
+
+    private final GetTransferUsecase getTransferUsecase;
+
+    @Value("${registry-config.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    @GetMapping("/transfer/{transferId}")
+    public ResponseEntity<TransferDTO> getTransfer(@PathVariable UUID transferId) {
+        return ResponseEntity.ok(RegistryMapper.INSTANCE.mapFromEntityToDto(getTransferUsecase.execute(transferId)));
+    }
+
+    // Transfers not processed yet, or never sent, are left out of the response
+    @PostMapping("/transfers/status")
+    public ResponseEntity<List<TransferDTO>> getTransfers(@RequestBody List<UUID> transferIds) {
+        if (transferIds.size() > maxBatchSize) {
+            throw new RegistryDomainException(RegistryDomainErrorCode.INVALID_TRANSFER, String.format("Cannot look up more than %d transfers at once", maxBatchSize));
+        }
+
+        Map<UUID, TransferEntity> processed = getTransferUsecase.executeAll(transferIds);
+        List<TransferDTO> transfers = new ArrayList<>(processed.size());
+        for (UUID transferId : new LinkedHashSet<>(transferIds)) {
+            TransferEntity transfer = processed.get(transferId);
+            if (transfer != null) {
+                transfers.add(RegistryMapper.INSTANCE.mapFromEntityToDto(transfer));
+            }
+        }
+
+        return ResponseEntity.ok(transfers);
+    }
+}
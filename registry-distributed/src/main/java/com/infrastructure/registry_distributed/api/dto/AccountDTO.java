@@ -0,0 +1,3 @@
+package com.infrastructure.registry_distributed.api.dto;
+
+public record AccountDTO(Long ownerId, String currency) { }
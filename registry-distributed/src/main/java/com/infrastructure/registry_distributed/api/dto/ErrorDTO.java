@@ -0,0 +1,57 @@
+package com.infrastructure.registry_distributed.api.dto;
+
+import com.domain.registry.exception.RegistryDomainErrorCode;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Getter
+public class ErrorDTO {
+
+    private final String errorCode;
+
+    private final String message;
+
+    private final UUID transactionId;
+
+    private final OffsetDateTime timestamp;
+
+    private final HttpStatus httpStatus;
+
+    public ErrorDTO() {
+        this.errorCode = null;
+        this.message = null;
+        this.transactionId = null;
+        this.timestamp = null;
+        this.httpStatus = null;
+    }
+
+    public ErrorDTO(RegistryDomainErrorCode errorCode, String message, UUID transactionId, OffsetDateTime timestamp) {
+        this.errorCode = errorCode.getValue();
+        this.message = message;
+        this.transactionId = transactionId;
+        this.timestamp = timestamp;
+        this.httpStatus = convertRegistryCode(errorCode);
+    }
+
+    public ErrorDTO(String message, OffsetDateTime timestamp) {
+        this.errorCode = "Unexpected error";
+        this.message = message;
+        this.transactionId = null;
+        this.timestamp = timestamp;
+        this.httpStatus = HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    public static HttpStatus convertRegistryCode(RegistryDomainErrorCode errorCode) {
+        return switch (errorCode) {
+            case  INVALID_BENEFICIARY, INVALID_EXCHANGE_RATE,
+                  INVALID_TRANSFER, INVALID_CURRENCY, NEGATIVE_AMOUNT,
+                  INSUFFICIENT_BALANCE-> HttpStatus.BAD_REQUEST;
+            case ACCOUNT_NOT_FOUND, TRANSFER_NOT_FOUND,
+                 EXCHANGE_RATE_NOT_FOUND -> HttpStatus.NOT_FOUND;
+            case EXCHANGE_RATE_NEGATIVE, INVALID_BALANCE, UNEXPECTED_ERROR ->  HttpStatus.INTERNAL_SERVER_ERROR;
+        };
+    }
+}
@@ -0,0 +1,6 @@
+package com.infrastructure.registry_distributed.api.dto;
+
+public enum TransferStatusDTO {
+    SUCCESS,
+    FAILED
+}
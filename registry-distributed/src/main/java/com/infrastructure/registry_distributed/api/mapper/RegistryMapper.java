@@ -0,0 +1,18 @@
+package com.infrastructure.registry_distributed.api.mapper;
+
+import com.infrastructure.registry_distributed.api.dto.AccountDTO;
+import com.infrastructure.registry_distributed.api.dto.TransferDTO;
+import com.infrastructure.registry_distributed.database.entity.AccountEntity;
+import com.infrastructure.registry_distributed.database.entity.TransferEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+@Mapper
+public interface RegistryMapper {
+
+    RegistryMapper INSTANCE = Mappers.getMapper(RegistryMapper.class);
+
+    TransferDTO mapFromEntityToDto(TransferEntity entity);
+
+    AccountDTO mapFromEntityToDto(AccountEntity entity);
+}
@@ -1,18 +1,37 @@
 package com.infrastructure.registry_distributed.configuration;
 
+import com.infrastructure.messaging.BatchingConfirmPublisher;
+import com.infrastructure.registry_distributed.queue.converter.AccountUpdateMessageCodec;
+import com.infrastructure.messaging.converter.BinaryMessageConverter;
+import com.infrastructure.registry_distributed.queue.converter.TransferRequestMessageCodec;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.DirectRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.RabbitListenerContainerFactory;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.DirectRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.amqp.RabbitTemplateConfigurer;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 public class RabbitMQConfig {
 
+    // Binary and JSON messages are both read, rabbitmq-config.encoding only decides how messages are sent
     @Bean
-    public MessageConverter jsonMessageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public MessageConverter messageConverter(@Value("${rabbitmq-config.encoding:JSON}") String encoding) {
+        return new BinaryMessageConverter(new Jackson2JsonMessageConverter(), "BINARY".equalsIgnoreCase(encoding),
+                List.of(new TransferRequestMessageCodec(), new AccountUpdateMessageCodec()));
     }
 
     // Producer Infrastructure: "account-distributed"
@@ -22,6 +41,40 @@ public class RabbitMQConfig {
         return new FanoutExchange(exchangeName);
     }
 
+    // Its own template, the publisher makes it mandatory and takes its returns
+    @Bean
+    @ConditionalOnProperty(name = "rabbitmq-config.account-distributed.publisher.mode", havingValue = "BATCHING")
+    public BatchingConfirmPublisher accountUpdatePublisher(RabbitTemplateConfigurer configurer,
+                                                           ConnectionFactory connectionFactory,
+                                                           MeterRegistry meterRegistry,
+                                                           @Value("${rabbitmq-config.account-distributed.publisher.window-ms:5}") long windowMillis,
+                                                           @Value("${rabbitmq-config.account-distributed.publisher.max-batch-size:500}") int maxBatchSize,
+                                                           @Value("${rabbitmq-config.account-distributed.publisher.max-attempts:3}") int maxAttempts) {
+        RabbitTemplate rabbitTemplate = new RabbitTemplate();
+        configurer.configure(rabbitTemplate, connectionFactory);
+        return new BatchingConfirmPublisher("account-update", rabbitTemplate, meterRegistry, windowMillis, maxBatchSize, maxAttempts);
+    }
+
+    // Producer Infrastructure: "transfer-distributed"
+
+    // Declared the same way by transfer-distributed, so completions are kept even before it has started
+    @Bean
+    public DirectExchange transferCompletionExchange(@Value("${rabbitmq-config.transfer-distributed.exchange}") String exchangeName) {
+        return new DirectExchange(exchangeName);
+    }
+
+    @Bean
+    public Queue transferCompletionQueue(@Value("${rabbitmq-config.transfer-distributed.queue}") String queueName) {
+        return QueueBuilder.durable(queueName).build();
+    }
+
+    @Bean
+    public Binding transferCompletionBinding(Queue transferCompletionQueue, DirectExchange transferCompletionExchange, @Value("${rabbitmq-config.transfer-distributed.routing-key}") String routingKey) {
+        return BindingBuilder.bind(transferCompletionQueue)
+                .to(transferCompletionExchange)
+                .with(routingKey);
+    }
+
     // Consumer Infrastructure: "registry-distributed"
 
     @Bean
@@ -30,6 +83,7 @@ public class RabbitMQConfig {
     }
 
     @Bean
+    @ConditionalOnProperty(name = "rabbitmq-config.registry-distributed.routing.mode", havingValue = "SINGLE", matchIfMissing = true)
     public Queue registryQueue(@Value("${rabbitmq-config.registry-distributed.queue}") String queueName, @Value("${rabbitmq-config.registry-distributed.dlx}") String dlxName, @Value("${rabbitmq-config.registry-distributed.routing-key}") String routingKey) {
         // Configure the main queue to use the dead-letter exchange
         return QueueBuilder.durable(queueName)
@@ -39,12 +93,71 @@ public class RabbitMQConfig {
     }
 
     @Bean
+    @ConditionalOnProperty(name = "rabbitmq-config.registry-distributed.routing.mode", havingValue = "SINGLE", matchIfMissing = true)
     public Binding registryBinding(Queue registryQueue, DirectExchange registryExchange, @Value("${rabbitmq-config.registry-distributed.routing-key}") String routingKey) {
         return BindingBuilder.bind(registryQueue)
                 .to(registryExchange)
                 .with(routingKey);
     }
 
+    // Declared the same way by transfer-distributed, whichever starts first creates them
+    @Bean
+    @ConditionalOnProperty(name = "rabbitmq-config.registry-distributed.routing.mode", havingValue = "PARTITIONED")
+    public Declarables registryPartitions(RegistryQueues registryQueues, DirectExchange registryExchange, @Value("${rabbitmq-config.registry-distributed.dlx}") String dlxName) {
+        List<Declarable> declarables = new ArrayList<>(registryQueues.getPartitions() * 2);
+        for (int partition = 0; partition < registryQueues.getPartitions(); partition++) {
+            Queue queue = QueueBuilder.durable(registryQueues.queueName(partition))
+                    .withArgument("x-dead-letter-exchange", dlxName)
+                    .withArgument("x-dead-letter-routing-key", registryQueues.getRoutingKey())
+                    .singleActiveConsumer()
+                    .build();
+            declarables.add(queue);
+            declarables.add(BindingBuilder.bind(queue).to(registryExchange).with(registryQueues.routingKey(partition)));
+        }
+        return new Declarables(declarables);
+    }
+
+    // A direct container gives every queue its own consumer and channel, so partitions are processed in parallel and
+    // each one in order
+    @Bean
+    public RabbitListenerContainerFactory<?> registryListenerContainerFactory(RegistryQueues registryQueues,
+                                                                             ConnectionFactory connectionFactory,
+                                                                             SimpleRabbitListenerContainerFactoryConfigurer simpleConfigurer,
+                                                                             DirectRabbitListenerContainerFactoryConfigurer directConfigurer) {
+        if (!registryQueues.isPartitioned()) {
+            SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+            simpleConfigurer.configure(factory, connectionFactory);
+            return factory;
+        }
+
+        DirectRabbitListenerContainerFactory factory = new DirectRabbitListenerContainerFactory();
+        directConfigurer.configure(factory, connectionFactory);
+        factory.setConsumersPerQueue(1);
+        factory.setDefaultRequeueRejected(false);
+        return factory;
+    }
+
+    // Each consumer takes up to batch-size transfers and processes them in one transaction, acknowledged with a single
+    // multiple ack. Batching consumers need a simple container, so with PARTITIONED routing the consumer registers a
+    // container of its own per partition, keeping the partitions parallel and each one in order
+    @Bean
+    @ConditionalOnProperty(name = "rabbitmq-config.registry-distributed.consumer.mode", havingValue = "BATCH")
+    public SimpleRabbitListenerContainerFactory registryBatchContainerFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer,
+                                                                             ConnectionFactory connectionFactory,
+                                                                             @Value("${rabbitmq-config.registry-distributed.consumer.concurrency:1}") int concurrency,
+                                                                             @Value("${rabbitmq-config.registry-distributed.consumer.batch-size:100}") int batchSize,
+                                                                             @Value("${rabbitmq-config.registry-distributed.consumer.receive-timeout-ms:50}") long receiveTimeout) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeout);
+        factory.setDefaultRequeueRejected(false);
+        return factory;
+    }
+
     // Dead-Letter Infrastructure for the Consumer
 
     @Bean
@@ -0,0 +1,55 @@
+package com.infrastructure.registry_distributed.configuration;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.IntStream;
+
+// In PARTITIONED mode transfer requests are routed to one of N queues by originator, routing key and queue name
+// suffixed with the partition. Each queue has a single active consumer across all instances, so the debits of an
+// account are processed one after the other instead of competing for its row lock
+@Getter
+@Component
+public class RegistryQueues {
+
+    private final RoutingMode mode;
+
+    private final int partitions;
+
+    private final String queue;
+
+    private final String routingKey;
+
+    public RegistryQueues(@Value("${rabbitmq-config.registry-distributed.routing.mode:SINGLE}") RoutingMode mode,
+                          @Value("${rabbitmq-config.registry-distributed.routing.partitions:8}") int partitions,
+                          @Value("${rabbitmq-config.registry-distributed.queue}") String queue,
+                          @Value("${rabbitmq-config.registry-distributed.routing-key}") String routingKey) {
+        this.mode = mode;
+        this.partitions = partitions;
+        this.queue = queue;
+        this.routingKey = routingKey;
+    }
+
+    public boolean isPartitioned() {
+        return mode == RoutingMode.PARTITIONED;
+    }
+
+    public String[] names() {
+        if (!isPartitioned()) {
+            return new String[]{queue};
+        }
+
+        return IntStream.range(0, partitions)
+                .mapToObj(this::queueName)
+                .toArray(String[]::new);
+    }
+
+    public String queueName(int partition) {
+        return queue + "." + partition;
+    }
+
+    public String routingKey(int partition) {
+        return routingKey + "." + partition;
+    }
+}
@@ -0,0 +1,6 @@
+package com.infrastructure.registry_distributed.configuration;
+
+public enum RoutingMode {
+    SINGLE,
+    PARTITIONED
+}
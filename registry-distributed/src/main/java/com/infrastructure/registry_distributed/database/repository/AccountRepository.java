@@ -9,6 +9,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 interface AccountRepository extends JpaRepository<AccountEntity, Long> {
@@ -17,6 +19,11 @@ interface AccountRepository extends JpaRepository<AccountEntity, Long> {
     @Query("SELECT a FROM AccountEntity a WHERE a.ownerId = :ownerId")
     Optional<AccountEntity> findByOwnerIdForUpdate(Long ownerId);
 
+    // Rows are locked in owner_id order, so concurrent transfers between the same accounts never wait on each other in a cycle
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM AccountEntity a WHERE a.ownerId IN :ownerIds ORDER BY a.ownerId")
+    List<AccountEntity> findAllByOwnerIdInForUpdate(Collection<Long> ownerIds);
+
     Optional<AccountEntity> findByOwnerId(Long ownerId);
 
     @Nonnull
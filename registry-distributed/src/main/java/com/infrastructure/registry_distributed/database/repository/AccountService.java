@@ -7,6 +7,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +22,11 @@ public class AccountService {
         return accountRepository.findByOwnerIdForUpdate(ownerId);
     }
 
+    @Transactional
+    public List<AccountEntity> findAllByOwnerIdForUpdate(Collection<Long> ownerIds) {
+        return accountRepository.findAllByOwnerIdInForUpdate(ownerIds);
+    }
+
     @Transactional(readOnly = true)
     public Optional<AccountEntity> findByOwnerId(Long ownerId) {
         return accountRepository.findByOwnerId(ownerId);
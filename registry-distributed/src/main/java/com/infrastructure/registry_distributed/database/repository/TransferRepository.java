@@ -2,11 +2,20 @@ package com.infrastructure.registry_distributed.database.repository;
 
 import com.infrastructure.registry_distributed.database.entity.TransferEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 interface TransferRepository extends JpaRepository<TransferEntity, Long> {
 
     Optional<TransferEntity> getByTransferId(UUID uuid);
+
+    @Query("SELECT t FROM TransferEntity t LEFT JOIN FETCH t.originator LEFT JOIN FETCH t.beneficiary WHERE t.transferId = :transferId")
+    Optional<TransferEntity> findWithAccountsByTransferId(UUID transferId);
+
+    @Query("SELECT t FROM TransferEntity t LEFT JOIN FETCH t.originator LEFT JOIN FETCH t.beneficiary WHERE t.transferId IN :transferIds")
+    List<TransferEntity> findAllWithAccountsByTransferIdIn(Collection<UUID> transferIds);
 }
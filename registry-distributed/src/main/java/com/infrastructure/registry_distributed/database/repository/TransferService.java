@@ -5,6 +5,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -19,8 +21,27 @@ public class TransferService {
         return transferRepository.getByTransferId(uuid);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<TransferEntity> findWithAccountsByTransferId(UUID transferId) {
+        return transferRepository.findWithAccountsByTransferId(transferId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TransferEntity> findAllWithAccountsByTransferIds(Collection<UUID> transferIds) {
+        if (transferIds.isEmpty()) {
+            return List.of();
+        }
+
+        return transferRepository.findAllWithAccountsByTransferIdIn(transferIds);
+    }
+
     @Transactional
     public void save(TransferEntity transferEntity) {
         transferRepository.save(transferEntity);
     }
+
+    @Transactional
+    public void saveAll(List<TransferEntity> transferEntities) {
+        transferRepository.saveAll(transferEntities);
+    }
 }
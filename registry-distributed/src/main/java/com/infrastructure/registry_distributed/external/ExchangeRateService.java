@@ -4,31 +4,29 @@ import com.infrastructure.registry_distributed.external.client.ExchangeRateClien
 import com.infrastructure.registry_distributed.external.dto.ExchangeRateResponse;
 import feign.FeignException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.Cacheable;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.Map;
 import java.util.Optional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ExchangeRateService {
 
     private final ExchangeRateClient exchangeRateClient;
 
-    @Cacheable("${exchange-api.cache.name}")
-    public Optional<BigDecimal> getExchangeRate(String source, String destination) {
-        if (source.equals(destination)) {
-            return Optional.of(BigDecimal.ONE);
-        }
-
+    // Amount of every other currency for one unit of the base currency
+    public Optional<Map<String, BigDecimal>> getLatestRates(String base) {
         try {
-            return Optional.ofNullable(exchangeRateClient.getLatestRates(destination))
-                    .map(ExchangeRateResponse::rates)
-                    .map(rates -> rates.get(source));
+            return Optional.ofNullable(exchangeRateClient.getLatestRates(base))
+                    .map(ExchangeRateResponse::rates);
 
         } catch (FeignException e) {
+            log.warn("Unable to fetch exchange rates for {}", base, e);
             return Optional.empty();
         }
     }
-}
\ No newline at end of file
+}
@@ -1,13 +1,18 @@
 package com.infrastructure.registry_distributed.queue;
 
-import com.domain.registry.model.Account;
+import com.infrastructure.messaging.BatchingConfirmPublisher;
+import com.infrastructure.registry_distributed.database.entity.AccountEntity;
 import com.infrastructure.registry_distributed.queue.mapper.RegistryMessageMapper;
 import com.infrastructure.registry_distributed.queue.message.AccountUpdateMessage;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AccountUpdateProducer {
@@ -17,8 +22,20 @@ public class AccountUpdateProducer {
 
     private final RabbitTemplate rabbitTemplate;
 
-    public void sendAccountEvent(Account account) {
-        AccountUpdateMessage message = RegistryMessageMapper.INSTANCE.mapFromModelToMessage(account);
-        rabbitTemplate.convertAndSend(accountExchangeName, "", message);
+    private final Optional<BatchingConfirmPublisher> accountUpdatePublisher;
+
+    // In BATCHING mode the event is confirmed asynchronously, the transfer never waits for the broker
+    public void sendAccountEvent(AccountEntity account) {
+        AccountUpdateMessage message = RegistryMessageMapper.INSTANCE.mapFromEntityToMessage(account);
+        if (accountUpdatePublisher.isEmpty()) {
+            rabbitTemplate.convertAndSend(accountExchangeName, "", message);
+            return;
+        }
+
+        accountUpdatePublisher.get().publish(accountExchangeName, "", message)
+                .exceptionally(e -> {
+                    log.error("Account update {} could not be published", message, e);
+                    return null;
+                });
     }
 }
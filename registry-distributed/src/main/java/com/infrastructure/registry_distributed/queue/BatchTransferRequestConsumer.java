@@ -0,0 +1,186 @@
+package com.infrastructure.registry_distributed.queue;
+
+import com.domain.registry.model.Transfer;
+import com.domain.registry.usecase.ProcessTransfer;
+import com.domain.registry.usecase.request.ProcessTransferRequest;
+import com.infrastructure.registry_distributed.configuration.RegistryQueues;
+import com.infrastructure.registry_distributed.database.entity.TransferEntity;
+import com.infrastructure.registry_distributed.queue.mapper.RegistryMessageMapper;
+import com.infrastructure.registry_distributed.queue.message.TransferRequestMessage;
+import com.infrastructure.registry_distributed.usecase.registry.BatchProcessTransfer;
+import com.infrastructure.registry_distributed.usecase.registry.GetTransferUsecase;
+import com.infrastructure.registry_distributed.usecase.registry.TransferProcessingException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.MethodRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.RabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistrar;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.handler.annotation.support.DefaultMessageHandlerMethodFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Transfers failing validation are recorded as FAILED inside the batch transaction, they never hold back the others
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "rabbitmq-config.registry-distributed.consumer.mode", havingValue = "BATCH")
+public class BatchTransferRequestConsumer implements RabbitListenerConfigurer {
+
+    private static final Method HANDLE_MESSAGES = ReflectionUtils.findMethod(BatchTransferRequestConsumer.class, "handleMessages", List.class);
+
+    private final BatchProcessTransfer batchProcessTransfer;
+
+    private final ProcessTransfer processTransfer;
+
+    private final RabbitTemplate rabbitTemplate;
+
+    private final TransferCompletionProducer transferCompletionProducer;
+
+    private final GetTransferUsecase getTransferUsecase;
+
+    private final RegistryQueues registryQueues;
+
+    private final DistributionSummary batchSize;
+
+    private final String deadLetterExchangeName;
+
+    private final RabbitListenerContainerFactory<?> containerFactory;
+
+    private final DefaultMessageHandlerMethodFactory handlerMethodFactory = new DefaultMessageHandlerMethodFactory();
+
+    public BatchTransferRequestConsumer(BatchProcessTransfer batchProcessTransfer,
+                                        ProcessTransfer processTransfer,
+                                        RabbitTemplate rabbitTemplate,
+                                        TransferCompletionProducer transferCompletionProducer,
+                                        GetTransferUsecase getTransferUsecase,
+                                        RegistryQueues registryQueues,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${rabbitmq-config.registry-distributed.dlx}") String deadLetterExchangeName,
+                                        @Qualifier("registryBatchContainerFactory") RabbitListenerContainerFactory<?> containerFactory) {
+        this.batchProcessTransfer = batchProcessTransfer;
+        this.processTransfer = processTransfer;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transferCompletionProducer = transferCompletionProducer;
+        this.getTransferUsecase = getTransferUsecase;
+        this.registryQueues = registryQueues;
+        this.batchSize = meterRegistry.summary("registry.consumer.batch.size");
+        this.deadLetterExchangeName = deadLetterExchangeName;
+        this.containerFactory = containerFactory;
+        this.handlerMethodFactory.afterPropertiesSet();
+    }
+
+    // Registered here rather than with @RabbitListener, which makes a single container for every queue: with
+    // PARTITIONED routing its first consumer would become the active one of each partition and process them all on one
+    // thread. Each partition gets a container and a consumer of its own instead
+    @Override
+    public void configureRabbitListeners(RabbitListenerEndpointRegistrar registrar) {
+        if (!registryQueues.isPartitioned()) {
+            registrar.registerEndpoint(endpoint(null, registryQueues.names()), containerFactory);
+            return;
+        }
+
+        // A single consumer per queue, more would only sit idle behind the single active one
+        for (String queue : registryQueues.names()) {
+            registrar.registerEndpoint(endpoint("1", queue), containerFactory);
+        }
+    }
+
+    public void handleMessages(List<Message<TransferRequestMessage>> delivered) {
+        batchSize.record(delivered.size());
+
+        // Requests are delivered at least once. The ones that already have an outcome are acknowledged with it, looked
+        // up for the whole batch in one query
+        Map<UUID, TransferEntity> stored = getTransferUsecase.executeAll(delivered.stream()
+                .map(message -> message.getPayload().transferId())
+                .toList());
+        List<Message<TransferRequestMessage>> messages = new ArrayList<>(delivered.size());
+        for (Message<TransferRequestMessage> message : delivered) {
+            TransferEntity transfer = stored.get(message.getPayload().transferId());
+            if (transfer == null) {
+                messages.add(message);
+            } else {
+                log.info("Transfer {} delivered again, answered with its stored outcome", transfer.getTransferId());
+                transferCompletionProducer.sendReply(replyTo(message), transfer);
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        List<ProcessTransferRequest> requests = messages.stream()
+                .map(message -> RegistryMessageMapper.INSTANCE.mapMessageToModel(message.getPayload()))
+                .toList();
+
+        List<Transfer> results;
+        try {
+            results = batchProcessTransfer.executeAll(requests);
+        } catch (PessimisticLockingFailureException e) {
+            // Nothing of the batch was written, every message is delivered again
+            log.warn("Batch of {} transfers rolled back on a lock failure, requeued: {}", messages.size(), e.getMessage());
+            throw new ImmediateRequeueAmqpException("Accounts locked: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            // Same policy as the single consumer once the batch is rolled back: one transaction per transfer, and the
+            // ones that still fail go to the dead letter queue instead of rejecting the whole batch
+            log.warn("Batch of {} transfers could not be committed, retrying them one by one", messages.size(), e);
+            for (int i = 0; i < requests.size(); i++) {
+                processAlone(requests.get(i), messages.get(i));
+            }
+            return;
+        }
+
+        // Results come back in request order and the batch has committed
+        for (int i = 0; i < results.size(); i++) {
+            transferCompletionProducer.sendReply(replyTo(messages.get(i)), results.get(i));
+        }
+    }
+
+    private void processAlone(ProcessTransferRequest request, Message<TransferRequestMessage> message) {
+        try {
+            transferCompletionProducer.sendReply(replyTo(message), processTransfer.execute(request));
+        } catch (ImmediateRequeueAmqpException e) {
+            // Retryable, but the rest of the batch may have committed already: only this one goes back to its queue
+            String replyTo = replyTo(message);
+            rabbitTemplate.convertAndSend("", message.getHeaders().get(AmqpHeaders.CONSUMER_QUEUE, String.class), message.getPayload(), amqpMessage -> {
+                amqpMessage.getMessageProperties().setReplyTo(replyTo);
+                return amqpMessage;
+            });
+        } catch (RuntimeException e) {
+            if (e instanceof TransferProcessingException processingException) {
+                transferCompletionProducer.sendReply(replyTo(message), processingException.getFailedTransfer());
+            }
+            log.error("Transfer {} sent to the dead letter queue: {}", request.transferId(), e.getMessage());
+            rabbitTemplate.convertAndSend(deadLetterExchangeName, registryQueues.getRoutingKey(), message.getPayload());
+        }
+    }
+
+    private MethodRabbitListenerEndpoint endpoint(String concurrency, String... queues) {
+        MethodRabbitListenerEndpoint endpoint = new MethodRabbitListenerEndpoint();
+        endpoint.setId("registryBatch-" + String.join(",", queues));
+        endpoint.setQueueNames(queues);
+        endpoint.setConcurrency(concurrency);
+        endpoint.setBean(this);
+        endpoint.setMethod(HANDLE_MESSAGES);
+        endpoint.setMessageHandlerMethodFactory(handlerMethodFactory);
+        endpoint.setBatchListener(true);
+        return endpoint;
+    }
+
+    private static String replyTo(Message<TransferRequestMessage> message) {
+        return message.getHeaders().get(AmqpHeaders.REPLY_TO, String.class);
+    }
+}
@@ -0,0 +1,46 @@
+package com.infrastructure.registry_distributed.queue;
+
+import com.domain.registry.model.Transfer;
+import com.infrastructure.registry_distributed.database.entity.TransferEntity;
+import com.infrastructure.registry_distributed.queue.message.TransferCompletionMessage;
+import com.infrastructure.registry_distributed.queue.mapper.RegistryMessageMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+// Lets transfer-distributed answer status requests from its own table, the registry rows are never read for polling
+@Service
+@RequiredArgsConstructor
+public class TransferCompletionProducer {
+
+    @Value("${rabbitmq-config.transfer-distributed.exchange}")
+    private String completionExchangeName;
+
+    @Value("${rabbitmq-config.transfer-distributed.routing-key}")
+    private String completionRoutingKey;
+
+    private final RabbitTemplate rabbitTemplate;
+
+    public void sendCompletion(Transfer transfer) {
+        rabbitTemplate.convertAndSend(completionExchangeName, completionRoutingKey, RegistryMessageMapper.INSTANCE.mapFromModelToMessage(transfer));
+    }
+
+    // Requests published with a reply-to address have a caller waiting on that instance, the reply goes straight to its
+    // queue through the default exchange
+    public void sendReply(String replyTo, Transfer transfer) {
+        sendReply(replyTo, RegistryMessageMapper.INSTANCE.mapFromModelToMessage(transfer));
+    }
+
+    public void sendReply(String replyTo, TransferEntity transfer) {
+        sendReply(replyTo, RegistryMessageMapper.INSTANCE.mapFromEntityToMessage(transfer));
+    }
+
+    private void sendReply(String replyTo, TransferCompletionMessage message) {
+        if (replyTo == null) {
+            return;
+        }
+
+        rabbitTemplate.convertAndSend("", replyTo, message);
+    }
+}
@@ -1,27 +1,52 @@
 package com.infrastructure.registry_distributed.queue;
 
-import com.domain.registry.model.SuccessfulTransfer;
 import com.domain.registry.usecase.ProcessTransfer;
 import com.domain.registry.usecase.request.ProcessTransferRequest;
+import com.infrastructure.registry_distributed.database.entity.TransferEntity;
 import com.infrastructure.registry_distributed.queue.mapper.RegistryMessageMapper;
 import com.infrastructure.registry_distributed.queue.message.TransferRequestMessage;
+import com.infrastructure.registry_distributed.usecase.registry.GetTransferUsecase;
+import com.infrastructure.registry_distributed.usecase.registry.TransferProcessingException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
+
+@Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "rabbitmq-config.registry-distributed.consumer.mode", havingValue = "SINGLE", matchIfMissing = true)
 public class TransferRequestConsumer {
 
     private final ProcessTransfer processTransfer;
 
-    private final AccountUpdateProducer accountUpdateProducer;
+    private final TransferCompletionProducer transferCompletionProducer;
+
+    private final GetTransferUsecase getTransferUsecase;
+
+    // The account events are published by the transfer itself once it commits, the reply once it has returned
+    @RabbitListener(queues = "#{registryQueues.names()}", containerFactory = "registryListenerContainerFactory")
+    public void handleMessage(TransferRequestMessage message, @Header(name = AmqpHeaders.REPLY_TO, required = false) String replyTo) {
+        // Requests are delivered at least once, by the outbox relay after a crash or by the broker after a lost ack. One
+        // that already has an outcome is acknowledged with it instead of being processed again
+        Optional<TransferEntity> stored = getTransferUsecase.find(message.transferId());
+        if (stored.isPresent()) {
+            log.info("Transfer {} delivered again, answered with its stored outcome", message.transferId());
+            transferCompletionProducer.sendReply(replyTo, stored.get());
+            return;
+        }
 
-    @RabbitListener(queues = "${rabbitmq-config.registry-distributed.queue}")
-    public void handleMessage(TransferRequestMessage message) {
         ProcessTransferRequest request = RegistryMessageMapper.INSTANCE.mapMessageToModel(message);
-        SuccessfulTransfer successfulTransfer = processTransfer.execute(request);
-        accountUpdateProducer.sendAccountEvent(successfulTransfer.getOriginator());
-        accountUpdateProducer.sendAccountEvent(successfulTransfer.getBeneficiary());
+        try {
+            transferCompletionProducer.sendReply(replyTo, processTransfer.execute(request));
+        } catch (TransferProcessingException e) {
+            transferCompletionProducer.sendReply(replyTo, e.getFailedTransfer());
+            throw e;
+        }
     }
 }
@@ -0,0 +1,37 @@
+package com.infrastructure.registry_distributed.queue.converter;
+
+import com.infrastructure.messaging.converter.BinaryCodec;
+import com.infrastructure.registry_distributed.queue.message.AccountUpdateMessage;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static com.infrastructure.messaging.converter.BinaryFields.*;
+
+// ownerId, balance, version, updatedAt
+public class AccountUpdateMessageCodec implements BinaryCodec<AccountUpdateMessage> {
+
+    @Override
+    public byte typeId() {
+        return 2;
+    }
+
+    @Override
+    public Class<AccountUpdateMessage> type() {
+        return AccountUpdateMessage.class;
+    }
+
+    @Override
+    public void encode(AccountUpdateMessage message, DataOutput out) throws IOException {
+        out.writeLong(message.ownerId());
+        writeAmount(out, message.balance());
+        out.writeLong(message.version());
+        writeTimestamp(out, message.updatedAt());
+    }
+
+    @Override
+    public AccountUpdateMessage decode(DataInput in) throws IOException {
+        return new AccountUpdateMessage(in.readLong(), readAmount(in), in.readLong(), readTimestamp(in));
+    }
+}
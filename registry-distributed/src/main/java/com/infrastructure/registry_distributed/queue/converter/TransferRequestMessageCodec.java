@@ -0,0 +1,44 @@
+package com.infrastructure.registry_distributed.queue.converter;
+
+import com.infrastructure.messaging.converter.BinaryCodec;
+import com.infrastructure.registry_distributed.queue.message.TransferRequestMessage;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.UUID;
+
+import static com.infrastructure.messaging.converter.BinaryFields.*;
+
+// transferId, requestId, createdAt, originatorId, beneficiaryId, amount. The registry does not keep the request id
+public class TransferRequestMessageCodec implements BinaryCodec<TransferRequestMessage> {
+
+    private static final UUID NO_REQUEST_ID = new UUID(0, 0);
+
+    @Override
+    public byte typeId() {
+        return 1;
+    }
+
+    @Override
+    public Class<TransferRequestMessage> type() {
+        return TransferRequestMessage.class;
+    }
+
+    @Override
+    public void encode(TransferRequestMessage message, DataOutput out) throws IOException {
+        writeUuid(out, message.transferId());
+        writeUuid(out, NO_REQUEST_ID);
+        writeTimestamp(out, message.createdAt());
+        out.writeLong(message.originatorId());
+        out.writeLong(message.beneficiaryId());
+        writeAmount(out, message.amount());
+    }
+
+    @Override
+    public TransferRequestMessage decode(DataInput in) throws IOException {
+        UUID transferId = readUuid(in);
+        readUuid(in);
+        return new TransferRequestMessage(transferId, readTimestamp(in), in.readLong(), in.readLong(), readAmount(in));
+    }
+}
@@ -1,18 +1,45 @@
 package com.infrastructure.registry_distributed.queue.mapper;
 
-import com.domain.registry.model.Account;
+import com.domain.registry.model.FailedTransfer;
+import com.domain.registry.model.Money;
+import com.domain.registry.model.SuccessfulTransfer;
+import com.domain.registry.model.Transfer;
 import com.domain.registry.usecase.request.ProcessTransferRequest;
+import com.infrastructure.registry_distributed.database.entity.AccountEntity;
+import com.infrastructure.registry_distributed.database.entity.TransferEntity;
 import com.infrastructure.registry_distributed.queue.message.AccountUpdateMessage;
+import com.infrastructure.registry_distributed.queue.message.TransferCompletionMessage;
 import com.infrastructure.registry_distributed.queue.message.TransferRequestMessage;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
+import java.math.BigDecimal;
+
 @Mapper
 public interface RegistryMessageMapper {
 
     RegistryMessageMapper INSTANCE = Mappers.getMapper(RegistryMessageMapper.class);
 
-    AccountUpdateMessage mapFromModelToMessage(Account account);
+    // Sent right after the transfer commits, so the consumers measure their lag from this instant. The version is the
+    // one just committed and lets them drop updates that arrive after a newer one
+    @Mapping(target = "updatedAt", expression = "java(java.time.OffsetDateTime.now())")
+    AccountUpdateMessage mapFromEntityToMessage(AccountEntity account);
 
     ProcessTransferRequest mapMessageToModel(TransferRequestMessage message);
+
+    default TransferCompletionMessage mapFromModelToMessage(Transfer transfer) {
+        return switch (transfer) {
+            case SuccessfulTransfer successful -> new TransferCompletionMessage(successful.getTransferId(), TransferCompletionMessage.Status.SUCCESS, null, successful.getProcessedAt());
+            case FailedTransfer failed -> new TransferCompletionMessage(failed.getTransferId(), TransferCompletionMessage.Status.FAILED, failed.getErrorCode().getValue(), failed.getProcessedAt());
+            default -> throw new IllegalArgumentException("Transfer " + transfer.getTransferId() + " is not completed");
+        };
+    }
+
+    // The stored outcome, for a transfer delivered again once it has one
+    TransferCompletionMessage mapFromEntityToMessage(TransferEntity transfer);
+
+    default BigDecimal mapFromModelToBigDecimal(Money money) {
+        return money.toBigDecimal();
+    }
 }
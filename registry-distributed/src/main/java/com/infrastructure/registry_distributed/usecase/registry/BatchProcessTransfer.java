@@ -0,0 +1,12 @@
+package com.infrastructure.registry_distributed.usecase.registry;
+
+import com.domain.registry.model.Transfer;
+import com.domain.registry.usecase.request.ProcessTransferRequest;
+
+import java.util.List;
+
+public interface BatchProcessTransfer {
+
+    // Returns, in request order, a SuccessfulTransfer or a FailedTransfer for every request
+    List<Transfer> executeAll(List<ProcessTransferRequest> requests);
+}
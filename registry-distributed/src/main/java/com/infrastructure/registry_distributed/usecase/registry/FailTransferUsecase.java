@@ -4,11 +4,14 @@ import com.domain.registry.model.FailedTransfer;
 import com.domain.registry.usecase.FailTransfer;
 import com.domain.registry.usecase.request.FailTransferRequest;
 import com.infrastructure.registry_distributed.database.repository.TransferService;
+import com.infrastructure.registry_distributed.queue.TransferCompletionProducer;
 import com.infrastructure.registry_distributed.usecase.registry.mapper.RegistryMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @RequiredArgsConstructor
@@ -16,11 +19,21 @@ public class FailTransferUsecase extends FailTransfer {
 
     private final TransferService transferService;
 
+    private final TransferCompletionProducer transferCompletionProducer;
+
     @Override
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public FailedTransfer execute(FailTransferRequest request) {
         FailedTransfer failTransfer = super.execute(request);
         transferService.save(RegistryMapper.INSTANCE.mapFromModelToEntity(failTransfer));
+
+        // Registered on this transaction, so the event goes out even though the transfer itself rolls back
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                transferCompletionProducer.sendCompletion(failTransfer);
+            }
+        });
         return failTransfer;
     }
 }
@@ -0,0 +1,70 @@
+package com.infrastructure.registry_distributed.usecase.registry;
+
+import com.domain.registry.exception.RegistryDomainErrorCode;
+import com.domain.registry.exception.RegistryDomainException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.infrastructure.registry_distributed.database.entity.TransferEntity;
+import com.infrastructure.registry_distributed.database.repository.TransferService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+// A transfer row is only written once it is SUCCESS or FAILED and never changes afterwards, so it can be cached
+// without invalidation
+@Service
+public class GetTransferUsecase {
+
+    private final TransferService transferService;
+
+    private final Cache<UUID, TransferEntity> processedTransfers;
+
+    public GetTransferUsecase(TransferService transferService,
+                              MeterRegistry meterRegistry,
+                              @Value("${registry-config.transfer-cache.max-size:100000}") long maxSize) {
+        this.transferService = transferService;
+        this.processedTransfers = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, processedTransfers, "registry.transfers");
+    }
+
+    public TransferEntity execute(UUID transferId) {
+        return find(transferId)
+                .orElseThrow(() -> new RegistryDomainException(RegistryDomainErrorCode.TRANSFER_NOT_FOUND, String.format("Transfer %s not found", transferId)));
+    }
+
+    // Empty while the transfer has no outcome
+    public Optional<TransferEntity> find(UUID transferId) {
+        TransferEntity cached = processedTransfers.getIfPresent(transferId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<TransferEntity> transfer = transferService.findWithAccountsByTransferId(transferId);
+        transfer.ifPresent(processed -> processedTransfers.put(transferId, processed));
+        return transfer;
+    }
+
+    // Cache misses are read with one IN query
+    public Map<UUID, TransferEntity> executeAll(Collection<UUID> transferIds) {
+        Map<UUID, TransferEntity> processed = new HashMap<>(processedTransfers.getAllPresent(transferIds));
+
+        List<UUID> misses = new ArrayList<>(new LinkedHashSet<>(transferIds));
+        misses.removeAll(processed.keySet());
+        for (TransferEntity transfer : transferService.findAllWithAccountsByTransferIds(misses)) {
+            processedTransfers.put(transfer.getTransferId(), transfer);
+            processed.put(transfer.getTransferId(), transfer);
+        }
+
+        return processed;
+    }
+}
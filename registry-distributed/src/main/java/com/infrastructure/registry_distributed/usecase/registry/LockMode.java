@@ -0,0 +1,6 @@
+package com.infrastructure.registry_distributed.usecase.registry;
+
+public enum LockMode {
+    SEQUENTIAL,
+    ORDERED
+}
@@ -2,8 +2,10 @@ package com.infrastructure.registry_distributed.usecase.registry;
 
 import com.domain.registry.exception.RegistryDomainErrorCode;
 import com.domain.registry.exception.RegistryDomainException;
+import com.domain.registry.model.Account;
 import com.domain.registry.model.FailedTransfer;
 import com.domain.registry.model.SuccessfulTransfer;
+import com.domain.registry.model.Transfer;
 import com.domain.registry.usecase.FailTransfer;
 import com.domain.registry.usecase.ProcessTransfer;
 import com.domain.registry.usecase.ValidateTransfer;
@@ -14,17 +16,43 @@ import com.infrastructure.registry_distributed.database.entity.AccountEntity;
 import com.infrastructure.registry_distributed.database.entity.TransferEntity;
 import com.infrastructure.registry_distributed.database.repository.AccountService;
 import com.infrastructure.registry_distributed.database.repository.TransferService;
+import com.infrastructure.registry_distributed.queue.AccountUpdateProducer;
+import com.infrastructure.registry_distributed.queue.TransferCompletionProducer;
 import com.infrastructure.registry_distributed.usecase.registry.mapper.RegistryMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
 import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class ProcessTransferUsecase extends ProcessTransfer {
+public class ProcessTransferUsecase extends ProcessTransfer implements BatchProcessTransfer {
+
+    private static final String UNIQUE_VIOLATION = "23505";
 
     private final ValidateTransfer validateTransfer;
 
@@ -34,15 +62,22 @@ public class ProcessTransferUsecase extends ProcessTransfer {
 
     private final TransferService transferService;
 
+    private final MeterRegistry meterRegistry;
+
+    private final AccountUpdateProducer accountUpdateProducer;
+
+    private final TransferCompletionProducer transferCompletionProducer;
+
+    @Value("${registry-config.lock.mode:ORDERED}")
+    private LockMode lockMode;
+
     @Override
     @Transactional
     public SuccessfulTransfer execute(ProcessTransferRequest request) {
         try {
-            AccountEntity originator = accountService.findByOwnerIdForUpdate(request.originatorId())
-                    .orElseThrow(() -> new RegistryDomainException(RegistryDomainErrorCode.ACCOUNT_NOT_FOUND, "Originator account not found"));
-
-            AccountEntity beneficiary = accountService.findByOwnerIdForUpdate(request.beneficiaryId())
-                    .orElseThrow(() -> new RegistryDomainException(RegistryDomainErrorCode.ACCOUNT_NOT_FOUND, "Beneficiary account not found"));
+            LockedAccounts locked = lockAccounts(request);
+            AccountEntity originator = locked.originator();
+            AccountEntity beneficiary = locked.beneficiary();
 
             ValidateTransferRequest validate = ValidateTransferRequest.builder()
                     .transferId(request.transferId())
@@ -54,8 +89,8 @@ public class ProcessTransferUsecase extends ProcessTransfer {
 
             SuccessfulTransfer successfulTransfer = validateTransfer.execute(validate);
 
-            originator.setBalance(successfulTransfer.getOriginator().balance());
-            beneficiary.setBalance(successfulTransfer.getBeneficiary().balance());
+            originator.setBalance(successfulTransfer.getOriginator().balance().toBigDecimal());
+            beneficiary.setBalance(successfulTransfer.getBeneficiary().balance().toBigDecimal());
             AccountEntity updatedOriginator = accountService.save(originator);
             AccountEntity updatedBeneficiary = accountService.save(beneficiary);
 
@@ -63,6 +98,7 @@ public class ProcessTransferUsecase extends ProcessTransfer {
             transfer.setOriginator(updatedOriginator);
             transfer.setBeneficiary(updatedBeneficiary);
             transferService.save(transfer);
+            publishAfterCommit(List.of(updatedOriginator, updatedBeneficiary), List.of(successfulTransfer));
 
             log.info("Transfer {} has been processed SUCCESSFULLY", successfulTransfer);
             return successfulTransfer;
@@ -72,12 +108,166 @@ public class ProcessTransferUsecase extends ProcessTransfer {
                     .errorCode(e.getErrorCode())
                     .build();
 
-            FailedTransfer failedTransfer = failTransfer.execute(failTransferRequest);
+            FailedTransfer failedTransfer;
+            try {
+                failedTransfer = failTransfer.execute(failTransferRequest);
+            } catch (DataIntegrityViolationException violation) {
+                throw requeueIfDuplicate(request, violation);
+            }
             log.error("Transfer {} has failed", failedTransfer);
-            throw new AmqpRejectAndDontRequeueException("Invalid message data: " + e.getMessage());
+            throw new TransferProcessingException(failedTransfer, e.getErrorCode(), "Invalid message data: " + e.getMessage(), e);
+        } catch (DataIntegrityViolationException e) {
+            throw requeueIfDuplicate(request, e);
+        } catch (PessimisticLockingFailureException e) {
+            // Rolled back before anything was written, the message is delivered again instead of dead lettered
+            log.warn("Transfer {} rolled back on a lock failure, requeued: {}", request.transferId(), e.getMessage());
+            throw new ImmediateRequeueAmqpException("Accounts locked: " + e.getMessage(), e);
         } catch (Exception e) {
             log.error("Transfer {} has failed", request, e);
             throw new AmqpRejectAndDontRequeueException("Invalid message data: " + e.getMessage());
         }
     }
+
+    @Override
+    @Transactional
+    public List<Transfer> executeAll(List<ProcessTransferRequest> requests) {
+        Map<Long, AccountEntity> accounts = lockAllAccounts(requests.stream()
+                .flatMap(request -> Stream.of(request.originatorId(), request.beneficiaryId()))
+                .filter(Objects::nonNull)
+                .toList());
+
+        // Balances move in memory from one item to the next and are written once at the end of the batch
+        Map<Long, Account> balances = new HashMap<>();
+        List<Transfer> results = new ArrayList<>(requests.size());
+        List<TransferEntity> transfers = new ArrayList<>(requests.size());
+        for (ProcessTransferRequest request : requests) {
+            try {
+                ValidateTransferRequest validate = ValidateTransferRequest.builder()
+                        .transferId(request.transferId())
+                        .createdAt(request.createdAt())
+                        .originator(currentAccount(accounts, balances, request.originatorId(), "Originator account not found"))
+                        .beneficiary(currentAccount(accounts, balances, request.beneficiaryId(), "Beneficiary account not found"))
+                        .amount(request.amount())
+                        .build();
+
+                SuccessfulTransfer successfulTransfer = validateTransfer.execute(validate);
+                balances.put(request.originatorId(), successfulTransfer.getOriginator());
+                balances.put(request.beneficiaryId(), successfulTransfer.getBeneficiary());
+
+                TransferEntity transfer = RegistryMapper.INSTANCE.mapFromModelToEntity(successfulTransfer);
+                transfer.setOriginator(accounts.get(request.originatorId()));
+                transfer.setBeneficiary(accounts.get(request.beneficiaryId()));
+                transfers.add(transfer);
+                results.add(successfulTransfer);
+            } catch (RegistryDomainException e) {
+                FailTransferRequest failTransferRequest = FailTransferRequest.builder()
+                        .transferId(request.transferId())
+                        .errorCode(e.getErrorCode())
+                        .build();
+
+                FailedTransfer failedTransfer = failTransfer.failedTransfer(failTransferRequest);
+                log.error("Transfer {} has failed", failedTransfer);
+                transfers.add(RegistryMapper.INSTANCE.mapFromModelToEntity(failedTransfer));
+                results.add(failedTransfer);
+            }
+        }
+
+        // Managed entities, flushed as a single batch of updates on commit
+        List<AccountEntity> updated = balances.entrySet().stream()
+                .map(balance -> {
+                    AccountEntity account = accounts.get(balance.getKey());
+                    account.setBalance(balance.getValue().balance().toBigDecimal());
+                    return account;
+                })
+                .toList();
+        transferService.saveAll(transfers);
+        publishAfterCommit(updated, results);
+
+        log.info("Batch of {} transfers processed, {} failed", requests.size(), results.stream().filter(FailedTransfer.class::isInstance).count());
+        return results;
+    }
+
+    // The transfer id is the only unique key written here. A violation means another delivery of the same transfer
+    // committed first: requeued, this one is then acknowledged by the consumer with the stored outcome
+    private static AmqpException requeueIfDuplicate(ProcessTransferRequest request, DataIntegrityViolationException e) {
+        if (NestedExceptionUtils.getMostSpecificCause(e) instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+            log.warn("Transfer {} was processed by another delivery meanwhile, requeued", request.transferId());
+            return new ImmediateRequeueAmqpException("Transfer already processed: " + request.transferId(), e);
+        }
+
+        log.error("Transfer {} has failed", request, e);
+        return new AmqpRejectAndDontRequeueException("Invalid message data: " + e.getMessage());
+    }
+
+    // Versions are bumped when the transaction flushes, so the events read them once it has committed. An event is
+    // never published for a balance or an outcome that was rolled back
+    private void publishAfterCommit(List<AccountEntity> accounts, List<Transfer> completed) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accounts.forEach(accountUpdateProducer::sendAccountEvent);
+                completed.forEach(transferCompletionProducer::sendCompletion);
+            }
+        });
+    }
+
+    private Account currentAccount(Map<Long, AccountEntity> accounts, Map<Long, Account> balances, Long ownerId, String notFound) {
+        Account account = balances.get(ownerId);
+        if (account != null) {
+            return account;
+        }
+
+        AccountEntity entity = accounts.get(ownerId);
+        if (entity == null) {
+            throw new RegistryDomainException(RegistryDomainErrorCode.ACCOUNT_NOT_FOUND, notFound);
+        }
+
+        return RegistryMapper.INSTANCE.mapFromEntityToModel(entity);
+    }
+
+    // Every account of the batch is locked by the same ordered statement, whatever the configured lock mode
+    private Map<Long, AccountEntity> lockAllAccounts(Collection<Long> ownerIds) {
+        Timer.Sample lockWait = Timer.start(meterRegistry);
+        try {
+            return accountService.findAllByOwnerIdForUpdate(new TreeSet<>(ownerIds)).stream()
+                    .collect(Collectors.toMap(AccountEntity::getOwnerId, Function.identity()));
+        } finally {
+            lockWait.stop(meterRegistry.timer("registry.lock.wait", "mode", "batch"));
+        }
+    }
+
+    private LockedAccounts lockAccounts(ProcessTransferRequest request) {
+        Timer.Sample lockWait = Timer.start(meterRegistry);
+        try {
+            if (lockMode == LockMode.SEQUENTIAL) {
+                AccountEntity originator = accountService.findByOwnerIdForUpdate(request.originatorId())
+                        .orElseThrow(() -> new RegistryDomainException(RegistryDomainErrorCode.ACCOUNT_NOT_FOUND, "Originator account not found"));
+
+                AccountEntity beneficiary = accountService.findByOwnerIdForUpdate(request.beneficiaryId())
+                        .orElseThrow(() -> new RegistryDomainException(RegistryDomainErrorCode.ACCOUNT_NOT_FOUND, "Beneficiary account not found"));
+
+                return new LockedAccounts(originator, beneficiary);
+            }
+
+            Map<Long, AccountEntity> accounts = accountService.findAllByOwnerIdForUpdate(List.of(request.originatorId(), request.beneficiaryId())).stream()
+                    .collect(Collectors.toMap(AccountEntity::getOwnerId, Function.identity()));
+
+            AccountEntity originator = accounts.get(request.originatorId());
+            if (originator == null) {
+                throw new RegistryDomainException(RegistryDomainErrorCode.ACCOUNT_NOT_FOUND, "Originator account not found");
+            }
+
+            AccountEntity beneficiary = accounts.get(request.beneficiaryId());
+            if (beneficiary == null) {
+                throw new RegistryDomainException(RegistryDomainErrorCode.ACCOUNT_NOT_FOUND, "Beneficiary account not found");
+            }
+
+            return new LockedAccounts(originator, beneficiary);
+        } finally {
+            lockWait.stop(meterRegistry.timer("registry.lock.wait", "mode", lockMode.name().toLowerCase()));
+        }
+    }
+
+    private record LockedAccounts(AccountEntity originator, AccountEntity beneficiary) {
+    }
 }
@@ -0,0 +1,21 @@
+package com.infrastructure.registry_distributed.usecase.registry;
+
+import com.domain.registry.exception.RegistryDomainErrorCode;
+import com.domain.registry.model.FailedTransfer;
+import lombok.Getter;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+
+// Still dead-letters the request, and lets the consumer reply with the recorded failure
+@Getter
+public class TransferProcessingException extends AmqpRejectAndDontRequeueException {
+
+    private final FailedTransfer failedTransfer;
+
+    private final RegistryDomainErrorCode errorCode;
+
+    public TransferProcessingException(FailedTransfer failedTransfer, RegistryDomainErrorCode errorCode, String message, Throwable cause) {
+        super(message, cause);
+        this.failedTransfer = failedTransfer;
+        this.errorCode = errorCode;
+    }
+}
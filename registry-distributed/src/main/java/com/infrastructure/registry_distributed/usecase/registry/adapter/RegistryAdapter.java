@@ -3,25 +3,88 @@ package com.infrastructure.registry_distributed.usecase.registry.adapter;
 import com.domain.registry.model.Currency;
 import com.domain.registry.port.RegistryPort;
 import com.infrastructure.registry_distributed.external.ExchangeRateService;
-import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
 
 @Service
-@RequiredArgsConstructor
 public class RegistryAdapter implements RegistryPort {
 
     private final ExchangeRateService exchangeRateService;
 
+    private final Currency pivot;
+
+    private final long loadBackoffNanos;
+
+    private final LongSupplier nanoTime;
+
+    private final AtomicReference<ExchangeRateMatrix> rates = new AtomicReference<>();
+
+    private final ReentrantLock loading = new ReentrantLock();
+
+    private volatile long nextLoadAt;
+
+    @Autowired
+    public RegistryAdapter(ExchangeRateService exchangeRateService,
+                           @Value("${exchange-api.rates.pivot:USD}") String pivot,
+                           @Value("${exchange-api.rates.load-backoff-seconds:30}") long loadBackoffSeconds) {
+        this(exchangeRateService, Currency.fromValue(pivot), Duration.ofSeconds(loadBackoffSeconds), System::nanoTime);
+    }
+
+    RegistryAdapter(ExchangeRateService exchangeRateService, Currency pivot, Duration loadBackoff, LongSupplier nanoTime) {
+        this.exchangeRateService = exchangeRateService;
+        this.pivot = pivot;
+        this.loadBackoffNanos = loadBackoff.toNanos();
+        this.nanoTime = nanoTime;
+        this.nextLoadAt = nanoTime.getAsLong();
+    }
+
     // Exchange rate operations
 
     @Override
-    @Cacheable(value = "${exchange-api.cache.name}", key = "#source.value + '-' + #destination.value")
     public Optional<BigDecimal> getExchangeRate(Currency source, Currency destination) {
-        return exchangeRateService.getExchangeRate(source.getValue(), destination.getValue());
+        ExchangeRateMatrix matrix = rates.get();
+        return (matrix != null ? matrix : load()).get(source, destination);
+    }
+
+    // One API call rebuilds every cross rate, a failed refresh keeps serving the previous matrix
+    @Scheduled(initialDelayString = "${exchange-api.rates.refresh-minutes:60}",
+            fixedDelayString = "${exchange-api.rates.refresh-minutes:60}",
+            timeUnit = TimeUnit.MINUTES)
+    public void refresh() {
+        exchangeRateService.getLatestRates(pivot.getValue())
+                .ifPresent(pivotRates -> rates.set(ExchangeRateMatrix.from(pivot, pivotRates)));
     }
-}
 
+    // Until the first matrix is published, concurrent lookups wait for a single load instead of each calling the API.
+    // After a failed load they fail fast, without the lock, until the backoff is over
+    private ExchangeRateMatrix load() {
+        if (nanoTime.getAsLong() - nextLoadAt < 0) {
+            return ExchangeRateMatrix.EMPTY;
+        }
+
+        loading.lock();
+        try {
+            if (rates.get() == null && nanoTime.getAsLong() - nextLoadAt >= 0) {
+                refresh();
+                if (rates.get() == null) {
+                    nextLoadAt = nanoTime.getAsLong() + loadBackoffNanos;
+                }
+            }
+
+            ExchangeRateMatrix matrix = rates.get();
+            return matrix != null ? matrix : ExchangeRateMatrix.EMPTY;
+        } finally {
+            loading.unlock();
+        }
+    }
+}
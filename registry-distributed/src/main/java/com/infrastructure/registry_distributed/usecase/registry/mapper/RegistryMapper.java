@@ -4,6 +4,7 @@ import com.domain.registry.exception.RegistryDomainErrorCode;
 import com.domain.registry.model.Account;
 import com.domain.registry.model.Currency;
 import com.domain.registry.model.FailedTransfer;
+import com.domain.registry.model.Money;
 import com.domain.registry.model.SuccessfulTransfer;
 import com.infrastructure.registry_distributed.database.entity.AccountEntity;
 import com.infrastructure.registry_distributed.database.entity.TransferEntity;
@@ -12,13 +13,17 @@ import org.mapstruct.Mapping;
 import org.mapstruct.Named;
 import org.mapstruct.factory.Mappers;
 
+import java.math.BigDecimal;
+
 @Mapper
 public interface RegistryMapper {
 
     RegistryMapper INSTANCE = Mappers.getMapper(RegistryMapper.class);
 
-    @Mapping(target = "currency", source = "currency", qualifiedByName = "mapCurrency")
-    Account mapFromEntityToModel(AccountEntity entity);
+    default Account mapFromEntityToModel(AccountEntity entity) {
+        Currency currency = mapFromStringToModel(entity.getCurrency());
+        return new Account(entity.getOwnerId(), currency, Money.exact(entity.getBalance(), currency));
+    }
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "version", ignore = true)
@@ -47,6 +52,10 @@ public interface RegistryMapper {
         return Currency.fromValue(currency);
     }
 
+    default BigDecimal mapFromModelToBigDecimal(Money money) {
+        return money.toBigDecimal();
+    }
+
     @Named("mapErrorCode")
     default String mapFromModelToString(RegistryDomainErrorCode errorCode) {
         return errorCode.getValue();
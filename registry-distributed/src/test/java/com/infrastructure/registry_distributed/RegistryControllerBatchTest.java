@@ -0,0 +1,81 @@
+package com.infrastructure.registry_distributed;
+
+import com.domain.registry.exception.RegistryDomainErrorCode;
+import com.infrastructure.registry_distributed.database.entity.TransferStatus;
+import com.infrastructure.registry_distributed.database.repository.AccountService;
+import com.infrastructure.registry_distributed.database.repository.TransferService;
+import com.infrastructure.registry_distributed.queue.message.TransferRequestMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@Sql("/test-db/simple-test-data.sql")
+@TestPropertySource(properties = {
+        "rabbitmq-config.registry-distributed.consumer.mode=BATCH",
+        "rabbitmq-config.registry-distributed.consumer.batch-size=20"
+})
+class RegistryControllerBatchTest extends RegistryDistributedApplicationTest {
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Value("${rabbitmq-config.registry-distributed.exchange}")
+    private String registryExchange;
+
+    @Value("${rabbitmq-config.registry-distributed.routing-key}")
+    private String routingKey;
+
+    @Test
+    void recordInvalidTransfersWithoutFailingTheBatch() {
+        List<UUID> transferIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            UUID transferId = UUID.randomUUID();
+            transferIds.add(transferId);
+            rabbitTemplate.convertAndSend(registryExchange, routingKey, new TransferRequestMessage(transferId, OffsetDateTime.now(), 101L, 102L, new BigDecimal("100")));
+        }
+
+        UUID unknownBeneficiaryId = UUID.randomUUID();
+        rabbitTemplate.convertAndSend(registryExchange, routingKey, new TransferRequestMessage(unknownBeneficiaryId, OffsetDateTime.now(), 101L, 999L, new BigDecimal("100")));
+        UUID insufficientBalanceId = UUID.randomUUID();
+        rabbitTemplate.convertAndSend(registryExchange, routingKey, new TransferRequestMessage(insufficientBalanceId, OffsetDateTime.now(), 102L, 103L, new BigDecimal("100000")));
+
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> {
+            for (UUID transferId : transferIds) {
+                assertThat(transferService.getByTransferId(transferId))
+                        .hasValueSatisfying(transfer -> assertThat(transfer.getStatus()).isEqualTo(TransferStatus.SUCCESS));
+            }
+
+            assertThat(transferService.getByTransferId(unknownBeneficiaryId)).hasValueSatisfying(transfer -> {
+                assertThat(transfer.getStatus()).isEqualTo(TransferStatus.FAILED);
+                assertThat(transfer.getErrorCode()).isEqualTo(RegistryDomainErrorCode.ACCOUNT_NOT_FOUND.getValue());
+            });
+            assertThat(transferService.getByTransferId(insufficientBalanceId)).hasValueSatisfying(transfer -> {
+                assertThat(transfer.getStatus()).isEqualTo(TransferStatus.FAILED);
+                assertThat(transfer.getErrorCode()).isEqualTo(RegistryDomainErrorCode.INSUFFICIENT_BALANCE.getValue());
+            });
+
+            assertThat(accountService.findByOwnerId(101L).orElseThrow().getBalance()).isEqualByComparingTo("4571.65");
+            assertThat(accountService.findByOwnerId(102L).orElseThrow().getBalance()).isEqualByComparingTo("3000.00");
+            assertThat(accountService.findByOwnerId(103L).orElseThrow().getBalance()).isEqualByComparingTo("10000.00");
+        });
+    }
+}
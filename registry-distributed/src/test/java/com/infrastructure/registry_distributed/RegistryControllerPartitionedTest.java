@@ -0,0 +1,69 @@
+package com.infrastructure.registry_distributed;
+
+import com.infrastructure.registry_distributed.configuration.RegistryQueues;
+import com.infrastructure.registry_distributed.database.entity.TransferStatus;
+import com.infrastructure.registry_distributed.database.repository.AccountService;
+import com.infrastructure.registry_distributed.database.repository.TransferService;
+import com.infrastructure.registry_distributed.queue.message.TransferRequestMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@Sql("/test-db/simple-test-data.sql")
+@TestPropertySource(properties = {
+        "rabbitmq-config.registry-distributed.routing.mode=PARTITIONED",
+        "rabbitmq-config.registry-distributed.routing.partitions=4"
+})
+class RegistryControllerPartitionedTest extends RegistryDistributedApplicationTest {
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private RegistryQueues registryQueues;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Value("${rabbitmq-config.registry-distributed.exchange}")
+    private String registryExchange;
+
+    @Test
+    void processTransfersOfAnOriginatorOnItsPartition() {
+        assertThat(registryQueues.names().length).isEqualTo(4);
+
+        String routingKey = registryQueues.routingKey(Math.floorMod(Long.hashCode(101L), 4));
+        List<UUID> transferIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            UUID transferId = UUID.randomUUID();
+            transferIds.add(transferId);
+            rabbitTemplate.convertAndSend(registryExchange, routingKey, new TransferRequestMessage(transferId, OffsetDateTime.now(), 101L, 102L, new BigDecimal("100")));
+        }
+
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> {
+            for (UUID transferId : transferIds) {
+                assertThat(transferService.getByTransferId(transferId))
+                        .hasValueSatisfying(transfer -> assertThat(transfer.getStatus()).isEqualTo(TransferStatus.SUCCESS));
+            }
+
+            assertThat(accountService.findByOwnerId(101L).orElseThrow().getBalance()).isEqualByComparingTo("4571.65");
+            assertThat(accountService.findByOwnerId(102L).orElseThrow().getBalance()).isEqualByComparingTo("3000.00");
+        });
+    }
+}
@@ -1,13 +1,15 @@
 package com.infrastructure.registry_distributed;
 
 import com.domain.registry.exception.RegistryDomainErrorCode;
-import com.domain.registry.model.Account;
+import com.domain.registry.model.FailedTransfer;
+import com.domain.registry.model.SuccessfulTransfer;
 import com.infrastructure.registry_distributed.database.entity.AccountEntity;
 import com.infrastructure.registry_distributed.database.entity.TransferEntity;
 import com.infrastructure.registry_distributed.database.entity.TransferStatus;
 import com.infrastructure.registry_distributed.database.repository.AccountService;
 import com.infrastructure.registry_distributed.database.repository.TransferService;
 import com.infrastructure.registry_distributed.queue.AccountUpdateProducer;
+import com.infrastructure.registry_distributed.queue.TransferCompletionProducer;
 import com.infrastructure.registry_distributed.queue.TransferRequestConsumer;
 import com.infrastructure.registry_distributed.queue.message.TransferRequestMessage;
 import org.junit.jupiter.api.Test;
@@ -31,6 +33,7 @@ import java.util.concurrent.TimeUnit;
 import static org.assertj.core.api.Assertions.within;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -46,6 +49,9 @@ class RegistryControllerTest extends RegistryDistributedApplicationTest {
     @MockitoSpyBean
     private AccountUpdateProducer producer;
 
+    @MockitoSpyBean
+    private TransferCompletionProducer completionProducer;
+
     @Value("${rabbitmq-config.registry-distributed.exchange}")
     private String registryExchange;
 
@@ -76,28 +82,30 @@ class RegistryControllerTest extends RegistryDistributedApplicationTest {
         rabbitTemplate.convertAndSend(registryExchange, registryRoutingKey, message);
 
         await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
-            ArgumentCaptor<Account> accountCaptor = ArgumentCaptor.forClass(Account.class);
+            ArgumentCaptor<AccountEntity> accountCaptor = ArgumentCaptor.forClass(AccountEntity.class);
             verify(producer, times(2)).sendAccountEvent(accountCaptor.capture());
-            List<Account> capturedAccounts = accountCaptor.getAllValues();
+            List<AccountEntity> capturedAccounts = accountCaptor.getAllValues();
 
-            Account originatorAccount = capturedAccounts.stream()
-                    .filter(acc -> acc.ownerId().equals(originatorId))
+            AccountEntity originatorAccount = capturedAccounts.stream()
+                    .filter(acc -> acc.getOwnerId().equals(originatorId))
                     .findFirst()
                     .orElseThrow(() -> new AssertionError("Originator account not found in captured events"));
 
-            Account beneficiaryAccount = capturedAccounts.stream()
-                    .filter(acc -> acc.ownerId().equals(beneficiaryId))
+            AccountEntity beneficiaryAccount = capturedAccounts.stream()
+                    .filter(acc -> acc.getOwnerId().equals(beneficiaryId))
                     .findFirst()
                     .orElseThrow(() -> new AssertionError("Beneficiary account not found in captured events"));
 
-            assertThat(originatorAccount.balance()).isEqualByComparingTo("4914.33200");
-            assertThat(beneficiaryAccount.balance()).isEqualByComparingTo("2600.00");
+            assertThat(originatorAccount.getBalance()).isEqualByComparingTo("4914.33");
+            assertThat(beneficiaryAccount.getBalance()).isEqualByComparingTo("2600.00");
 
             AccountEntity originatorEntity = accountService.findByOwnerId(originatorId).get();
             assertThat(originatorEntity.getBalance()).isEqualByComparingTo("4914.33");
+            assertThat(originatorAccount.getVersion()).isEqualTo(originatorEntity.getVersion());
 
             AccountEntity beneficiaryEntity = accountService.findByOwnerId(beneficiaryId).get();
             assertThat(beneficiaryEntity.getBalance()).isEqualByComparingTo("2600.00");
+            assertThat(beneficiaryAccount.getVersion()).isEqualTo(beneficiaryEntity.getVersion());
 
             Optional<TransferEntity> transferEntityOpt = transferService.getByTransferId(transferId);
             assertThat(transferEntityOpt).isPresent();
@@ -109,8 +117,10 @@ class RegistryControllerTest extends RegistryDistributedApplicationTest {
             assertThat(transferEntityOpt.get().getStatus()).isEqualTo(TransferStatus.SUCCESS);
             assertThat(transferEntityOpt.get().getProcessedAt()).isNotNull();
             assertThat(transferEntityOpt.get().getExchangeRate()).isEqualTo(new BigDecimal("0.8566800000"));
-            assertThat(transferEntityOpt.get().getDebit()).isEqualTo(new BigDecimal("85.6680"));
+            assertThat(transferEntityOpt.get().getDebit()).isEqualTo(new BigDecimal("85.6700"));
             assertThat(transferEntityOpt.get().getCredit()).isEqualTo(new BigDecimal("100.0000"));
+
+            verify(completionProducer).sendCompletion(argThat(transfer -> transfer instanceof SuccessfulTransfer && transfer.getTransferId().equals(transferId)));
         });
     }
 
@@ -131,6 +141,10 @@ class RegistryControllerTest extends RegistryDistributedApplicationTest {
 
             Optional<TransferEntity> transferEntityOpt = transferService.getByTransferId(transferId);
             assertFailedMessage(transferEntityOpt, transferId, createdAt, RegistryDomainErrorCode.ACCOUNT_NOT_FOUND);
+
+            verify(completionProducer).sendCompletion(argThat(transfer -> transfer instanceof FailedTransfer failed
+                    && failed.getTransferId().equals(transferId)
+                    && failed.getErrorCode() == RegistryDomainErrorCode.ACCOUNT_NOT_FOUND));
         });
     }
 
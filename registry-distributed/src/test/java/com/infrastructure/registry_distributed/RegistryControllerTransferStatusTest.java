@@ -0,0 +1,67 @@
+package com.infrastructure.registry_distributed;
+
+import com.domain.registry.exception.RegistryDomainErrorCode;
+import com.infrastructure.registry_distributed.api.dto.AccountDTO;
+import com.infrastructure.registry_distributed.api.dto.ErrorDTO;
+import com.infrastructure.registry_distributed.api.dto.TransferDTO;
+import com.infrastructure.registry_distributed.api.dto.TransferStatusDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@Sql("/test-db/simple-test-data.sql")
+class RegistryControllerTransferStatusTest extends RegistryDistributedApplicationTest {
+
+    private static final UUID SUCCESSFUL_TRANSFER_ID = UUID.fromString("a1b2c3d4-e5f6-7890-1234-567890abcdef");
+
+    private static final UUID FAILED_TRANSFER_ID = UUID.fromString("c3d4e5f6-a7b8-9012-3456-7890abcdef12");
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void getProcessedTransfer() {
+        ResponseEntity<TransferDTO> response = restTemplate.getForEntity("/transfer/{transferId}", TransferDTO.class, SUCCESSFUL_TRANSFER_ID);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        TransferDTO transfer = response.getBody();
+        assertThat(transfer.status()).isEqualTo(TransferStatusDTO.SUCCESS);
+        assertThat(transfer.originator()).isEqualTo(new AccountDTO(101L, "EUR"));
+        assertThat(transfer.beneficiary()).isEqualTo(new AccountDTO(102L, "USD"));
+        assertThat(transfer.credit()).isEqualByComparingTo("108.5");
+    }
+
+    @Test
+    void getUnknownTransfer() {
+        ResponseEntity<ErrorDTO> response = restTemplate.getForEntity("/transfer/{transferId}", ErrorDTO.class, UUID.randomUUID());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getErrorCode()).isEqualTo(RegistryDomainErrorCode.TRANSFER_NOT_FOUND.getValue());
+    }
+
+    @Test
+    void getTransfersInOneCall() {
+        List<UUID> transferIds = List.of(FAILED_TRANSFER_ID, UUID.randomUUID(), SUCCESSFUL_TRANSFER_ID);
+
+        ResponseEntity<TransferDTO[]> response = restTemplate.postForEntity("/transfers/status", transferIds, TransferDTO[].class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        TransferDTO[] transfers = response.getBody();
+        assertThat(transfers.length).isEqualTo(2);
+        assertThat(transfers[0].transferId()).isEqualTo(FAILED_TRANSFER_ID);
+        assertThat(transfers[0].status()).isEqualTo(TransferStatusDTO.FAILED);
+        assertThat(transfers[1].transferId()).isEqualTo(SUCCESSFUL_TRANSFER_ID);
+        assertThat(transfers[1].status()).isEqualTo(TransferStatusDTO.SUCCESS);
+    }
+}
@@ -0,0 +1,130 @@
+package com.infrastructure.registry_distributed.queue;
+
+import com.domain.registry.usecase.ProcessTransfer;
+import com.domain.registry.usecase.request.ProcessTransferRequest;
+import com.infrastructure.registry_distributed.configuration.RegistryQueues;
+import com.infrastructure.registry_distributed.configuration.RoutingMode;
+import com.infrastructure.registry_distributed.database.entity.TransferEntity;
+import com.infrastructure.registry_distributed.database.entity.TransferStatus;
+import com.infrastructure.registry_distributed.queue.message.TransferRequestMessage;
+import com.infrastructure.registry_distributed.usecase.registry.BatchProcessTransfer;
+import com.infrastructure.registry_distributed.usecase.registry.GetTransferUsecase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.MethodRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistrar;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchTransferRequestConsumerTest {
+
+    private final SimpleRabbitListenerContainerFactory containerFactory = new SimpleRabbitListenerContainerFactory();
+
+    private final BatchProcessTransfer batchProcessTransfer = Mockito.mock(BatchProcessTransfer.class);
+
+    private final TransferCompletionProducer transferCompletionProducer = Mockito.mock(TransferCompletionProducer.class);
+
+    private final GetTransferUsecase getTransferUsecase = Mockito.mock(GetTransferUsecase.class);
+
+    @Test
+    void registerAContainerPerPartition() {
+        RabbitListenerEndpointRegistrar registrar = Mockito.mock(RabbitListenerEndpointRegistrar.class);
+
+        consumer(new RegistryQueues(RoutingMode.PARTITIONED, 3, "registry.queue", "registry.key")).configureRabbitListeners(registrar);
+
+        ArgumentCaptor<RabbitListenerEndpoint> endpoints = ArgumentCaptor.forClass(RabbitListenerEndpoint.class);
+        verify(registrar, times(3)).registerEndpoint(endpoints.capture(), same(containerFactory));
+        assertThat(endpoints.getAllValues())
+                .map(MethodRabbitListenerEndpoint.class::cast)
+                .allSatisfy(endpoint -> {
+                    assertThat(endpoint.getConcurrency()).isEqualTo("1");
+                    assertThat(endpoint.getBatchListener()).isTrue();
+                    assertThat(endpoint.getMethod().getName()).isEqualTo("handleMessages");
+                })
+                .flatMap(MethodRabbitListenerEndpoint::getQueueNames)
+                .containsExactly("registry.queue.0", "registry.queue.1", "registry.queue.2");
+    }
+
+    @Test
+    void registerASingleContainerForTheSingleQueue() {
+        RabbitListenerEndpointRegistrar registrar = Mockito.mock(RabbitListenerEndpointRegistrar.class);
+
+        consumer(new RegistryQueues(RoutingMode.SINGLE, 3, "registry.queue", "registry.key")).configureRabbitListeners(registrar);
+
+        ArgumentCaptor<RabbitListenerEndpoint> endpoint = ArgumentCaptor.forClass(RabbitListenerEndpoint.class);
+        verify(registrar).registerEndpoint(endpoint.capture(), same(containerFactory));
+        MethodRabbitListenerEndpoint registered = (MethodRabbitListenerEndpoint) endpoint.getValue();
+        assertThat(registered.getQueueNames()).containsExactly("registry.queue");
+        // Left to the factory, which takes rabbitmq-config.registry-distributed.consumer.concurrency
+        assertThat(registered.getConcurrency()).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void acknowledgeADeliveredAgainTransferWithItsStoredOutcome() {
+        Message<TransferRequestMessage> processed = message(UUID.randomUUID());
+        Message<TransferRequestMessage> fresh = message(UUID.randomUUID());
+        TransferEntity stored = TransferEntity.builder()
+                .transferId(processed.getPayload().transferId())
+                .status(TransferStatus.FAILED)
+                .build();
+        when(getTransferUsecase.executeAll(anyList())).thenReturn(Map.of(stored.getTransferId(), stored));
+        when(batchProcessTransfer.executeAll(anyList())).thenReturn(List.of());
+
+        consumer(new RegistryQueues(RoutingMode.SINGLE, 1, "registry.queue", "registry.key")).handleMessages(List.of(processed, fresh));
+
+        // Answered from the stored row, only the other transfer is processed
+        verify(transferCompletionProducer).sendReply("reply.queue", stored);
+        ArgumentCaptor<List<ProcessTransferRequest>> requests = ArgumentCaptor.forClass(List.class);
+        verify(batchProcessTransfer).executeAll(requests.capture());
+        assertThat(requests.getValue()).extracting(ProcessTransferRequest::transferId).containsExactly(fresh.getPayload().transferId());
+    }
+
+    @Test
+    void processNothingWhenEveryTransferAlreadyHasAnOutcome() {
+        Message<TransferRequestMessage> processed = message(UUID.randomUUID());
+        TransferEntity stored = TransferEntity.builder()
+                .transferId(processed.getPayload().transferId())
+                .status(TransferStatus.SUCCESS)
+                .build();
+        when(getTransferUsecase.executeAll(anyList())).thenReturn(Map.of(stored.getTransferId(), stored));
+
+        consumer(new RegistryQueues(RoutingMode.SINGLE, 1, "registry.queue", "registry.key")).handleMessages(List.of(processed));
+
+        verify(transferCompletionProducer).sendReply(eq("reply.queue"), same(stored));
+        verify(batchProcessTransfer, Mockito.never()).executeAll(any());
+    }
+
+    private BatchTransferRequestConsumer consumer(RegistryQueues registryQueues) {
+        return new BatchTransferRequestConsumer(batchProcessTransfer, Mockito.mock(ProcessTransfer.class),
+                Mockito.mock(RabbitTemplate.class), transferCompletionProducer, getTransferUsecase, registryQueues,
+                new SimpleMeterRegistry(), "registry.dlx", containerFactory);
+    }
+
+    private static Message<TransferRequestMessage> message(UUID transferId) {
+        return MessageBuilder.withPayload(new TransferRequestMessage(transferId, OffsetDateTime.now(), 101L, 102L, new BigDecimal("10")))
+                .setHeader(AmqpHeaders.REPLY_TO, "reply.queue")
+                .build();
+    }
+}
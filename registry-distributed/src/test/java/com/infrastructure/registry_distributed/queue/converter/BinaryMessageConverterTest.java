@@ -0,0 +1,84 @@
+package com.infrastructure.registry_distributed.queue.converter;
+
+import com.infrastructure.messaging.converter.BinaryMessageConverter;
+import com.infrastructure.registry_distributed.queue.message.AccountUpdateMessage;
+import com.infrastructure.registry_distributed.queue.message.TransferRequestMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+class BinaryMessageConverterTest {
+
+    private static final OffsetDateTime TIMESTAMP = OffsetDateTime.of(2025, 3, 14, 9, 26, 53, 589_793_000, ZoneOffset.UTC);
+
+    private final BinaryMessageConverter converter = new BinaryMessageConverter(new Jackson2JsonMessageConverter(), true,
+            List.of(new TransferRequestMessageCodec(), new AccountUpdateMessageCodec()));
+
+    @Test
+    void encodeAndDecodeTransferRequest() {
+        TransferRequestMessage message = new TransferRequestMessage(UUID.randomUUID(), TIMESTAMP, 101L, 102L, new BigDecimal("100.25"));
+
+        Message encoded = converter.toMessage(message, new MessageProperties());
+
+        assertThat(encoded.getMessageProperties().getContentType()).isEqualTo(BinaryMessageConverter.CONTENT_TYPE);
+        assertThat(encoded.getBody().length).isEqualTo(67);
+        assertThat(converter.fromMessage(encoded)).isEqualTo(message);
+    }
+
+    @Test
+    void encodeAndDecodeAccountUpdate() {
+        AccountUpdateMessage message = new AccountUpdateMessage(101L, new BigDecimal("4914.3300"), 7L, TIMESTAMP);
+
+        Message encoded = converter.toMessage(message, new MessageProperties());
+
+        assertThat(encoded.getBody().length).isEqualTo(35);
+        assertThat(converter.fromMessage(encoded)).isEqualTo(message);
+    }
+
+    @Test
+    void timestampsAreNormalizedToUtcMicroseconds() {
+        OffsetDateTime createdAt = OffsetDateTime.of(2025, 3, 14, 10, 26, 53, 589_793_238, ZoneOffset.ofHours(1));
+        TransferRequestMessage message = new TransferRequestMessage(UUID.randomUUID(), createdAt, 101L, 102L, BigDecimal.TEN);
+
+        TransferRequestMessage decoded = (TransferRequestMessage) converter.fromMessage(converter.toMessage(message, new MessageProperties()));
+
+        assertThat(decoded.createdAt()).isEqualTo(TIMESTAMP);
+    }
+
+    @Test
+    void readJsonMessages() {
+        AccountUpdateMessage message = new AccountUpdateMessage(101L, new BigDecimal("10.00"), 1L, TIMESTAMP);
+        Message json = new Jackson2JsonMessageConverter().toMessage(message, new MessageProperties());
+
+        assertThat(converter.fromMessage(json)).isEqualTo(message);
+    }
+
+    @Test
+    void sendJsonUntilEncodingIsSwitched() {
+        BinaryMessageConverter jsonOnly = new BinaryMessageConverter(new Jackson2JsonMessageConverter(), false, List.of(new AccountUpdateMessageCodec()));
+
+        Message encoded = jsonOnly.toMessage(new AccountUpdateMessage(101L, BigDecimal.ONE, 1L, TIMESTAMP), new MessageProperties());
+
+        assertThat(encoded.getMessageProperties().getContentType()).isEqualTo(MessageProperties.CONTENT_TYPE_JSON);
+    }
+
+    @Test
+    void rejectUnknownMessageType() {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(BinaryMessageConverter.CONTENT_TYPE);
+
+        assertThatThrownBy(() -> converter.fromMessage(new Message(new byte[]{9, 1}, properties)))
+                .isInstanceOf(MessageConversionException.class);
+    }
+}
@@ -0,0 +1,90 @@
+package com.infrastructure.registry_distributed.queue.converter;
+
+import com.infrastructure.messaging.converter.BinaryMessageConverter;
+import com.infrastructure.registry_distributed.queue.message.AccountUpdateMessage;
+import com.infrastructure.registry_distributed.queue.message.TransferRequestMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+// Encode and decode cost and payload size of both codecs, reported in the test log. Timings are indicative only, the
+// assertions are on the payload sizes
+@Slf4j
+class MessageConverterBenchmarkTest {
+
+    private static final int WARMUP = 20_000;
+
+    private static final int ITERATIONS = 100_000;
+
+    private final MessageConverter json = new Jackson2JsonMessageConverter();
+
+    private final MessageConverter binary = new BinaryMessageConverter(new Jackson2JsonMessageConverter(), true,
+            List.of(new TransferRequestMessageCodec(), new AccountUpdateMessageCodec()));
+
+    @Test
+    void compareTransferRequestCodecs() {
+        TransferRequestMessage message = new TransferRequestMessage(UUID.randomUUID(), OffsetDateTime.now(), 101L, 102L, new BigDecimal("100.25"));
+
+        Result jsonResult = measure(json, message);
+        Result binaryResult = measure(binary, message);
+        report("TransferRequestMessage", jsonResult, binaryResult);
+
+        assertThat(binaryResult.bytes()).isLessThan(jsonResult.bytes() / 2);
+    }
+
+    @Test
+    void compareAccountUpdateCodecs() {
+        AccountUpdateMessage message = new AccountUpdateMessage(101L, new BigDecimal("4914.3300"), 7L, OffsetDateTime.now());
+
+        Result jsonResult = measure(json, message);
+        Result binaryResult = measure(binary, message);
+        report("AccountUpdateMessage", jsonResult, binaryResult);
+
+        assertThat(binaryResult.bytes()).isLessThan(jsonResult.bytes() / 2);
+    }
+
+    private Result measure(MessageConverter converter, Object message) {
+        Message encoded = converter.toMessage(message, new MessageProperties());
+        // The listener adapter sets the inferred type, JSON needs it to pick the record
+        encoded.getMessageProperties().setInferredArgumentType(message.getClass());
+
+        for (int i = 0; i < WARMUP; i++) {
+            converter.fromMessage(converter.toMessage(message, new MessageProperties()));
+        }
+
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += converter.toMessage(message, new MessageProperties()).getBody().length;
+        }
+        long encodeNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += converter.fromMessage(encoded).hashCode();
+        }
+        long decodeNanos = System.nanoTime() - start;
+
+        assertThat(sink).isNotZero();
+        return new Result(encoded.getBody().length, encodeNanos / (double) ITERATIONS, decodeNanos / (double) ITERATIONS);
+    }
+
+    private void report(String type, Result json, Result binary) {
+        log.info("{}: JSON {} bytes, encode {} ns, decode {} ns / binary {} bytes, encode {} ns, decode {} ns",
+                type, json.bytes(), String.format("%.0f", json.encodeNanos()), String.format("%.0f", json.decodeNanos()),
+                binary.bytes(), String.format("%.0f", binary.encodeNanos()), String.format("%.0f", binary.decodeNanos()));
+    }
+
+    private record Result(int bytes, double encodeNanos, double decodeNanos) {
+    }
+}
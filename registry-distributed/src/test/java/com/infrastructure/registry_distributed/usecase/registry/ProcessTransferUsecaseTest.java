@@ -0,0 +1,113 @@
+package com.infrastructure.registry_distributed.usecase.registry;
+
+import com.domain.registry.model.FailedTransfer;
+import com.domain.registry.usecase.FailTransfer;
+import com.domain.registry.usecase.ValidateTransfer;
+import com.domain.registry.usecase.request.ProcessTransferRequest;
+import com.infrastructure.registry_distributed.database.repository.AccountService;
+import com.infrastructure.registry_distributed.database.repository.TransferService;
+import com.infrastructure.registry_distributed.queue.AccountUpdateProducer;
+import com.infrastructure.registry_distributed.queue.TransferCompletionProducer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProcessTransferUsecaseTest {
+
+    private final AccountService accountService = Mockito.mock(AccountService.class);
+
+    private final FailTransfer failTransfer = Mockito.spy(new FailTransfer() { });
+
+    private final ProcessTransferUsecase usecase = new ProcessTransferUsecase(Mockito.mock(ValidateTransfer.class),
+            failTransfer, accountService, Mockito.mock(TransferService.class), new SimpleMeterRegistry(),
+            Mockito.mock(AccountUpdateProducer.class), Mockito.mock(TransferCompletionProducer.class));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void requeueTransferWhenTheLockTimesOut() {
+        ReflectionTestUtils.setField(usecase, "lockMode", LockMode.ORDERED);
+        when(accountService.findAllByOwnerIdForUpdate(any())).thenThrow(new CannotAcquireLockException("canceling statement due to lock timeout"));
+
+        // Not dead lettered like invalid data: the listener puts the message back on its queue
+        assertThatThrownBy(() -> usecase.execute(request(1L, 2L)))
+                .isInstanceOf(ImmediateRequeueAmqpException.class)
+                .hasCauseInstanceOf(CannotAcquireLockException.class);
+    }
+
+    @Test
+    void requeueAFailedTransferAlreadyRecordedByAnotherDelivery() {
+        ReflectionTestUtils.setField(usecase, "lockMode", LockMode.ORDERED);
+        when(accountService.findAllByOwnerIdForUpdate(any())).thenReturn(List.of());
+        Mockito.doThrow(new DataIntegrityViolationException("duplicate key", new SQLException("duplicate key value", "23505")))
+                .when(failTransfer).execute(any());
+
+        // Not dead lettered: delivered again, the consumer answers it with the FAILED row already stored
+        assertThatThrownBy(() -> usecase.execute(request(1L, 2L)))
+                .isInstanceOf(ImmediateRequeueAmqpException.class)
+                .hasCauseInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void rejectAFailedTransferThatCannotBeRecorded() {
+        ReflectionTestUtils.setField(usecase, "lockMode", LockMode.ORDERED);
+        when(accountService.findAllByOwnerIdForUpdate(any())).thenReturn(List.of());
+        Mockito.doThrow(new DataIntegrityViolationException("not null", new SQLException("null value", "23502")))
+                .when(failTransfer).execute(any());
+
+        assertThatThrownBy(() -> usecase.execute(request(1L, 2L)))
+                .isInstanceOf(AmqpRejectAndDontRequeueException.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void lockEveryAccountOfABatchInOwnerOrder() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(accountService.findAllByOwnerIdForUpdate(any())).thenReturn(List.of());
+
+        // Accounts are missing, every transfer fails, but the lock statement has already been issued
+        assertThat(usecase.executeAll(List.of(request(5L, 1L), request(3L, 2L), request(2L, 5L))))
+                .allMatch(FailedTransfer.class::isInstance);
+
+        ArgumentCaptor<Collection<Long>> ownerIds = ArgumentCaptor.forClass(Collection.class);
+        verify(accountService).findAllByOwnerIdForUpdate(ownerIds.capture());
+        assertThat(new ArrayList<>(ownerIds.getValue())).containsExactly(1L, 2L, 3L, 5L);
+    }
+
+    private static ProcessTransferRequest request(Long originatorId, Long beneficiaryId) {
+        return ProcessTransferRequest.builder()
+                .transferId(UUID.randomUUID())
+                .createdAt(OffsetDateTime.now())
+                .originatorId(originatorId)
+                .beneficiaryId(beneficiaryId)
+                .amount(new BigDecimal("10"))
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package com.infrastructure.registry_distributed.usecase.registry.adapter;
+
+import com.domain.registry.model.Currency;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExchangeRateMatrixTest {
+
+    private final ExchangeRateMatrix matrix = ExchangeRateMatrix.from(Currency.USD, Map.of(
+            "EUR", new BigDecimal("0.85668"),
+            "JPY", new BigDecimal("147.25"),
+            "GBP", new BigDecimal("0.74")));
+
+    @Test
+    void serveRatesQuotedAgainstThePivotAsReturned() {
+        assertThat(matrix.get(Currency.EUR, Currency.USD)).contains(new BigDecimal("0.85668"));
+        assertThat(matrix.get(Currency.JPY, Currency.USD)).contains(new BigDecimal("147.25"));
+    }
+
+    @Test
+    void deriveCrossRatesThroughThePivot() {
+        assertThat(matrix.get(Currency.JPY, Currency.EUR)).contains(new BigDecimal("171.8844842882"));
+        assertThat(matrix.get(Currency.USD, Currency.EUR)).contains(new BigDecimal("1.1672970071"));
+        assertThat(matrix.get(Currency.EUR, Currency.GBP)).contains(new BigDecimal("1.1576756757"));
+    }
+
+    @Test
+    void serveOneBetweenTheSameCurrency() {
+        assertThat(matrix.get(Currency.CHF, Currency.CHF)).contains(BigDecimal.ONE);
+        assertThat(ExchangeRateMatrix.EMPTY.get(Currency.CHF, Currency.CHF)).isEmpty();
+    }
+
+    @Test
+    void leaveOutPairsWithoutARate() {
+        assertThat(matrix.get(Currency.CHF, Currency.USD)).isEmpty();
+        assertThat(matrix.get(Currency.EUR, Currency.CHF)).isEmpty();
+        assertThat(ExchangeRateMatrix.from(Currency.USD, Map.of("EUR", BigDecimal.ZERO)).get(Currency.USD, Currency.EUR)).isEmpty();
+        assertThat(ExchangeRateMatrix.EMPTY.get(Currency.EUR, Currency.USD)).isEmpty();
+    }
+
+    @Test
+    void leaveOutRatesTooLargeForTheScaledLong() {
+        ExchangeRateMatrix extreme = ExchangeRateMatrix.from(Currency.USD, Map.of("EUR", new BigDecimal("1000000000"), "GBP", new BigDecimal("0.0000001")));
+
+        assertThat(extreme.get(Currency.EUR, Currency.USD)).isEmpty();
+        assertThat(extreme.get(Currency.EUR, Currency.GBP)).isEmpty();
+    }
+}
@@ -0,0 +1,83 @@
+package com.infrastructure.registry_distributed.usecase.registry.adapter;
+
+import com.domain.registry.model.Currency;
+import com.infrastructure.registry_distributed.external.ExchangeRateService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RegistryAdapterTest {
+
+    private static final Map<String, BigDecimal> USD_RATES = Map.of("EUR", new BigDecimal("0.85668"));
+
+    private final AtomicLong now = new AtomicLong();
+
+    private ExchangeRateService exchangeRateService;
+
+    private RegistryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        exchangeRateService = Mockito.mock(ExchangeRateService.class);
+        adapter = new RegistryAdapter(exchangeRateService, Currency.USD, Duration.ofSeconds(30), now::get);
+    }
+
+    @Test
+    void loadTheMatrixOnceForEveryLookup() {
+        when(exchangeRateService.getLatestRates("USD")).thenReturn(Optional.of(USD_RATES));
+
+        assertThat(adapter.getExchangeRate(Currency.EUR, Currency.USD)).contains(new BigDecimal("0.85668"));
+        assertThat(adapter.getExchangeRate(Currency.USD, Currency.EUR)).contains(new BigDecimal("1.1672970071"));
+
+        verify(exchangeRateService, times(1)).getLatestRates("USD");
+    }
+
+    @Test
+    void backOffAfterAFailedLoad() {
+        when(exchangeRateService.getLatestRates("USD")).thenReturn(Optional.empty());
+
+        assertThat(adapter.getExchangeRate(Currency.EUR, Currency.USD)).isEmpty();
+        now.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertThat(adapter.getExchangeRate(Currency.EUR, Currency.USD)).isEmpty();
+        verify(exchangeRateService, times(1)).getLatestRates("USD");
+
+        // Loaded again once the backoff is over
+        when(exchangeRateService.getLatestRates("USD")).thenReturn(Optional.of(USD_RATES));
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(adapter.getExchangeRate(Currency.EUR, Currency.USD)).contains(new BigDecimal("0.85668"));
+        verify(exchangeRateService, times(2)).getLatestRates("USD");
+    }
+
+    @Test
+    void keepServingThePreviousMatrixWhenARefreshFails() {
+        when(exchangeRateService.getLatestRates("USD")).thenReturn(Optional.of(USD_RATES));
+        adapter.refresh();
+
+        when(exchangeRateService.getLatestRates("USD")).thenReturn(Optional.empty());
+        adapter.refresh();
+
+        assertThat(adapter.getExchangeRate(Currency.EUR, Currency.USD)).contains(new BigDecimal("0.85668"));
+    }
+
+    @Test
+    void publishTheRefreshedRates() {
+        when(exchangeRateService.getLatestRates("USD")).thenReturn(Optional.of(USD_RATES));
+        adapter.refresh();
+
+        when(exchangeRateService.getLatestRates("USD")).thenReturn(Optional.of(Map.of("EUR", new BigDecimal("0.9"))));
+        adapter.refresh();
+
+        assertThat(adapter.getExchangeRate(Currency.EUR, Currency.USD)).contains(new BigDecimal("0.9"));
+    }
+}
@@ -18,6 +18,7 @@ public enum RegistryDomainErrorCode {
     INVALID_EXCHANGE_RATE("Invalid exchange rate"),
     INVALID_TRANSFER("Transfer is invalid"),
     INVALID_CURRENCY("Invalid currency"),
+    INVALID_BALANCE("Invalid balance"),
 
     EXCHANGE_RATE_NEGATIVE("Exchange rate is negative"),
     UNEXPECTED_ERROR("Unexpected error");
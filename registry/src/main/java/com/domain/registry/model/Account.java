@@ -4,16 +4,14 @@ import com.domain.registry.exception.RegistryDomainErrorCode;
 import com.domain.registry.exception.RegistryDomainException;
 import lombok.Builder;
 
-import java.math.BigDecimal;
-
 @Builder
-public record Account(Long ownerId, Currency currency, BigDecimal balance) {
+public record Account(Long ownerId, Currency currency, Money balance) {
 
-    public boolean hasFund(BigDecimal amount) {
+    public boolean hasFund(Money amount) {
         return balance.compareTo(amount) >= 0;
     }
 
-    public Account debit(BigDecimal amount) {
+    public Account debit(Money amount) {
         if (!hasFund(amount)) {
             throw new RegistryDomainException(RegistryDomainErrorCode.INSUFFICIENT_BALANCE, "Insufficient funds for debit operation.");
         }
@@ -21,15 +19,15 @@ public record Account(Long ownerId, Currency currency, BigDecimal balance) {
         return Account.builder()
                 .ownerId(ownerId)
                 .currency(currency)
-                .balance(balance.subtract(amount))
+                .balance(balance.minus(amount))
                 .build();
     }
 
-    public Account credit(BigDecimal amount) {
+    public Account credit(Money amount) {
         return Account.builder()
                 .ownerId(ownerId)
                 .currency(currency)
-                .balance(balance.add(amount))
+                .balance(balance.plus(amount))
                 .build();
     }
 }
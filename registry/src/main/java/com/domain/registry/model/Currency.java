@@ -10,40 +10,43 @@ import java.util.stream.Stream;
 @RequiredArgsConstructor
 public enum Currency {
 
-    AUD("AUD"),
-    BGN("BGN"),
-    BRL("BRL"),
-    CAD("CAD"),
-    CHF("CHF"),
-    CNY("CNY"),
-    CZK("CZK"),
-    DKK("DKK"),
-    EUR("EUR"),
-    GBP("GBP"),
-    HKD("HKD"),
-    HUF("HUF"),
-    IDR("IDR"),
-    ILS("ILS"),
-    INR("INR"),
-    ISK("ISK"),
-    JPY("JPY"),
-    KRW("KRW"),
-    MXN("MXN"),
-    MYR("MYR"),
-    NOK("NOK"),
-    NZD("NZD"),
-    PHP("PHP"),
-    PLN("PLN"),
-    RON("RON"),
-    SEK("SEK"),
-    SGD("SGD"),
-    THB("THB"),
-    TRY("TRY"),
-    USD("USD"),
-    ZAR("ZAR");
+    AUD("AUD", 2),
+    BGN("BGN", 2),
+    BRL("BRL", 2),
+    CAD("CAD", 2),
+    CHF("CHF", 2),
+    CNY("CNY", 2),
+    CZK("CZK", 2),
+    DKK("DKK", 2),
+    EUR("EUR", 2),
+    GBP("GBP", 2),
+    HKD("HKD", 2),
+    HUF("HUF", 2),
+    IDR("IDR", 2),
+    ILS("ILS", 2),
+    INR("INR", 2),
+    ISK("ISK", 0),
+    JPY("JPY", 0),
+    KRW("KRW", 0),
+    MXN("MXN", 2),
+    MYR("MYR", 2),
+    NOK("NOK", 2),
+    NZD("NZD", 2),
+    PHP("PHP", 2),
+    PLN("PLN", 2),
+    RON("RON", 2),
+    SEK("SEK", 2),
+    SGD("SGD", 2),
+    THB("THB", 2),
+    TRY("TRY", 2),
+    USD("USD", 2),
+    ZAR("ZAR", 2);
 
     private final String value;
 
+    // Number of decimal digits of the minor unit
+    private final int exponent;
+
     public static Currency fromValue(String value) {
         return Stream.of(Currency.values())
                 .filter(c -> c.getValue().equalsIgnoreCase(value))
@@ -0,0 +1,102 @@
+package com.domain.registry.model;
+
+import com.domain.registry.exception.RegistryDomainErrorCode;
+import com.domain.registry.exception.RegistryDomainException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Amount held as a whole number of minor units of its currency, so balances add and subtract without allocating
+// and every conversion is rounded once to the precision of the target currency.
+public record Money(long minorUnits, Currency currency) implements Comparable<Money> {
+
+    public static final RoundingMode ROUNDING = RoundingMode.HALF_EVEN;
+
+    public Money {
+        if (currency == null) {
+            throw new RegistryDomainException(RegistryDomainErrorCode.INVALID_CURRENCY, "Money requires a currency.");
+        }
+    }
+
+    public static Money of(BigDecimal amount, Currency currency) {
+        if (amount == null || currency == null) {
+            throw new RegistryDomainException(RegistryDomainErrorCode.INVALID_TRANSFER, "Money requires an amount and a currency.");
+        }
+
+        try {
+            return new Money(amount.setScale(currency.getExponent(), ROUNDING).unscaledValue().longValueExact(), currency);
+        } catch (ArithmeticException e) {
+            throw new RegistryDomainException(RegistryDomainErrorCode.INVALID_TRANSFER, String.format("Amount %s %s is out of range.", amount, currency));
+        }
+    }
+
+    // For stored balances: they must already be at the precision of their currency, rounding them would silently move
+    // money. Legacy balances with digits below it are rejected until they are migrated
+    public static Money exact(BigDecimal amount, Currency currency) {
+        Money money = of(amount, currency);
+        if (money.toBigDecimal().compareTo(amount) != 0) {
+            throw new RegistryDomainException(RegistryDomainErrorCode.INVALID_BALANCE, String.format("Balance %s %s has more decimals than the currency allows.", amount.toPlainString(), currency));
+        }
+        return money;
+    }
+
+    public static Money zero(Currency currency) {
+        return new Money(0, currency);
+    }
+
+    public Money plus(Money other) {
+        verifySameCurrency(other);
+        try {
+            return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+        } catch (ArithmeticException e) {
+            throw outOfRange();
+        }
+    }
+
+    public Money minus(Money other) {
+        verifySameCurrency(other);
+        try {
+            return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+        } catch (ArithmeticException e) {
+            throw outOfRange();
+        }
+    }
+
+    // Rate is the amount of the target currency per unit of this one
+    public Money convert(BigDecimal rate, Currency target) {
+        if (target == currency && rate.compareTo(BigDecimal.ONE) == 0) {
+            return this;
+        }
+
+        return of(toBigDecimal().multiply(rate), target);
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, currency.getExponent());
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        verifySameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency;
+    }
+
+    private void verifySameCurrency(Money other) {
+        if (other.currency != currency) {
+            throw new RegistryDomainException(RegistryDomainErrorCode.INVALID_CURRENCY, String.format("Cannot combine %s with %s.", currency, other.currency));
+        }
+    }
+
+    private RegistryDomainException outOfRange() {
+        return new RegistryDomainException(RegistryDomainErrorCode.INVALID_TRANSFER, String.format("Amount in %s is out of range.", currency));
+    }
+}
@@ -13,7 +13,7 @@ import java.util.UUID;
 @ToString(callSuper = true)
 public final class SuccessfulTransfer extends Transfer {
 
-    private final BigDecimal transferAmount;
+    private final Money transferAmount;
 
     private final Account originator;
 
@@ -23,11 +23,11 @@ public final class SuccessfulTransfer extends Transfer {
 
     private final BigDecimal exchangeRate;
 
-    private final BigDecimal debit;
+    private final Money debit;
 
-    private final BigDecimal credit;
+    private final Money credit;
 
-    public SuccessfulTransfer(UUID transferId, OffsetDateTime createdAt, BigDecimal transferAmount, Account originator, Account beneficiary, OffsetDateTime processedAt, BigDecimal exchangeRate, BigDecimal debit, BigDecimal credit) {
+    public SuccessfulTransfer(UUID transferId, OffsetDateTime createdAt, Money transferAmount, Account originator, Account beneficiary, OffsetDateTime processedAt, BigDecimal exchangeRate, Money debit, Money credit) {
         super(transferId, createdAt);
 
         verifyNotIncomplete(transferAmount, originator, beneficiary, processedAt, exchangeRate, debit, credit);
@@ -45,20 +45,20 @@ public final class SuccessfulTransfer extends Transfer {
         this.credit = credit;
     }
 
-    private void varifyNotZeroOrNegativeAmount(BigDecimal transferAmount) {
-        if (transferAmount.compareTo(BigDecimal.ZERO) <= 0) {
+    private void varifyNotZeroOrNegativeAmount(Money transferAmount) {
+        if (!transferAmount.isPositive()) {
             throw new RegistryDomainException(RegistryDomainErrorCode.NEGATIVE_AMOUNT, "Transfer amount must be greater than zero.");
         }
     }
 
-    private void verifyNotZeroOrNegativeDebit(BigDecimal debit) {
-        if (debit.compareTo(BigDecimal.ZERO) <= 0) {
+    private void verifyNotZeroOrNegativeDebit(Money debit) {
+        if (!debit.isPositive()) {
             throw new RegistryDomainException(RegistryDomainErrorCode.NEGATIVE_AMOUNT, "Debit amount must be greater than zero.");
         }
     }
 
-    private void verifyNotZeroOrNegativeCredit(BigDecimal credit) {
-        if (credit.compareTo(BigDecimal.ZERO) <= 0) {
+    private void verifyNotZeroOrNegativeCredit(Money credit) {
+        if (!credit.isPositive()) {
             throw new RegistryDomainException(RegistryDomainErrorCode.NEGATIVE_AMOUNT, "Debit amount must be greater than zero.");
         }
     }
@@ -69,7 +69,7 @@ public final class SuccessfulTransfer extends Transfer {
         }
     }
 
-    private void verifyNotIncomplete(BigDecimal transferAmount, Account originator, Account beneficiary, OffsetDateTime processedAt, BigDecimal exchangeRate, BigDecimal debit, BigDecimal credit) {
+    private void verifyNotIncomplete(Money transferAmount, Account originator, Account beneficiary, OffsetDateTime processedAt, BigDecimal exchangeRate, Money debit, Money credit) {
         if (transferAmount == null ||
             originator == null ||
             beneficiary == null ||
@@ -13,6 +13,12 @@ public abstract class FailTransfer implements Usecase<FailedTransfer, FailTransf
 
     @Override
     public FailedTransfer execute(FailTransferRequest request) {
+        return failedTransfer(request);
+    }
+
+    // Only the domain outcome, without what an implementation adds to execute, for batches that store their failed
+    // transfers along with the rest of the batch
+    public FailedTransfer failedTransfer(FailTransferRequest request) {
         // Could have more complex logic to handle failed transfer
         return new FailedTransfer(request.transferId(), OffsetDateTime.now(), OffsetDateTime.now(), request.errorCode());
     }
@@ -3,6 +3,7 @@ package com.domain.registry.usecase;
 import com.domain.registry.exception.RegistryDomainErrorCode;
 import com.domain.registry.exception.RegistryDomainException;
 import com.domain.registry.model.Account;
+import com.domain.registry.model.Money;
 import com.domain.registry.model.SuccessfulTransfer;
 import com.domain.registry.port.RegistryPort;
 import com.domain.registry.usecase.request.ValidateTransferRequest;
@@ -35,15 +36,16 @@ public abstract class ValidateTransfer implements Usecase<SuccessfulTransfer, Va
             throw new RegistryDomainException(RegistryDomainErrorCode.INVALID_TRANSFER, "Transfer is not processable due to missing fields.");
         }
 
-        BigDecimal debit = request.amount().multiply(exchangeRate);
-        BigDecimal credit = request.amount();
+        // The amount is expressed in the beneficiary currency, the debit is rounded once into the originator one
+        Money credit = Money.of(request.amount(), beneficiary.currency());
+        Money debit = credit.convert(exchangeRate, originator.currency());
 
         // Update account balance
         Account updatedOriginator = originator.debit(debit);
         Account updatedBeneficiary = beneficiary.credit(credit);
 
         // Create successful transfer
-        return new SuccessfulTransfer(request.transferId(), request.createdAt(), request.amount(),
+        return new SuccessfulTransfer(request.transferId(), request.createdAt(), credit,
                 updatedOriginator, updatedBeneficiary, OffsetDateTime.now(), exchangeRate, debit, credit);
     }
 }
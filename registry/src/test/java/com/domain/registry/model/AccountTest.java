@@ -12,43 +12,43 @@ class AccountTest {
 
     @Test
     void shouldCreateAccountWithInitialBalance() {
-        Account account = new Account(1L, Currency.EUR, new BigDecimal("100.0"));
+        Account account = new Account(1L, Currency.EUR, eur("100.0"));
         assertEquals(1L, account.ownerId());
         assertEquals(Currency.EUR, account.currency());
-        assertEquals(new BigDecimal("100.0"), account.balance());
+        assertEquals(eur("100.00"), account.balance());
     }
 
     @Test
     void hasFundShouldReturnTrueWhenBalanceIsGreater() {
-        Account account = new Account(1L, Currency.USD, new BigDecimal("100.0"));
-        assertTrue(account.hasFund(new BigDecimal("50.0")));
+        Account account = new Account(1L, Currency.USD, usd("100.0"));
+        assertTrue(account.hasFund(usd("50.0")));
     }
 
     @Test
     void hasFundShouldReturnTrueWhenBalanceIsEqual() {
-        Account account = new Account(1L, Currency.USD, new BigDecimal("100.0"));
-        assertTrue(account.hasFund(new BigDecimal("100.0")));
+        Account account = new Account(1L, Currency.USD, usd("100.0"));
+        assertTrue(account.hasFund(usd("100.0")));
     }
 
     @Test
     void hasFundShouldReturnFalseWhenBalanceIsLower() {
-        Account account = new Account(1L, Currency.USD, new BigDecimal("100.0"));
-        assertFalse(account.hasFund(new BigDecimal("150.0")));
+        Account account = new Account(1L, Currency.USD, usd("100.0"));
+        assertFalse(account.hasFund(usd("150.0")));
     }
 
     @Test
     void debitShouldReturnNewAccountWithDecreasedBalance() {
-        Account originalAccount = new Account(1L, Currency.USD, new BigDecimal("200.50"));
-        BigDecimal amountToDebit = new BigDecimal("50.25");
+        Account originalAccount = new Account(1L, Currency.USD, usd("200.50"));
+        Money amountToDebit = usd("50.25");
         Account newAccount = originalAccount.debit(amountToDebit);
-        assertEquals(new BigDecimal("150.25"), newAccount.balance());
-        assertEquals(new BigDecimal("200.50"), originalAccount.balance());
+        assertEquals(usd("150.25"), newAccount.balance());
+        assertEquals(usd("200.50"), originalAccount.balance());
     }
 
     @Test
     void debitShouldThrowException_whenInsufficientFunds() {
-        Account account = new Account(1L, Currency.USD, new BigDecimal("100.0"));
-        BigDecimal amountToDebit = new BigDecimal("150.0");
+        Account account = new Account(1L, Currency.USD, usd("100.0"));
+        Money amountToDebit = usd("150.0");
 
         RegistryDomainException exception = assertThrows(RegistryDomainException.class, () -> account.debit(amountToDebit));
         assertEquals(RegistryDomainErrorCode.INSUFFICIENT_BALANCE, exception.getErrorCode());
@@ -57,10 +57,26 @@ class AccountTest {
 
     @Test
     void creditShouldReturnNewAccountWithIncreasedBalance() {
-        Account originalAccount = new Account(1L, Currency.EUR, new BigDecimal("100.0"));
-        BigDecimal amountToCredit = new BigDecimal("50.0");
+        Account originalAccount = new Account(1L, Currency.EUR, eur("100.0"));
+        Money amountToCredit = eur("50.0");
         Account newAccount = originalAccount.credit(amountToCredit);
-        assertEquals(new BigDecimal("150.0"), newAccount.balance());
-        assertEquals(new BigDecimal("100.0"), originalAccount.balance());
+        assertEquals(eur("150.0"), newAccount.balance());
+        assertEquals(eur("100.0"), originalAccount.balance());
+    }
+
+    @Test
+    void debitShouldThrowException_whenCurrencyDiffers() {
+        Account account = new Account(1L, Currency.USD, usd("100.0"));
+
+        RegistryDomainException exception = assertThrows(RegistryDomainException.class, () -> account.debit(eur("10.0")));
+        assertEquals(RegistryDomainErrorCode.INVALID_CURRENCY, exception.getErrorCode());
+    }
+
+    private static Money usd(String amount) {
+        return Money.of(new BigDecimal(amount), Currency.USD);
+    }
+
+    private static Money eur(String amount) {
+        return Money.of(new BigDecimal(amount), Currency.EUR);
     }
 }
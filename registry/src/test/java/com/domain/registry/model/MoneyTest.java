@@ -0,0 +1,91 @@
+package com.domain.registry.model;
+
+import com.domain.registry.exception.RegistryDomainErrorCode;
+import com.domain.registry.exception.RegistryDomainException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void ofShouldStoreMinorUnitsOfTheCurrency() {
+        assertEquals(10050L, Money.of(new BigDecimal("100.5"), Currency.USD).minorUnits());
+        assertEquals(100L, Money.of(new BigDecimal("100"), Currency.JPY).minorUnits());
+    }
+
+    @Test
+    void ofShouldRoundHalfEvenToTheCurrencyExponent() {
+        assertEquals(new BigDecimal("0.12"), Money.of(new BigDecimal("0.125"), Currency.EUR).toBigDecimal());
+        assertEquals(new BigDecimal("0.14"), Money.of(new BigDecimal("0.135"), Currency.EUR).toBigDecimal());
+        assertEquals(new BigDecimal("2"), Money.of(new BigDecimal("2.5"), Currency.JPY).toBigDecimal());
+    }
+
+    @Test
+    void ofShouldThrowException_whenAmountDoesNotFitInMinorUnits() {
+        RegistryDomainException exception = assertThrows(RegistryDomainException.class, () ->
+                Money.of(new BigDecimal("1E+20"), Currency.USD));
+        assertEquals(RegistryDomainErrorCode.INVALID_TRANSFER, exception.getErrorCode());
+    }
+
+    @Test
+    void ofShouldThrowException_whenAmountIsNull() {
+        RegistryDomainException exception = assertThrows(RegistryDomainException.class, () -> Money.of(null, Currency.USD));
+        assertEquals(RegistryDomainErrorCode.INVALID_TRANSFER, exception.getErrorCode());
+    }
+
+    @Test
+    void exactShouldKeepStoredBalancesAtTheCurrencyExponent() {
+        assertEquals(100012L, Money.exact(new BigDecimal("1000.1200"), Currency.EUR).minorUnits());
+        assertEquals(1000L, Money.exact(new BigDecimal("1000.0000"), Currency.JPY).minorUnits());
+    }
+
+    @Test
+    void exactShouldThrowException_whenLegacyBalanceHasMoreDecimalsThanTheCurrency() {
+        // A balance stored with four decimals before amounts were kept in minor units
+        RegistryDomainException exception = assertThrows(RegistryDomainException.class, () ->
+                Money.exact(new BigDecimal("1000.1234"), Currency.EUR));
+        assertEquals(RegistryDomainErrorCode.INVALID_BALANCE, exception.getErrorCode());
+
+        assertThrows(RegistryDomainException.class, () -> Money.exact(new BigDecimal("1000.5000"), Currency.JPY));
+    }
+
+    @Test
+    void plusAndMinusShouldKeepTheCurrency() {
+        Money money = Money.of(new BigDecimal("10.25"), Currency.EUR);
+        assertEquals(Money.of(new BigDecimal("15.50"), Currency.EUR), money.plus(Money.of(new BigDecimal("5.25"), Currency.EUR)));
+        assertEquals(Money.of(new BigDecimal("-0.75"), Currency.EUR), money.minus(Money.of(new BigDecimal("11"), Currency.EUR)));
+    }
+
+    @Test
+    void plusShouldThrowException_whenCurrencyDiffers() {
+        Money money = Money.of(BigDecimal.TEN, Currency.EUR);
+        RegistryDomainException exception = assertThrows(RegistryDomainException.class, () -> money.plus(Money.of(BigDecimal.ONE, Currency.USD)));
+        assertEquals(RegistryDomainErrorCode.INVALID_CURRENCY, exception.getErrorCode());
+    }
+
+    @Test
+    void plusShouldThrowException_whenResultOverflows() {
+        Money money = new Money(Long.MAX_VALUE, Currency.EUR);
+        RegistryDomainException exception = assertThrows(RegistryDomainException.class, () -> money.plus(new Money(1, Currency.EUR)));
+        assertEquals(RegistryDomainErrorCode.INVALID_TRANSFER, exception.getErrorCode());
+    }
+
+    @Test
+    void convertShouldRoundOnceToTheTargetCurrency() {
+        Money amount = Money.of(new BigDecimal("1000"), Currency.USD);
+        assertEquals(new BigDecimal("856.68"), amount.convert(new BigDecimal("0.85668"), Currency.EUR).toBigDecimal());
+        assertEquals(new BigDecimal("147612"), amount.convert(new BigDecimal("147.6123"), Currency.JPY).toBigDecimal());
+    }
+
+    @Test
+    void compareToShouldOrderByMinorUnits() {
+        Money small = Money.of(new BigDecimal("0.99"), Currency.USD);
+        Money large = Money.of(BigDecimal.ONE, Currency.USD);
+        assertTrue(small.compareTo(large) < 0);
+        assertTrue(large.isPositive());
+        assertFalse(Money.zero(Currency.USD).isPositive());
+    }
+}
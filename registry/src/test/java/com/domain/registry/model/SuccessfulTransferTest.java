@@ -16,13 +16,13 @@ class SuccessfulTransferTest {
     void shouldCreateSuccessfulTransferSuccessfully() {
         UUID transferId = UUID.randomUUID();
         OffsetDateTime createdAt = OffsetDateTime.now();
-        BigDecimal transferAmount = new BigDecimal("100.00");
-        Account originator = new Account(1L, Currency.USD, new BigDecimal("1000.00"));
-        Account beneficiary = new Account(2L, Currency.EUR, new BigDecimal("500.00"));
+        Money transferAmount = Money.of(new BigDecimal("100.00"), Currency.EUR);
+        Account originator = new Account(1L, Currency.USD, Money.of(new BigDecimal("1000.00"), Currency.USD));
+        Account beneficiary = new Account(2L, Currency.EUR, Money.of(new BigDecimal("500.00"), Currency.EUR));
         OffsetDateTime processedAt = OffsetDateTime.now();
         BigDecimal exchangeRate = new BigDecimal("0.9");
-        BigDecimal debit = new BigDecimal("90.00");
-        BigDecimal credit = new BigDecimal("100.00");
+        Money debit = Money.of(new BigDecimal("90.00"), Currency.USD);
+        Money credit = Money.of(new BigDecimal("100.00"), Currency.EUR);
 
         SuccessfulTransfer transfer = new SuccessfulTransfer(transferId, createdAt, transferAmount, originator, beneficiary, processedAt, exchangeRate, debit, credit);
 
@@ -42,12 +42,12 @@ class SuccessfulTransferTest {
     void shouldThrowExceptionWhenTransferAmountIsNull() {
         UUID transferId = UUID.randomUUID();
         OffsetDateTime createdAt = OffsetDateTime.now();
-        Account originator = new Account(1L, Currency.USD, new BigDecimal("1000.00"));
-        Account beneficiary = new Account(2L, Currency.EUR, new BigDecimal("500.00"));
+        Account originator = new Account(1L, Currency.USD, Money.of(new BigDecimal("1000.00"), Currency.USD));
+        Account beneficiary = new Account(2L, Currency.EUR, Money.of(new BigDecimal("500.00"), Currency.EUR));
         OffsetDateTime processedAt = OffsetDateTime.now();
         BigDecimal exchangeRate = new BigDecimal("0.9");
-        BigDecimal debit = new BigDecimal("90.00");
-        BigDecimal credit = new BigDecimal("100.00");
+        Money debit = Money.of(new BigDecimal("90.00"), Currency.USD);
+        Money credit = Money.of(new BigDecimal("100.00"), Currency.EUR);
 
         RegistryDomainException exception = assertThrows(RegistryDomainException.class, () ->
                 new SuccessfulTransfer(transferId, createdAt, null, originator, beneficiary, processedAt, exchangeRate, debit, credit)
@@ -60,12 +60,12 @@ class SuccessfulTransferTest {
     void shouldThrowExceptionWhenOriginatorIsNull() {
         UUID transferId = UUID.randomUUID();
         OffsetDateTime createdAt = OffsetDateTime.now();
-        BigDecimal transferAmount = new BigDecimal("100.00");
-        Account beneficiary = new Account(2L, Currency.EUR, new BigDecimal("500.00"));
+        Money transferAmount = Money.of(new BigDecimal("100.00"), Currency.EUR);
+        Account beneficiary = new Account(2L, Currency.EUR, Money.of(new BigDecimal("500.00"), Currency.EUR));
         OffsetDateTime processedAt = OffsetDateTime.now();
         BigDecimal exchangeRate = new BigDecimal("0.9");
-        BigDecimal debit = new BigDecimal("90.00");
-        BigDecimal credit = new BigDecimal("100.00");
+        Money debit = Money.of(new BigDecimal("90.00"), Currency.USD);
+        Money credit = Money.of(new BigDecimal("100.00"), Currency.EUR);
 
         RegistryDomainException exception = assertThrows(RegistryDomainException.class, () ->
                 new SuccessfulTransfer(transferId, createdAt, transferAmount, null, beneficiary, processedAt, exchangeRate, debit, credit)
@@ -78,12 +78,12 @@ class SuccessfulTransferTest {
     void shouldThrowExceptionWhenBeneficiaryIsNull() {
         UUID transferId = UUID.randomUUID();
         OffsetDateTime createdAt = OffsetDateTime.now();
-        BigDecimal transferAmount = new BigDecimal("100.00");
-        Account originator = new Account(1L, Currency.USD, new BigDecimal("1000.00"));
+        Money transferAmount = Money.of(new BigDecimal("100.00"), Currency.EUR);
+        Account originator = new Account(1L, Currency.USD, Money.of(new BigDecimal("1000.00"), Currency.USD));
         OffsetDateTime processedAt = OffsetDateTime.now();
         BigDecimal exchangeRate = new BigDecimal("0.9");
-        BigDecimal debit = new BigDecimal("90.00");
-        BigDecimal credit = new BigDecimal("100.00");
+        Money debit = Money.of(new BigDecimal("90.00"), Currency.USD);
+        Money credit = Money.of(new BigDecimal("100.00"), Currency.EUR);
 
         RegistryDomainException exception = assertThrows(RegistryDomainException.class, () ->
                 new SuccessfulTransfer(transferId, createdAt, transferAmount, originator, null, processedAt, exchangeRate, debit, credit)
@@ -96,14 +96,14 @@ class SuccessfulTransferTest {
     void shouldThrowExceptionWhenOriginatorAndBeneficiaryAreTheSame() {
         UUID transferId = UUID.randomUUID();
         OffsetDateTime createdAt = OffsetDateTime.now();
-        BigDecimal transferAmount = new BigDecimal("100.00");
-        Account originator = new Account(2L, Currency.USD, new BigDecimal("1000.00"));
+        Money transferAmount = Money.of(new BigDecimal("100.00"), Currency.EUR);
+        Account originator = new Account(2L, Currency.USD, Money.of(new BigDecimal("1000.00"), Currency.USD));
         OffsetDateTime processedAt = OffsetDateTime.now();
         BigDecimal exchangeRate = new BigDecimal("0.9");
-        BigDecimal debit = new BigDecimal("90.00");
-        BigDecimal credit = new BigDecimal("100.00");
+        Money debit = Money.of(new BigDecimal("90.00"), Currency.USD);
+        Money credit = Money.of(new BigDecimal("100.00"), Currency.EUR);
 
-        Account sameBeneficiary = new Account(2L, Currency.EUR, new BigDecimal("500.00"));
+        Account sameBeneficiary = new Account(2L, Currency.EUR, Money.of(new BigDecimal("500.00"), Currency.EUR));
 
         RegistryDomainException exception = assertThrows(RegistryDomainException.class, () ->
                 new SuccessfulTransfer(transferId, createdAt, transferAmount, originator, sameBeneficiary, processedAt, exchangeRate, debit, credit)
@@ -116,15 +116,15 @@ class SuccessfulTransferTest {
     void shouldThrowExceptionWhenTransferAmountIsNegative() {
         UUID transferId = UUID.randomUUID();
         OffsetDateTime createdAt = OffsetDateTime.now();
-        Account originator = new Account(1L, Currency.USD, new BigDecimal("1000.00"));
-        Account beneficiary = new Account(2L, Currency.EUR, new BigDecimal("500.00"));
+        Account originator = new Account(1L, Currency.USD, Money.of(new BigDecimal("1000.00"), Currency.USD));
+        Account beneficiary = new Account(2L, Currency.EUR, Money.of(new BigDecimal("500.00"), Currency.EUR));
         OffsetDateTime processedAt = OffsetDateTime.now();
         BigDecimal exchangeRate = new BigDecimal("0.9");
-        BigDecimal debit = new BigDecimal("90.00");
-        BigDecimal credit = new BigDecimal("100.00");
+        Money debit = Money.of(new BigDecimal("90.00"), Currency.USD);
+        Money credit = Money.of(new BigDecimal("100.00"), Currency.EUR);
 
         RegistryDomainException exception = assertThrows(RegistryDomainException.class, () ->
-                new SuccessfulTransfer(transferId, createdAt, new BigDecimal("-10.00"), originator, beneficiary, processedAt, exchangeRate, debit, credit)
+                new SuccessfulTransfer(transferId, createdAt, Money.of(new BigDecimal("-10.00"), Currency.EUR), originator, beneficiary, processedAt, exchangeRate, debit, credit)
         );
 
         assertEquals(RegistryDomainErrorCode.NEGATIVE_AMOUNT, exception.getErrorCode());
@@ -134,12 +134,12 @@ class SuccessfulTransferTest {
     void shouldThrowExceptionWhenProcessedAtIsNull() {
         UUID transferId = UUID.randomUUID();
         OffsetDateTime createdAt = OffsetDateTime.now();
-        BigDecimal transferAmount = new BigDecimal("100.00");
-        Account originator = new Account(1L, Currency.USD, new BigDecimal("1000.00"));
-        Account beneficiary = new Account(2L, Currency.EUR, new BigDecimal("500.00"));
+        Money transferAmount = Money.of(new BigDecimal("100.00"), Currency.EUR);
+        Account originator = new Account(1L, Currency.USD, Money.of(new BigDecimal("1000.00"), Currency.USD));
+        Account beneficiary = new Account(2L, Currency.EUR, Money.of(new BigDecimal("500.00"), Currency.EUR));
         BigDecimal exchangeRate = new BigDecimal("0.9");
-        BigDecimal debit = new BigDecimal("90.00");
-        BigDecimal credit = new BigDecimal("100.00");
+        Money debit = Money.of(new BigDecimal("90.00"), Currency.USD);
+        Money credit = Money.of(new BigDecimal("100.00"), Currency.EUR);
 
         RegistryDomainException exception = assertThrows(RegistryDomainException.class, () ->
                 new SuccessfulTransfer(transferId, createdAt, transferAmount, originator, beneficiary, null, exchangeRate, debit, credit)
@@ -152,12 +152,12 @@ class SuccessfulTransferTest {
     void shouldThrowExceptionWhenExchangeRateIsNull() {
         UUID transferId = UUID.randomUUID();
         OffsetDateTime createdAt = OffsetDateTime.now();
-        BigDecimal transferAmount = new BigDecimal("100.00");
-        Account originator = new Account(1L, Currency.USD, new BigDecimal("1000.00"));
-        Account beneficiary = new Account(2L, Currency.EUR, new BigDecimal("500.00"));
+        Money transferAmount = Money.of(new BigDecimal("100.00"), Currency.EUR);
+        Account originator = new Account(1L, Currency.USD, Money.of(new BigDecimal("1000.00"), Currency.USD));
+        Account beneficiary = new Account(2L, Currency.EUR, Money.of(new BigDecimal("500.00"), Currency.EUR));
         OffsetDateTime processedAt = OffsetDateTime.now();
-        BigDecimal debit = new BigDecimal("90.00");
-        BigDecimal credit = new BigDecimal("100.00");
+        Money debit = Money.of(new BigDecimal("90.00"), Currency.USD);
+        Money credit = Money.of(new BigDecimal("100.00"), Currency.EUR);
 
         RegistryDomainException exception = assertThrows(RegistryDomainException.class, () ->
                 new SuccessfulTransfer(transferId, createdAt, transferAmount, originator, beneficiary, processedAt, null, debit, credit)
@@ -170,12 +170,12 @@ class SuccessfulTransferTest {
     void shouldThrowExceptionWhenDebitIsNull() {
         UUID transferId = UUID.randomUUID();
         OffsetDateTime createdAt = OffsetDateTime.now();
-        BigDecimal transferAmount = new BigDecimal("100.00");
-        Account originator = new Account(1L, Currency.USD, new BigDecimal("1000.00"));
-        Account beneficiary = new Account(2L, Currency.EUR, new BigDecimal("500.00"));
+        Money transferAmount = Money.of(new BigDecimal("100.00"), Currency.EUR);
+        Account originator = new Account(1L, Currency.USD, Money.of(new BigDecimal("1000.00"), Currency.USD));
+        Account beneficiary = new Account(2L, Currency.EUR, Money.of(new BigDecimal("500.00"), Currency.EUR));
         OffsetDateTime processedAt = OffsetDateTime.now();
         BigDecimal exchangeRate = new BigDecimal("0.9");
-        BigDecimal credit = new BigDecimal("100.00");
+        Money credit = Money.of(new BigDecimal("100.00"), Currency.EUR);
 
         RegistryDomainException exception = assertThrows(RegistryDomainException.class, () ->
                 new SuccessfulTransfer(transferId, createdAt, transferAmount, originator, beneficiary, processedAt, exchangeRate, null, credit)
@@ -188,12 +188,12 @@ class SuccessfulTransferTest {
     void shouldThrowExceptionWhenCreditIsNull() {
         UUID transferId = UUID.randomUUID();
         OffsetDateTime createdAt = OffsetDateTime.now();
-        BigDecimal transferAmount = new BigDecimal("100.00");
-        Account originator = new Account(1L, Currency.USD, new BigDecimal("1000.00"));
-        Account beneficiary = new Account(2L, Currency.EUR, new BigDecimal("500.00"));
+        Money transferAmount = Money.of(new BigDecimal("100.00"), Currency.EUR);
+        Account originator = new Account(1L, Currency.USD, Money.of(new BigDecimal("1000.00"), Currency.USD));
+        Account beneficiary = new Account(2L, Currency.EUR, Money.of(new BigDecimal("500.00"), Currency.EUR));
         OffsetDateTime processedAt = OffsetDateTime.now();
         BigDecimal exchangeRate = new BigDecimal("0.9");
-        BigDecimal debit = new BigDecimal("90.00");
+        Money debit = Money.of(new BigDecimal("90.00"), Currency.USD);
 
         RegistryDomainException exception = assertThrows(RegistryDomainException.class, () ->
                 new SuccessfulTransfer(transferId, createdAt, transferAmount, originator, beneficiary, processedAt, exchangeRate, debit, null)
@@ -206,13 +206,13 @@ class SuccessfulTransferTest {
     void shouldThrowExceptionWhenDebitIsZero() {
         UUID transferId = UUID.randomUUID();
         OffsetDateTime createdAt = OffsetDateTime.now();
-        BigDecimal transferAmount = new BigDecimal("100.00");
-        Account originator = new Account(1L, Currency.USD, new BigDecimal("1000.00"));
-        Account beneficiary = new Account(2L, Currency.EUR, new BigDecimal("500.00"));
+        Money transferAmount = Money.of(new BigDecimal("100.00"), Currency.EUR);
+        Account originator = new Account(1L, Currency.USD, Money.of(new BigDecimal("1000.00"), Currency.USD));
+        Account beneficiary = new Account(2L, Currency.EUR, Money.of(new BigDecimal("500.00"), Currency.EUR));
         OffsetDateTime processedAt = OffsetDateTime.now();
         BigDecimal exchangeRate = new BigDecimal("0.9");
-        BigDecimal credit = new BigDecimal("90.00");
-        BigDecimal debit = new BigDecimal("0");
+        Money credit = Money.of(new BigDecimal("90.00"), Currency.EUR);
+        Money debit = Money.of(new BigDecimal("0"), Currency.USD);
 
         RegistryDomainException exception = assertThrows(RegistryDomainException.class, () ->
                 new SuccessfulTransfer(transferId, createdAt, transferAmount, originator, beneficiary, processedAt, exchangeRate, debit, credit)
@@ -225,13 +225,13 @@ class SuccessfulTransferTest {
     void shouldThrowExceptionWhenDebitIsNegative() {
         UUID transferId = UUID.randomUUID();
         OffsetDateTime createdAt = OffsetDateTime.now();
-        BigDecimal transferAmount = new BigDecimal("100.00");
-        Account originator = new Account(1L, Currency.USD, new BigDecimal("1000.00"));
-        Account beneficiary = new Account(2L, Currency.EUR, new BigDecimal("500.00"));
+        Money transferAmount = Money.of(new BigDecimal("100.00"), Currency.EUR);
+        Account originator = new Account(1L, Currency.USD, Money.of(new BigDecimal("1000.00"), Currency.USD));
+        Account beneficiary = new Account(2L, Currency.EUR, Money.of(new BigDecimal("500.00"), Currency.EUR));
         OffsetDateTime processedAt = OffsetDateTime.now();
         BigDecimal exchangeRate = new BigDecimal("0.9");
-        BigDecimal credit = new BigDecimal("90.00");
-        BigDecimal debit = new BigDecimal("-100");
+        Money credit = Money.of(new BigDecimal("90.00"), Currency.EUR);
+        Money debit = Money.of(new BigDecimal("-100"), Currency.USD);
 
         RegistryDomainException exception = assertThrows(RegistryDomainException.class, () ->
                 new SuccessfulTransfer(transferId, createdAt, transferAmount, originator, beneficiary, processedAt, exchangeRate, debit, credit)
@@ -244,13 +244,13 @@ class SuccessfulTransferTest {
     void shouldThrowExceptionWhenCreditIsZero() {
         UUID transferId = UUID.randomUUID();
         OffsetDateTime createdAt = OffsetDateTime.now();
-        BigDecimal transferAmount = new BigDecimal("100.00");
-        Account originator = new Account(1L, Currency.USD, new BigDecimal("1000.00"));
-        Account beneficiary = new Account(2L, Currency.EUR, new BigDecimal("500.00"));
+        Money transferAmount = Money.of(new BigDecimal("100.00"), Currency.EUR);
+        Account originator = new Account(1L, Currency.USD, Money.of(new BigDecimal("1000.00"), Currency.USD));
+        Account beneficiary = new Account(2L, Currency.EUR, Money.of(new BigDecimal("500.00"), Currency.EUR));
         OffsetDateTime processedAt = OffsetDateTime.now();
         BigDecimal exchangeRate = new BigDecimal("0.9");
-        BigDecimal credit = new BigDecimal("0");
-        BigDecimal debit = new BigDecimal("90");
+        Money credit = Money.of(new BigDecimal("0"), Currency.EUR);
+        Money debit = Money.of(new BigDecimal("90"), Currency.USD);
 
         RegistryDomainException exception = assertThrows(RegistryDomainException.class, () ->
                 new SuccessfulTransfer(transferId, createdAt, transferAmount, originator, beneficiary, processedAt, exchangeRate, debit, credit)
@@ -263,13 +263,13 @@ class SuccessfulTransferTest {
     void shouldThrowExceptionWhenCreditIsNegative() {
         UUID transferId = UUID.randomUUID();
         OffsetDateTime createdAt = OffsetDateTime.now();
-        BigDecimal transferAmount = new BigDecimal("100.00");
-        Account originator = new Account(1L, Currency.USD, new BigDecimal("1000.00"));
-        Account beneficiary = new Account(2L, Currency.EUR, new BigDecimal("500.00"));
+        Money transferAmount = Money.of(new BigDecimal("100.00"), Currency.EUR);
+        Account originator = new Account(1L, Currency.USD, Money.of(new BigDecimal("1000.00"), Currency.USD));
+        Account beneficiary = new Account(2L, Currency.EUR, Money.of(new BigDecimal("500.00"), Currency.EUR));
         OffsetDateTime processedAt = OffsetDateTime.now();
         BigDecimal exchangeRate = new BigDecimal("0.9");
-        BigDecimal credit = new BigDecimal("-100");
-        BigDecimal debit = new BigDecimal("90");
+        Money credit = Money.of(new BigDecimal("-100"), Currency.EUR);
+        Money debit = Money.of(new BigDecimal("90"), Currency.USD);
 
         RegistryDomainException exception = assertThrows(RegistryDomainException.class, () ->
                 new SuccessfulTransfer(transferId, createdAt, transferAmount, originator, beneficiary, processedAt, exchangeRate, debit, credit)
@@ -31,4 +31,23 @@ class FailTransferTest {
         assertThat(result.getCreatedAt()).isNotNull();
         assertThat(result.getProcessedAt()).isNotNull();
     }
+
+    @Test
+    void shouldBuildFailedTransferWithoutGoingThroughExecute() {
+        FailTransfer persisting = new FailTransfer() {
+            @Override
+            public FailedTransfer execute(FailTransferRequest request) {
+                throw new IllegalStateException("Batches store their failed transfers themselves");
+            }
+        };
+        FailTransferRequest request = FailTransferRequest.builder()
+                .transferId(UUID.randomUUID())
+                .errorCode(RegistryDomainErrorCode.INSUFFICIENT_BALANCE).build();
+
+        FailedTransfer result = persisting.failedTransfer(request);
+
+        assertThat(result.getTransferId()).isEqualTo(request.transferId());
+        assertThat(result.getErrorCode()).isEqualTo(RegistryDomainErrorCode.INSUFFICIENT_BALANCE);
+        assertThat(result.getProcessedAt()).isNotNull();
+    }
 }
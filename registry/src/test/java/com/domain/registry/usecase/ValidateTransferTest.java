@@ -4,6 +4,7 @@ import com.domain.registry.exception.RegistryDomainErrorCode;
 import com.domain.registry.exception.RegistryDomainException;
 import com.domain.registry.model.Account;
 import com.domain.registry.model.Currency;
+import com.domain.registry.model.Money;
 import com.domain.registry.model.SuccessfulTransfer;
 import com.domain.registry.port.RegistryPort;
 import com.domain.registry.usecase.request.ValidateTransferRequest;
@@ -37,13 +38,13 @@ class ValidateTransferTest {
         Account originator = Account.builder()
                 .ownerId(1L)
                 .currency(Currency.USD)
-                .balance(new BigDecimal("1000.00"))
+                .balance(Money.of(new BigDecimal("1000.00"), Currency.USD))
                 .build();
 
         Account beneficiary = Account.builder()
                 .ownerId(2L)
                 .currency(Currency.EUR)
-                .balance(new BigDecimal("500.00"))
+                .balance(Money.of(new BigDecimal("500.00"), Currency.EUR))
                 .build();
 
         ValidateTransferRequest request = ValidateTransferRequest.builder()
@@ -62,8 +63,39 @@ class ValidateTransferTest {
 
         assertThat(result).isNotNull();
         assertThat(result.getTransferId()).isEqualTo(request.transferId());
-        assertThat(result.getCredit()).isEqualByComparingTo(request.amount());
-        assertThat(result.getDebit()).isEqualByComparingTo(request.amount().multiply(exchangeRate));
+        assertThat(result.getCredit()).isEqualTo(Money.of(new BigDecimal("100.00"), Currency.EUR));
+        assertThat(result.getDebit()).isEqualTo(Money.of(new BigDecimal("85.00"), Currency.USD));
+    }
+
+    @Test
+    void shouldRoundDebitToOriginatorCurrency() {
+        Account originator = Account.builder()
+                .ownerId(1L)
+                .currency(Currency.JPY)
+                .balance(Money.of(new BigDecimal("100000"), Currency.JPY))
+                .build();
+
+        Account beneficiary = Account.builder()
+                .ownerId(2L)
+                .currency(Currency.EUR)
+                .balance(Money.of(new BigDecimal("500.00"), Currency.EUR))
+                .build();
+
+        ValidateTransferRequest request = ValidateTransferRequest.builder()
+                .transferId(UUID.randomUUID())
+                .createdAt(OffsetDateTime.now())
+                .originator(originator)
+                .beneficiary(beneficiary)
+                .amount(new BigDecimal("10.005"))
+                .build();
+
+        when(registryPort.getExchangeRate(Currency.JPY, Currency.EUR)).thenReturn(Optional.of(new BigDecimal("162.4537")));
+
+        SuccessfulTransfer result = validateTransfer.execute(request);
+
+        assertThat(result.getCredit()).isEqualTo(Money.of(new BigDecimal("10.00"), Currency.EUR));
+        assertThat(result.getDebit()).isEqualTo(Money.of(new BigDecimal("1625"), Currency.JPY));
+        assertThat(result.getOriginator().balance()).isEqualTo(Money.of(new BigDecimal("98375"), Currency.JPY));
     }
 
     @Test
@@ -71,13 +103,13 @@ class ValidateTransferTest {
         Account originator = Account.builder()
                 .ownerId(1L)
                 .currency(Currency.USD)
-                .balance(new BigDecimal("1000.00"))
+                .balance(Money.of(new BigDecimal("1000.00"), Currency.USD))
                 .build();
 
         Account beneficiary = Account.builder()
                 .ownerId(2L)
                 .currency(Currency.EUR)
-                .balance(new BigDecimal("500.00"))
+                .balance(Money.of(new BigDecimal("500.00"), Currency.EUR))
                 .build();
 
         ValidateTransferRequest request = ValidateTransferRequest.builder()
@@ -98,13 +130,13 @@ class ValidateTransferTest {
         Account originator = Account.builder()
                 .ownerId(1L)
                 .currency(Currency.USD)
-                .balance(new BigDecimal("1000.00"))
+                .balance(Money.of(new BigDecimal("1000.00"), Currency.USD))
                 .build();
 
         Account beneficiary = Account.builder()
                 .ownerId(2L)
                 .currency(Currency.EUR)
-                .balance(new BigDecimal("500.00"))
+                .balance(Money.of(new BigDecimal("500.00"), Currency.EUR))
                 .build();
 
         ValidateTransferRequest request = ValidateTransferRequest.builder()
@@ -127,13 +159,13 @@ class ValidateTransferTest {
         Account originator = Account.builder()
                 .ownerId(1L)
                 .currency(Currency.USD)
-                .balance(new BigDecimal("100.00"))
+                .balance(Money.of(new BigDecimal("100.00"), Currency.USD))
                 .build();
 
         Account beneficiary = Account.builder()
                 .ownerId(2L)
                 .currency(Currency.EUR)
-                .balance(new BigDecimal("500.00"))
+                .balance(Money.of(new BigDecimal("500.00"), Currency.EUR))
                 .build();
 
         ValidateTransferRequest request = ValidateTransferRequest.builder()
@@ -158,13 +190,13 @@ class ValidateTransferTest {
         Account originator = Account.builder()
                 .ownerId(1L)
                 .currency(Currency.USD)
-                .balance(new BigDecimal("1000.00"))
+                .balance(Money.of(new BigDecimal("1000.00"), Currency.USD))
                 .build();
 
         Account beneficiary = Account.builder()
                 .ownerId(1L)
                 .currency(Currency.EUR)
-                .balance(new BigDecimal("500.00"))
+                .balance(Money.of(new BigDecimal("500.00"), Currency.EUR))
                 .build();
 
         ValidateTransferRequest request = ValidateTransferRequest.builder()
@@ -189,13 +221,13 @@ class ValidateTransferTest {
         Account originator = Account.builder()
                 .ownerId(1L)
                 .currency(Currency.USD)
-                .balance(new BigDecimal("1000.00"))
+                .balance(Money.of(new BigDecimal("1000.00"), Currency.USD))
                 .build();
 
         Account beneficiary = Account.builder()
                 .ownerId(2L)
                 .currency(Currency.EUR)
-                .balance(new BigDecimal("500.00"))
+                .balance(Money.of(new BigDecimal("500.00"), Currency.EUR))
                 .build();
 
         ValidateTransferRequest request = ValidateTransferRequest.builder()
@@ -220,13 +252,13 @@ class ValidateTransferTest {
         Account originator = Account.builder()
                 .ownerId(1L)
                 .currency(Currency.USD)
-                .balance(new BigDecimal("1000.00"))
+                .balance(Money.of(new BigDecimal("1000.00"), Currency.USD))
                 .build();
 
         Account beneficiary = Account.builder()
                 .ownerId(2L)
                 .currency(Currency.EUR)
-                .balance(new BigDecimal("500.00"))
+                .balance(Money.of(new BigDecimal("500.00"), Currency.EUR))
                 .build();
 
         ValidateTransferRequest request = ValidateTransferRequest.builder()
@@ -251,13 +283,13 @@ class ValidateTransferTest {
         Account originator = Account.builder()
                 .ownerId(1L)
                 .currency(Currency.USD)
-                .balance(new BigDecimal("1000.00"))
+                .balance(Money.of(new BigDecimal("1000.00"), Currency.USD))
                 .build();
 
         Account beneficiary = Account.builder()
                 .ownerId(2L)
                 .currency(Currency.EUR)
-                .balance(new BigDecimal("500.00"))
+                .balance(Money.of(new BigDecimal("500.00"), Currency.EUR))
                 .build();
 
         ValidateTransferRequest request = ValidateTransferRequest.builder()
@@ -1,16 +1,25 @@
 package com.infrastructure.transfer_distributed.api;
 
 import com.domain.accept.model.AcceptedTransfer;
-import com.domain.accept.usecase.AcceptTransfer;
 import com.infrastructure.transfer_distributed.api.dto.TransferDTO;
 import com.infrastructure.transfer_distributed.api.dto.TransferRequestDTO;
+import com.infrastructure.transfer_distributed.api.dto.TransferStatusDTO;
 import com.infrastructure.transfer_distributed.api.mapper.AcceptTransferMapper;
+import com.infrastructure.transfer_distributed.queue.TransferReplies;
+import com.infrastructure.transfer_distributed.usecase.accept.AcceptTransferUsecase;
+import com.infrastructure.transfer_distributed.usecase.accept.GetTransferUsecase;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.UUID;
 
@@ -18,11 +27,41 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class TransferController {
 
-    private final AcceptTransfer acceptTransfer;
+    private final AcceptTransferUsecase acceptTransfer;
+
+    private final GetTransferUsecase getTransferUsecase;
+
+    private final TransferReplies transferReplies;
+
+    @Value("${accept-config.reply.max-wait-ms:30000}")
+    private long maxWaitMillis;
 
     @PostMapping("/send-request-transfer")
     public ResponseEntity<TransferDTO> performTransfer(@RequestHeader("Idempotency-Key") UUID idempotencyKey, @RequestBody TransferRequestDTO dto) {
         AcceptedTransfer acceptedRequest = acceptTransfer.execute(AcceptTransferMapper.INSTANCE.mapFromDtoToModel(dto, idempotencyKey));
         return ResponseEntity.ok(AcceptTransferMapper.INSTANCE.mapFromModelToDto(acceptedRequest));
     }
+
+    // The request thread is released while waiting. The outcome comes with 200, or the accepted transfer with 202 when
+    // the registry has not answered within wait milliseconds
+    @PostMapping(value = "/send-request-transfer", params = "wait")
+    public DeferredResult<ResponseEntity<TransferDTO>> performTransferAndWait(@RequestHeader("Idempotency-Key") UUID idempotencyKey,
+                                                                              @RequestBody TransferRequestDTO dto,
+                                                                              @RequestParam("wait") long waitMillis) {
+        AcceptedTransfer acceptedRequest = acceptTransfer.execute(AcceptTransferMapper.INSTANCE.mapFromDtoToModel(dto, idempotencyKey), transferReplies.address());
+        TransferDTO accepted = AcceptTransferMapper.INSTANCE.mapFromModelToDto(acceptedRequest);
+
+        DeferredResult<ResponseEntity<TransferDTO>> result = new DeferredResult<>(Math.clamp(waitMillis, 1, maxWaitMillis), ResponseEntity.status(HttpStatus.ACCEPTED).body(accepted));
+        result.onCompletion(() -> transferReplies.cancel(acceptedRequest.transferId()));
+        transferReplies.await(acceptedRequest.transferId())
+                .thenAccept(reply -> result.setResult(ResponseEntity.ok(AcceptTransferMapper.INSTANCE.mapFromModelToDto(acceptedRequest, reply))));
+        return result;
+    }
+
+    // 202 while the registry has not processed the transfer yet
+    @GetMapping("/transfer/{transferId}")
+    public ResponseEntity<TransferDTO> getTransfer(@PathVariable UUID transferId) {
+        TransferDTO transfer = AcceptTransferMapper.INSTANCE.mapFromEntityToDto(getTransferUsecase.execute(transferId));
+        return ResponseEntity.status(transfer.status() == TransferStatusDTO.PENDING ? HttpStatus.ACCEPTED : HttpStatus.OK).body(transfer);
+    }
 }
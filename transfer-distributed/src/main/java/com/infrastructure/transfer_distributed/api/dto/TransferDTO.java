@@ -6,4 +6,7 @@ import java.util.UUID;
 
 public record TransferDTO(UUID transferId,
                           UUID requestId,
-                          OffsetDateTime createdAt) { }
+                          OffsetDateTime createdAt,
+                          TransferStatusDTO status,
+                          String errorCode,
+                          OffsetDateTime processedAt) { }
@@ -0,0 +1,7 @@
+package com.infrastructure.transfer_distributed.api.dto;
+
+public enum TransferStatusDTO {
+    PENDING,
+    SUCCESS,
+    FAILED
+}
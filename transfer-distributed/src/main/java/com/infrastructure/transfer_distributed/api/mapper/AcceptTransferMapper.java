@@ -4,7 +4,10 @@ import com.domain.accept.model.AcceptedTransfer;
 import com.domain.accept.usecase.request.AcceptTransferRequest;
 import com.infrastructure.transfer_distributed.api.dto.TransferDTO;
 import com.infrastructure.transfer_distributed.api.dto.TransferRequestDTO;
+import com.infrastructure.transfer_distributed.database.entity.RequestEntity;
+import com.infrastructure.transfer_distributed.queue.message.TransferCompletionMessage;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 import java.util.UUID;
@@ -23,5 +26,16 @@ public interface AcceptTransferMapper {
                 .build();
     }
 
+    @Mapping(target = "status", constant = "PENDING")
+    @Mapping(target = "errorCode", ignore = true)
+    @Mapping(target = "processedAt", ignore = true)
     TransferDTO mapFromModelToDto(AcceptedTransfer acceptedRequest);
+
+    @Mapping(target = "transferId", source = "acceptedRequest.transferId")
+    TransferDTO mapFromModelToDto(AcceptedTransfer acceptedRequest, TransferCompletionMessage reply);
+
+    // The request row does not keep the acceptance time, rows written before the status column are still pending
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "status", defaultValue = "PENDING")
+    TransferDTO mapFromEntityToDto(RequestEntity request);
 }
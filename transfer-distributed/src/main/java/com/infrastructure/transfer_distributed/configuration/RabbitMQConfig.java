@@ -1,12 +1,23 @@
 package com.infrastructure.transfer_distributed.configuration;
 
+import com.infrastructure.messaging.BatchingConfirmPublisher;
+import com.infrastructure.messaging.converter.BinaryMessageConverter;
+import com.infrastructure.transfer_distributed.queue.converter.TransferRequestMessageCodec;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.RabbitTemplateConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 public class RabbitMQConfig {
 
@@ -47,6 +58,7 @@ public class RabbitMQConfig {
     }
 
     @Bean
+    @ConditionalOnProperty(name = "rabbitmq-config.routing.mode", havingValue = "SINGLE", matchIfMissing = true)
     Queue registryQueue() {
         return QueueBuilder.durable(queueName)
                 .withArgument("x-dead-letter-exchange", deadLetterExchangeName)
@@ -55,12 +67,66 @@ public class RabbitMQConfig {
     }
 
     @Bean
+    @ConditionalOnProperty(name = "rabbitmq-config.routing.mode", havingValue = "SINGLE", matchIfMissing = true)
     Binding registryBinding() {
         return BindingBuilder.bind(registryQueue()).to(registryExchange()).with(routingKey);
     }
 
+    // Same declarations as registry-distributed, so requests are kept even before a registry instance has started
+    @Bean
+    @ConditionalOnProperty(name = "rabbitmq-config.routing.mode", havingValue = "PARTITIONED")
+    Declarables registryPartitions(@Value("${rabbitmq-config.routing.partitions}") int partitions) {
+        List<Declarable> declarables = new ArrayList<>(partitions * 2);
+        for (int partition = 0; partition < partitions; partition++) {
+            Queue queue = QueueBuilder.durable(queueName + "." + partition)
+                    .withArgument("x-dead-letter-exchange", deadLetterExchangeName)
+                    .withArgument("x-dead-letter-routing-key", routingKey)
+                    .singleActiveConsumer()
+                    .build();
+            declarables.add(queue);
+            declarables.add(BindingBuilder.bind(queue).to(registryExchange()).with(routingKey + "." + partition));
+        }
+        return new Declarables(declarables);
+    }
+
+    // Completion events of registry-distributed, declared the same way there
+    @Bean
+    DirectExchange transferCompletionExchange(@Value("${rabbitmq-config.completion.exchange}") String completionExchangeName) {
+        return new DirectExchange(completionExchangeName);
+    }
+
+    @Bean
+    Queue transferCompletionQueue(@Value("${rabbitmq-config.completion.queue}") String completionQueueName) {
+        return QueueBuilder.durable(completionQueueName).build();
+    }
+
+    @Bean
+    Binding transferCompletionBinding(Queue transferCompletionQueue, DirectExchange transferCompletionExchange, @Value("${rabbitmq-config.completion.routing-key}") String completionRoutingKey) {
+        return BindingBuilder.bind(transferCompletionQueue).to(transferCompletionExchange).with(completionRoutingKey);
+    }
+
+    // Exclusive to this instance and deleted with its connection, replies for the callers waiting here arrive on it
+    @Bean
+    AnonymousQueue transferReplyQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy("transfer.reply."));
+    }
+
+    // Its own template, the publisher makes it mandatory and takes its returns
+    @Bean
+    public BatchingConfirmPublisher transferRequestPublisher(RabbitTemplateConfigurer configurer,
+                                                             ConnectionFactory connectionFactory,
+                                                             MeterRegistry meterRegistry,
+                                                             @Value("${rabbitmq-config.publisher.window-ms:5}") long windowMillis,
+                                                             @Value("${rabbitmq-config.publisher.max-batch-size:500}") int maxBatchSize,
+                                                             @Value("${rabbitmq-config.publisher.max-attempts:3}") int maxAttempts) {
+        RabbitTemplate rabbitTemplate = new RabbitTemplate();
+        configurer.configure(rabbitTemplate, connectionFactory);
+        return new BatchingConfirmPublisher("transfer-request", rabbitTemplate, meterRegistry, windowMillis, maxBatchSize, maxAttempts);
+    }
+
+    // Binary and JSON messages are both read, rabbitmq-config.encoding only decides how messages are sent
     @Bean
-    public MessageConverter jsonMessageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public MessageConverter messageConverter(@Value("${rabbitmq-config.encoding:JSON}") String encoding) {
+        return new BinaryMessageConverter(new Jackson2JsonMessageConverter(), "BINARY".equalsIgnoreCase(encoding), List.of(new TransferRequestMessageCodec()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.infrastructure.transfer_distributed.database.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+// A transfer request accepted but not confirmed by the broker yet, written in the transaction of its RequestEntity
+@Entity
+@Table
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private UUID transferId;
+
+    @Column(nullable = false, updatable = false)
+    private UUID requestId;
+
+    @Column(nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(nullable = false, updatable = false)
+    private Long originatorId;
+
+    @Column(nullable = false, updatable = false)
+    private Long beneficiaryId;
+
+    @Column(nullable = false, updatable = false)
+    private BigDecimal amount;
+
+    // Reply queue of the instance holding a caller that waits for the outcome
+    @Column(updatable = false)
+    private String replyTo;
+}
@@ -3,12 +3,13 @@ package com.infrastructure.transfer_distributed.database.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Entity
 @Table(
-        indexes = {
-                @Index(name = "idx_request", columnList = "requestId")
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_request_request_id", columnNames = "requestId")
         }
 )
 @Getter
@@ -30,4 +31,13 @@ public class RequestEntity {
 
     @Column(nullable = false, updatable = false)
     private UUID requestId;
+
+    // Set by the completion events of registry-distributed
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private TransferStatus status = TransferStatus.PENDING;
+
+    private String errorCode;
+
+    private OffsetDateTime processedAt;
 }
@@ -0,0 +1,7 @@
+package com.infrastructure.transfer_distributed.database.entity;
+
+public enum TransferStatus {
+    PENDING,
+    SUCCESS,
+    FAILED
+}
@@ -0,0 +1,14 @@
+package com.infrastructure.transfer_distributed.database.repository;
+
+import com.infrastructure.transfer_distributed.database.entity.OutboxEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+interface OutboxRepository extends JpaRepository<OutboxEntity, Long> {
+
+    // Rows locked by another relay are skipped, so every instance can drain the outbox at the same time
+    @Query(value = "SELECT * FROM outbox_entity ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEntity> findBatchForUpdate(int limit);
+}
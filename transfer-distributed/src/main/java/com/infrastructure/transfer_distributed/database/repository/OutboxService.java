@@ -0,0 +1,41 @@
+package com.infrastructure.transfer_distributed.database.repository;
+
+import com.infrastructure.transfer_distributed.database.entity.OutboxEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxRepository outboxRepository;
+
+    @Transactional
+    public OutboxEntity save(OutboxEntity outbox) {
+        return outboxRepository.save(outbox);
+    }
+
+    // The batch stays locked while it is published, only the rows the publisher reports as handed over are deleted.
+    // The others are unlocked on commit and picked up by the next drain
+    @Transactional
+    public int drain(int limit, Function<List<OutboxEntity>, Collection<Long>> publisher) {
+        List<OutboxEntity> batch = outboxRepository.findBatchForUpdate(limit);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Collection<Long> published = publisher.apply(batch);
+        outboxRepository.deleteAllByIdInBatch(published);
+        return batch.size();
+    }
+
+    @Transactional(readOnly = true)
+    public long count() {
+        return outboxRepository.count();
+    }
+}
@@ -1,14 +1,64 @@
 package com.infrastructure.transfer_distributed.database.repository;
 
 import com.infrastructure.transfer_distributed.database.entity.RequestEntity;
+import com.infrastructure.transfer_distributed.database.entity.TransferStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 interface RequestRepository extends JpaRepository<RequestEntity, Long> {
 
     boolean existsByRequestId(UUID requestId);
 
     Optional<RequestEntity> findByRequestId(UUID requestId);
+
+    Optional<RequestEntity> findByTransferId(UUID transferId);
+
+    // Only a pending request is completed, so a redelivered event changes nothing
+    @Modifying
+    @Query("""
+            UPDATE RequestEntity r
+            SET r.status = :status, r.errorCode = :errorCode, r.processedAt = :processedAt, r.version = r.version + 1
+            WHERE r.transferId = :transferId AND r.status = :pending
+            """)
+    int complete(@Param("transferId") UUID transferId,
+                 @Param("status") TransferStatus status,
+                 @Param("errorCode") String errorCode,
+                 @Param("processedAt") OffsetDateTime processedAt,
+                 @Param("pending") TransferStatus pending);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT r.requestId FROM RequestEntity r")
+    Stream<UUID> streamAllRequestIds();
+
+    // Insert and duplicate detection in a single statement. When the key already exists the insert does nothing and the
+    // second branch returns the existing row, which the insert branch can never see since both share one snapshot.
+    @Query(value = """
+            WITH inserted AS (
+                INSERT INTO request_entity (version, transfer_id, request_id, status)
+                VALUES (0, :transferId, :requestId, 'PENDING')
+                ON CONFLICT (request_id) DO NOTHING
+                RETURNING transfer_id
+            )
+            SELECT transfer_id AS "transferId", true AS "inserted" FROM inserted
+            UNION ALL
+            SELECT transfer_id AS "transferId", false AS "inserted" FROM request_entity WHERE request_id = :requestId
+            """, nativeQuery = true)
+    Optional<Registration> insertIfAbsent(@Param("transferId") UUID transferId, @Param("requestId") UUID requestId);
+
+    interface Registration {
+
+        UUID getTransferId();
+
+        Boolean getInserted();
+    }
 }
@@ -1,12 +1,16 @@
 package com.infrastructure.transfer_distributed.database.repository;
 
 import com.infrastructure.transfer_distributed.database.entity.RequestEntity;
+import com.infrastructure.transfer_distributed.database.entity.TransferStatus;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -24,8 +28,37 @@ public class RequestService {
         return requestRepository.findByRequestId(requestId);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<RequestEntity> findByTransferId(UUID transferId) {
+        return requestRepository.findByTransferId(transferId);
+    }
+
+    @Transactional
+    public boolean complete(UUID transferId, TransferStatus status, String errorCode, OffsetDateTime processedAt) {
+        return requestRepository.complete(transferId, status, errorCode, processedAt, TransferStatus.PENDING) > 0;
+    }
+
     @Transactional
     public RequestEntity save(RequestEntity request) {
         return requestRepository.save(request);
     }
+
+    @Transactional
+    public RequestRegistration register(RequestEntity request) {
+        return requestRepository.insertIfAbsent(request.getTransferId(), request.getRequestId())
+                .map(registration -> new RequestRegistration(registration.getTransferId(), registration.getInserted()))
+                // Nothing comes back when a concurrent insert of the same key commits after the statement took its
+                // snapshot: the insert waited for it and did nothing, and the row is visible to a new statement
+                .orElseGet(() -> requestRepository.findByRequestId(request.getRequestId())
+                        .map(existing -> new RequestRegistration(existing.getTransferId(), false))
+                        .orElseThrow(() -> new IllegalStateException("Request " + request.getRequestId() + " was neither inserted nor found")));
+    }
+
+    // Streams through a server-side cursor, so every id never has to fit in memory at once
+    @Transactional(readOnly = true)
+    public void forEachRequestId(Consumer<UUID> consumer) {
+        try (Stream<UUID> requestIds = requestRepository.streamAllRequestIds()) {
+            requestIds.forEach(consumer);
+        }
+    }
 }
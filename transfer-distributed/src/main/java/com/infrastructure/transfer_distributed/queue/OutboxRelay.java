@@ -0,0 +1,101 @@
+package com.infrastructure.transfer_distributed.queue;
+
+import com.infrastructure.transfer_distributed.database.entity.OutboxEntity;
+import com.infrastructure.transfer_distributed.database.repository.OutboxService;
+import com.infrastructure.transfer_distributed.usecase.accept.mapper.AcceptTransferMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Publishes the outbox in batches: the whole batch is handed to the confirm publisher, then the confirms are awaited
+// together, so a batch costs one broker round trip instead of one per request. A row is deleted once the broker has
+// confirmed it, a request is therefore published at least once. The registry acknowledges a duplicate with the outcome
+// it stored for the transfer
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxService outboxService;
+
+    private final TransferRequestProducer transferRequestProducer;
+
+    private final DistributionSummary batchSize;
+
+    private final Counter unconfirmed;
+
+    private final int maxBatchSize;
+
+    private final long confirmTimeoutMillis;
+
+    public OutboxRelay(OutboxService outboxService,
+                       TransferRequestProducer transferRequestProducer,
+                       MeterRegistry meterRegistry,
+                       @Value("${accept-config.outbox.batch-size:500}") int maxBatchSize,
+                       @Value("${accept-config.outbox.confirm-timeout-ms:5000}") long confirmTimeoutMillis) {
+        this.outboxService = outboxService;
+        this.transferRequestProducer = transferRequestProducer;
+        this.batchSize = meterRegistry.summary("accept.outbox.batch.size");
+        this.unconfirmed = meterRegistry.counter("accept.outbox.unconfirmed");
+        this.maxBatchSize = maxBatchSize;
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
+        meterRegistry.gauge("accept.outbox.pending", outboxService, OutboxService::count);
+    }
+
+    // A full batch means more rows are waiting, they are drained right away instead of at the next tick
+    @Scheduled(fixedDelayString = "${accept-config.outbox.relay-interval-ms:50}")
+    public void relay() {
+        int drained;
+        do {
+            drained = outboxService.drain(maxBatchSize, this::publish);
+        } while (drained == maxBatchSize);
+    }
+
+    private Collection<Long> publish(List<OutboxEntity> batch) {
+        batchSize.record(batch.size());
+        Map<Long, CompletableFuture<Void>> confirms = new LinkedHashMap<>(batch.size());
+        for (OutboxEntity outbox : batch) {
+            confirms.put(outbox.getId(), transferRequestProducer.sendTransferRequest(AcceptTransferMapper.INSTANCE.mapFromOutboxToMessage(outbox), outbox.getReplyTo()));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMillis);
+        List<Long> published = new ArrayList<>(batch.size());
+        confirms.forEach((id, confirm) -> {
+            if (isConfirmed(confirm, deadline)) {
+                published.add(id);
+            } else {
+                unconfirmed.increment();
+            }
+        });
+
+        if (published.size() < batch.size()) {
+            log.warn("{} of {} transfer requests were not confirmed by the broker, they will be published again", batch.size() - published.size(), batch.size());
+        }
+        return published;
+    }
+
+    private boolean isConfirmed(CompletableFuture<Void> confirm, long deadline) {
+        try {
+            confirm.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+}
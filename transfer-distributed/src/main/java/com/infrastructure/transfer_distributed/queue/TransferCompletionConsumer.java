@@ -0,0 +1,26 @@
+package com.infrastructure.transfer_distributed.queue;
+
+import com.infrastructure.transfer_distributed.database.entity.TransferStatus;
+import com.infrastructure.transfer_distributed.database.repository.RequestService;
+import com.infrastructure.transfer_distributed.queue.message.TransferCompletionMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransferCompletionConsumer {
+
+    private final RequestService requestService;
+
+    @RabbitListener(queues = "${rabbitmq-config.completion.queue}")
+    public void handleCompletion(TransferCompletionMessage message) {
+        boolean completed = requestService.complete(message.transferId(), TransferStatus.valueOf(message.status().name()), message.errorCode(), message.processedAt());
+        if (!completed) {
+            // Redelivered, or a transfer that was not accepted by this service
+            log.debug("Transfer {} is unknown or already completed", message.transferId());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.infrastructure.transfer_distributed.queue;
+
+import com.infrastructure.transfer_distributed.queue.message.TransferCompletionMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Outcomes of the transfers a caller is waiting for on this instance. Every instance has its own exclusive reply queue,
+// so a reply always reaches the instance holding the caller
+@Slf4j
+@Component
+public class TransferReplies {
+
+    private final String address;
+
+    private final Map<UUID, CompletableFuture<TransferCompletionMessage>> waiting = new ConcurrentHashMap<>();
+
+    public TransferReplies(AnonymousQueue transferReplyQueue, MeterRegistry meterRegistry) {
+        this.address = transferReplyQueue.getName();
+        meterRegistry.gaugeMapSize("accept.replies.waiting", Tags.empty(), waiting);
+    }
+
+    public String address() {
+        return address;
+    }
+
+    // Registered inside the transaction accepting the request, before anything can be published, so no reply arrives
+    // ahead of its caller. A rollback drops the waiter, after a commit the caller takes the same future with await and
+    // must cancel it once answered or timed out
+    public void expect(UUID transferId) {
+        waiting.computeIfAbsent(transferId, id -> new CompletableFuture<>());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        cancel(transferId);
+                    }
+                }
+            });
+        }
+    }
+
+    public CompletableFuture<TransferCompletionMessage> await(UUID transferId) {
+        CompletableFuture<TransferCompletionMessage> caller = waiting.get(transferId);
+        if (caller == null) {
+            throw new IllegalStateException("No reply expected for transfer " + transferId);
+        }
+        return caller;
+    }
+
+    public void cancel(UUID transferId) {
+        waiting.remove(transferId);
+    }
+
+    // Kept until the caller cancels, a reply faster than the caller is then still there when it awaits
+    @RabbitListener(queues = "#{transferReplyQueue.name}")
+    public void handleReply(TransferCompletionMessage reply) {
+        CompletableFuture<TransferCompletionMessage> caller = waiting.get(reply.transferId());
+        if (caller == null) {
+            // The caller has timed out, the outcome is still recorded from the completion event
+            log.debug("No caller waiting for transfer {}", reply.transferId());
+            return;
+        }
+
+        caller.complete(reply);
+    }
+}
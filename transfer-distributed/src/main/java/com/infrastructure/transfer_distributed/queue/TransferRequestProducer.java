@@ -1,12 +1,14 @@
 package com.infrastructure.transfer_distributed.queue;
 
+import com.infrastructure.messaging.BatchingConfirmPublisher;
 import com.infrastructure.transfer_distributed.queue.message.TransferRequestMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -18,9 +20,33 @@ public class TransferRequestProducer {
     @Value("${rabbitmq-config.routing-key}")
     private String routingKey;
 
-    private final RabbitTemplate rabbitTemplate;
+    @Value("${rabbitmq-config.routing.mode:SINGLE}")
+    private String routingMode;
+
+    @Value("${rabbitmq-config.routing.partitions:8}")
+    private int partitions;
+
+    private final BatchingConfirmPublisher transferRequestPublisher;
+
+    // Completes once the broker has confirmed the request. With a reply-to address the registry also sends the outcome
+    // to that queue
+    public CompletableFuture<Void> sendTransferRequest(TransferRequestMessage message, String replyTo) {
+        if (replyTo == null) {
+            return transferRequestPublisher.publish(exchangeName, routingKeyOf(message), message);
+        }
+
+        return transferRequestPublisher.publish(exchangeName, routingKeyOf(message), message, amqpMessage -> {
+            amqpMessage.getMessageProperties().setReplyTo(replyTo);
+            return amqpMessage;
+        });
+    }
+
+    // Every request of an originator goes to the same partition, where registry-distributed processes them in order
+    private String routingKeyOf(TransferRequestMessage message) {
+        if (!"PARTITIONED".equals(routingMode)) {
+            return routingKey;
+        }
 
-    public void sendTransferRequest(TransferRequestMessage message) {
-        rabbitTemplate.convertAndSend(exchangeName, routingKey, message);
+        return routingKey + "." + Math.floorMod(Long.hashCode(message.originatorId()), partitions);
     }
 }
@@ -0,0 +1,39 @@
+package com.infrastructure.transfer_distributed.queue.converter;
+
+import com.infrastructure.messaging.converter.BinaryCodec;
+import com.infrastructure.transfer_distributed.queue.message.TransferRequestMessage;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static com.infrastructure.messaging.converter.BinaryFields.*;
+
+// transferId, requestId, createdAt, originatorId, beneficiaryId, amount
+public class TransferRequestMessageCodec implements BinaryCodec<TransferRequestMessage> {
+
+    @Override
+    public byte typeId() {
+        return 1;
+    }
+
+    @Override
+    public Class<TransferRequestMessage> type() {
+        return TransferRequestMessage.class;
+    }
+
+    @Override
+    public void encode(TransferRequestMessage message, DataOutput out) throws IOException {
+        writeUuid(out, message.transferId());
+        writeUuid(out, message.requestId());
+        writeTimestamp(out, message.createdAt());
+        out.writeLong(message.originatorId());
+        out.writeLong(message.beneficiaryId());
+        writeAmount(out, message.amount());
+    }
+
+    @Override
+    public TransferRequestMessage decode(DataInput in) throws IOException {
+        return new TransferRequestMessage(readUuid(in), readUuid(in), readTimestamp(in), in.readLong(), in.readLong(), readAmount(in));
+    }
+}
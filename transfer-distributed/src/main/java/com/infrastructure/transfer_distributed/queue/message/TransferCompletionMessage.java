@@ -0,0 +1,15 @@
+package com.infrastructure.transfer_distributed.queue.message;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record TransferCompletionMessage(UUID transferId,
+                                        Status status,
+                                        String errorCode,
+                                        OffsetDateTime processedAt) {
+
+    public enum Status {
+        SUCCESS,
+        FAILED
+    }
+}
@@ -1,14 +1,17 @@
 package com.infrastructure.transfer_distributed.usecase.accept;
 
+import com.domain.accept.exception.AcceptDomainErrorCode;
 import com.domain.accept.exception.AcceptDomainException;
 import com.domain.accept.model.AcceptedTransfer;
 import com.domain.accept.model.RejectedTransfer;
-import com.domain.accept.port.AcceptPort;
 import com.domain.accept.usecase.AcceptTransfer;
 import com.domain.accept.usecase.RejectTransfer;
 import com.domain.accept.usecase.request.AcceptTransferRequest;
+import com.infrastructure.transfer_distributed.database.repository.OutboxService;
+import com.infrastructure.transfer_distributed.database.repository.RequestRegistration;
 import com.infrastructure.transfer_distributed.database.repository.RequestService;
-import com.infrastructure.transfer_distributed.queue.TransferRequestProducer;
+import com.infrastructure.transfer_distributed.queue.TransferReplies;
+import com.infrastructure.transfer_distributed.usecase.accept.adapter.AcceptAdapter;
 import com.infrastructure.transfer_distributed.usecase.accept.mapper.AcceptTransferMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -18,32 +21,65 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class AcceptTransferUsecase extends AcceptTransfer {
 
+    private final AcceptAdapter acceptAdapter;
+
     private final RequestService requestService;
 
     private final RejectTransfer rejectTransfer;
 
-    private final TransferRequestProducer transferRequestProducer;
+    private final OutboxService outboxService;
+
+    private final TransferReplies transferReplies;
 
-    public AcceptTransferUsecase(AcceptPort acceptPort, RequestService requestService, RejectTransfer rejectTransfer, TransferRequestProducer transferRequestProducer) {
-        super(acceptPort);
+    public AcceptTransferUsecase(AcceptAdapter acceptAdapter, RequestService requestService, RejectTransfer rejectTransfer, OutboxService outboxService, TransferReplies transferReplies) {
+        super(acceptAdapter);
+        this.acceptAdapter = acceptAdapter;
         this.requestService = requestService;
         this.rejectTransfer = rejectTransfer;
-        this.transferRequestProducer = transferRequestProducer;
+        this.outboxService = outboxService;
+        this.transferReplies = transferReplies;
     }
 
     @Override
     @Transactional
     public AcceptedTransfer execute(AcceptTransferRequest request) {
+        return execute(request, null);
+    }
+
+    // With a reply-to address the outcome is also sent to that queue, for a caller waiting on this instance: the waiter
+    // is registered before the commit, await it with TransferReplies
+    @Transactional
+    public AcceptedTransfer execute(AcceptTransferRequest request, String replyTo) {
+        AcceptedTransfer acceptedTransfer;
         try {
-            AcceptedTransfer acceptedTransfer = super.execute(request);
-            requestService.save(AcceptTransferMapper.INSTANCE.mapFromModelToEntity(acceptedTransfer));
-            transferRequestProducer.sendTransferRequest(AcceptTransferMapper.INSTANCE.mapFromModelToMessage(acceptedTransfer));
-            log.info("Request accepted: {}", acceptedTransfer);
-            return acceptedTransfer;
+            acceptedTransfer = super.execute(request);
         } catch (AcceptDomainException e) {
-            RejectedTransfer rejectedTransfer = rejectTransfer.execute(request);
-            log.error("Duplicated request: {}", rejectedTransfer);
-            throw new AcceptTransferException(rejectedTransfer, e.getErrorCode(), e.getMessage(), e);
+            // Caught by the pre-check, the transfer id of the stored request is looked up
+            throw duplicated(rejectTransfer.execute(request), e);
         }
+
+        // The unique request id is the real idempotency check, it also catches concurrent duplicates the check above let through
+        RequestRegistration registration = requestService.register(AcceptTransferMapper.INSTANCE.mapFromModelToEntity(acceptedTransfer));
+        if (!registration.inserted()) {
+            // The same statement returned the transfer id of the stored request, the rejection needs no other lookup
+            throw duplicated(RejectedTransfer.builder()
+                    .transferId(registration.transferId())
+                    .requestId(request.requestId())
+                    .build(), new AcceptDomainException(AcceptDomainErrorCode.DUPLICATED_REQUEST, String.format("Transfer with requestId %s is duplicated", request.requestId())));
+        }
+
+        acceptAdapter.register(acceptedTransfer.requestId(), acceptedTransfer.transferId());
+        if (replyTo != null) {
+            transferReplies.expect(acceptedTransfer.transferId());
+        }
+        // Published by the outbox relay once this transaction commits, a rollback leaves nothing to publish
+        outboxService.save(AcceptTransferMapper.INSTANCE.mapFromModelToOutbox(acceptedTransfer, replyTo));
+        log.info("Request accepted: {}", acceptedTransfer);
+        return acceptedTransfer;
+    }
+
+    private static AcceptTransferException duplicated(RejectedTransfer rejectedTransfer, AcceptDomainException e) {
+        log.error("Duplicated request: {}", rejectedTransfer);
+        return new AcceptTransferException(rejectedTransfer, e.getErrorCode(), e.getMessage(), e);
     }
 }
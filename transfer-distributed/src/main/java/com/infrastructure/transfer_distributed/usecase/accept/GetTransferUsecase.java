@@ -0,0 +1,24 @@
+package com.infrastructure.transfer_distributed.usecase.accept;
+
+import com.domain.accept.exception.AcceptDomainErrorCode;
+import com.domain.accept.model.RejectedTransfer;
+import com.infrastructure.transfer_distributed.database.entity.RequestEntity;
+import com.infrastructure.transfer_distributed.database.repository.RequestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+// Status polling is answered from the request table, fed by the completion events, and never reaches the registry
+@Service
+@RequiredArgsConstructor
+public class GetTransferUsecase {
+
+    private final RequestService requestService;
+
+    public RequestEntity execute(UUID transferId) {
+        return requestService.findByTransferId(transferId)
+                .orElseThrow(() -> new AcceptTransferException(RejectedTransfer.builder().transferId(transferId).build(),
+                        AcceptDomainErrorCode.TRANSFER_NOT_FOUND, String.format("Transfer %s not found", transferId), null));
+    }
+}
@@ -0,0 +1,57 @@
+package com.infrastructure.transfer_distributed.usecase.accept.adapter;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bloom filter over request ids: "absent" is definite, "present" has to be confirmed against the database.
+// Bits are only ever set, so concurrent puts and reads need no lock.
+class RequestIdFilter {
+
+    private final AtomicLongArray words;
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    RequestIdFilter(long expectedInsertions, double falsePositiveRate) {
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) >>> 6));
+
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+    }
+
+    void put(UUID requestId) {
+        long first = mix(requestId.getMostSignificantBits());
+        long second = mix(requestId.getLeastSignificantBits()) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(first + i * second, bitCount);
+            long mask = 1L << bit;
+            words.getAndAccumulate((int) (bit >>> 6), mask, (current, value) -> current | value);
+        }
+    }
+
+    boolean mightContain(UUID requestId) {
+        long first = mix(requestId.getMostSignificantBits());
+        long second = mix(requestId.getLeastSignificantBits()) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(first + i * second, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // MurmurHash3 finalizer, spreads keys that are not random UUIDs
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
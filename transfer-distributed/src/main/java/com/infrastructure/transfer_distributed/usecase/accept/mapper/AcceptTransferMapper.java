@@ -1,6 +1,7 @@
 package com.infrastructure.transfer_distributed.usecase.accept.mapper;
 
 import com.domain.accept.model.AcceptedTransfer;
+import com.infrastructure.transfer_distributed.database.entity.OutboxEntity;
 import com.infrastructure.transfer_distributed.database.entity.RequestEntity;
 import com.infrastructure.transfer_distributed.queue.message.TransferRequestMessage;
 import org.mapstruct.Mapper;
@@ -14,7 +15,13 @@ public interface AcceptTransferMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "version", ignore = true)
+    @Mapping(target = "status", constant = "PENDING")
+    @Mapping(target = "errorCode", ignore = true)
+    @Mapping(target = "processedAt", ignore = true)
     RequestEntity mapFromModelToEntity(AcceptedTransfer transfer);
 
-    TransferRequestMessage mapFromModelToMessage(AcceptedTransfer acceptedTransfer);
+    @Mapping(target = "id", ignore = true)
+    OutboxEntity mapFromModelToOutbox(AcceptedTransfer acceptedTransfer, String replyTo);
+
+    TransferRequestMessage mapFromOutboxToMessage(OutboxEntity outbox);
 }
@@ -3,10 +3,14 @@ package com.infrastructure.transfer_distributed;
 import com.infrastructure.transfer_distributed.api.dto.ErrorDTO;
 import com.infrastructure.transfer_distributed.api.dto.TransferDTO;
 import com.infrastructure.transfer_distributed.api.dto.TransferRequestDTO;
+import com.infrastructure.transfer_distributed.api.dto.TransferStatusDTO;
+import com.infrastructure.transfer_distributed.database.repository.OutboxService;
+import com.infrastructure.transfer_distributed.queue.message.TransferCompletionMessage;
 import com.infrastructure.transfer_distributed.queue.message.TransferRequestMessage;
 import org.junit.jupiter.api.Test;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -15,6 +19,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
@@ -30,8 +35,19 @@ class TransferControllerTest extends TransferDistributedApplicationTests {
     @Autowired
     private RabbitTemplate rabbitTemplate;
 
+    @Autowired
+    private OutboxService outboxService;
+
+    @Value("${rabbitmq-config.completion.exchange}")
+    private String completionExchange;
+
+    @Value("${rabbitmq-config.completion.routing-key}")
+    private String completionRoutingKey;
+
+    private static final UUID ACCEPTED_TRANSFER_ID = UUID.fromString("a1b2c3d4-e5f6-7890-1234-567890abcdef");
+
     @Test
-    void sendTransferRequestMessageSuccessfully() {
+    void sendTransferRequestMessageSuccessfully() throws InterruptedException {
         TransferRequestDTO transferRequest = new TransferRequestDTO(101L, 102L, new BigDecimal("1000"));
 
         HttpHeaders headers = new HttpHeaders();
@@ -59,6 +75,13 @@ class TransferControllerTest extends TransferDistributedApplicationTests {
         assertThat(receivedRequest.amount()).isEqualTo(transferRequest.amount());
         assertThat(receivedRequest.originatorId()).isEqualTo(transferRequest.originatorId());
         assertThat(receivedRequest.beneficiaryId()).isEqualTo(transferRequest.beneficiaryId());
+
+        // The relay deletes the outbox row once the broker has confirmed it
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (outboxService.count() > 0) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(50);
+        }
     }
 
     @Test
@@ -81,4 +104,46 @@ class TransferControllerTest extends TransferDistributedApplicationTests {
         assertThat(response.getBody().getTimestamp()).isNotNull();
         assertThat(response.getBody().getHttpStatus()).isEqualTo(HttpStatus.CONFLICT);
     }
+
+    @Test
+    void getPendingTransfer() {
+        ResponseEntity<TransferDTO> response = restTemplate.getForEntity("/transfer/{transferId}", TransferDTO.class, ACCEPTED_TRANSFER_ID);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().transferId()).isEqualTo(ACCEPTED_TRANSFER_ID);
+        assertThat(response.getBody().status()).isEqualTo(TransferStatusDTO.PENDING);
+    }
+
+    @Test
+    void recordCompletionFromRegistry() throws InterruptedException {
+        OffsetDateTime processedAt = OffsetDateTime.now();
+        rabbitTemplate.convertAndSend(completionExchange, completionRoutingKey,
+                new TransferCompletionMessage(ACCEPTED_TRANSFER_ID, TransferCompletionMessage.Status.FAILED, "Insufficient balance", processedAt));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (true) {
+            ResponseEntity<TransferDTO> response = restTemplate.getForEntity("/transfer/{transferId}", TransferDTO.class, ACCEPTED_TRANSFER_ID);
+            assertThat(response.getBody()).isNotNull();
+            if (response.getBody().status() != TransferStatusDTO.PENDING) {
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(response.getBody().status()).isEqualTo(TransferStatusDTO.FAILED);
+                assertThat(response.getBody().errorCode()).isEqualTo("Insufficient balance");
+                assertThat(response.getBody().processedAt()).isCloseTo(processedAt.truncatedTo(ChronoUnit.MICROS), within(1, ChronoUnit.MICROS));
+                return;
+            }
+
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    @Test
+    void getUnknownTransfer() {
+        ResponseEntity<ErrorDTO> response = restTemplate.getForEntity("/transfer/{transferId}", ErrorDTO.class, UUID.randomUUID());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getErrorCode()).isEqualTo("Transfer not found");
+    }
 }
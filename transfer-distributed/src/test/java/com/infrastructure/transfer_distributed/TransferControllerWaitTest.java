@@ -0,0 +1,76 @@
+package com.infrastructure.transfer_distributed;
+
+import com.infrastructure.transfer_distributed.api.dto.TransferDTO;
+import com.infrastructure.transfer_distributed.api.dto.TransferRequestDTO;
+import com.infrastructure.transfer_distributed.api.dto.TransferStatusDTO;
+import com.infrastructure.transfer_distributed.queue.message.TransferCompletionMessage;
+import com.infrastructure.transfer_distributed.queue.message.TransferRequestMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@Sql("/test-db/simple-test-data.sql")
+class TransferControllerWaitTest extends TransferDistributedApplicationTests {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Test
+    void returnOutcomeWhenRegistryRepliesInTime() throws Exception {
+        CompletableFuture<ResponseEntity<TransferDTO>> response = CompletableFuture.supplyAsync(() -> sendAndWait(5_000));
+
+        // Plays the registry: the outcome is sent to the reply queue of the request
+        Message request = rabbitTemplate.receive(queueName, 5_000);
+        assertThat(request).isNotNull();
+        assertThat(request.getMessageProperties().getReplyTo()).startsWith("transfer.reply.");
+        TransferRequestMessage message = (TransferRequestMessage) rabbitTemplate.getMessageConverter().fromMessage(request);
+        rabbitTemplate.convertAndSend("", request.getMessageProperties().getReplyTo(),
+                new TransferCompletionMessage(message.transferId(), TransferCompletionMessage.Status.SUCCESS, null, OffsetDateTime.now()));
+
+        ResponseEntity<TransferDTO> result = response.get(10, TimeUnit.SECONDS);
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody()).isNotNull();
+        assertThat(result.getBody().transferId()).isEqualTo(message.transferId());
+        assertThat(result.getBody().status()).isEqualTo(TransferStatusDTO.SUCCESS);
+        assertThat(result.getBody().processedAt()).isNotNull();
+    }
+
+    @Test
+    void returnAcceptedWhenWaitExpires() {
+        ResponseEntity<TransferDTO> response = sendAndWait(200);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().status()).isEqualTo(TransferStatusDTO.PENDING);
+
+        // The request is still published, and taken off the queue so the other tests do not receive it
+        Message request = rabbitTemplate.receive(queueName, 5_000);
+        assertThat(request).isNotNull();
+        assertThat(((TransferRequestMessage) rabbitTemplate.getMessageConverter().fromMessage(request)).transferId()).isEqualTo(response.getBody().transferId());
+    }
+
+    private ResponseEntity<TransferDTO> sendAndWait(long waitMillis) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Idempotency-Key", UUID.randomUUID().toString());
+        HttpEntity<TransferRequestDTO> requestEntity = new HttpEntity<>(new TransferRequestDTO(101L, 102L, new BigDecimal("100")), headers);
+        return restTemplate.postForEntity("/send-request-transfer?wait={wait}", requestEntity, TransferDTO.class, waitMillis);
+    }
+}
@@ -0,0 +1,79 @@
+package com.infrastructure.transfer_distributed.queue;
+
+import com.infrastructure.transfer_distributed.queue.message.TransferCompletionMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransferRepliesTest {
+
+    private final TransferReplies transferReplies = new TransferReplies(new AnonymousQueue(), new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void keepReplyArrivingBeforeTheCallerAwaits() {
+        UUID transferId = UUID.randomUUID();
+        transferReplies.expect(transferId);
+
+        // The registry answered between the commit and the caller asking for the outcome
+        TransferCompletionMessage reply = reply(transferId);
+        transferReplies.handleReply(reply);
+
+        assertThat(transferReplies.await(transferId)).isCompletedWithValue(reply);
+    }
+
+    @Test
+    void dropReplyOnceTheCallerCancelled() {
+        UUID transferId = UUID.randomUUID();
+        transferReplies.expect(transferId);
+        CompletableFuture<TransferCompletionMessage> caller = transferReplies.await(transferId);
+        transferReplies.cancel(transferId);
+
+        transferReplies.handleReply(reply(transferId));
+
+        assertThat(caller).isNotDone();
+        assertThatThrownBy(() -> transferReplies.await(transferId)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void dropWaiterWhenTheAcceptRollsBack() {
+        UUID committed = UUID.randomUUID();
+        UUID rolledBack = UUID.randomUUID();
+
+        TransactionSynchronizationManager.initSynchronization();
+        transferReplies.expect(committed);
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        TransactionSynchronizationManager.initSynchronization();
+        transferReplies.expect(rolledBack);
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(transferReplies.await(committed)).isNotDone();
+        assertThatThrownBy(() -> transferReplies.await(rolledBack)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static void completeTransaction(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCompletion(status));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private static TransferCompletionMessage reply(UUID transferId) {
+        return new TransferCompletionMessage(transferId, TransferCompletionMessage.Status.SUCCESS, null, OffsetDateTime.now());
+    }
+}
@@ -9,11 +9,13 @@ TRUNCATE TABLE request_entity RESTART IDENTITY;
 INSERT INTO request_entity (id,
                             version,
                             transfer_id,
-                            request_id)
+                            request_id,
+                            status)
 VALUES (1001,
         0,
         'a1b2c3d4-e5f6-7890-1234-567890abcdef', -- transferId)
-        'd3c4b5a6-9870-6543-2109-876fedcba321'  -- requestId
+        'd3c4b5a6-9870-6543-2109-876fedcba321', -- requestId
+        'PENDING'
        );
 
 COMMIT;
\ No newline at end of file